@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks;
+
+import java.io.File;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+
+/**
+ * Runs JMH benchmarks with the same command line options as {@code org.openjdk.jmh.Main}.
+ * <p>
+ * Unless result options are specified then results are written in JSON format into file
+ * {@code jmh-result-<version>.json} so that they can be compared between releases
+ * (e.g. by <a href="http://jmh.morethan.io">JMH visualizer</a>).
+ *
+ * <pre>
+ * mvn -Pbenchmarks -pl benchmarks -am package -DskipTests
+ * java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark regexp]
+ * </pre>
+ *
+ * @since 2.2
+ */
+public final class BenchmarkRunner {
+
+    private static final String RESULT_FILE_PREFIX = "jmh-result-";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions);
+        if (!cmdOptions.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmdOptions.getResult().hasValue()) {
+            options.result(getDefaultResultFile(cmdOptions.getResultFormat().orElse(ResultFormatType.JSON)));
+        }
+
+        new Runner(options.build()).run();
+    }
+
+    private static String getDefaultResultFile(ResultFormatType format) {
+        String version = BenchmarkRunner.class.getPackage().getImplementationVersion();
+        if (version == null) {
+            version = "dev";
+        }
+
+        return new File(RESULT_FILE_PREFIX + version + "." + format.name().toLowerCase()).getPath();
+    }
+}
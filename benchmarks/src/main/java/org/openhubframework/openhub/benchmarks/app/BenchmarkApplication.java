@@ -0,0 +1,116 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.app;
+
+import org.apache.camel.component.servlet.CamelHttpTransportServlet;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.PropertySource;
+import org.springframework.context.annotation.aspectj.EnableSpringConfigured;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.SocketUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+import org.openhubframework.openhub.api.configuration.CoreProps;
+import org.openhubframework.openhub.api.route.RouteConstants;
+import org.openhubframework.openhub.common.AutoConfiguration;
+import org.openhubframework.openhub.common.Profiles;
+
+
+/**
+ * Spring Boot configuration of OpenHub for benchmarks - core and components with embedded H2 database,
+ * without web layer (only Camel servlet in {@link #startWeb() embedded servlet container}) and without scheduled jobs.
+ * <p>
+ * There are the same active profiles as in tests ({@link Profiles#TEST}, {@link Profiles#H2})
+ * and profile {@value #BENCHMARK_PROFILE} with benchmark specific properties.
+ *
+ * @since 2.2
+ */
+@Configuration
+@EnableAutoConfiguration(
+        excludeName = {"org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration"})
+@ComponentScan(basePackages = {"org.openhubframework.openhub.common", "org.openhubframework.openhub.core",
+        "org.openhubframework.openhub.benchmarks.app"},
+        excludeFilters = @ComponentScan.Filter(
+                value = {RestController.class, Controller.class, AutoConfiguration.class},
+                type = FilterType.ANNOTATION))
+@PropertySource(value = {"classpath:/config/application-test-default.properties"})
+@EnableConfigurationProperties
+@EnableSpringConfigured
+@EnableAspectJAutoProxy
+public class BenchmarkApplication {
+
+    /**
+     * Profile with benchmark specific properties (see {@code application-benchmark.properties}).
+     */
+    public static final String BENCHMARK_PROFILE = "benchmark";
+
+    /**
+     * Starts new application context.
+     *
+     * @return application context
+     */
+    public static ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .profiles(Profiles.TEST, Profiles.H2, BENCHMARK_PROFILE)
+                .web(false)
+                .run();
+    }
+
+    /**
+     * Starts new application context with embedded servlet container on free port,
+     * {@link CoreProps#SERVER_LOCALHOST_URI localhost URI} points to this container.
+     *
+     * @return application context
+     */
+    public static ConfigurableApplicationContext startWeb() {
+        int port = SocketUtils.findAvailableTcpPort();
+
+        return new SpringApplicationBuilder(BenchmarkApplication.class)
+                .profiles(Profiles.TEST, Profiles.H2, BENCHMARK_PROFILE)
+                .web(true)
+                .run("--server.port=" + port,
+                        "--" + CoreProps.SERVER_LOCALHOST_URI + "=http://localhost:" + port,
+                        "--security.basic.enabled=false");
+    }
+
+    /**
+     * Registers Camel servlet for HTTP routes (e.g. calls of {@code ContextCallHttpImpl}).
+     *
+     * @return registration bean of {@link CamelHttpTransportServlet}
+     */
+    @Bean(name = RouteConstants.CAMEL_SERVLET)
+    @ConditionalOnWebApplication
+    public ServletRegistrationBean camelHttpServlet() {
+        CamelHttpTransportServlet servlet = new CamelHttpTransportServlet();
+        servlet.setServletName(RouteConstants.CAMEL_SERVLET);
+
+        ServletRegistrationBean bean = new ServletRegistrationBean(servlet, RouteConstants.HTTP_URI_PREFIX_MAPPING);
+        bean.setName(servlet.getServletName());
+
+        return bean;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.app;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import org.openhubframework.openhub.api.asynch.model.TraceHeader;
+import org.openhubframework.openhub.api.asynch.model.TraceIdentifier;
+
+
+/**
+ * Test data shared by benchmarks.
+ *
+ * @since 2.2
+ */
+public final class BenchmarkData {
+
+    /**
+     * Request with trace header in the body.
+     */
+    public static final String REQUEST = "<notifyCollectionStepRequest"
+            + " xmlns=\"http://openhubframework.org/ws/NotificationsService-v1\">"
+            + "    <traceIdentifier xmlns=\"http://openhubframework.org/ws/Common-v1\">"
+            + "        <applicationID>ERP</applicationID>"
+            + "        <timestamp>2013-09-27T10:23:34.6987744+02:00</timestamp>"
+            + "        <correlationID>da793349-b486-489a-9180-200789b7007f</correlationID>"
+            + "        <processID>process123</processID>"
+            + "    </traceIdentifier>"
+            + "    <externalCustomerAccountID>2065</externalCustomerAccountID>"
+            + "    <eventDate>2013-09-26T00:00:00</eventDate>"
+            + "    <stepType>1</stepType>"
+            + "    <debtAmount>679</debtAmount>"
+            + "    <invoiceNo>130000000378</invoiceNo>"
+            + "    <variableSymbol>7002065001</variableSymbol>"
+            + "</notifyCollectionStepRequest>";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Creates new trace header with unique correlation ID.
+     *
+     * @return trace header
+     */
+    public static TraceHeader createTraceHeader() {
+        TraceIdentifier traceId = new TraceIdentifier();
+        traceId.setApplicationID("ERP");
+        traceId.setCorrelationID(UUID.randomUUID().toString());
+        traceId.setTimestamp(OffsetDateTime.now());
+
+        TraceHeader traceHeader = new TraceHeader();
+        traceHeader.setTraceIdentifier(traceId);
+        return traceHeader;
+    }
+}
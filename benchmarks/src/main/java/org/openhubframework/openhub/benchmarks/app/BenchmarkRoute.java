@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.app;
+
+import org.apache.camel.LoggingLevel;
+
+import org.openhubframework.openhub.api.route.AbstractBasicRoute;
+import org.openhubframework.openhub.api.route.CamelConfiguration;
+
+
+/**
+ * Route for asynch. round trip benchmark - the message goes through {@code msg-funnel}
+ * (every message has own funnel value so nothing is filtered) and no-op external call.
+ *
+ * @since 2.2
+ */
+@CamelConfiguration(value = BenchmarkRoute.ROUTE_BEAN)
+public class BenchmarkRoute extends AbstractBasicRoute {
+
+    static final String ROUTE_BEAN = "benchmarkRouteBean";
+
+    /**
+     * Name of the operation.
+     */
+    public static final String OPERATION_NAME = "roundTrip";
+
+    static final String ROUTE_ID_ASYNC_OUT = getOutRouteId(BenchmarkServiceEnum.BENCHMARK, OPERATION_NAME);
+
+    static final String URI_ASYNC_OUT = "direct:" + ROUTE_ID_ASYNC_OUT;
+
+    private static final String URI_NO_OP = "direct:benchmarkNoOp";
+
+    @Override
+    protected void doConfigure() throws Exception {
+        from(URI_ASYNC_OUT)
+                .routeId(ROUTE_ID_ASYNC_OUT)
+                .to("msg-funnel:default?idleInterval=600&id=benchmarkFunnel")
+                .to("extcall:message:" + URI_NO_OP);
+
+        from(URI_NO_OP)
+                .routeId("benchmarkNoOp")
+                .log(LoggingLevel.TRACE, "No-op external call of message ${header.processingMessage}");
+    }
+}
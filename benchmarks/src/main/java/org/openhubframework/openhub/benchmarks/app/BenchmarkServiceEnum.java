@@ -0,0 +1,35 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.app;
+
+import org.openhubframework.openhub.api.entity.ServiceExtEnum;
+
+
+/**
+ * Enumeration of services used by benchmarks.
+ *
+ * @since 2.2
+ */
+public enum BenchmarkServiceEnum implements ServiceExtEnum {
+
+    BENCHMARK;
+
+    @Override
+    public String getServiceName() {
+        return name();
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.asynch;
+
+import java.util.EventObject;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.support.EventNotifierSupport;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import org.openhubframework.openhub.api.asynch.AsynchConstants;
+import org.openhubframework.openhub.api.event.CompletedMsgAsynchEvent;
+import org.openhubframework.openhub.benchmarks.app.BenchmarkApplication;
+import org.openhubframework.openhub.benchmarks.app.BenchmarkData;
+import org.openhubframework.openhub.benchmarks.app.BenchmarkRoute;
+import org.openhubframework.openhub.benchmarks.app.BenchmarkServiceEnum;
+import org.openhubframework.openhub.core.common.asynch.TraceHeaderProcessor;
+
+
+/**
+ * Benchmark of full asynch. message round trip on embedded H2 database:
+ * {@code AsynchInMessageRoute} (validation, saving into DB, SEDA queue) -&gt; {@code AsynchMessageRoute}
+ * -&gt; {@link BenchmarkRoute} (msg-funnel, no-op external call) -&gt; message in state OK.
+ * <p>
+ * One operation is the time from sending of the request until the message is completed
+ * (notified by {@link CompletedMsgAsynchEvent}).
+ *
+ * @since 2.2
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AsynchRoundTripBenchmark {
+
+    private static final long COMPLETION_TIMEOUT_SEC = 30;
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private ProducerTemplate producer;
+
+    private final Semaphore completed = new Semaphore(0);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void startApplication() throws Exception {
+        applicationContext = BenchmarkApplication.start();
+
+        CamelContext camelContext = applicationContext.getBean(CamelContext.class);
+
+        EventNotifierSupport completionNotifier = new EventNotifierSupport() {
+            @Override
+            public void notify(EventObject event) throws Exception {
+                completed.release();
+            }
+
+            @Override
+            public boolean isEnabled(EventObject event) {
+                return event instanceof CompletedMsgAsynchEvent;
+            }
+        };
+        camelContext.getManagementStrategy().addEventNotifier(completionNotifier);
+        completionNotifier.start();
+
+        producer = camelContext.createProducerTemplate();
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() throws Exception {
+        producer.stop();
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public Object roundTrip() throws InterruptedException {
+        String id = Long.toString(sequence.incrementAndGet());
+
+        Map<String, Object> headers = new HashMap<>();
+        headers.put(TraceHeaderProcessor.TRACE_HEADER, BenchmarkData.createTraceHeader());
+        headers.put(AsynchConstants.SERVICE_HEADER, BenchmarkServiceEnum.BENCHMARK);
+        headers.put(AsynchConstants.OPERATION_HEADER, BenchmarkRoute.OPERATION_NAME);
+        headers.put(AsynchConstants.OBJECT_ID_HEADER, id);
+        // own funnel value => msg-funnel doesn't postpone the message
+        headers.put(AsynchConstants.FUNNEL_VALUE_HEADER, id);
+
+        Object response = producer.requestBodyAndHeaders(AsynchConstants.URI_ASYNCH_IN_MSG, BenchmarkData.REQUEST,
+                headers);
+
+        if (!completed.tryAcquire(COMPLETION_TIMEOUT_SEC, TimeUnit.SECONDS)) {
+            throw new IllegalStateException("message " + id + " was not completed in "
+                    + COMPLETION_TIMEOUT_SEC + " seconds");
+        }
+
+        return response;
+    }
+}
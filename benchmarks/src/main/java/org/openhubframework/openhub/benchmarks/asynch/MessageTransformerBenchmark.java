@@ -0,0 +1,69 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.asynch;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.openjdk.jmh.annotations.*;
+
+import org.openhubframework.openhub.api.asynch.model.TraceHeader;
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.benchmarks.app.BenchmarkData;
+import org.openhubframework.openhub.benchmarks.app.BenchmarkServiceEnum;
+import org.openhubframework.openhub.core.common.asynch.msg.MessageTransformer;
+
+
+/**
+ * Benchmark of {@link MessageTransformer#createMessage} - creation of new asynch. message from incoming request.
+ * Exchange contains no SOAP message so SOAP envelope is not serialized.
+ *
+ * @since 2.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MessageTransformerBenchmark {
+
+    private MessageTransformer transformer;
+
+    private TraceHeader traceHeader;
+
+    private Exchange exchange;
+
+    @Setup(Level.Trial)
+    public void prepareExchange() {
+        CamelContext camelContext = new DefaultCamelContext();
+
+        transformer = MessageTransformer.getInstance();
+        traceHeader = BenchmarkData.createTraceHeader();
+        exchange = new DefaultExchange(camelContext);
+    }
+
+    @Benchmark
+    public Message createMessage() {
+        return transformer.createMessage(exchange, traceHeader, BenchmarkData.REQUEST,
+                BenchmarkServiceEnum.BENCHMARK, "createMessage", "objectId", null, "funnelValue", false, false,
+                false);
+    }
+}
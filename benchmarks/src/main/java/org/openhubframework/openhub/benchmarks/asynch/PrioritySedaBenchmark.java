@@ -0,0 +1,122 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.asynch;
+
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.seda.PriorityBlockingQueueFactory;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.SimpleRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import org.openhubframework.openhub.api.asynch.AsynchConstants;
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.core.common.asynch.msg.MsgPriorityComparator;
+
+
+/**
+ * Benchmark of SEDA queue throughput with messages ordered by {@link MsgPriorityComparator}
+ * (the same as queue of asynch. messages) compared with default FIFO queue.
+ * <p>
+ * One invocation sends {@value #BATCH_SIZE} messages with random priorities and waits
+ * until all of them are consumed.
+ *
+ * @since 2.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrioritySedaBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String SEDA_URI = "seda:benchmark";
+
+    @Param({"priority", "fifo"})
+    public String queue;
+
+    @Param({"1", "5"})
+    public int concurrentConsumers;
+
+    private String sedaUri;
+
+    private CamelContext camelContext;
+
+    private ProducerTemplate producer;
+
+    private Message[] messages;
+
+    private final Semaphore consumed = new Semaphore(0);
+
+    @Setup(Level.Trial)
+    public void startContext() throws Exception {
+        PriorityBlockingQueueFactory<Exchange> queueFactory = new PriorityBlockingQueueFactory<>();
+        queueFactory.setComparator(new MsgPriorityComparator());
+
+        SimpleRegistry registry = new SimpleRegistry();
+        registry.put(AsynchConstants.PRIORITY_QUEUE_FACTORY, queueFactory);
+
+        // producer and consumer use the same URI (as asynch. route does)
+        sedaUri = SEDA_URI + "?concurrentConsumers=" + concurrentConsumers
+                + ("priority".equals(queue) ? "&queueFactory=#" + AsynchConstants.PRIORITY_QUEUE_FACTORY : "");
+
+        camelContext = new DefaultCamelContext(registry);
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from(sedaUri)
+                        .process(exchange -> consumed.release());
+            }
+        });
+        camelContext.start();
+
+        producer = camelContext.createProducerTemplate();
+
+        Random random = new Random(42);
+        messages = new Message[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            messages[i] = new Message();
+            messages[i].setProcessingPriority(random.nextInt(10));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() throws Exception {
+        producer.stop();
+        camelContext.stop();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void sendAndConsume() throws InterruptedException {
+        for (Message message : messages) {
+            producer.sendBody(sedaUri, ExchangePattern.InOnly, message);
+        }
+
+        consumed.acquire(BATCH_SIZE);
+    }
+}
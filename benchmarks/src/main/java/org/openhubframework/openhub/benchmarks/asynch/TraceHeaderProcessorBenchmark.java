@@ -0,0 +1,88 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.asynch;
+
+import java.util.concurrent.TimeUnit;
+import javax.xml.bind.JAXBContext;
+import javax.xml.transform.Source;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.openjdk.jmh.annotations.*;
+
+import org.openhubframework.openhub.api.asynch.model.TraceHeader;
+import org.openhubframework.openhub.benchmarks.app.BenchmarkData;
+import org.openhubframework.openhub.core.common.asynch.TraceHeaderProcessor;
+
+
+/**
+ * Benchmark of {@link TraceHeaderProcessor} - reading of trace header from the request body,
+ * compared with JAXB unmarshalling with new unmarshaller for each message (previous implementation).
+ *
+ * @since 2.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TraceHeaderProcessorBenchmark {
+
+    private CamelContext camelContext;
+
+    private TraceHeaderProcessor processor;
+
+    private JAXBContext jaxbContext;
+
+    @Setup(Level.Trial)
+    public void prepareProcessor() throws Exception {
+        // started context because of type converters (String -> Source)
+        camelContext = new DefaultCamelContext();
+        camelContext.start();
+
+        processor = new TraceHeaderProcessor(true, null);
+        jaxbContext = JAXBContext.newInstance(TraceHeader.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopContext() throws Exception {
+        camelContext.stop();
+    }
+
+    @Benchmark
+    public Object readFromBody() throws Exception {
+        // processor skips exchanges with trace header => new exchange for each invocation
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getIn().setBody(BenchmarkData.REQUEST);
+
+        processor.process(exchange);
+
+        return exchange.getIn().getHeader(TraceHeaderProcessor.TRACE_HEADER);
+    }
+
+    @Benchmark
+    public Object readFromBodyByJaxb() throws Exception {
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getIn().setBody(BenchmarkData.REQUEST);
+
+        Source source = exchange.getIn().getBody(Source.class);
+        return jaxbContext.createUnmarshaller().unmarshal(source, TraceHeader.class).getValue();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.contextcall;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import org.openhubframework.openhub.benchmarks.app.BenchmarkApplication;
+import org.openhubframework.openhub.benchmarks.app.BenchmarkEchoService;
+import org.openhubframework.openhub.core.common.contextcall.ContextCall;
+import org.openhubframework.openhub.core.common.contextcall.ContextCallHttpImpl;
+
+
+/**
+ * Benchmark of in-process {@link ContextCall} (the target service is in local application context)
+ * compared with {@link ContextCallHttpImpl HTTP call} through embedded servlet container and with direct method call.
+ *
+ * @since 2.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ContextCallBenchmark {
+
+    private static final String VALUE = "benchmark";
+
+    private ConfigurableApplicationContext applicationContext;
+
+    private ContextCall contextCall;
+
+    private ContextCall httpContextCall;
+
+    private BenchmarkEchoService echoService;
+
+    @Setup(Level.Trial)
+    public void startApplication() {
+        applicationContext = BenchmarkApplication.startWeb();
+
+        contextCall = applicationContext.getBean(ContextCall.class);
+        httpContextCall = applicationContext.getBean(ContextCallHttpImpl.class);
+        echoService = applicationContext.getBean(BenchmarkEchoService.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopApplication() {
+        applicationContext.close();
+    }
+
+    @Benchmark
+    public String contextCall() {
+        return contextCall.makeCall(BenchmarkEchoService.class, "echo", String.class, VALUE);
+    }
+
+    @Benchmark
+    public String httpContextCall() {
+        return httpContextCall.makeCall(BenchmarkEchoService.class, "echo", String.class, VALUE);
+    }
+
+    @Benchmark
+    public String directCall() {
+        return echoService.echo(VALUE);
+    }
+}
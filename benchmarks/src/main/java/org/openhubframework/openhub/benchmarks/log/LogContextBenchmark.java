@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.log;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.*;
+
+import org.openhubframework.openhub.api.entity.ExternalSystemExtEnum;
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.common.log.GUID;
+import org.openhubframework.openhub.common.log.LogContext;
+import org.openhubframework.openhub.common.log.LogContextCarrier;
+import org.openhubframework.openhub.common.log.LogContextFilter;
+import org.openhubframework.openhub.common.log.RequestIdGenerator;
+import org.openhubframework.openhub.core.common.asynch.LogContextHelper;
+
+
+/**
+ * Benchmark of log context (MDC) propagation in asynch. processing - one SEDA hop consists of setting
+ * log context params and their clearing.
+ * <p>
+ * Compares setting of values one by one with installing of prepared {@link LogContextCarrier}
+ * and generating of request IDs by {@link GUID} and {@link RequestIdGenerator}.
+ *
+ * @since 2.2
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class LogContextBenchmark {
+
+    private Message message;
+
+    private LogContextCarrier carrier;
+
+    private String requestId;
+
+    @Setup(Level.Trial)
+    public void prepareMessage() {
+        message = new Message();
+        message.setSourceSystem(new ExternalSystemExtEnum() {
+            @Override
+            public String getSystemName() {
+                return "CRM";
+            }
+        });
+        message.setCorrelationId("da793349-b486-489a-9180-200789b7007f");
+        message.setProcessId("process123");
+
+        requestId = RequestIdGenerator.nextId();
+        carrier = LogContextHelper.createLogContext(message, requestId);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearContext() {
+        LogContext.clearContext();
+    }
+
+    @Benchmark
+    public String hopByValues() {
+        LogContext.setContextValue(LogContextFilter.CTX_SOURCE_SYSTEM, message.getSourceSystem().getSystemName());
+        LogContext.setContextValue(LogContextFilter.CTX_CORRELATION_ID, message.getCorrelationId());
+        LogContext.setContextValue(LogContextFilter.CTX_PROCESS_ID, message.getProcessId());
+        LogContext.setContextValue(LogContextFilter.CTX_REQUEST_ID, requestId);
+
+        String value = LogContext.getContextValue(LogContextFilter.CTX_REQUEST_ID);
+
+        LogContextHelper.removeLogContextParams();
+        return value;
+    }
+
+    @Benchmark
+    public String hopByCarrier() {
+        carrier.install();
+
+        String value = LogContext.getContextValue(LogContextFilter.CTX_REQUEST_ID);
+
+        LogContextCarrier.clear();
+        return value;
+    }
+
+    @Benchmark
+    public LogContextCarrier createCarrier() {
+        return LogContextHelper.createLogContext(message, requestId);
+    }
+
+    @Benchmark
+    public String requestIdByGuid() {
+        return new GUID().toString();
+    }
+
+    @Benchmark
+    public String requestIdByGenerator() {
+        return RequestIdGenerator.nextId();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.synchronization;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.openhubframework.openhub.common.synchronization.SynchronizationBlock;
+import org.openhubframework.openhub.common.synchronization.SynchronizationExecutor;
+
+
+/**
+ * Benchmark of {@link SynchronizationExecutor#execute(SynchronizationBlock, String, Object)} under contention.
+ * <p>
+ * Parameter {@code values} sets count of different synchronization values shared by all threads,
+ * parameter {@code work} sets amount of work (in {@link Blackhole#consumeCPU(long) tokens}) in synchronized block.
+ *
+ * @since 2.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class SynchronizationExecutorBenchmark {
+
+    private static final String SYNC_TYPE = "BENCHMARK";
+
+    @Param({"1", "8"})
+    public int values;
+
+    @Param({"0", "100"})
+    public long work;
+
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    /**
+     * Synchronization value of one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadValue {
+
+        private String value;
+
+        @Setup(Level.Trial)
+        public void assignValue(SynchronizationExecutorBenchmark benchmark) {
+            value = "value" + (benchmark.threadIndex.getAndIncrement() % benchmark.values);
+        }
+    }
+
+    @Benchmark
+    public Integer execute(ThreadValue threadValue) {
+        return SynchronizationExecutor.getInstance().execute(new SynchronizationBlock() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T syncBlock() {
+                Blackhole.consumeCPU(work);
+                return (T) Integer.valueOf(1);
+            }
+        }, SYNC_TYPE, threadValue.value);
+    }
+}
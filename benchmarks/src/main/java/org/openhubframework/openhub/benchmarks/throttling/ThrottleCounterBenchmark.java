@@ -0,0 +1,85 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.benchmarks.throttling;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.*;
+
+import org.openhubframework.openhub.core.throttling.ThrottleCounterMemoryImpl;
+import org.openhubframework.openhub.spi.throttling.ThrottleScope;
+
+
+/**
+ * Benchmark of {@link ThrottleCounterMemoryImpl#count(ThrottleScope, int)} under contention.
+ * <p>
+ * Parameter {@code scopes} sets count of different throttle scopes shared by all threads:
+ * one scope means that all threads compete for the same scope.
+ *
+ * @since 2.2
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(8)
+@State(Scope.Benchmark)
+public class ThrottleCounterBenchmark {
+
+    private static final int INTERVAL_SEC = 1;
+
+    @Param({"1", "8"})
+    public int scopes;
+
+    private ThrottleCounterMemoryImpl counter;
+
+    private ThrottleScope[] throttleScopes;
+
+    private final AtomicInteger threadIndex = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void prepareCounter() {
+        counter = new ThrottleCounterMemoryImpl();
+
+        throttleScopes = new ThrottleScope[scopes];
+        for (int i = 0; i < scopes; i++) {
+            throttleScopes[i] = new ThrottleScope("CRM" + i, "customerService");
+        }
+    }
+
+    /**
+     * Throttle scope of one benchmark thread.
+     */
+    @State(Scope.Thread)
+    public static class ThreadScope {
+
+        private ThrottleScope scope;
+
+        @Setup(Level.Trial)
+        public void assignScope(ThrottleCounterBenchmark benchmark) {
+            int index = benchmark.threadIndex.getAndIncrement();
+            scope = benchmark.throttleScopes[index % benchmark.throttleScopes.length];
+        }
+    }
+
+    @Benchmark
+    public int count(ThreadScope threadScope) {
+        return counter.count(threadScope.scope, INTERVAL_SEC);
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.common.collection;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+import org.springframework.util.Assert;
+
+
+/**
+ * Thread-safe map where each entry expires after the same time to live since it was put.
+ * <p>
+ * Entries are held in {@link ConcurrentHashMap} and expiration times in FIFO queue - because time to live is
+ * the same for all entries, the queue is ordered by expiration time and expired entries are always at its head.
+ * Expired entries are removed by each operation (only the expired ones are visited, no full scan),
+ * so put, get and remove operations are O(1) amortized. Expired entry is never returned.
+ * <p>
+ * Entry removed explicitly is removed only from the map, its expiration stays in the queue until it expires
+ * and then it's skipped (expirations are compared with entries in the map by identity).
+ *
+ * @param <K> the type of keys
+ * @param <V> the type of values
+ * @since 2.2
+ */
+public class ExpiringMap<K, V> {
+
+    private final Map<K, Expiration<K, V>> entries = new ConcurrentHashMap<>();
+
+    private final Queue<Expiration<K, V>> expirations = new ConcurrentLinkedQueue<>();
+
+    private final AtomicBoolean reaping = new AtomicBoolean();
+
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    private final long ttlMillis;
+
+    private final Clock clock;
+
+    /**
+     * Creates new map.
+     *
+     * @param ttlMillis time to live of entries (in millis)
+     */
+    public ExpiringMap(long ttlMillis) {
+        this(ttlMillis, Clock.systemUTC());
+    }
+
+    /**
+     * Creates new map.
+     *
+     * @param ttlMillis time to live of entries (in millis)
+     * @param clock the clock for getting current time
+     */
+    public ExpiringMap(long ttlMillis, Clock clock) {
+        Assert.isTrue(ttlMillis > 0, "the ttlMillis must be positive");
+        Assert.notNull(clock, "the clock must not be null");
+
+        this.ttlMillis = ttlMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Puts new entry if there is no entry with the same key.
+     *
+     * @param key the key
+     * @param value the value
+     * @return the current value with the key or {@code null} if new entry was put
+     */
+    @Nullable
+    public V putIfAbsent(K key, V value) {
+        Assert.notNull(key, "the key must not be null");
+        Assert.notNull(value, "the value must not be null");
+
+        long now = clock.millis();
+        removeExpired(now);
+
+        Expiration<K, V> expiration = new Expiration<>(key, value, now + ttlMillis);
+        Expiration<K, V> current = entries.putIfAbsent(key, expiration);
+        if (current == null) {
+            expirations.offer(expiration);
+            return null;
+        }
+        return current.value;
+    }
+
+    /**
+     * Gets value with specified key.
+     *
+     * @param key the key
+     * @return the value or {@code null} if there is no (not expired) value with the key
+     */
+    @Nullable
+    public V get(K key) {
+        long now = clock.millis();
+        removeExpired(now);
+
+        Expiration<K, V> expiration = entries.get(key);
+        // expired entry can be still in the map if other thread is removing expired entries just now
+        return expiration != null && !expiration.isExpired(now) ? expiration.value : null;
+    }
+
+    /**
+     * Removes entry with specified key.
+     *
+     * @param key the key
+     * @return the removed value or {@code null} if there was no value with the key
+     */
+    @Nullable
+    public V remove(K key) {
+        removeExpired(clock.millis());
+
+        // expiration is left in the queue, it's skipped when it expires
+        Expiration<K, V> expiration = entries.remove(key);
+        return expiration != null ? expiration.value : null;
+    }
+
+    /**
+     * Removes expired entries.
+     *
+     * @return count of removed entries
+     */
+    public int removeExpired() {
+        return removeExpired(clock.millis());
+    }
+
+    private int removeExpired(long now) {
+        // one thread is enough, other threads don't wait
+        if (!reaping.compareAndSet(false, true)) {
+            return 0;
+        }
+
+        try {
+            int count = 0;
+            Expiration<K, V> expiration;
+            while ((expiration = expirations.peek()) != null && expiration.isExpired(now)) {
+                expirations.poll();
+
+                // entry can be already removed (or replaced after removing)
+                if (entries.remove(expiration.key, expiration)) {
+                    count++;
+                }
+            }
+
+            expiredCount.addAndGet(count);
+            return count;
+        } finally {
+            reaping.set(false);
+        }
+    }
+
+    /**
+     * Gets count of entries.
+     *
+     * @return count of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Gets total count of expired (and removed) entries.
+     *
+     * @return count of expired entries
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * Entry with its expiration time, instances are compared by identity.
+     */
+    private static final class Expiration<K, V> {
+
+        private final K key;
+
+        private final V value;
+
+        private final long expiresAt;
+
+        private Expiration(K key, V value, long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return expiresAt <= now;
+        }
+    }
+}
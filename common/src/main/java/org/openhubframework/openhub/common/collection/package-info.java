@@ -0,0 +1,4 @@
+/**
+ * Contains special-purpose collections.
+ */
+package org.openhubframework.openhub.common.collection;
@@ -16,6 +16,9 @@
 
 package org.openhubframework.openhub.common.log;
 
+import java.util.Map;
+import javax.annotation.Nullable;
+
 import org.slf4j.MDC;
 
 /**
@@ -43,6 +46,27 @@ public final class LogContext {
         MDC.clear();
     }
 
+    /**
+     * Gets copy of the whole context of the current thread.
+     *
+     * @return copy of the context, {@code null} if there is no context
+     * @since 2.2
+     */
+    @Nullable
+    public static Map<String, String> getContext() {
+        return MDC.getCopyOfContextMap();
+    }
+
+    /**
+     * Replaces the whole context of the current thread by specified values.
+     *
+     * @param context the new context values
+     * @since 2.2
+     */
+    public static void setContext(Map<String, String> context) {
+        MDC.setContextMap(context);
+    }
+
     /**
      * Prevents instantiation.
      */
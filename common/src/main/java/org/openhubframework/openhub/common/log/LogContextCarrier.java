@@ -0,0 +1,121 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.common.log;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import javax.annotation.Nullable;
+
+import org.springframework.util.Assert;
+
+
+/**
+ * Immutable carrier of log context values which travels with processing between threads
+ * (e.g. as Camel exchange property between SEDA consumers).
+ * <p>
+ * Values are prepared only once, the carrier is then installed into {@link LogContext} of the current thread
+ * by single map swap instead of putting values one by one.
+ *
+ * @since 2.2
+ * @see LogContext
+ */
+public final class LogContextCarrier {
+
+    private final Map<String, String> values;
+
+    /**
+     * Creates new carrier.
+     *
+     * @param values the context values, {@code null} values are ignored
+     */
+    public LogContextCarrier(Map<String, String> values) {
+        Assert.notNull(values, "the values must not be null");
+
+        Map<String, String> copy = new HashMap<>(values.size() * 2);
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            if (entry.getValue() != null) {
+                copy.put(entry.getKey(), entry.getValue());
+            }
+        }
+        this.values = Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * Creates new carrier with values of the current log context.
+     *
+     * @return carrier
+     */
+    public static LogContextCarrier capture() {
+        Map<String, String> context = LogContext.getContext();
+        return new LogContextCarrier(context != null ? context : Collections.emptyMap());
+    }
+
+    /**
+     * Replaces the whole log context of the current thread by values of this carrier.
+     * This is intended for pooled threads (consumers, schedulers) which have no own context values.
+     */
+    public void install() {
+        LogContext.setContext(values);
+    }
+
+    /**
+     * Adds values of this carrier into the log context of the current thread,
+     * other values of the context are preserved.
+     */
+    public void merge() {
+        Map<String, String> context = LogContext.getContext();
+        if (context == null || context.isEmpty()) {
+            LogContext.setContext(values);
+        } else {
+            context.putAll(values);
+            LogContext.setContext(context);
+        }
+    }
+
+    /**
+     * Clears the log context of the current thread.
+     */
+    public static void clear() {
+        LogContext.clearContext();
+    }
+
+    /**
+     * Gets value of the specified key.
+     *
+     * @param key the key
+     * @return value or {@code null} if there is no value
+     */
+    @Nullable
+    public String getValue(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * Gets all values.
+     *
+     * @return unmodifiable map of values
+     */
+    public Map<String, String> getValues() {
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "LogContextCarrier" + values;
+    }
+}
@@ -127,7 +127,7 @@ public class LogContextFilter implements Filter {
         LogContext.setContextValue(CTX_REQUEST_URI, request.getRequestURI());
 
         // request identifier
-        LogContext.setContextValue(CTX_REQUEST_ID, new GUID().toString());
+        LogContext.setContextValue(CTX_REQUEST_ID, RequestIdGenerator.nextId());
 
         // session identifier
         final HttpSession session = request.getSession(false);
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.common.log;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.concurrent.atomic.AtomicLong;
+
+
+/**
+ * Generator of request IDs for the log context.
+ * <p>
+ * The ID consists of node prefix (host address and start time of the generator) and monotonic counter,
+ * for example {@code 10.0.0.1:jnw4f2ek:1a}. It's unique with respect to the host (and its restarts)
+ * like {@link GUID}, but new ID costs only atomic increment and one string concatenation.
+ *
+ * @since 2.2
+ * @see LogContextFilter
+ */
+public final class RequestIdGenerator {
+
+    /**
+     * A dummy address that is used when the internet address of the local host cannot be found.
+     */
+    private static final String UNKNOWN_HOST = "0.0.0.0";
+
+    private static final String SEPARATOR = ":";
+
+    private static final String NODE_PREFIX = initNodePrefix();
+
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private static String initNodePrefix() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostAddress();
+        } catch (UnknownHostException e) {
+            host = UNKNOWN_HOST;
+        }
+
+        // start time distinguishes restarts of the same host
+        return host + SEPARATOR + Long.toString(System.currentTimeMillis(), Character.MAX_RADIX) + SEPARATOR;
+    }
+
+    /**
+     * Gets new request ID.
+     *
+     * @return request ID
+     */
+    public static String nextId() {
+        return NODE_PREFIX + Long.toString(COUNTER.incrementAndGet(), Character.MAX_RADIX);
+    }
+
+    /**
+     * Gets prefix of all IDs generated by this node.
+     *
+     * @return node prefix
+     */
+    public static String getNodePrefix() {
+        return NODE_PREFIX;
+    }
+
+    /**
+     * Prevents instantiation.
+     */
+    private RequestIdGenerator() {
+        // empty
+    }
+}
@@ -20,13 +20,19 @@ import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+
+import com.codahale.metrics.MetricRegistry;
 
 import org.apache.http.HttpEntityEnclosingRequest;
 import org.apache.http.HttpException;
 import org.apache.http.HttpHost;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpRequestInterceptor;
+import org.apache.http.HttpResponse;
 import org.apache.http.auth.AuthScope;
 import org.apache.http.auth.AuthState;
 import org.apache.http.auth.Credentials;
@@ -37,11 +43,13 @@ import org.apache.http.client.CredentialsProvider;
 import org.apache.http.client.HttpClient;
 import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.protocol.HttpClientContext;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
 import org.apache.http.conn.routing.HttpRoute;
 import org.apache.http.impl.auth.BasicScheme;
 import org.apache.http.impl.client.BasicAuthCache;
 import org.apache.http.impl.client.BasicCredentialsProvider;
 import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.impl.client.HttpClients;
 import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
@@ -49,6 +57,9 @@ import org.apache.http.pool.ConnPoolControl;
 import org.apache.http.protocol.HTTP;
 import org.apache.http.protocol.HttpContext;
 import org.apache.http.protocol.HttpCoreContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
 import org.springframework.ws.transport.http.HttpComponentsMessageSender;
 
 /**
@@ -58,6 +69,17 @@ import org.springframework.ws.transport.http.HttpComponentsMessageSender;
  * Allows to use a pre-configured HttpClient instance, potentially with authentication, HTTP connection pooling, etc.
  * Authentication can also be set by injecting a {@link Credentials} instance (such as the {@link
  * UsernamePasswordCredentials}). Out of box contains {@link RemoveSoapHeadersInterceptor}.
+ * <p>
+ * Connections are pooled by {@link ObservablePoolingConnectionManager}:
+ * <ul>
+ *     <li>expired and idle connections are closed by background evictor,
+ *     see {@link #setEvictionInterval(long)} and {@link #setMaxIdleTime(long)}
+ *     <li>pool statistics and lease waiting times can be exported into {@link MetricRegistry},
+ *     see {@link #setMetricRegistry(MetricRegistry)}
+ *     <li>maximum connections per host can be adjusted by observed demand,
+ *     see {@link #setAdaptiveMaxPerHost(int)}
+ *     <li>keep-alive duration can be limited, see {@link #setKeepAliveDuration(long)}
+ * </ul>
  *
  * @author Tomas Hanus
  * @see HttpClient
@@ -67,12 +89,18 @@ import org.springframework.ws.transport.http.HttpComponentsMessageSender;
  */
 public class CloseableHttpComponentsMessageSender extends HttpComponentsMessageSender {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CloseableHttpComponentsMessageSender.class);
+
     protected static final String MACHINE_NAME = "OpenHub-ESB";
 
     private static final int DEFAULT_CONNECTION_TIMEOUT_MILLISECONDS = (60 * 1000);
     private static final int DEFAULT_READ_TIMEOUT_MILLISECONDS = (60 * 1000);
+    private static final long DEFAULT_EVICTION_INTERVAL_MILLISECONDS = (5 * 1000);
+    private static final long DEFAULT_MAX_IDLE_TIME_MILLISECONDS = (30 * 1000);
+    private static final String DEFAULT_METRIC_PREFIX = "ohf.http.pool";
 
-    private static RequestConfig.Builder requestConfigBuilder = RequestConfig.custom();
+    // note: no initializer, it's used by parent constructor
+    private RequestConfig.Builder requestConfigBuilder;
 
     private HttpClientBuilder clientBuilder = HttpClients.custom();
     private ConnPoolControl connPoolControl;
@@ -84,6 +112,17 @@ public class CloseableHttpComponentsMessageSender extends HttpComponentsMessageS
 
     private ThreadLocal<AuthCache> authCache = new ThreadLocal<AuthCache>();
 
+    private long evictionInterval = DEFAULT_EVICTION_INTERVAL_MILLISECONDS;
+    private long maxIdleTime = DEFAULT_MAX_IDLE_TIME_MILLISECONDS;
+    private int adaptiveMaxPerHost = 0;
+    private long keepAliveDuration = -1;
+
+    @Nullable
+    private MetricRegistry metricRegistry;
+    private String metricPrefix = DEFAULT_METRIC_PREFIX;
+
+    private ScheduledExecutorService poolMaintenanceExecutor;
+
     /**
      * Create a new instance of the {@code HttpClientMessageSender} with a default {@link HttpClient}
      * that uses a default {@link org.apache.http.impl.conn.PoolingHttpClientConnectionManager}.
@@ -91,7 +130,7 @@ public class CloseableHttpComponentsMessageSender extends HttpComponentsMessageS
     public CloseableHttpComponentsMessageSender() {
         super();
 
-        PoolingHttpClientConnectionManager connPoolControl = new PoolingHttpClientConnectionManager();
+        ObservablePoolingConnectionManager connPoolControl = new ObservablePoolingConnectionManager();
         connPoolControl.closeExpiredConnections();
 
         this.connPoolControl = connPoolControl;
@@ -152,7 +191,7 @@ public class CloseableHttpComponentsMessageSender extends HttpComponentsMessageS
         if (timeout < 0) {
             throw new IllegalArgumentException("timeout must be a non-negative value");
         }
-        requestConfigBuilder.setConnectTimeout(2 * timeout).setConnectionRequestTimeout(timeout);
+        getRequestConfigBuilder().setConnectTimeout(2 * timeout).setConnectionRequestTimeout(timeout);
     }
 
     /**
@@ -166,7 +205,7 @@ public class CloseableHttpComponentsMessageSender extends HttpComponentsMessageS
         if (timeout < 0) {
             throw new IllegalArgumentException("timeout must be a non-negative value");
         }
-        requestConfigBuilder.setSocketTimeout(timeout);
+        getRequestConfigBuilder().setSocketTimeout(timeout);
     }
 
     /**
@@ -245,6 +284,92 @@ public class CloseableHttpComponentsMessageSender extends HttpComponentsMessageS
         }
     }
 
+    /**
+     * Sets the interval of background closing of expired and idle connections. A value of 0 disables the closing.
+     * Default is 5 seconds.
+     *
+     * @param evictionInterval the interval in milliseconds
+     * @see #setMaxIdleTime(long)
+     */
+    public void setEvictionInterval(long evictionInterval) {
+        if (evictionInterval < 0) {
+            throw new IllegalArgumentException("evictionInterval must be a non-negative value");
+        }
+        this.evictionInterval = evictionInterval;
+    }
+
+    /**
+     * Sets the time after which idle connections are closed by background evictor. A value of 0 means
+     * that only expired connections are closed. Default is 30 seconds.
+     *
+     * @param maxIdleTime the time in milliseconds
+     * @see #setEvictionInterval(long)
+     */
+    public void setMaxIdleTime(long maxIdleTime) {
+        if (maxIdleTime < 0) {
+            throw new IllegalArgumentException("maxIdleTime must be a non-negative value");
+        }
+        this.maxIdleTime = maxIdleTime;
+    }
+
+    /**
+     * Sets the upper limit for adaptive sizing of maximum connections per host. If set then maximum connections
+     * of each host (except hosts set by {@link #setMaxConnectionsPerHost(Map)}) are adjusted by background evictor
+     * between {@link #setDefaultMaxPerHost(int) default maximum} and this limit by observed demand.
+     * A value of 0 (default) disables adaptive sizing.
+     *
+     * @param adaptiveMaxPerHost the upper limit of connections per host
+     * @see ObservablePoolingConnectionManager#adjustMaxPerRoute(int, int)
+     */
+    public void setAdaptiveMaxPerHost(int adaptiveMaxPerHost) {
+        if (adaptiveMaxPerHost < 0) {
+            throw new IllegalArgumentException("adaptiveMaxPerHost must be a non-negative value");
+        }
+        this.adaptiveMaxPerHost = adaptiveMaxPerHost;
+    }
+
+    /**
+     * Sets how long can be connection kept alive for reuse. The value from server's {@code Keep-Alive} header
+     * is used if it's lower. A negative value (default) means that connections are kept alive as long as
+     * the server allows (indefinitely if the server doesn't send {@code Keep-Alive} header).
+     *
+     * @param keepAliveDuration the duration in milliseconds
+     */
+    public void setKeepAliveDuration(long keepAliveDuration) {
+        this.keepAliveDuration = keepAliveDuration;
+    }
+
+    /**
+     * Sets period of inactivity after which persistent connections are validated before leasing.
+     *
+     * @param validateAfterInactivity the period in milliseconds, a non-positive value disables validation
+     * @see PoolingHttpClientConnectionManager#setValidateAfterInactivity(int)
+     */
+    public void setValidateAfterInactivity(int validateAfterInactivity) {
+        getConnectionManager().setValidateAfterInactivity(validateAfterInactivity);
+    }
+
+    /**
+     * Sets the metric registry into which pool statistics are exported.
+     *
+     * @param metricRegistry the metric registry
+     * @see #setMetricPrefix(String)
+     */
+    public void setMetricRegistry(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    /**
+     * Sets prefix of names of pool metrics, default is {@value #DEFAULT_METRIC_PREFIX}.
+     * The prefix must be unique if there are more message senders with the same metric registry.
+     *
+     * @param metricPrefix the prefix
+     */
+    public void setMetricPrefix(String metricPrefix) {
+        Assert.hasText(metricPrefix, "metricPrefix must not be empty");
+        this.metricPrefix = metricPrefix;
+    }
+
     /**
      * Sets the authentication scope to be used. Only used when the {@code credentials} property has been set.
      * <p>
@@ -288,18 +413,73 @@ public class CloseableHttpComponentsMessageSender extends HttpComponentsMessageS
         if (credentials != null) {
             credentialsProvider.setCredentials(authScope, credentials);
         }
+        if (keepAliveDuration >= 0) {
+            getClientBuilder().setKeepAliveStrategy(new LimitedKeepAliveStrategy(keepAliveDuration));
+        }
+
         httpClient = getClientBuilder()
                 .setConnectionManager((PoolingHttpClientConnectionManager) getConnPoolControl())
                 .setDefaultCredentialsProvider(credentialsProvider)
-                .setDefaultRequestConfig(requestConfigBuilder.build())
+                .setDefaultRequestConfig(getRequestConfigBuilder().build())
                 .build();
+
+        if (metricRegistry != null) {
+            getConnectionManager().registerMetrics(metricRegistry, metricPrefix);
+        }
+
+        if (evictionInterval > 0) {
+            getConnectionManager().setAdjustmentInterval(evictionInterval);
+
+            poolMaintenanceExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "ohf-http-pool-maintenance");
+                thread.setDaemon(true);
+                return thread;
+            });
+            poolMaintenanceExecutor.scheduleWithFixedDelay(this::maintainPool,
+                    evictionInterval, evictionInterval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Closes expired and idle connections and adjusts maximum connections per host (if enabled).
+     */
+    protected void maintainPool() {
+        try {
+            ObservablePoolingConnectionManager connectionManager = getConnectionManager();
+
+            connectionManager.closeExpiredConnections();
+            if (maxIdleTime > 0) {
+                connectionManager.closeIdleConnections(maxIdleTime, TimeUnit.MILLISECONDS);
+            }
+
+            if (adaptiveMaxPerHost > 0) {
+                int minPerHost = Math.min(connectionManager.getDefaultMaxPerRoute(), adaptiveMaxPerHost);
+                connectionManager.adjustMaxPerRoute(minPerHost, adaptiveMaxPerHost);
+            }
+        } catch (Exception ex) {
+            LOG.warn("Error during maintenance of HTTP connection pool", ex);
+        }
     }
 
     @Override
     public void destroy() throws Exception {
+        if (poolMaintenanceExecutor != null) {
+            poolMaintenanceExecutor.shutdownNow();
+        }
         ((CloseableHttpClient) getHttpClient()).close();
     }
 
+    private RequestConfig.Builder getRequestConfigBuilder() {
+        if (requestConfigBuilder == null) {
+            requestConfigBuilder = RequestConfig.custom();
+        }
+        return requestConfigBuilder;
+    }
+
+    private ObservablePoolingConnectionManager getConnectionManager() {
+        return (ObservablePoolingConnectionManager) getConnPoolControl();
+    }
+
     /**
      * Gets the {@code HttpClientBuilder}.
      *
@@ -318,6 +498,30 @@ public class CloseableHttpComponentsMessageSender extends HttpComponentsMessageS
         this.credentialsProvider = credentialsProvider;
     }
 
+    /**
+     * {@link ConnectionKeepAliveStrategy} that limits keep-alive duration sent by the server
+     * (or sets it if the server doesn't send it).
+     */
+    public static class LimitedKeepAliveStrategy implements ConnectionKeepAliveStrategy {
+
+        private final long maxDuration;
+
+        /**
+         * Creates new strategy.
+         *
+         * @param maxDuration the maximum keep-alive duration in milliseconds
+         */
+        public LimitedKeepAliveStrategy(long maxDuration) {
+            this.maxDuration = maxDuration;
+        }
+
+        @Override
+        public long getKeepAliveDuration(HttpResponse response, HttpContext context) {
+            long duration = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return duration < 0 ? maxDuration : Math.min(duration, maxDuration);
+        }
+    }
+
     /**
      * HttpClient {@link org.apache.http.HttpRequestInterceptor} implementation that removes {@code Content-Length} and
      * {@code Transfer-Encoding} headers from the request. Necessary, because some SAAJ and other SOAP implementations
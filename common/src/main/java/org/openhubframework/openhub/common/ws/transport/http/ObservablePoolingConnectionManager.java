@@ -0,0 +1,343 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.common.ws.transport.http;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+import javax.annotation.Nullable;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.conn.ConnectionRequest;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+
+/**
+ * {@link PoolingHttpClientConnectionManager} that observes leasing of connections:
+ * <ul>
+ *     <li>time of waiting for connection lease and count of lease timeouts is measured for each route
+ *     <li>time of holding leased connection is measured for each route and it's used for
+ *     {@link #adjustMaxPerRoute(int, int) adaptive sizing} of maximum connections per route
+ *     <li>pool statistics (leased/available/pending/max) can be exported as {@link Gauge gauges}
+ *     into {@link MetricRegistry}, total and for each route
+ * </ul>
+ *
+ * @since 2.2
+ * @see CloseableHttpComponentsMessageSender
+ */
+public class ObservablePoolingConnectionManager extends PoolingHttpClientConnectionManager {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ObservablePoolingConnectionManager.class);
+
+    /**
+     * Reserve of connections above observed average count of used connections.
+     */
+    private static final double ADAPTIVE_HEADROOM = 1.5;
+
+    private static final long DEFAULT_ADJUSTMENT_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final Map<HttpClientConnection, Lease> leases = new ConcurrentHashMap<>();
+
+    private final Map<HttpRoute, RouteStats> routeStats = new ConcurrentHashMap<>();
+
+    private final Set<HttpRoute> fixedRoutes = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    private final Timer leaseWaitTimer = new Timer();
+
+    private final AtomicLong leaseTimeouts = new AtomicLong();
+
+    private volatile long lastAdjustmentNanos = System.nanoTime();
+
+    private volatile long adjustmentIntervalNanos = DEFAULT_ADJUSTMENT_INTERVAL_NANOS;
+
+    @Nullable
+    private MetricRegistry metricRegistry;
+
+    private String metricPrefix;
+
+    @Override
+    public ConnectionRequest requestConnection(final HttpRoute route, Object state) {
+        final ConnectionRequest request = super.requestConnection(route, state);
+        final long start = System.nanoTime();
+
+        return new ConnectionRequest() {
+
+            @Override
+            public HttpClientConnection get(long timeout, TimeUnit tunit)
+                    throws InterruptedException, ExecutionException, ConnectionPoolTimeoutException {
+
+                RouteStats stats = getRouteStats(route);
+                try {
+                    HttpClientConnection conn = request.get(timeout, tunit);
+
+                    long now = System.nanoTime();
+                    leaseWaitTimer.update(now - start, TimeUnit.NANOSECONDS);
+                    stats.leaseWait.update(now - start, TimeUnit.NANOSECONDS);
+                    leases.put(conn, new Lease(stats, now));
+                    return conn;
+                } catch (ConnectionPoolTimeoutException ex) {
+                    leaseTimeouts.incrementAndGet();
+                    stats.leaseTimeouts.incrementAndGet();
+                    LOG.warn("Timeout waiting for connection to {}, pool stats: {}", route, getStats(route));
+                    throw ex;
+                }
+            }
+
+            @Override
+            public boolean cancel() {
+                return request.cancel();
+            }
+        };
+    }
+
+    @Override
+    public void releaseConnection(HttpClientConnection managedConn, Object state, long keepalive, TimeUnit tunit) {
+        Lease lease = leases.remove(managedConn);
+        if (lease != null) {
+            lease.stats.holdNanos.add(System.nanoTime() - lease.leasedAt);
+        }
+
+        super.releaseConnection(managedConn, state, keepalive, tunit);
+    }
+
+    /**
+     * Sets maximum connections for the route, adaptive sizing isn't applied to this route then.
+     */
+    @Override
+    public void setMaxPerRoute(HttpRoute route, int max) {
+        fixedRoutes.add(route);
+
+        super.setMaxPerRoute(route, max);
+    }
+
+    /**
+     * Adjusts maximum connections of each route (except routes with {@link #setMaxPerRoute(HttpRoute, int) fixed}
+     * maximum) by observed demand since last adjustment.
+     * Demand is computed by Little's law as total time of holding connections divided by time since last adjustment
+     * (= average count of used connections), if there are pending requests then maximum is increased by their count.
+     * Nothing is adjusted until at least {@link #setAdjustmentInterval(long) adjustment interval} has passed
+     * since last adjustment (or since creation), demand observed in shorter time isn't representative.
+     *
+     * @param minPerRoute the minimum connections per route
+     * @param maxPerRoute the maximum connections per route
+     */
+    public void adjustMaxPerRoute(int minPerRoute, int maxPerRoute) {
+        Assert.isTrue(minPerRoute > 0 && minPerRoute <= maxPerRoute, "the minPerRoute must be in (0, maxPerRoute>");
+
+        long now = System.nanoTime();
+        long window = now - lastAdjustmentNanos;
+        if (window < Math.max(1, adjustmentIntervalNanos)) {
+            return;
+        }
+        lastAdjustmentNanos = now;
+
+        for (Map.Entry<HttpRoute, RouteStats> en : routeStats.entrySet()) {
+            HttpRoute route = en.getKey();
+            double demand = en.getValue().holdNanos.sumThenReset() / (double) window;
+
+            if (fixedRoutes.contains(route)) {
+                continue;
+            }
+
+            int current = getMaxPerRoute(route);
+            int target = (int) Math.ceil(demand * ADAPTIVE_HEADROOM);
+
+            int pending = getStats(route).getPending();
+            if (pending > 0) {
+                target = Math.max(target, current + pending);
+            }
+
+            target = Math.min(maxPerRoute, Math.max(minPerRoute, target));
+            if (target != current) {
+                super.setMaxPerRoute(route, target);
+
+                LOG.debug("Maximum connections for route {} changed from {} to {} (demand {}, pending {})",
+                        route, current, target, demand, pending);
+            }
+        }
+    }
+
+    /**
+     * Sets the minimal time between adjustments of maximum connections per route. Default is 5 seconds.
+     *
+     * @param adjustmentInterval the time in milliseconds
+     * @see #adjustMaxPerRoute(int, int)
+     */
+    public void setAdjustmentInterval(long adjustmentInterval) {
+        Assert.isTrue(adjustmentInterval >= 0, "the adjustmentInterval must be a non-negative value");
+
+        this.adjustmentIntervalNanos = TimeUnit.MILLISECONDS.toNanos(adjustmentInterval);
+    }
+
+    /**
+     * Starts new adjustment window that began the specified time ago (intended for tests).
+     *
+     * @param elapsed the time in milliseconds since start of the window
+     */
+    void resetAdjustmentWindow(long elapsed) {
+        lastAdjustmentNanos = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(elapsed);
+    }
+
+    /**
+     * Registers gauges of pool statistics and timers of lease waiting into metric registry.
+     *
+     * @param metricRegistry the metric registry
+     * @param metricPrefix the prefix of metric names
+     */
+    public synchronized void registerMetrics(MetricRegistry metricRegistry, String metricPrefix) {
+        Assert.notNull(metricRegistry, "the metricRegistry must not be null");
+        Assert.hasText(metricPrefix, "the metricPrefix must not be empty");
+
+        this.metricRegistry = metricRegistry;
+        this.metricPrefix = metricPrefix;
+
+        registerStatsGauges(metricPrefix, () -> getTotalStats());
+        metricRegistry.register(name(metricPrefix, "leaseWait"), leaseWaitTimer);
+        metricRegistry.register(name(metricPrefix, "leaseTimeouts"), (Gauge<Long>) leaseTimeouts::get);
+
+        for (Map.Entry<HttpRoute, RouteStats> en : routeStats.entrySet()) {
+            registerRouteMetrics(en.getKey(), en.getValue());
+        }
+    }
+
+    private RouteStats getRouteStats(HttpRoute route) {
+        RouteStats stats = routeStats.get(route);
+        if (stats == null) {
+            stats = routeStats.computeIfAbsent(route, r -> new RouteStats());
+            synchronized (this) {
+                if (metricRegistry != null && !stats.registered) {
+                    registerRouteMetrics(route, stats);
+                }
+            }
+        }
+        return stats;
+    }
+
+    private void registerRouteMetrics(HttpRoute route, RouteStats stats) {
+        String prefix = name(metricPrefix, "route", getRouteName(route));
+
+        // route metrics are not required, error of registration mustn't break getting of connection
+        try {
+            registerStatsGauges(prefix, () -> getStats(route));
+            metricRegistry.register(name(prefix, "leaseWait"), stats.leaseWait);
+            metricRegistry.register(name(prefix, "leaseTimeouts"), (Gauge<Long>) stats.leaseTimeouts::get);
+        } catch (IllegalArgumentException ex) {
+            LOG.warn("Metrics of route {} can't be registered: {}", route, ex.getMessage());
+        }
+        stats.registered = true;
+    }
+
+    /**
+     * Gets unique name of the route for metrics, e.g. {@code https_host_443.via.proxy_8080.from.10_0_0_1}.
+     * There can be more routes to the same target host (different scheme, proxy or local address).
+     */
+    static String getRouteName(HttpRoute route) {
+        String routeName = toMetricName(route.getTargetHost().toURI());
+        if (route.getProxyHost() != null) {
+            routeName = name(routeName, "via", toMetricName(route.getProxyHost().toURI()));
+        }
+        if (route.getLocalAddress() != null) {
+            routeName = name(routeName, "from", toMetricName(route.getLocalAddress().getHostAddress()));
+        }
+        return routeName;
+    }
+
+    private static String toMetricName(String value) {
+        return value.replace("://", "_").replace(':', '_').replace('.', '_');
+    }
+
+    private void registerStatsGauges(String prefix, PoolStatsSupplier stats) {
+        registerGauge(name(prefix, "leased"), stats, PoolStats::getLeased);
+        registerGauge(name(prefix, "available"), stats, PoolStats::getAvailable);
+        registerGauge(name(prefix, "pending"), stats, PoolStats::getPending);
+        registerGauge(name(prefix, "max"), stats, PoolStats::getMax);
+    }
+
+    private void registerGauge(String name, PoolStatsSupplier stats, ToIntFunction<PoolStats> value) {
+        metricRegistry.register(name, (Gauge<Integer>) () -> value.applyAsInt(stats.get()));
+    }
+
+    /**
+     * Gets timer of waiting for connection lease (all routes).
+     *
+     * @return timer
+     */
+    public Timer getLeaseWaitTimer() {
+        return leaseWaitTimer;
+    }
+
+    /**
+     * Gets count of timeouts of waiting for connection lease (all routes).
+     *
+     * @return count of timeouts
+     */
+    public long getLeaseTimeouts() {
+        return leaseTimeouts.get();
+    }
+
+    @FunctionalInterface
+    private interface PoolStatsSupplier {
+
+        PoolStats get();
+    }
+
+    /**
+     * Statistics of one route.
+     */
+    private static final class RouteStats {
+
+        private final Timer leaseWait = new Timer();
+
+        private final AtomicLong leaseTimeouts = new AtomicLong();
+
+        private final LongAdder holdNanos = new LongAdder();
+
+        private boolean registered;
+    }
+
+    /**
+     * Leased connection.
+     */
+    private static final class Lease {
+
+        private final RouteStats stats;
+
+        private final long leasedAt;
+
+        private Lease(RouteStats stats, long leasedAt) {
+            this.stats = stats;
+            this.leasedAt = leasedAt;
+        }
+    }
+}
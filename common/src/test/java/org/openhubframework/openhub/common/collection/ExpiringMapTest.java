@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.common.collection;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import org.junit.Test;
+
+
+/**
+ * Test suite for {@link ExpiringMap}.
+ *
+ * @since 2.2
+ */
+public class ExpiringMapTest {
+
+    private final MutableClock clock = new MutableClock();
+
+    @Test
+    public void testPutAndGet() {
+        ExpiringMap<String, String> map = new ExpiringMap<>(1000, clock);
+
+        assertThat(map.putIfAbsent("key", "value"), nullValue());
+        assertThat(map.putIfAbsent("key", "other"), is("value"));
+        assertThat(map.get("key"), is("value"));
+        assertThat(map.size(), is(1));
+
+        assertThat(map.remove("key"), is("value"));
+        assertThat(map.get("key"), nullValue());
+        assertThat(map.size(), is(0));
+    }
+
+    @Test
+    public void testExpiration() {
+        ExpiringMap<String, String> map = new ExpiringMap<>(1000, clock);
+
+        map.putIfAbsent("first", "value");
+        clock.millis = 500;
+        map.putIfAbsent("second", "value");
+
+        clock.millis = 1000;
+        map.putIfAbsent("third", "value");
+        assertThat(map.get("first"), nullValue());
+        assertThat(map.get("second"), is("value"));
+        assertThat(map.getExpiredCount(), is(1L));
+
+        // removed entries are not counted as expired
+        map.remove("second");
+        clock.millis = 2000;
+        assertThat(map.removeExpired(), is(1));
+        assertThat(map.size(), is(0));
+        assertThat(map.getExpiredCount(), is(2L));
+    }
+
+    @Test
+    public void testReAddedEntryIsNotExpiredEarlier() {
+        ExpiringMap<String, String> map = new ExpiringMap<>(1000, clock);
+
+        map.putIfAbsent("key", "value1");
+        map.remove("key");
+        clock.millis = 800;
+        map.putIfAbsent("key", "value2");
+
+        clock.millis = 1000;
+        assertThat(map.removeExpired(), is(0));
+        assertThat(map.get("key"), is("value2"));
+    }
+
+    @Test
+    public void testExpiredEntryIsRemovedByGet() {
+        ExpiringMap<String, String> map = new ExpiringMap<>(1000, clock);
+
+        map.putIfAbsent("key", "value");
+        clock.millis = 1000;
+        assertThat(map.get("key"), nullValue());
+        assertThat(map.size(), is(0));
+        assertThat(map.getExpiredCount(), is(1L));
+    }
+
+    @Test
+    public void testReAddedSameValueIsNotExpiredEarlier() {
+        ExpiringMap<String, String> map = new ExpiringMap<>(1000, clock);
+
+        map.putIfAbsent("key", "value");
+        assertThat(map.remove("key"), is("value"));
+        clock.millis = 800;
+        map.putIfAbsent("key", "value");
+
+        clock.millis = 1000;
+        assertThat(map.removeExpired(), is(0));
+        assertThat(map.get("key"), is("value"));
+        assertThat(map.getExpiredCount(), is(0L));
+    }
+
+    /**
+     * Clock with time set by test.
+     */
+    private static class MutableClock extends Clock {
+
+        private long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneId.systemDefault();
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
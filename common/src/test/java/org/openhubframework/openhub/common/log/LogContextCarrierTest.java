@@ -0,0 +1,109 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.common.log;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.openhubframework.openhub.common.log.LogContextFilter.CTX_CORRELATION_ID;
+import static org.openhubframework.openhub.common.log.LogContextFilter.CTX_REQUEST_ID;
+import static org.openhubframework.openhub.common.log.LogContextFilter.CTX_REQUEST_URI;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+
+/**
+ * Test suite for {@link LogContextCarrier} and {@link RequestIdGenerator}.
+ *
+ * @since 2.2
+ */
+@RunWith(JUnit4.class)
+public class LogContextCarrierTest {
+
+    @After
+    public void clearContext() {
+        LogContext.clearContext();
+    }
+
+    @Test
+    public void testInstall() {
+        LogContext.setContextValue(CTX_REQUEST_URI, "/ws/test");
+
+        LogContextCarrier carrier = createCarrier();
+        carrier.install();
+
+        assertThat(LogContext.getContextValue(CTX_REQUEST_ID), is("req-1"));
+        assertThat(LogContext.getContextValue(CTX_CORRELATION_ID), is("corr-1"));
+        assertThat(LogContext.getContextValue(CTX_REQUEST_URI), nullValue());
+
+        LogContextCarrier.clear();
+        assertThat(LogContext.getContextValue(CTX_REQUEST_ID), nullValue());
+    }
+
+    @Test
+    public void testMerge() {
+        LogContext.setContextValue(CTX_REQUEST_URI, "/ws/test");
+        LogContext.setContextValue(CTX_REQUEST_ID, "req-0");
+
+        createCarrier().merge();
+
+        assertThat(LogContext.getContextValue(CTX_REQUEST_ID), is("req-1"));
+        assertThat(LogContext.getContextValue(CTX_CORRELATION_ID), is("corr-1"));
+        assertThat(LogContext.getContextValue(CTX_REQUEST_URI), is("/ws/test"));
+    }
+
+    @Test
+    public void testCapture() {
+        LogContext.setContextValue(CTX_REQUEST_ID, "req-0");
+
+        LogContextCarrier carrier = LogContextCarrier.capture();
+        LogContext.setContextValue(CTX_REQUEST_ID, "req-2");
+
+        assertThat(carrier.getValue(CTX_REQUEST_ID), is("req-0"));
+        assertThat(carrier.getValues().size(), is(1));
+    }
+
+    @Test
+    public void testRequestIdGenerator() {
+        Set<String> ids = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            String id = RequestIdGenerator.nextId();
+            assertTrue(id.startsWith(RequestIdGenerator.getNodePrefix()));
+            assertTrue(ids.add(id));
+        }
+
+        assertThat(RequestIdGenerator.nextId(), not(RequestIdGenerator.nextId()));
+    }
+
+    private static LogContextCarrier createCarrier() {
+        Map<String, String> values = new HashMap<>();
+        values.put(CTX_REQUEST_ID, "req-1");
+        values.put(CTX_CORRELATION_ID, "corr-1");
+        values.put(LogContextFilter.CTX_PROCESS_ID, null);
+        return new LogContextCarrier(values);
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.common.ws.transport.http;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.sun.net.httpserver.HttpServer;
+import org.apache.http.HttpHost;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.util.EntityUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Test suite for {@link CloseableHttpComponentsMessageSender} and {@link ObservablePoolingConnectionManager}.
+ *
+ * @since 2.2
+ */
+public class CloseableHttpComponentsMessageSenderTest {
+
+    private HttpServer server;
+
+    private CloseableHttpComponentsMessageSender sender;
+
+    private MetricRegistry metricRegistry = new MetricRegistry();
+
+    @Before
+    public void startServer() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = "OK".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        sender = new CloseableHttpComponentsMessageSender();
+        sender.setMetricRegistry(metricRegistry);
+        sender.setEvictionInterval(0);
+        sender.setDefaultMaxPerHost(2);
+        sender.setKeepAliveDuration(10000);
+        sender.afterPropertiesSet();
+    }
+
+    @After
+    public void stopServer() throws Exception {
+        sender.destroy();
+        server.stop(0);
+    }
+
+    @Test
+    public void testPoolMetrics() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            callServer();
+        }
+
+        ObservablePoolingConnectionManager connManager = (ObservablePoolingConnectionManager) sender.getConnPoolControl();
+        assertThat(connManager.getLeaseWaitTimer().getCount(), is(3L));
+
+        String routePrefix = "ohf.http.pool.route.http_localhost_" + server.getAddress().getPort();
+        assertThat(metricRegistry.getTimers().get(routePrefix + ".leaseWait").getCount(), is(3L));
+        assertThat(getGauge(routePrefix + ".available"), is(1));
+        assertThat(getGauge("ohf.http.pool.leased"), is(0));
+        assertThat(getGauge("ohf.http.pool.max"), is(connManager.getMaxTotal()));
+
+        // idle connection is closed
+        sender.setMaxIdleTime(1);
+        Thread.sleep(10);
+        sender.maintainPool();
+        assertThat(getGauge(routePrefix + ".available"), is(0));
+    }
+
+    @Test
+    public void testAdaptiveMaxPerHost() throws Exception {
+        callServer();
+
+        ObservablePoolingConnectionManager connManager = (ObservablePoolingConnectionManager) sender.getConnPoolControl();
+        HttpRoute route = new HttpRoute(new HttpHost("localhost", server.getAddress().getPort(), "http"));
+
+        // too short window => nothing is changed
+        connManager.adjustMaxPerRoute(1, 10);
+        assertThat(connManager.getMaxPerRoute(route), is(2));
+
+        // low demand => minimum
+        connManager.setAdjustmentInterval(1000);
+        connManager.resetAdjustmentWindow(1000);
+        connManager.adjustMaxPerRoute(1, 10);
+        assertThat(connManager.getMaxPerRoute(route), is(1));
+
+        // fixed route isn't adjusted
+        connManager.setMaxPerRoute(route, 5);
+        connManager.resetAdjustmentWindow(1000);
+        connManager.adjustMaxPerRoute(1, 10);
+        assertThat(connManager.getMaxPerRoute(route), is(5));
+    }
+
+    @Test
+    public void testRouteNames() {
+        HttpHost target = new HttpHost("example.com", 443, "https");
+        HttpHost proxy = new HttpHost("proxy", 8080, "http");
+
+        assertThat(ObservablePoolingConnectionManager.getRouteName(new HttpRoute(target)), is("https_example_com_443"));
+        assertThat(ObservablePoolingConnectionManager.getRouteName(new HttpRoute(target, null, proxy, true)),
+                is("https_example_com_443.via.http_proxy_8080"));
+        assertThat(ObservablePoolingConnectionManager.getRouteName(
+                new HttpRoute(new HttpHost("example.com", 443, "http"))), is("http_example_com_443"));
+    }
+
+    private void callServer() throws Exception {
+        HttpGet request = new HttpGet("http://localhost:" + server.getAddress().getPort() + "/");
+        EntityUtils.consume(sender.getHttpClient().execute(request).getEntity());
+    }
+
+    private Object getGauge(String name) {
+        Gauge<?> gauge = metricRegistry.getGauges().get(name);
+        return gauge.getValue();
+    }
+}
@@ -20,6 +20,7 @@ import java.util.Arrays;
 
 import org.openhubframework.openhub.api.extcall.ExtCallComponentParams;
 import org.openhubframework.openhub.spi.extcall.ExternalCallService;
+import org.openhubframework.openhub.spi.monitoring.AsynchMetrics;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.Component;
@@ -60,6 +61,9 @@ public class ExternalCallComponent implements Component {
     @Autowired
     private ExternalCallService service;
 
+    @Autowired
+    private AsynchMetrics asynchMetrics;
+
     @Produce
     private ProducerTemplate producer;
 
@@ -127,4 +131,8 @@ public class ExternalCallComponent implements Component {
     ExternalCallService getService() {
         return service;
     }
+
+    AsynchMetrics getAsynchMetrics() {
+        return asynchMetrics;
+    }
 }
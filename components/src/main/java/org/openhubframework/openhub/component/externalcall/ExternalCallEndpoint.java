@@ -17,6 +17,7 @@
 package org.openhubframework.openhub.component.externalcall;
 
 import org.openhubframework.openhub.spi.extcall.ExternalCallService;
+import org.openhubframework.openhub.spi.monitoring.AsynchMetrics;
 
 import org.apache.camel.Consumer;
 import org.apache.camel.Processor;
@@ -63,6 +64,10 @@ public class ExternalCallEndpoint extends DefaultEndpoint {
         return ((ExternalCallComponent)getComponent()).getService();
     }
 
+    AsynchMetrics getAsynchMetrics() {
+        return ((ExternalCallComponent)getComponent()).getAsynchMetrics();
+    }
+
     public ExternalCallKeyType getKeyType() {
         return keyType;
     }
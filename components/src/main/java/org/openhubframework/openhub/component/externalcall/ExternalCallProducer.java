@@ -57,9 +57,11 @@ public class ExternalCallProducer extends DefaultProducer {
 
         ExternalCall externalCall = prepareExternalCall(operation, key, message, service);
         if (externalCall != null) {
+            long startTime = System.nanoTime();
             try {
                 executeExternalCall(exchange, targetURI);
             } finally {
+                getEndpoint().getAsynchMetrics().recordExternalCall(operation, System.nanoTime() - startTime);
                 finalizeExternalCall(exchange, externalCall, service); // in either case release the external call
             }
         } else {
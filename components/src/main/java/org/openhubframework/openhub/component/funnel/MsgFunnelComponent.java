@@ -20,6 +20,7 @@ import java.util.Map;
 
 import org.openhubframework.openhub.api.entity.Message;
 import org.openhubframework.openhub.spi.AsyncEventNotifier;
+import org.openhubframework.openhub.spi.monitoring.AsynchMetrics;
 import org.openhubframework.openhub.spi.msg.MessageService;
 
 import org.apache.camel.Endpoint;
@@ -55,6 +56,9 @@ public class MsgFunnelComponent extends DefaultComponent {
     @Autowired
     private AsyncEventNotifier asyncEventNotifier;
 
+    @Autowired
+    private AsynchMetrics asynchMetrics;
+
     @Override
     protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
         MsgFunnelEndpoint endpoint = new MsgFunnelEndpoint(uri, this);
@@ -70,6 +74,10 @@ public class MsgFunnelComponent extends DefaultComponent {
         return asyncEventNotifier;
     }
 
+    AsynchMetrics getAsynchMetrics() {
+        return asynchMetrics;
+    }
+
     @Override
     protected void doStart() throws Exception {
         super.doStart();
@@ -77,5 +85,6 @@ public class MsgFunnelComponent extends DefaultComponent {
         // checking references
         Assert.notNull(messageService, "messageService mustn't be null");
         Assert.notNull(asyncEventNotifier, "asyncEventNotifier mustn't be null");
+        Assert.notNull(asynchMetrics, "asynchMetrics mustn't be null");
     }
 }
@@ -89,7 +89,7 @@ public class MsgFunnelProducer extends DefaultProducer {
                                     + " before current message (msg_id = {}); message {} will be postponed.",
                             msg.getFunnelValue(), msg.getMsgId(), msg.toHumanString());
 
-                    postponeMessage(exchange, msg, endpoint);
+                    postponeMessage(exchange, msg, endpoint, funnelCompId);
                 }
 
             } else {
@@ -102,7 +102,7 @@ public class MsgFunnelProducer extends DefaultProducer {
                     LOG.debug("There are more processing messages with funnel value '" + msg.getFunnelValue()
                             + "', message " + msg.toHumanString() + " will be postponed.");
 
-                    postponeMessage(exchange, msg, endpoint);
+                    postponeMessage(exchange, msg, endpoint, funnelCompId);
 
                 } else {
                     LOG.debug("There is only one processing message with funnel value: " + msg.getFunnelValue()
@@ -122,9 +122,10 @@ public class MsgFunnelProducer extends DefaultProducer {
         }
     }
 
-    private void postponeMessage(Exchange exchange, Message msg, MsgFunnelEndpoint endpoint) {
+    private void postponeMessage(Exchange exchange, Message msg, MsgFunnelEndpoint endpoint, String funnelCompId) {
         // change state
         endpoint.getMessageService().setStatePostponed(msg);
+        endpoint.getAsynchMetrics().markPostponed(funnelCompId);
 
         // generates event
         endpoint.getAsyncEventNotifier().notifyMsgPostponed(exchange);
@@ -106,6 +106,12 @@ public final class AsynchConstants {
      */
     public static final String EXCLUDE_FAILED_HEADER = "guaranteedOrderWithoutFailedValue";
 
+    /**
+     * Header value that holds flag (true/false) if original SOAP envelope of the message should not be saved
+     * (only payload is saved).
+     */
+    public static final String SKIP_ENVELOPE_HEADER = "asynchSkipEnvelope";
+
     /**
      * Header value that holds {@link EntityTypeExtEnum entity type} of the object in the message.
      * <p>
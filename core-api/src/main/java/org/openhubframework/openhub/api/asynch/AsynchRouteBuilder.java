@@ -58,6 +58,7 @@ public final class AsynchRouteBuilder {
     private @Nullable Expression funnelValue;
     private boolean guaranteedOrder;
     private boolean excludeFailedState;
+    private boolean skipEnvelope;
     private AsynchResponseProcessor responseProcessor;
     private DataFormatDefinition responseMarshalling;
     private @Nullable String policyRef;
@@ -161,6 +162,18 @@ public final class AsynchRouteBuilder {
         return this;
     }
 
+    /**
+     * Marks the route for not saving original SOAP envelope of the message, only payload is saved.
+     * It saves serialization of the envelope and storage space.
+     *
+     * @return builder instance
+     * @see Message#getEnvelope()
+     */
+    public AsynchRouteBuilder withoutEnvelope() {
+        this.skipEnvelope = true;
+        return this;
+    }
+
     /**
      * Sets response processor. If not set then general response {@link AsynchResponse} will be used.
      *
@@ -283,6 +296,10 @@ public final class AsynchRouteBuilder {
             routeDefinition.setHeader(AsynchConstants.EXCLUDE_FAILED_HEADER, constant(true));
         }
 
+        if (skipEnvelope) {
+            routeDefinition.setHeader(AsynchConstants.SKIP_ENVELOPE_HEADER, constant(true));
+        }
+
         // header values
         routeDefinition.setHeader(AsynchConstants.SERVICE_HEADER, route.constant(serviceType));
         routeDefinition.setHeader(AsynchConstants.OPERATION_HEADER, route.constant(operation));
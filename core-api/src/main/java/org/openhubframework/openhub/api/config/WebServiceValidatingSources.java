@@ -43,4 +43,17 @@ public interface WebServiceValidatingSources {
      */
     String[] getIgnoreRequests();
 
+    /**
+     * Gets request root element names which won't be validated against XSD schemas, trace header is checked still.
+     * It's intended for trusted high-volume partners only.
+     * <p>
+     * Example: {@code {http://openhubframework.org/ws/HelloService-v1}syncHelloRequest}
+     *
+     * @return array of root element names
+     * @since 2.2
+     */
+    default String[] getSkipValidationRequests() {
+        return new String[0];
+    }
+
 }
@@ -120,6 +120,45 @@ public class CoreProps {
      */
     public static final String ASYNCH_FINAL_MESSAGES_SAVE_TIME_IN_SEC_SUFFIX = ".saveTimeInSec";
 
+    /**
+     * Enables asynchronous (off-thread) delivery of asynch. message events to event notifiers.
+     * Note: cannot be defined in database, needs to be in properties.
+     */
+    public static final String ASYNCH_EVENTS_ASYNC_DISPATCH_ENABLED = PREFIX + "asynch.events.asyncDispatch.enabled";
+
+    /**
+     * Enables ingestion of asynch. messages via local write-ahead log (message is acknowledged before it's saved
+     * into database).
+     * Note: cannot be defined in database, needs to be in properties.
+     */
+    public static final String ASYNCH_INGESTION_LOG_ENABLED = PREFIX + "asynch.ingestionLog.enabled";
+
+    /**
+     * Enables group commit of new asynch. messages (messages from concurrent requests are inserted
+     * in one transaction).
+     * Note: cannot be defined in database, needs to be in properties.
+     */
+    public static final String ASYNCH_GROUP_COMMIT_ENABLED = PREFIX + "asynch.groupCommit.enabled";
+
+    /**
+     * Enables cluster dispatch of asynch. messages (claimed messages are distributed between nodes
+     * via Hazelcast queues).
+     * Note: cannot be defined in database, needs to be in properties.
+     */
+    public static final String ASYNCH_CLUSTER_DISPATCH_ENABLED = PREFIX + "asynch.clusterDispatch.enabled";
+
+    /**
+     * Enables funnel affinity of cluster dispatch (messages with the same funnel value are processed by one node).
+     * Note: cannot be defined in database, needs to be in properties.
+     */
+    public static final String ASYNCH_CLUSTER_DISPATCH_FUNNEL_AFFINITY =
+            PREFIX + "asynch.clusterDispatch.funnelAffinity";
+
+    /**
+     * Interval (in seconds) of reconciliation of message state counts with the database.
+     */
+    public static final String ASYNCH_STATE_COUNTER_RECONCILE_INTERVAL_SEC = PREFIX + "asynch.stateCounter.reconcileIntervalSec";
+
     /**
      * Administrator email(s); if more emails, then separated them with semicolon, if empty then email won't be sent.
      */
@@ -175,6 +214,12 @@ public class CoreProps {
      */
     public static final String REQUEST_SAVING_ENDPOINT_FILTER = PREFIX + "requestSaving.endpointFilter";
 
+    /**
+     * Comma-separated list of endpoint schemes (e.g. {@code direct,seda}) which requests/responses are never saved
+     * regardless of endpoint filter.
+     */
+    public static final String REQUEST_SAVING_EXCLUDED_SCHEMES = PREFIX + "requestSaving.excludedSchemes";
+
     /**
      * How often to run checking of alerts (in seconds), value -1 no run checking of alerts.
      */
@@ -185,6 +230,44 @@ public class CoreProps {
      */
     public static final String PROPERTY_INCLUDE_PATTERN = PREFIX + "dbProperty.includePattern";
 
+    /**
+     * How long (in seconds) are values of DB properties cached locally, value 0 (default) disables the cache.
+     */
+    public static final String PROPERTY_NEAR_CACHE_TTL_SEC = PREFIX + "dbProperty.nearCacheTtlSec";
+
+    /**
+     * Request root element names (separated by comma) which won't be validated against XSD schemas,
+     * e.g. {@code {http://openhubframework.org/ws/HelloService-v1}syncHelloRequest}.
+     * Note: cannot be defined in database, needs to be in properties.
+     */
+    public static final String WS_VALIDATION_SKIP_REQUESTS = PREFIX + "ws.validation.skipRequests";
+
+    /**
+     * Whether contexts of extensions (defined by {@code context.ext} properties) are refreshed concurrently.
+     */
+    public static final String EXTENSIONS_PARALLEL_LOADING = PREFIX + "extensions.parallelLoading";
+
+    /**
+     * Maximum count of threads for parallel loading of extensions.
+     */
+    public static final String EXTENSIONS_LOADING_THREADS = PREFIX + "extensions.loadingThreads";
+
+    /**
+     * Prefix of properties which define dependencies between extensions,
+     * e.g. {@code ohf.extensions.dependsOn.context.ext.crm = context.ext.core}.
+     */
+    public static final String EXTENSIONS_DEPENDS_ON_PREFIX = PREFIX + "extensions.dependsOn.";
+
+    /**
+     * Whether to record timeline of application startup (phases and creation times of beans).
+     */
+    public static final String STARTUP_TIMELINE_ENABLED = PREFIX + "startup.timeline.enabled";
+
+    /**
+     * Pattern (RegEx) of IDs of routes which are started lazily, when the first message is sent to them.
+     */
+    public static final String ROUTE_LAZY_START_PATTERN = PREFIX + "route.lazyStartPattern";
+
     /**
      * Code of actual node for this application server instance.
      */
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.api.entity;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.springframework.util.Assert;
+
+
+/**
+ * Position in the list of messages sorted by received timestamp and message ID, used for keyset pagination.
+ * Cursor points to the last message of the previous page, next page starts with the message after it.
+ *
+ * @since 2.2
+ * @see MessageFilter
+ */
+public final class MessageCursor {
+
+    private final Instant receiveTimestamp;
+
+    private final Long msgId;
+
+    /**
+     * Creates new cursor.
+     *
+     * @param receiveTimestamp the received timestamp of the message
+     * @param msgId the message ID
+     */
+    public MessageCursor(Instant receiveTimestamp, Long msgId) {
+        Assert.notNull(receiveTimestamp, "the receiveTimestamp must not be null");
+        Assert.notNull(msgId, "the msgId must not be null");
+
+        this.receiveTimestamp = receiveTimestamp;
+        this.msgId = msgId;
+    }
+
+    /**
+     * Creates cursor pointing to the specified message.
+     *
+     * @param msg the message
+     * @return cursor
+     */
+    public static MessageCursor of(Message msg) {
+        Assert.notNull(msg, "the msg must not be null");
+
+        return new MessageCursor(msg.getReceiveTimestamp(), msg.getMsgId());
+    }
+
+    public Instant getReceiveTimestamp() {
+        return receiveTimestamp;
+    }
+
+    public Long getMsgId() {
+        return msgId;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof MessageCursor)) {
+            return false;
+        }
+        MessageCursor other = (MessageCursor) obj;
+        return receiveTimestamp.equals(other.receiveTimestamp) && msgId.equals(other.msgId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(receiveTimestamp, msgId);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("receiveTimestamp", receiveTimestamp)
+                .append("msgId", msgId)
+                .toString();
+    }
+}
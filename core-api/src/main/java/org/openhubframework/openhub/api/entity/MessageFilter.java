@@ -43,6 +43,7 @@ public class MessageFilter {
     private String serviceName;
     private String operationName;
     private String fulltext;
+    private boolean fulltextRanked;
 
     public Instant getReceivedFrom() {
         return receivedFrom;
@@ -151,6 +152,20 @@ public class MessageFilter {
         this.fulltext = fulltext;
     }
 
+    /**
+     * Should be messages found by fulltext sorted by relevance (the best match first)?
+     * It's applied only if full-text search is configured, otherwise messages are sorted by received timestamp.
+     *
+     * @return {@code true} if sort by relevance
+     */
+    public boolean isFulltextRanked() {
+        return fulltextRanked;
+    }
+
+    public void setFulltextRanked(boolean fulltextRanked) {
+        this.fulltextRanked = fulltextRanked;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
@@ -166,6 +181,7 @@ public class MessageFilter {
                 .append("serviceName", serviceName)
                 .append("operationName", operationName)
                 .append("fulltext", fulltext)
+                .append("fulltextRanked", fulltextRanked)
                 .toString();
     }
 }
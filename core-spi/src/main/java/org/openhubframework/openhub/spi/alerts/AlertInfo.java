@@ -46,6 +46,10 @@ public class AlertInfo implements HumanReadable {
 
     private String notificationBody;
 
+    private Integer queryTimeoutSec;
+
+    private Integer refreshIntervalSec;
+
 
     /**
      * Creates new alert.
@@ -144,6 +148,34 @@ public class AlertInfo implements HumanReadable {
         return notificationBody;
     }
 
+    /**
+     * Gets timeout (in seconds) of alert's query.
+     *
+     * @return timeout, {@code null} if default timeout should be used
+     */
+    @Nullable
+    public Integer getQueryTimeoutSec() {
+        return queryTimeoutSec;
+    }
+
+    public void setQueryTimeoutSec(@Nullable Integer queryTimeoutSec) {
+        this.queryTimeoutSec = queryTimeoutSec;
+    }
+
+    /**
+     * Gets interval (in seconds) after that the cached result of alert's query is refreshed.
+     *
+     * @return interval, {@code null} if default interval should be used
+     */
+    @Nullable
+    public Integer getRefreshIntervalSec() {
+        return refreshIntervalSec;
+    }
+
+    public void setRefreshIntervalSec(@Nullable Integer refreshIntervalSec) {
+        this.refreshIntervalSec = refreshIntervalSec;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (obj == this) {
@@ -178,6 +210,8 @@ public class AlertInfo implements HumanReadable {
                 .append("limit", limit)
                 .append("sql", sql)
                 .append("enabled", enabled)
+                .append("queryTimeoutSec", queryTimeoutSec)
+                .append("refreshIntervalSec", refreshIntervalSec)
                 .toString();
     }
 }
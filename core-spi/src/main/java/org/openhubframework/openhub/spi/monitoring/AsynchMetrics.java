@@ -0,0 +1,80 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.spi.monitoring;
+
+import javax.annotation.Nullable;
+
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.spi.throttling.ThrottleScope;
+
+
+/**
+ * Contract for recording operational metrics of asynchronous message processing.
+ * <p>
+ * All methods are called on hot paths of message processing, implementations must be cheap
+ * and mustn't access database.
+ *
+ * @since 2.2
+ */
+public interface AsynchMetrics {
+
+    /**
+     * Records time which message waited in the queue before processing.
+     *
+     * @param waitMillis the wait time in milliseconds
+     */
+    void recordQueueWait(long waitMillis);
+
+    /**
+     * Records processing time of message in specified route.
+     *
+     * @param routeId the route ID
+     * @param durationNanos the processing time in nanoseconds
+     */
+    void recordProcessingTime(String routeId, long durationNanos);
+
+    /**
+     * Records latency of external call.
+     *
+     * @param operation the external call operation
+     * @param durationNanos the call duration in nanoseconds
+     */
+    void recordExternalCall(String operation, long durationNanos);
+
+    /**
+     * Marks transition of message from one state to another.
+     *
+     * @param from the original state
+     * @param to the new state
+     */
+    void markStateTransition(MsgStateEnum from, MsgStateEnum to);
+
+    /**
+     * Marks request rejected by throttling.
+     *
+     * @param scope the throttle scope
+     */
+    void markThrottleRejected(ThrottleScope scope);
+
+    /**
+     * Marks message postponed by funnel or because of guaranteed order.
+     *
+     * @param funnelId the ID of funnel component or route that postponed the message,
+     *                 {@code null} if it's not known
+     */
+    void markPostponed(@Nullable String funnelId);
+}
@@ -0,0 +1,4 @@
+/**
+ * Operational metrics of asynchronous message processing.
+ */
+package org.openhubframework.openhub.spi.monitoring;
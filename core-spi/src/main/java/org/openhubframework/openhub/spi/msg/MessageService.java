@@ -32,6 +32,7 @@ import org.apache.camel.Properties;
 
 import org.openhubframework.openhub.api.entity.ExternalSystemExtEnum;
 import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MessageCursor;
 import org.openhubframework.openhub.api.entity.MessageFilter;
 import org.openhubframework.openhub.api.entity.MsgStateEnum;
 import org.openhubframework.openhub.api.exception.ErrorExtEnum;
@@ -184,6 +185,17 @@ public interface MessageService {
      */
     List<Message> findMessagesByFilter(MessageFilter messageFilter, long limit);
 
+    /**
+     * Finds page of messages that match with given filter (keyset pagination).
+     * Sorted by received timestamp and message ID (newest first).
+     *
+     * @param messageFilter the filter.
+     * @param after the cursor of last message of previous page, {@code null} for the first page.
+     * @param limit the maximum count of messages in the page.
+     * @return collection of messages, or {@code empty list} if none were found.
+     */
+    List<Message> findMessagesByFilter(MessageFilter messageFilter, @Nullable MessageCursor after, int limit);
+
     /**
      * Get count of messages in specific state.
      *
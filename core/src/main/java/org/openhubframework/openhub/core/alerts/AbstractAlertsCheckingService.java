@@ -16,11 +16,21 @@
 
 package org.openhubframework.openhub.core.alerts;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import org.openhubframework.openhub.spi.alerts.AlertInfo;
@@ -30,11 +40,14 @@ import org.openhubframework.openhub.spi.alerts.AlertsConfiguration;
 
 /**
  * Default implementation of {@link AlertsCheckingService} interface.
+ * <p>
+ * Alerts are evaluated in parallel by bounded pool of threads (see {@link AlertsCheckingProperties#getParallelism()}),
+ * one slow alert doesn't delay evaluation of other alerts.
  *
  * @author Petr Juza
  * @since 0.4
  */
-public abstract class AbstractAlertsCheckingService implements AlertsCheckingService {
+public abstract class AbstractAlertsCheckingService implements AlertsCheckingService, DisposableBean {
 
     private static final Logger LOG = LoggerFactory.getLogger(AbstractAlertsCheckingService.class);
 
@@ -44,6 +57,11 @@ public abstract class AbstractAlertsCheckingService implements AlertsCheckingSer
     @Autowired
     private Collection<AlertListener> listeners;
 
+    @Autowired(required = false)
+    private AlertsCheckingProperties properties = new AlertsCheckingProperties();
+
+    private volatile ExecutorService executor;
+
     @Override
     public final void checkAlerts() {
         LOG.debug("Alerts checking starts ...");
@@ -56,8 +74,22 @@ public abstract class AbstractAlertsCheckingService implements AlertsCheckingSer
 
         List<AlertInfo> alerts = alertsConfig.getAlerts(true);
 
-        for (AlertInfo alert : alerts) {
-            long count = getCount(alert);
+        List<Future<Long>> counts = evaluate(alerts);
+
+        for (int i = 0; i < alerts.size(); i++) {
+            AlertInfo alert = alerts.get(i);
+
+            long count;
+            try {
+                count = counts.get(i).get();
+            } catch (ExecutionException ex) {
+                LOG.error("Evaluation of alert (" + alert.toHumanString() + ") ends with exception.", ex.getCause());
+                continue;
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                LOG.warn("Alerts checking was interrupted.");
+                return;
+            }
 
             if (count > alert.getLimit()) {
                 LOG.debug("Actual count=" + count + " exceeded limit (" + alert.getLimit()
@@ -80,6 +112,64 @@ public abstract class AbstractAlertsCheckingService implements AlertsCheckingSer
         LOG.debug("Alerts checking ends.");
     }
 
+    private List<Future<Long>> evaluate(List<AlertInfo> alerts) {
+        List<Future<Long>> counts = new ArrayList<>(alerts.size());
+
+        if (properties.getParallelism() <= 1 || alerts.size() <= 1) {
+            // evaluate in the caller thread
+            for (AlertInfo alert : alerts) {
+                FutureTask<Long> task = new FutureTask<>(() -> getCount(alert));
+                task.run();
+                counts.add(task);
+            }
+        } else {
+            ExecutorService executor = getExecutor();
+            for (AlertInfo alert : alerts) {
+                counts.add(executor.submit(() -> getCount(alert)));
+            }
+        }
+
+        return counts;
+    }
+
+    private ExecutorService getExecutor() {
+        if (executor == null) {
+            synchronized (this) {
+                if (executor == null) {
+                    final AtomicInteger threadCounter = new AtomicInteger();
+                    int threads = properties.getParallelism();
+
+                    ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                            new LinkedBlockingQueue<>(), r -> {
+                                Thread thread = new Thread(r, "ohf-alerts-" + threadCounter.incrementAndGet());
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+                    pool.allowCoreThreadTimeOut(true);
+
+                    executor = pool;
+                }
+            }
+        }
+        return executor;
+    }
+
+    @Override
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Gets configuration of alerts checking.
+     *
+     * @return configuration
+     */
+    protected AlertsCheckingProperties getProperties() {
+        return properties;
+    }
+
     /**
      * Gets actual count of specified alert.
      *
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.alerts;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import org.openhubframework.openhub.common.OpenHubPropertyConstants;
+
+
+/**
+ * Configuration of alerts checking.
+ *
+ * @since 2.2
+ * @see AbstractAlertsCheckingService
+ */
+@Component
+@ConfigurationProperties(prefix = OpenHubPropertyConstants.PREFIX + "alerts.checking")
+public class AlertsCheckingProperties {
+
+    /**
+     * Maximum count of alerts evaluated in parallel, 1 means sequential evaluation in the caller thread.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Default timeout (in seconds) of alert's query, 0 means no timeout.
+     */
+    private int queryTimeoutSec = 30;
+
+    /**
+     * How long (in seconds) the result of alert's query is cached (cache key is the query),
+     * 0 means no caching.
+     */
+    private int cacheTimeSec = 0;
+
+    /**
+     * Evaluate alerts with simple message state count query
+     * (e.g. {@code SELECT COUNT(*) FROM message WHERE state = 'FAILED'}) from in-memory counts.
+     */
+    private boolean inMemoryStateCounts = false;
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public int getQueryTimeoutSec() {
+        return queryTimeoutSec;
+    }
+
+    public void setQueryTimeoutSec(int queryTimeoutSec) {
+        this.queryTimeoutSec = queryTimeoutSec;
+    }
+
+    public int getCacheTimeSec() {
+        return cacheTimeSec;
+    }
+
+    public void setCacheTimeSec(int cacheTimeSec) {
+        this.cacheTimeSec = cacheTimeSec;
+    }
+
+    public boolean isInMemoryStateCounts() {
+        return inMemoryStateCounts;
+    }
+
+    public void setInMemoryStateCounts(boolean inMemoryStateCounts) {
+        this.inMemoryStateCounts = inMemoryStateCounts;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("parallelism", parallelism)
+                .append("queryTimeoutSec", queryTimeoutSec)
+                .append("cacheTimeSec", cacheTimeSec)
+                .append("inMemoryStateCounts", inMemoryStateCounts)
+                .toString();
+    }
+}
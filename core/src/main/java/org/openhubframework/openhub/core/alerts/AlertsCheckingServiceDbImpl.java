@@ -16,6 +16,9 @@
 
 package org.openhubframework.openhub.core.alerts;
 
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
@@ -24,6 +27,10 @@ import org.openhubframework.openhub.spi.alerts.AlertInfo;
 
 /**
  * Database implementation of {@link AlertsCheckingService} interface.
+ * <p>
+ * Results of queries can be cached (see {@link AlertInfo#getRefreshIntervalSec()}, default interval is
+ * {@link AlertsCheckingProperties#getCacheTimeSec()}), cache key is the query and the interval; simple
+ * counts of messages in one state can be evaluated from in-memory counts (see {@link StateCountAlertEvaluator}).
  *
  * @author Petr Juza
  * @since 0.4
@@ -34,8 +41,90 @@ public class AlertsCheckingServiceDbImpl extends AbstractAlertsCheckingService {
     @Autowired
     private AlertsDao alertsDao;
 
+    @Autowired(required = false)
+    private StateCountAlertEvaluator stateCountEvaluator;
+
+    private final ConcurrentMap<CacheKey, CachedCount> cache = new ConcurrentHashMap<>();
+
     @Override
     protected long getCount(AlertInfo alert) {
-        return alertsDao.runQuery(alert.getSql());
+        AlertsCheckingProperties properties = getProperties();
+
+        if (properties.isInMemoryStateCounts() && stateCountEvaluator != null) {
+            Long count = stateCountEvaluator.evaluate(alert.getSql());
+            if (count != null) {
+                return count;
+            }
+        }
+
+        int refreshInterval = alert.getRefreshIntervalSec() != null ? alert.getRefreshIntervalSec()
+                : properties.getCacheTimeSec();
+        if (refreshInterval <= 0) {
+            return runQuery(alert);
+        }
+
+        long now = System.currentTimeMillis();
+        CacheKey key = new CacheKey(alert.getSql(), refreshInterval);
+        CachedCount cached = cache.get(key);
+        if (cached != null && cached.expiration > now) {
+            return cached.count;
+        }
+
+        long count = runQuery(alert);
+        cache.put(key, new CachedCount(count, now + refreshInterval * 1000L));
+        return count;
+    }
+
+    private long runQuery(AlertInfo alert) {
+        Integer timeout = alert.getQueryTimeoutSec();
+
+        return timeout != null ? alertsDao.runQuery(alert.getSql(), timeout) : alertsDao.runQuery(alert.getSql());
+    }
+
+    /**
+     * Key of cached result: the query and its refresh interval.
+     */
+    private static final class CacheKey {
+
+        private final String sql;
+
+        private final int refreshInterval;
+
+        private CacheKey(String sql, int refreshInterval) {
+            this.sql = sql;
+            this.refreshInterval = refreshInterval;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            } else if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+
+            CacheKey other = (CacheKey) obj;
+            return refreshInterval == other.refreshInterval && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * sql.hashCode() + refreshInterval;
+        }
+    }
+
+    /**
+     * Cached result of alert's query.
+     */
+    private static final class CachedCount {
+
+        private final long count;
+
+        private final long expiration;
+
+        private CachedCount(long count, long expiration) {
+            this.count = count;
+            this.expiration = expiration;
+        }
     }
 }
@@ -32,4 +32,13 @@ public interface AlertsDao {
      */
     long runQuery(String sql);
 
+    /**
+     * Runs specified SQL query with specified timeout and returns count of items.
+     *
+     * @param sql the query
+     * @param timeoutSec the query timeout in seconds, 0 means no timeout
+     * @return count of items from the query
+     */
+    long runQuery(String sql, int timeoutSec);
+
 }
@@ -16,11 +16,15 @@
 
 package org.openhubframework.openhub.core.alerts;
 
+import java.sql.PreparedStatement;
+import java.util.List;
 import javax.sql.DataSource;
 
 import org.openhubframework.openhub.core.config.OpenHub;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.SingleColumnRowMapper;
 import org.springframework.stereotype.Repository;
 import org.springframework.util.Assert;
 
@@ -36,6 +40,9 @@ public class AlertsJdbcDao implements AlertsDao {
 
     private JdbcTemplate template;
 
+    @Autowired
+    private AlertsCheckingProperties properties;
+
     @Autowired
     public void setDataSource(@OpenHub DataSource dataSource) {
         Assert.notNull(dataSource, "dataSource must not be empty!");
@@ -45,8 +52,21 @@ public class AlertsJdbcDao implements AlertsDao {
 
     @Override
     public long runQuery(String sql) {
+        return runQuery(sql, properties.getQueryTimeoutSec());
+    }
+
+    @Override
+    public long runQuery(final String sql, final int timeoutSec) {
         Assert.hasText(sql, "the sql must not be empty");
 
-        return template.queryForObject(sql, Long.class);
+        List<Long> results = template.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql);
+            if (timeoutSec > 0) {
+                ps.setQueryTimeout(timeoutSec);
+            }
+            return ps;
+        }, new SingleColumnRowMapper<>(Long.class));
+
+        return DataAccessUtils.requiredSingleResult(results);
     }
 }
@@ -56,6 +56,10 @@ public class AlertsPropertiesConfiguration extends AbstractAlertsConfiguration {
 
     public static final String MAIL_BODY_PROP = "mail.body";
 
+    public static final String QUERY_TIMEOUT_PROP = "queryTimeoutSec";
+
+    public static final String REFRESH_INTERVAL_PROP = "refreshIntervalSec";
+
     private ConfigurableEnvironment env;
 
     /**
@@ -78,6 +82,8 @@ public class AlertsPropertiesConfiguration extends AbstractAlertsConfiguration {
 //        alerts.900.limit=0
 //        alerts.900.sql=SELECT COUNT(*) FROM message WHERE state = 'WAITING_FOR_RES'
 //        alerts.900.enabled=true
+//        alerts.900.queryTimeoutSec=10
+//        alerts.900.refreshIntervalSec=60
 //        alerts.900.mail.subject=There are %d message(s) in WAITING_FOR_RESPONSE state for more then %d seconds.
 //        alerts.900.mail.body=Alert: notification about WAITING messages
 
@@ -139,12 +145,20 @@ public class AlertsPropertiesConfiguration extends AbstractAlertsConfiguration {
 
             String subject = env.getProperty(propPrefix + MAIL_SBJ_PROP);
             String body = env.getProperty(propPrefix + MAIL_BODY_PROP);
+            String queryTimeout = env.getProperty(propPrefix + QUERY_TIMEOUT_PROP);
+            String refreshInterval = env.getProperty(propPrefix + REFRESH_INTERVAL_PROP);
 
 
             // add new alert
             try {
                 AlertInfo alertInfo = new AlertInfo(id, Long.valueOf(limit), sql, BooleanUtils.toBoolean(enabled),
                         subject, body);
+                if (queryTimeout != null) {
+                    alertInfo.setQueryTimeoutSec(Integer.valueOf(queryTimeout));
+                }
+                if (refreshInterval != null) {
+                    alertInfo.setRefreshIntervalSec(Integer.valueOf(refreshInterval));
+                }
 
                 addAlert(alertInfo);
             } catch (Exception ex) {
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.alerts;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.EnumUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.core.common.asynch.msg.MessageStateCounter;
+
+
+/**
+ * Evaluator of alerts which count messages in specified state only, e.g.
+ * {@code SELECT COUNT(*) FROM message WHERE state = 'FAILED'}.
+ * Such alerts are evaluated from in-memory {@link MessageStateCounter counts} instead of database query.
+ *
+ * @since 2.2
+ * @see AlertsCheckingProperties#isInMemoryStateCounts()
+ */
+@Component
+public class StateCountAlertEvaluator {
+
+    private static final Pattern STATE_COUNT_PATTERN = Pattern.compile(
+            "^\\s*SELECT\\s+COUNT\\(\\s*\\*\\s*\\)\\s+FROM\\s+message\\s+WHERE\\s+state\\s*=\\s*'(\\w+)'\\s*;?\\s*$",
+            Pattern.CASE_INSENSITIVE);
+
+    @Autowired
+    private MessageStateCounter messageStateCounter;
+
+    /**
+     * Evaluates alert's query from in-memory counts if possible.
+     *
+     * @param sql the alert's query
+     * @return count of messages or {@code null} if query doesn't count messages in one state only
+     */
+    @Nullable
+    public Long evaluate(String sql) {
+        Assert.hasText(sql, "the sql must not be empty");
+
+        MsgStateEnum state = parseState(sql);
+        return state != null ? messageStateCounter.getCount(state) : null;
+    }
+
+    /**
+     * Gets message state from simple query which counts messages in one state.
+     *
+     * @param sql the query
+     * @return state or {@code null} if query isn't supported
+     */
+    @Nullable
+    static MsgStateEnum parseState(String sql) {
+        Matcher matcher = STATE_COUNT_PATTERN.matcher(sql);
+        if (matcher.matches()) {
+            return EnumUtils.getEnum(MsgStateEnum.class, matcher.group(1).toUpperCase());
+        }
+        return null;
+    }
+}
@@ -24,9 +24,9 @@ import java.util.Map;
 
 import org.apache.camel.*;
 import org.apache.camel.component.spring.ws.SpringWebserviceConstants;
+import org.apache.camel.model.ProcessorDefinition;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.slf4j.MDC;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.util.Assert;
 
@@ -41,11 +41,17 @@ import org.openhubframework.openhub.api.exception.StoppingException;
 import org.openhubframework.openhub.api.exception.ThrottlingExceededException;
 import org.openhubframework.openhub.api.route.AbstractBasicRoute;
 import org.openhubframework.openhub.api.route.CamelConfiguration;
+import org.openhubframework.openhub.common.log.LogContext;
+import org.openhubframework.openhub.common.log.LogContextCarrier;
 import org.openhubframework.openhub.common.log.LogContextFilter;
+import org.openhubframework.openhub.core.common.asynch.ingest.IngestionLogService;
+import org.openhubframework.openhub.core.common.asynch.msg.MessageGroupInserter;
 import org.openhubframework.openhub.core.common.asynch.msg.MessageTransformer;
-import org.openhubframework.openhub.core.common.event.AsynchEventHelper;
+import org.openhubframework.openhub.core.common.asynch.queue.ClusterDispatcher;
 import org.openhubframework.openhub.core.common.exception.ExceptionTranslator;
 import org.openhubframework.openhub.core.common.validator.TraceIdentifierValidator;
+import org.openhubframework.openhub.spi.AsyncEventNotifier;
+import org.openhubframework.openhub.spi.monitoring.AsynchMetrics;
 import org.openhubframework.openhub.spi.msg.MessageService;
 import org.openhubframework.openhub.spi.throttling.ThrottleScope;
 import org.openhubframework.openhub.spi.throttling.ThrottlingProcessor;
@@ -81,7 +87,7 @@ public class AsynchInMessageRoute extends AbstractBasicRoute {
 
     static final int NEW_MSG_PRIORITY = 10;
 
-    static final String URI_GUARANTEED_ORDER_ROUTE = "direct:guaranteedOrderRoute";
+    public static final String URI_GUARANTEED_ORDER_ROUTE = "direct:guaranteedOrderRoute";
 
     static final String ROUTE_ID_GUARANTEED_ORDER = "guaranteedOrder" + AbstractBasicRoute.ROUTE_SUFFIX;
 
@@ -91,6 +97,18 @@ public class AsynchInMessageRoute extends AbstractBasicRoute {
     @Autowired
     private MessageService messageService;
 
+    // group commit is optional
+    @Autowired(required = false)
+    private MessageGroupInserter messageGroupInserter;
+
+    // ingestion via write-ahead log is optional
+    @Autowired(required = false)
+    private IngestionLogService ingestionLogService;
+
+    // cluster dispatch is optional
+    @Autowired(required = false)
+    private ClusterDispatcher clusterDispatcher;
+
     // list of validator for trace identifier is not mandatory
     @Autowired(required = false)
     private List<TraceIdentifierValidator> validatorList;
@@ -108,7 +126,7 @@ public class AsynchInMessageRoute extends AbstractBasicRoute {
     @SuppressWarnings("unchecked")
     public void doConfigure() throws Exception {
 
-        from(URI_ASYNCH_IN_MSG)
+        ProcessorDefinition<?> route = from(URI_ASYNCH_IN_MSG)
             .routeId(ROUTE_ID_ASYNC)
 
             .doTry()
@@ -138,17 +156,23 @@ public class AsynchInMessageRoute extends AbstractBasicRoute {
 
                         throttlingProcessor.throttle(throttleScope);
                     }
-                }).id("throttleProcess")
+                }).id("throttleProcess");
 
-                // save it to DB
-                // in big load a persisting via JPA camel component causes a blocking of processing asynchronous messages
-                .bean(ROUTE_BEAN, "insertMessage")
+        if (ingestionLogService != null) {
+            // write it to local log, it's saved to DB and checked for guaranteed order later
+            route.bean(ROUTE_BEAN, "appendToIngestionLog");
+        } else {
+            // save it to DB
+            // in big load a persisting via JPA camel component causes a blocking of processing asynchronous messages
+            route.bean(ROUTE_BEAN, "insertMessage")
 
                 // check guaranteed order
 //                .to(ExchangePattern.InOnly, URI_GUARANTEED_ORDER_ROUTE)
                 //TODO (juza) finish in 1.1 version
-                .to(URI_GUARANTEED_ORDER_ROUTE)
+                .to(URI_GUARANTEED_ORDER_ROUTE);
+        }
 
+        route
                 // create OK response
                 .bean(ROUTE_BEAN, "createOkResponse")
 
@@ -212,6 +236,10 @@ public class AsynchInMessageRoute extends AbstractBasicRoute {
                 //TODO (juza) finish in 1.1 version + delete errorHandler
 
                 .choice()
+                    .when().method(ROUTE_BEAN, "dispatchToFunnelOwner")
+                        // message is processed by the node which owns its funnel value
+                        .log(LoggingLevel.DEBUG, "Message was sent to the owner of funnel value ${body.funnelValue}")
+
                     .when().method(ROUTE_BEAN, "isMsgInGuaranteedOrder")
                         // no guaranteed order or message in the right order => continue
 
@@ -243,17 +271,51 @@ public class AsynchInMessageRoute extends AbstractBasicRoute {
      *
      * @param msg message that will be saved
      * @return saved message
+     * @throws Exception when the message can't be saved
+     * @see MessageGroupInserter
      */
     @Handler
-    public Message insertMessage(@Body final Message msg) {
+    public Message insertMessage(@Body final Message msg) throws Exception {
         Assert.notNull(msg, "msg can not be null");
 
         LOG.debug("Insert new asynch message '" + msg.toHumanString() + "'.");
 
-        messageService.insertMessage(msg);
+        if (messageGroupInserter != null) {
+            messageGroupInserter.insert(msg);
+        } else {
+            messageService.insertMessage(msg);
+        }
         return msg;
     }
     
+    /**
+     * Appends new message to local write-ahead log.
+     *
+     * @param msg message that will be saved
+     * @return the message
+     * @throws Exception when the message can't be written
+     * @see IngestionLogService
+     */
+    @Handler
+    public Message appendToIngestionLog(@Body final Message msg) throws Exception {
+        Assert.notNull(msg, "msg can not be null");
+
+        ingestionLogService.append(msg, LogContext.getContextValue(LogContextFilter.CTX_REQUEST_ID));
+        return msg;
+    }
+
+    /**
+     * Sends new message with funnel value to the node which owns the funnel value (if funnel affinity is enabled).
+     *
+     * @param msg the asynchronous message
+     * @return {@code true} if the message was sent, {@code false} if it should be processed in standard way
+     * @see ClusterDispatcher#dispatchToFunnelOwner(Message)
+     */
+    @Handler
+    public boolean dispatchToFunnelOwner(@Body Message msg) {
+        return clusterDispatcher != null && clusterDispatcher.dispatchToFunnelOwner(msg);
+    }
+
     /**
      * Checks if specified message should be processed in guaranteed order and if yes
      * then checks if the message is in the right order.
@@ -301,30 +363,31 @@ public class AsynchInMessageRoute extends AbstractBasicRoute {
 
         // change state
         getBean(MessageService.class).setStatePostponed(msg);
+        getBean(AsynchMetrics.class).markPostponed(exchange.getFromRouteId());
 
         // generates event
-        AsynchEventHelper.notifyMsgPostponed(exchange);
+        getBean(AsyncEventNotifier.class).notifyMsgPostponed(exchange);
     }
 
     /**
-     * Saves log request ID into header {@link LogContextFilter#CTX_REQUEST_ID}.
+     * Saves log request ID into header {@link LogContextFilter#CTX_REQUEST_ID}
+     * and log context into exchange property {@link LogContextHelper#LOG_CONTEXT_PROPERTY}.
      * It's because child threads don't inherits this information from parent thread automatically.
      *
+     * @param exchange the exchange
      * @param msg the message
      * @param headers the incoming message headers
      */
     @Handler
-    public void saveLogContextParams(@Body Message msg, @Headers Map<String, Object> headers) {
+    public void saveLogContextParams(Exchange exchange, @Body Message msg, @Headers Map<String, Object> headers) {
         // request ID should be set from LogContextFilter#initContext
-        Map contextMap = MDC.getCopyOfContextMap();
-
-        String requestId = null;
-        if (contextMap != null && contextMap.get(LogContextFilter.CTX_REQUEST_ID) != null) {
-            requestId = (String) contextMap.get(LogContextFilter.CTX_REQUEST_ID);
+        String requestId = LogContext.getContextValue(LogContextFilter.CTX_REQUEST_ID);
+        if (requestId != null) {
             headers.put(LogContextFilter.CTX_REQUEST_ID, requestId);
         }
 
-        LogContextHelper.setLogContextParams(msg, requestId);
+        LogContextCarrier logContext = LogContextHelper.setLogContextParams(msg, requestId);
+        exchange.setProperty(LogContextHelper.LOG_CONTEXT_PROPERTY, logContext);
     }
 
     @Handler
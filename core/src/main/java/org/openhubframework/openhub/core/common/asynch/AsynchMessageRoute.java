@@ -45,7 +45,8 @@ import org.openhubframework.openhub.api.route.AbstractBasicRoute;
 import org.openhubframework.openhub.api.route.CamelConfiguration;
 import org.openhubframework.openhub.common.log.LogContextFilter;
 import org.openhubframework.openhub.core.common.asynch.confirm.ConfirmationService;
-import org.openhubframework.openhub.core.common.event.AsynchEventHelper;
+import org.openhubframework.openhub.spi.AsyncEventNotifier;
+import org.openhubframework.openhub.spi.monitoring.AsynchMetrics;
 import org.openhubframework.openhub.spi.msg.MessageService;
 import org.openhubframework.openhub.spi.node.NodeService;
 
@@ -81,7 +82,7 @@ public class AsynchMessageRoute extends AbstractBasicRoute {
     /**
      * The route that gets message from SEDA and processing it.
      */
-    private static final String ROUTE_ID_ASYNC_OUT = "asyncProcessOut" + ROUTE_SUFFIX;
+    public static final String ROUTE_ID_ASYNC_OUT = "asyncProcessOut" + ROUTE_SUFFIX;
 
     /**
      * Route for error handling.
@@ -120,6 +121,11 @@ public class AsynchMessageRoute extends AbstractBasicRoute {
      */
     public static final String URI_SYNC_MSG = "direct:sync_message_route";
 
+    /**
+     * Exchange property with start time (in nanoseconds) of processing in the next route.
+     */
+    static final String PROCESSING_START_PROPERTY = "processingStartTime";
+
     /**
      * Count of partly fails before message will be marked as completely FAILED.
      */
@@ -206,12 +212,14 @@ public class AsynchMessageRoute extends AbstractBasicRoute {
                 .process(new Processor() {
                     @Override
                     public void process(Exchange exchange) throws Exception {
-                        AsynchEventHelper.notifyMsgProcessing(exchange);
+                        getBean(AsyncEventNotifier.class).notifyMsgProcessing(exchange);
                     }
                 })
 
                 // redirect message to next route
+                .bean(ROUTE_BEAN, "startProcessingTimer")
                 .routingSlip(method(ROUTE_BEAN, "nextRoute"))
+                .bean(ROUTE_BEAN, "stopProcessingTimer")
 
                 .choice()
                     .when(header(NO_EFFECT_PROCESS_HEADER).isEqualTo(Boolean.TRUE))
@@ -229,7 +237,7 @@ public class AsynchMessageRoute extends AbstractBasicRoute {
 
                                 // check current state (it's possible that parent message has been already finished)
                                 if (msg.getState() == MsgStateEnum.WAITING) {
-                                    AsynchEventHelper.notifyMsgWaiting(exchange);
+                                    getBean(AsyncEventNotifier.class).notifyMsgWaiting(exchange);
                                 }
                             }
                         })
@@ -241,7 +249,7 @@ public class AsynchMessageRoute extends AbstractBasicRoute {
                         .process(new Processor() {
                             @Override
                             public void process(Exchange exchange) throws Exception {
-                                AsynchEventHelper.notifyMsgCompleted(exchange);
+                                getBean(AsyncEventNotifier.class).notifyMsgCompleted(exchange);
                             }
                         })
 
@@ -261,6 +269,8 @@ public class AsynchMessageRoute extends AbstractBasicRoute {
 
             .validate(exchangeProperty(Exchange.EXCEPTION_CAUGHT).isNotNull())
 
+            .bean(ROUTE_BEAN, "stopProcessingTimer")
+
             .log(LoggingLevel.WARN,
                     "Error occurred during route processing: ${property." + Exchange.EXCEPTION_CAUGHT + "}")
 
@@ -282,7 +292,7 @@ public class AsynchMessageRoute extends AbstractBasicRoute {
                     .process(new Processor() {
                         @Override
                         public void process(Exchange exchange) throws Exception {
-                            AsynchEventHelper.notifyMsgPartlyFailed(exchange);
+                            getBean(AsyncEventNotifier.class).notifyMsgPartlyFailed(exchange);
                         }
                     })
             .end()
@@ -306,7 +316,7 @@ public class AsynchMessageRoute extends AbstractBasicRoute {
             .process(new Processor() {
                 @Override
                 public void process(Exchange exchange) throws Exception {
-                    AsynchEventHelper.notifyMsgFailed(exchange);
+                    getBean(AsyncEventNotifier.class).notifyMsgFailed(exchange);
                 }
             })
 
@@ -364,16 +374,17 @@ public class AsynchMessageRoute extends AbstractBasicRoute {
     }
 
     /**
-     * Set log context parameters.
+     * Set log context parameters, log context saved in the exchange is reused.
      *
+     * @param exchange the exchange
      * @param message the message
      * @param requestId the request ID
-     * @see LogContextHelper#setLogContextParams(Message, String)
+     * @see LogContextHelper#installLogContext(Exchange, Message, String)
      */
     @Handler
-    public void setLogContextParams(@Body Message message,
+    public void setLogContextParams(Exchange exchange, @Body Message message,
             @Header(LogContextFilter.CTX_REQUEST_ID) @Nullable String requestId) {
-        LogContextHelper.setLogContextParams(message, requestId);
+        LogContextHelper.installLogContext(exchange, message, requestId);
     }
 
     /**
@@ -396,8 +407,40 @@ public class AsynchMessageRoute extends AbstractBasicRoute {
     public void logStartProcessing(@Body Message msg,
             @Nullable @Header(AsynchConstants.MSG_QUEUE_INSERT_HEADER) Long msgInsertTime) {
 
+        Long waitTime = msgInsertTime != null ? (System.currentTimeMillis() - msgInsertTime) : null;
+        if (waitTime != null) {
+            getBean(AsynchMetrics.class).recordQueueWait(waitTime);
+        }
+
         LOG.debug("Starts processing of the message {}, waited in queue for {} ms", msg.toHumanString(),
-                msgInsertTime != null ? (System.currentTimeMillis() - msgInsertTime) : "-");
+                waitTime != null ? waitTime : "-");
+    }
+
+    /**
+     * Remembers start time of message processing in the next route.
+     *
+     * @param exchange the exchange
+     */
+    @Handler
+    public void startProcessingTimer(Exchange exchange) {
+        exchange.setProperty(PROCESSING_START_PROPERTY, System.nanoTime());
+    }
+
+    /**
+     * Records duration of message processing in the next route (if it was started).
+     *
+     * @param exchange the exchange
+     */
+    @Handler
+    public void stopProcessingTimer(Exchange exchange) {
+        Long startTime = exchange.getProperty(PROCESSING_START_PROPERTY, Long.class);
+        Message msg = exchange.getIn().getHeader(MSG_HEADER, Message.class);
+        if (startTime != null && msg != null) {
+            getBean(AsynchMetrics.class).recordProcessingTime(
+                    getOutRouteId(msg.getService(), msg.getOperationName()), System.nanoTime() - startTime);
+
+            exchange.removeProperty(PROCESSING_START_PROPERTY);
+        }
     }
 
     /**
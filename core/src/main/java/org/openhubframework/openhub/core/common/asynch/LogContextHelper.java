@@ -16,25 +16,38 @@
 
 package org.openhubframework.openhub.core.common.asynch;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import javax.annotation.Nullable;
 
+import org.apache.camel.Exchange;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
 import org.openhubframework.openhub.api.entity.Message;
-import org.openhubframework.openhub.common.log.GUID;
 import org.openhubframework.openhub.common.log.LogContext;
+import org.openhubframework.openhub.common.log.LogContextCarrier;
 import org.openhubframework.openhub.common.log.LogContextFilter;
+import org.openhubframework.openhub.common.log.RequestIdGenerator;
 
 
 /**
  * Helper class for setting log context parameters.
+ * <p>
+ * Log context parameters of the message are prepared once as {@link LogContextCarrier}
+ * which is saved in the exchange property {@value #LOG_CONTEXT_PROPERTY} and reused by next processing threads.
  *
  * @author Petr Juza
  * @since 0.4
  */
 public final class LogContextHelper {
 
+    /**
+     * Exchange property with {@link LogContextCarrier} of the processed message.
+     */
+    public static final String LOG_CONTEXT_PROPERTY = "logContextCarrier";
+
     private LogContextHelper() {
     }
 
@@ -49,28 +62,77 @@ public final class LogContextHelper {
      *
      * It's because child threads don't inherits this information from parent thread automatically.
      * If there is no request ID defined then new ID is created.
+     * Other values of the log context are preserved.
+     *
+     * @param message the message
+     * @param requestId the request ID
+     * @return log context carrier with set parameters
+     */
+    public static LogContextCarrier setLogContextParams(Message message, @Nullable String requestId) {
+        LogContextCarrier carrier = createLogContext(message, requestId);
+        carrier.merge();
+        return carrier;
+    }
+
+    /**
+     * Set log context parameters (see {@link #setLogContextParams(Message, String)}) in the pooled thread
+     * which processes the exchange - the whole log context of the thread is replaced.
+     * Carrier from the exchange property {@value #LOG_CONTEXT_PROPERTY} is reused if it belongs to the message,
+     * otherwise new carrier is created and saved into the exchange.
+     *
+     * @param exchange the exchange
+     * @param message the message
+     * @param requestId the request ID
+     * @return installed log context carrier
+     */
+    public static LogContextCarrier installLogContext(Exchange exchange, Message message,
+            @Nullable String requestId) {
+        Assert.notNull(exchange, "the exchange must not be null");
+
+        LogContextCarrier carrier = exchange.getProperty(LOG_CONTEXT_PROPERTY, LogContextCarrier.class);
+        if (carrier == null || !belongsTo(carrier, message, requestId)) {
+            carrier = createLogContext(message, requestId);
+            exchange.setProperty(LOG_CONTEXT_PROPERTY, carrier);
+        }
+
+        carrier.install();
+        return carrier;
+    }
+
+    /**
+     * Creates log context carrier with parameters of the message,
+     * see {@link #setLogContextParams(Message, String)}.
      *
      * @param message the message
      * @param requestId the request ID
+     * @return log context carrier
      */
-    public static void setLogContextParams(Message message, @Nullable String requestId) {
+    public static LogContextCarrier createLogContext(Message message, @Nullable String requestId) {
         Assert.notNull(message, "the message must not be null");
 
+        Map<String, String> values = new HashMap<>(8);
+
         // source system
-        LogContext.setContextValue(LogContextFilter.CTX_SOURCE_SYSTEM, message.getSourceSystem().getSystemName());
+        values.put(LogContextFilter.CTX_SOURCE_SYSTEM, message.getSourceSystem().getSystemName());
 
         // correlation ID
-        LogContext.setContextValue(LogContextFilter.CTX_CORRELATION_ID, message.getCorrelationId());
+        values.put(LogContextFilter.CTX_CORRELATION_ID, message.getCorrelationId());
 
         // process ID
-        LogContext.setContextValue(LogContextFilter.CTX_PROCESS_ID, message.getProcessId());
+        values.put(LogContextFilter.CTX_PROCESS_ID, message.getProcessId());
 
         // request ID
-        if (StringUtils.hasText(requestId)) {
-            LogContext.setContextValue(LogContextFilter.CTX_REQUEST_ID, requestId);
-        } else {
-            LogContext.setContextValue(LogContextFilter.CTX_REQUEST_ID, new GUID().toString());
-        }
+        values.put(LogContextFilter.CTX_REQUEST_ID,
+                StringUtils.hasText(requestId) ? requestId : RequestIdGenerator.nextId());
+
+        return new LogContextCarrier(values);
+    }
+
+    private static boolean belongsTo(LogContextCarrier carrier, Message message, @Nullable String requestId) {
+        return Objects.equals(carrier.getValue(LogContextFilter.CTX_CORRELATION_ID), message.getCorrelationId())
+                && Objects.equals(carrier.getValue(LogContextFilter.CTX_PROCESS_ID), message.getProcessId())
+                && (!StringUtils.hasText(requestId)
+                    || requestId.equals(carrier.getValue(LogContextFilter.CTX_REQUEST_ID)));
     }
 
     /**
@@ -18,18 +18,24 @@ package org.openhubframework.openhub.core.common.asynch;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import javax.annotation.Nullable;
 import javax.xml.bind.*;
 import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
 
+import org.apache.camel.BytesSource;
 import org.apache.camel.Exchange;
 import org.apache.camel.Processor;
+import org.apache.camel.StringSource;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 import org.springframework.ws.soap.SoapHeaderElement;
+import org.w3c.dom.Node;
 
 import org.openhubframework.openhub.api.asynch.model.TraceHeader;
 import org.openhubframework.openhub.api.asynch.model.TraceIdentifier;
@@ -46,6 +52,11 @@ import org.openhubframework.openhub.core.common.validator.TraceIdentifierValidat
  * and also with input messages (trace header is in SOAP body).
  * <p>
  * Trace header is mandatory by default but you can change it.
+ * <p>
+ * Trace header is read by fast {@link TraceHeaderReader} (StAX parser), JAXB unmarshaller is used only if
+ * the reader can't read the header (e.g. it's not valid). Unmarshallers are pre-created and pooled.
+ * One-shot stream body (e.g. {@link javax.xml.transform.stream.StreamSource}) is read by JAXB unmarshaller only
+ * because it can't be read twice.
  *
  * @author Petr Juza
  */
@@ -60,7 +71,20 @@ public class TraceHeaderProcessor implements Processor {
 
     public static final String TRACE_HEADER_ELM = "traceHeader";
 
+    /**
+     * Count of pre-created unmarshallers in the pool.
+     */
+    private static final int UNMARSHALLER_POOL_SIZE = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Event handler for trace header in the body, it ignores errors (as default handler of new unmarshaller does,
+     * note: {@code setEventHandler(null)} sets handler that stops unmarshalling on errors).
+     */
+    private static final ValidationEventHandler BODY_EVENT_HANDLER
+            = event -> event.getSeverity() != ValidationEvent.FATAL_ERROR;
+
     private final JAXBContext jaxb2;
+    private final BlockingQueue<Unmarshaller> unmarshallers = new ArrayBlockingQueue<>(UNMARSHALLER_POOL_SIZE);
     private final ValidationEventHandler validationEventHandler = getValidationEventHandler();
 
     /**
@@ -85,6 +109,10 @@ public class TraceHeaderProcessor implements Processor {
         jaxb2 = JAXBContext.newInstance(TraceHeader.class);
         this.mandatoryHeader = mandatoryHeader;
         this.validatorList = validatorList;
+
+        for (int i = 0; i < UNMARSHALLER_POOL_SIZE; i++) {
+            unmarshallers.offer(jaxb2.createUnmarshaller());
+        }
     }
 
     @Override
@@ -96,7 +124,11 @@ public class TraceHeaderProcessor implements Processor {
 
         SoapHeaderElement traceHeaderElm = exchange.getIn().getHeader(TRACE_HEADER_ELM, SoapHeaderElement.class);
         if (traceHeaderElm != null) {
-            setFromTraceHeader(exchange, traceHeaderElm.getSource(), false);
+            TraceHeader traceHeader = TraceHeaderReader.read(traceHeaderElm.getSource(), false);
+            if (traceHeader == null) {
+                traceHeader = unmarshal(traceHeaderElm.getSource(), false);
+            }
+            setFromTraceHeader(exchange, traceHeader);
             return;
         }
 
@@ -104,7 +136,15 @@ public class TraceHeaderProcessor implements Processor {
             // try unmarshalling body as TraceHeader (it could be TraceHeader child)
             Source traceHeaderElmSource = exchange.getIn().getBody(Source.class);
             if (traceHeaderElmSource != null) {
-                setFromTraceHeader(exchange, traceHeaderElmSource, true);
+                // one-shot stream can be read only once - by JAXB unmarshaller, fast reader is skipped
+                boolean rereadable = isRereadable(exchange.getIn().getBody());
+                TraceHeader traceHeader = rereadable ? TraceHeaderReader.read(traceHeaderElmSource, true) : null;
+                if (traceHeader == null) {
+                    // source can be already read by fast reader, new source is needed
+                    traceHeader = unmarshal(rereadable ? exchange.getIn().getBody(Source.class)
+                            : traceHeaderElmSource, true);
+                }
+                setFromTraceHeader(exchange, traceHeader);
                 return;
             }
         } catch (JAXBException exc) {
@@ -116,16 +156,36 @@ public class TraceHeaderProcessor implements Processor {
         }
     }
 
-    private void setFromTraceHeader(Exchange exchange, Source traceHeaderElmSource, boolean headerInBody) throws JAXBException {
-        // unmarshal
-        Unmarshaller unmarshaller = jaxb2.createUnmarshaller();
-        if (!headerInBody) {
+    /**
+     * Checks if the body can be converted to new {@link Source} repeatedly, i.e. it's not one-shot stream.
+     */
+    private static boolean isRereadable(@Nullable Object body) {
+        return body instanceof String || body instanceof byte[] || body instanceof Node || body instanceof DOMSource
+                || body instanceof StringSource || body instanceof BytesSource;
+    }
+
+    /**
+     * Unmarshals trace header by JAXB unmarshaller from the pool.
+     */
+    @Nullable
+    private TraceHeader unmarshal(Source traceHeaderElmSource, boolean headerInBody) throws JAXBException {
+        Unmarshaller unmarshaller = unmarshallers.poll();
+        if (unmarshaller == null) {
+            unmarshaller = jaxb2.createUnmarshaller();
+        }
+
+        try {
             // if there is trace header in the body then error events are thrown because there are other elements
             //  in the body
-            unmarshaller.setEventHandler(validationEventHandler);
+            unmarshaller.setEventHandler(headerInBody ? BODY_EVENT_HANDLER : validationEventHandler);
+
+            return unmarshaller.unmarshal(traceHeaderElmSource, TraceHeader.class).getValue();
+        } finally {
+            unmarshallers.offer(unmarshaller);
         }
+    }
 
-        TraceHeader traceHeader = unmarshaller.unmarshal(traceHeaderElmSource, TraceHeader.class).getValue();
+    private void setFromTraceHeader(Exchange exchange, @Nullable TraceHeader traceHeader) {
         if (traceHeader == null) {
             if (isMandatoryHeader()) {
                 throw new ValidationException(InternalErrorEnum.E105, "there is no trace header");
@@ -150,7 +210,9 @@ public class TraceHeaderProcessor implements Processor {
 
                 validateTraceIdentifier(traceId);
                 exchange.getIn().setHeader(TRACE_HEADER, traceHeader);
-                LOG.debug("traceHeader saved to exchange: " + ToStringBuilder.reflectionToString(traceId));
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("traceHeader saved to exchange: {}", toString(traceId));
+                }
             }
         }
     }
@@ -185,15 +247,25 @@ public class TraceHeaderProcessor implements Processor {
 
         for (TraceIdentifierValidator validator : validatorList) {
             if (validator.isValid(traceId)) {
-                LOG.debug("the trace identifier '{0}' is allowed", ToStringBuilder.reflectionToString(traceId));
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("the trace identifier '{}' is allowed", toString(traceId));
+                }
                 return;
             }
         }
 
         // trace identifier values was not found in any list of possible values
         throw new ValidationException(InternalErrorEnum.E120,
-                "the trace identifier '" + ToStringBuilder.reflectionToString(traceId,
-                        ToStringStyle.SHORT_PREFIX_STYLE) + "' is not allowed");
+                "the trace identifier '" + toString(traceId) + "' is not allowed");
+    }
+
+    private static String toString(TraceIdentifier traceId) {
+        return new ToStringBuilder(traceId, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("applicationID", traceId.getApplicationID())
+                .append("timestamp", traceId.getTimestamp())
+                .append("correlationID", traceId.getCorrelationID())
+                .append("processID", traceId.getProcessID())
+                .toString();
     }
 
     /**
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch;
+
+import javax.annotation.Nullable;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stax.StAXSource;
+import javax.xml.transform.stream.StreamSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import org.openhubframework.openhub.api.asynch.model.TraceHeader;
+import org.openhubframework.openhub.api.asynch.model.TraceIdentifier;
+import org.openhubframework.openhub.api.common.jaxb.JaxbDateAdapter;
+
+
+/**
+ * Fast reader of {@link TraceHeader} without JAXB unmarshaller.
+ * <p>
+ * Stream sources are read by StAX parser (only the trace header element, no DOM is created),
+ * DOM sources (e.g. SOAP header from SAAJ message) are read directly from DOM nodes.
+ * <p>
+ * Reader handles only valid trace header, anything unexpected (unknown element, invalid timestamp,
+ * unsupported source) is not read and {@code null} is returned - caller should use JAXB unmarshaller
+ * that reports the problem in standard way.
+ *
+ * @since 2.2
+ * @see TraceHeaderProcessor
+ */
+final class TraceHeaderReader {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TraceHeaderReader.class);
+
+    static final String COMMON_NS = "http://openhubframework.org/ws/Common-v1";
+
+    private static final String TRACE_IDENTIFIER_ELM = "traceIdentifier";
+    private static final String APPLICATION_ID_ELM = "applicationID";
+    private static final String TIMESTAMP_ELM = "timestamp";
+    private static final String CORRELATION_ID_ELM = "correlationID";
+    private static final String PROCESS_ID_ELM = "processID";
+
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private TraceHeaderReader() {
+    }
+
+    /**
+     * Reads trace header from the source.
+     *
+     * @param source the source with trace header element (or element of type derived from trace header)
+     * @param headerInBody {@code true} if trace header is in the body, other elements (than trace identifier)
+     *                     are ignored then
+     * @return trace header or {@code null} if the header can't be read by this reader
+     */
+    @Nullable
+    static TraceHeader read(Source source, boolean headerInBody) {
+        try {
+            if (source instanceof DOMSource) {
+                Node node = ((DOMSource) source).getNode();
+                if (node instanceof Document) {
+                    node = ((Document) node).getDocumentElement();
+                }
+                return node instanceof Element ? readFromDom((Element) node, headerInBody) : null;
+
+            } else if (source instanceof StreamSource || source instanceof StAXSource) {
+                XMLStreamReader reader = source instanceof StAXSource
+                        ? ((StAXSource) source).getXMLStreamReader()
+                        : INPUT_FACTORY.createXMLStreamReader(source);
+                try {
+                    return readFromStream(reader, headerInBody);
+                } finally {
+                    reader.close();
+                }
+            }
+        } catch (XMLStreamException | RuntimeException ex) {
+            LOG.trace("Trace header can't be read by fast reader", ex);
+        }
+
+        return null;
+    }
+
+    @Nullable
+    private static TraceHeader readFromDom(Element root, boolean headerInBody) {
+        TraceHeader traceHeader = new TraceHeader();
+
+        for (Node child = root.getFirstChild(); child != null; child = child.getNextSibling()) {
+            if (child.getNodeType() != Node.ELEMENT_NODE) {
+                continue;
+            }
+
+            if (isCommonElement(child.getNamespaceURI(), child.getLocalName(), TRACE_IDENTIFIER_ELM)
+                    && traceHeader.getTraceIdentifier() == null) {
+                TraceIdentifier traceId = new TraceIdentifier();
+                for (Node idChild = child.getFirstChild(); idChild != null; idChild = idChild.getNextSibling()) {
+                    if (idChild.getNodeType() == Node.ELEMENT_NODE
+                            && !setIdentifierValue(traceId, idChild.getNamespaceURI(), idChild.getLocalName(),
+                                idChild.getTextContent())) {
+                        return null;
+                    }
+                }
+                traceHeader.setTraceIdentifier(traceId);
+
+            } else if (!headerInBody) {
+                return null;
+            }
+        }
+
+        return traceHeader;
+    }
+
+    @Nullable
+    private static TraceHeader readFromStream(XMLStreamReader reader, boolean headerInBody)
+            throws XMLStreamException {
+        // go to the root element
+        while (reader.hasNext() && reader.next() != XMLStreamConstants.START_ELEMENT) {
+            // skip prolog
+        }
+        if (!reader.isStartElement()) {
+            return null;
+        }
+
+        TraceHeader traceHeader = new TraceHeader();
+
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                // end of the root element
+                break;
+            } else if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+
+            if (isCommonElement(reader.getNamespaceURI(), reader.getLocalName(), TRACE_IDENTIFIER_ELM)
+                    && traceHeader.getTraceIdentifier() == null) {
+                TraceIdentifier traceId = new TraceIdentifier();
+                while (reader.nextTag() == XMLStreamConstants.START_ELEMENT) {
+                    if (!setIdentifierValue(traceId, reader.getNamespaceURI(), reader.getLocalName(),
+                            reader.getElementText())) {
+                        return null;
+                    }
+                }
+                traceHeader.setTraceIdentifier(traceId);
+
+                if (!headerInBody) {
+                    continue;
+                }
+                // other elements in the body are not interesting
+                break;
+
+            } else if (!headerInBody) {
+                return null;
+            } else {
+                skipElement(reader);
+            }
+        }
+
+        return traceHeader;
+    }
+
+    private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0 && reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static boolean setIdentifierValue(TraceIdentifier traceId, @Nullable String ns, String name,
+            String value) {
+        if (!COMMON_NS.equals(ns)) {
+            return false;
+        }
+
+        switch (name) {
+            case APPLICATION_ID_ELM:
+                traceId.setApplicationID(value);
+                return true;
+            case TIMESTAMP_ELM:
+                traceId.setTimestamp(JaxbDateAdapter.parseDateTime(value));
+                return traceId.getTimestamp() != null;
+            case CORRELATION_ID_ELM:
+                traceId.setCorrelationID(value);
+                return true;
+            case PROCESS_ID_ELM:
+                traceId.setProcessID(value);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isCommonElement(@Nullable String ns, String name, String expectedName) {
+        return COMMON_NS.equals(ns) && expectedName.equals(name);
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
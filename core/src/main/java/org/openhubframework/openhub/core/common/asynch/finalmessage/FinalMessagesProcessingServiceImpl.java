@@ -35,6 +35,7 @@ import org.openhubframework.openhub.api.configuration.CoreProps;
 import org.openhubframework.openhub.api.entity.Message;
 import org.openhubframework.openhub.api.entity.MessageFilter;
 import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.common.log.LogContextCarrier;
 import org.openhubframework.openhub.core.common.asynch.LogContextHelper;
 import org.openhubframework.openhub.core.configuration.ConfigurationService;
 import org.openhubframework.openhub.spi.msg.MessageService;
@@ -124,7 +125,7 @@ public class FinalMessagesProcessingServiceImpl implements FinalMessagesProcessi
 
             for (Message message : messageList) {
                 // set log context
-                LogContextHelper.setLogContextParams(message, null);
+                LogContextHelper.createLogContext(message, null).install();
                 try {
                     // execute in new transaction
                     transactionTemplate.execute((TransactionStatus status) -> {
@@ -140,7 +141,7 @@ public class FinalMessagesProcessingServiceImpl implements FinalMessagesProcessi
                     LOG.error("Failed to process message : {}, will continue with next.", message, ex);
                 }
                 // clear MDC context
-                LogContextHelper.removeLogContextParams();
+                LogContextCarrier.clear();
             }
         }
     }
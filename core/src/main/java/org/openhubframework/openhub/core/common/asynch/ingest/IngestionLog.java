@@ -0,0 +1,519 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.ingest;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+
+/**
+ * Local write-ahead log of records (byte arrays) stored in memory-mapped segment files.
+ * <p>
+ * Each record is stored as {@code [length][CRC32][data]}, the position of the record is global offset
+ * ({@code segment index * segment size + offset in segment}), record never crosses segment boundary.
+ * Writers append records and wait for {@link #awaitDurable(long) synchronization} to disk; synchronization
+ * is done by one of waiting writers for all records appended so far (group commit),
+ * so count of fsync calls is much lower than count of records under load.
+ * <p>
+ * Consumer {@link #read(long, int) reads} durable records and confirms processed ones by
+ * {@link #checkpoint(long) checkpoint}, segments before checkpoint are deleted. After restart the log continues
+ * from the checkpoint, so not confirmed records are read again; torn record at the end of the log
+ * (crash during writing) is detected by CRC and ignored.
+ *
+ * @since 2.2
+ */
+public class IngestionLog implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IngestionLog.class);
+
+    /**
+     * Size of record header: length + CRC32.
+     */
+    static final int HEADER_SIZE = 8;
+
+    /**
+     * Marker of the end of records in the segment (rest of segment is empty).
+     */
+    private static final int END_OF_SEGMENT = -1;
+
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    private static final Pattern SEGMENT_FILE_PATTERN = Pattern.compile("ingestion-(\\d{12})\\.log");
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final long maxSyncDelayMillis;
+
+    private final ConcurrentSkipListMap<Long, MappedByteBuffer> segments = new ConcurrentSkipListMap<>();
+
+    private final Object writeLock = new Object();
+
+    private final Object syncLock = new Object();
+
+    /**
+     * Position of the next appended record, guarded by {@link #writeLock}.
+     */
+    private long writePosition;
+
+    /**
+     * Position to which are all records synchronized to disk, guarded by {@link #syncLock}.
+     */
+    private volatile long durablePosition;
+
+    /**
+     * Guarded by {@link #syncLock}.
+     */
+    private boolean syncInProgress;
+
+    private volatile long checkpointPosition;
+
+    private volatile boolean closed;
+
+    /**
+     * Opens the log in specified directory and recovers state of the log after previous run.
+     *
+     * @param directory the directory with segment files
+     * @param segmentSize the size of one segment file in bytes
+     * @param maxSyncDelayMillis the maximum time to wait for next records before synchronization to disk
+     * @throws IOException when the log can't be opened
+     */
+    public IngestionLog(File directory, int segmentSize, long maxSyncDelayMillis) throws IOException {
+        Assert.notNull(directory, "the directory must not be null");
+        Assert.isTrue(segmentSize > HEADER_SIZE * 2, "the segmentSize is too small");
+        Assert.isTrue(maxSyncDelayMillis >= 0, "the maxSyncDelayMillis must not be negative");
+
+        this.directory = directory.toPath();
+        this.segmentSize = segmentSize;
+        this.maxSyncDelayMillis = maxSyncDelayMillis;
+
+        Files.createDirectories(this.directory);
+        recover();
+    }
+
+    private void recover() throws IOException {
+        long checkpoint = readCheckpoint();
+        long firstSegment = checkpoint >= 0 ? checkpoint / segmentSize : 0;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                Matcher matcher = SEGMENT_FILE_PATTERN.matcher(file.getFileName().toString());
+                if (!matcher.matches()) {
+                    continue;
+                }
+
+                long index = Long.parseLong(matcher.group(1));
+                if (index < firstSegment) {
+                    Files.delete(file);
+                } else {
+                    segments.put(index, map(index));
+                }
+            }
+        }
+
+        if (checkpoint < 0) {
+            // segments before the lost checkpoint were deleted => start from the first remaining one
+            checkpoint = segments.isEmpty() ? 0 : segments.firstKey() * segmentSize;
+        }
+        checkpointPosition = checkpoint;
+
+        // find the end of valid records
+        long position = checkpointPosition;
+        long recovered = 0;
+        while (true) {
+            long next = nextRecordPosition(position);
+            if (next < 0) {
+                break;
+            }
+            position = next;
+            recovered++;
+        }
+
+        writePosition = position;
+        durablePosition = position;
+
+        if (!segments.containsKey(position / segmentSize)) {
+            segments.put(position / segmentSize, map(position / segmentSize));
+        }
+
+        LOG.info("Ingestion log in '{}' was opened, {} records after checkpoint {} to be processed.",
+                directory, recovered, checkpointPosition);
+    }
+
+    /**
+     * Gets position after the record at specified position.
+     *
+     * @param position the position of the record
+     * @return position of the next record or {@code -1} if there is no valid record at specified position
+     */
+    private long nextRecordPosition(long position) {
+        long pos = skipEndOfSegment(position);
+        MappedByteBuffer segment = segments.get(pos / segmentSize);
+        if (segment == null) {
+            return -1;
+        }
+
+        int offset = (int) (pos % segmentSize);
+        int length = segment.getInt(offset);
+        if (length <= 0 || offset + HEADER_SIZE + length > segmentSize) {
+            return -1;
+        }
+
+        byte[] data = new byte[length];
+        ByteBuffer buffer = segment.duplicate();
+        buffer.position(offset + HEADER_SIZE);
+        buffer.get(data);
+        if (crc(data) != segment.getInt(offset + 4)) {
+            LOG.warn("Ingestion log record at position {} is corrupted (not finished write), it's ignored.", pos);
+            return -1;
+        }
+
+        return pos + HEADER_SIZE + length;
+    }
+
+    /**
+     * Moves position to the start of next segment if there is no record at specified position.
+     */
+    private long skipEndOfSegment(long position) {
+        int offset = (int) (position % segmentSize);
+        if (offset + HEADER_SIZE > segmentSize) {
+            return nextSegmentStart(position);
+        }
+
+        MappedByteBuffer segment = segments.get(position / segmentSize);
+        if (segment != null && segment.getInt(offset) == END_OF_SEGMENT) {
+            return nextSegmentStart(position);
+        }
+        return position;
+    }
+
+    private long nextSegmentStart(long position) {
+        return (position / segmentSize + 1) * segmentSize;
+    }
+
+    /**
+     * Appends new record to the log, the record is not synchronized to disk yet.
+     *
+     * @param data the record data
+     * @return position after the record, see {@link #awaitDurable(long)}
+     * @throws IOException when new segment can't be created
+     */
+    public long append(byte[] data) throws IOException {
+        Assert.notNull(data, "the data must not be null");
+        Assert.isTrue(data.length > 0, "the data must not be empty");
+        Assert.isTrue(data.length + HEADER_SIZE <= segmentSize,
+                "the record is bigger than segment size (" + segmentSize + " bytes)");
+
+        int crc = crc(data);
+
+        synchronized (writeLock) {
+            Assert.state(!closed, "the ingestion log is closed");
+
+            int offset = (int) (writePosition % segmentSize);
+            if (offset + HEADER_SIZE + data.length > segmentSize) {
+                rollSegment(offset);
+                offset = 0;
+            }
+
+            MappedByteBuffer segment = segments.get(writePosition / segmentSize);
+            ByteBuffer buffer = segment.duplicate();
+            buffer.position(offset + HEADER_SIZE);
+            buffer.put(data);
+            segment.putInt(offset + 4, crc);
+            // length is written as the last, the record is valid after that
+            segment.putInt(offset, data.length);
+
+            writePosition += HEADER_SIZE + data.length;
+            return writePosition;
+        }
+    }
+
+    private void rollSegment(int offset) throws IOException {
+        MappedByteBuffer current = segments.get(writePosition / segmentSize);
+        if (offset + HEADER_SIZE <= segmentSize) {
+            current.putInt(offset, END_OF_SEGMENT);
+        }
+        // the previous segment must be on disk before records in the next segment are durable
+        current.force();
+
+        writePosition = nextSegmentStart(writePosition);
+        long index = writePosition / segmentSize;
+        segments.put(index, map(index));
+    }
+
+    /**
+     * Waits until all records to specified position are synchronized to disk.
+     * One of waiting threads synchronizes all appended records, other threads wait for it.
+     *
+     * @param position the position returned by {@link #append(byte[])}
+     * @throws InterruptedException when waiting is interrupted
+     */
+    public void awaitDurable(long position) throws InterruptedException {
+        while (true) {
+            synchronized (syncLock) {
+                while (durablePosition < position && syncInProgress) {
+                    syncLock.wait();
+                }
+                if (durablePosition >= position) {
+                    return;
+                }
+                syncInProgress = true;
+            }
+
+            // this thread synchronizes records of all waiting threads
+            long synced = durablePosition;
+            try {
+                if (maxSyncDelayMillis > 0) {
+                    Thread.sleep(maxSyncDelayMillis);
+                }
+                synced = sync();
+            } finally {
+                synchronized (syncLock) {
+                    durablePosition = Math.max(durablePosition, synced);
+                    syncInProgress = false;
+                    syncLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * Synchronizes all appended records to disk.
+     *
+     * @return position to which records are durable
+     */
+    private long sync() {
+        long position;
+        MappedByteBuffer segment;
+        synchronized (writeLock) {
+            position = writePosition;
+            segment = segments.get((position - 1) / segmentSize);
+        }
+
+        if (segment != null) {
+            segment.force();
+        }
+        return position;
+    }
+
+    /**
+     * Reads durable records from specified position.
+     *
+     * @param position the position of the first record
+     * @param maxRecords the maximum count of records
+     * @return records, can be empty
+     */
+    public List<Record> read(long position, int maxRecords) {
+        List<Record> records = new ArrayList<>();
+        long pos = position;
+        long durable = durablePosition;
+
+        while (records.size() < maxRecords) {
+            pos = skipEndOfSegment(pos);
+            if (pos >= durable) {
+                break;
+            }
+
+            MappedByteBuffer segment = segments.get(pos / segmentSize);
+            int offset = (int) (pos % segmentSize);
+            int length = segment.getInt(offset);
+
+            byte[] data = new byte[length];
+            ByteBuffer buffer = segment.duplicate();
+            buffer.position(offset + HEADER_SIZE);
+            buffer.get(data);
+
+            pos += HEADER_SIZE + length;
+            records.add(new Record(data, pos));
+        }
+
+        return records;
+    }
+
+    /**
+     * Waits for new durable records after specified position.
+     *
+     * @param position the position of already read records
+     * @param timeout the maximum time to wait
+     * @param unit the time unit of the timeout
+     * @return {@code true} if there are new records
+     * @throws InterruptedException when waiting is interrupted
+     */
+    public boolean awaitRecords(long position, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (syncLock) {
+            while (durablePosition <= position && !closed) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                syncLock.wait(remaining);
+            }
+            return durablePosition > position;
+        }
+    }
+
+    /**
+     * Confirms processing of all records before specified position, unused segments are deleted.
+     *
+     * @param position the position after the last processed record
+     * @throws IOException when checkpoint can't be saved
+     */
+    public void checkpoint(long position) throws IOException {
+        Assert.isTrue(position >= checkpointPosition, "the checkpoint can't move back");
+
+        Path tmp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(12);
+        buffer.putLong(position);
+        buffer.putInt(crc(buffer.array(), 8));
+        buffer.flip();
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            // the checkpoint must be complete on disk before it replaces the previous one
+            channel.force(true);
+        }
+        Files.move(tmp, directory.resolve(CHECKPOINT_FILE),
+                StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        checkpointPosition = position;
+
+        long currentSegment;
+        synchronized (writeLock) {
+            currentSegment = writePosition / segmentSize;
+        }
+        long firstSegment = Math.min(position / segmentSize, currentSegment);
+        for (Map.Entry<Long, MappedByteBuffer> entry : segments.headMap(firstSegment).entrySet()) {
+            segments.remove(entry.getKey());
+            Files.deleteIfExists(segmentFile(entry.getKey()));
+        }
+    }
+
+    /**
+     * Reads saved checkpoint.
+     *
+     * @return checkpoint position or {@code -1} if there is no valid checkpoint
+     */
+    private long readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return -1;
+        }
+
+        byte[] data = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        if (data.length != 12 || crc(data, 8) != buffer.getInt(8)) {
+            LOG.warn("Checkpoint of ingestion log is corrupted, all remaining records will be processed again.");
+            return -1;
+        }
+        return buffer.getLong(0);
+    }
+
+    public long getCheckpointPosition() {
+        return checkpointPosition;
+    }
+
+    public long getDurablePosition() {
+        return durablePosition;
+    }
+
+    @Override
+    public void close() {
+        synchronized (writeLock) {
+            closed = true;
+            for (MappedByteBuffer segment : segments.values()) {
+                segment.force();
+            }
+        }
+
+        synchronized (syncLock) {
+            syncLock.notifyAll();
+        }
+    }
+
+    private MappedByteBuffer map(long index) throws IOException {
+        try (FileChannel channel = FileChannel.open(segmentFile(index),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // mapping stays valid after the channel is closed
+            return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        }
+    }
+
+    private Path segmentFile(long index) {
+        return directory.resolve(String.format("ingestion-%012d.log", index));
+    }
+
+    private static int crc(byte[] data) {
+        return crc(data, data.length);
+    }
+
+    private static int crc(byte[] data, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(data, 0, length);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Record of the log.
+     */
+    public static final class Record {
+
+        private final byte[] data;
+
+        private final long nextPosition;
+
+        Record(byte[] data, long nextPosition) {
+            this.data = data;
+            this.nextPosition = nextPosition;
+        }
+
+        public byte[] getData() {
+            return data;
+        }
+
+        /**
+         * Gets position after this record, use it for {@link #checkpoint(long)}.
+         */
+        public long getNextPosition() {
+            return nextPosition;
+        }
+    }
+}
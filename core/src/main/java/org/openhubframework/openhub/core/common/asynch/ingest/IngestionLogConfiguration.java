@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.ingest;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import org.openhubframework.openhub.api.configuration.CoreProps;
+import org.openhubframework.openhub.core.common.dao.MessageDao;
+import org.openhubframework.openhub.spi.msg.MessageService;
+
+
+/**
+ * Configuration of ingestion of asynchronous messages via local write-ahead log.
+ *
+ * @since 2.2
+ * @see IngestionLogService
+ */
+@Configuration
+@ConditionalOnProperty(value = CoreProps.ASYNCH_INGESTION_LOG_ENABLED)
+@EnableConfigurationProperties(IngestionLogProperties.class)
+public class IngestionLogConfiguration {
+
+    @Bean
+    public IngestionLogService ingestionLogService(IngestionLogProperties properties, MessageService messageService,
+            MessageDao messageDao, PlatformTransactionManager transactionManager) {
+        return new IngestionLogService(properties, messageService, messageDao, transactionManager);
+    }
+
+    /**
+     * Starts saving of messages from the log when Camel context (and routes for next processing) is started.
+     */
+    @Bean
+    public CamelContextConfiguration ingestionLogStarter(final IngestionLogService ingestionLogService) {
+        return new CamelContextConfiguration() {
+
+            @Override
+            public void beforeApplicationStart(CamelContext camelContext) {
+                // nothing to set
+            }
+
+            @Override
+            public void afterApplicationStart(CamelContext camelContext) {
+                ingestionLogService.start(camelContext);
+            }
+        };
+    }
+}
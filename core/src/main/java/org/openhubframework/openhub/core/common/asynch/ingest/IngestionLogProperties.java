@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.ingest;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import org.openhubframework.openhub.common.OpenHubPropertyConstants;
+
+
+/**
+ * Configuration properties of ingestion of asynchronous messages via local write-ahead log.
+ *
+ * @since 2.2
+ * @see IngestionLogService
+ */
+@ConfigurationProperties(OpenHubPropertyConstants.PREFIX + "asynch.ingestionLog")
+public class IngestionLogProperties {
+
+    /**
+     * Enables ingestion via write-ahead log: incoming message is acknowledged after it's written to the log,
+     * it's saved into database later.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory of the log files, it must be local and not shared with other nodes.
+     */
+    private String directory = "ingestion-log";
+
+    /**
+     * Size of one log file (segment) in bytes, the biggest message must fit into one segment.
+     */
+    private int segmentSize = 64 * 1024 * 1024;
+
+    /**
+     * Maximum time (in milliseconds) to wait for next messages before synchronization of the log to disk,
+     * 0 means that messages are synchronized immediately (together with messages written during previous
+     * synchronization).
+     */
+    private long maxSyncDelayMillis = 0;
+
+    /**
+     * Maximum count of messages saved into database in one transaction.
+     */
+    private int batchSize = 100;
+
+    /**
+     * Delay (in milliseconds) before next attempt when saving messages into database fails.
+     */
+    private long retryDelayMillis = 5000;
+
+    /**
+     * Maximum count of attempts to save one message while database is available, the message is moved
+     * to dead-letter directory after that.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Maximum time (in milliseconds) to wait for saving remaining messages during shutdown.
+     */
+    private long shutdownTimeoutMillis = 10000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(String directory) {
+        this.directory = directory;
+    }
+
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public long getMaxSyncDelayMillis() {
+        return maxSyncDelayMillis;
+    }
+
+    public void setMaxSyncDelayMillis(long maxSyncDelayMillis) {
+        this.maxSyncDelayMillis = maxSyncDelayMillis;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getRetryDelayMillis() {
+        return retryDelayMillis;
+    }
+
+    public void setRetryDelayMillis(long retryDelayMillis) {
+        this.retryDelayMillis = retryDelayMillis;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public long getShutdownTimeoutMillis() {
+        return shutdownTimeoutMillis;
+    }
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+}
@@ -0,0 +1,500 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.ingest;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.api.exception.IntegrationException;
+import org.openhubframework.openhub.api.exception.InternalErrorEnum;
+import org.openhubframework.openhub.common.log.LogContextCarrier;
+import org.openhubframework.openhub.common.log.LogContextFilter;
+import org.openhubframework.openhub.core.common.asynch.AsynchInMessageRoute;
+import org.openhubframework.openhub.core.common.asynch.ingest.MessageRecordCodec.DecodedMessage;
+import org.openhubframework.openhub.core.common.dao.MessageDao;
+import org.openhubframework.openhub.spi.msg.MessageService;
+
+
+/**
+ * Ingestion of new asynchronous messages via local write-ahead {@link IngestionLog log}.
+ * <p>
+ * Incoming message is {@link #append(Message, String) appended} to the log and acknowledged when the log is
+ * synchronized to disk, so the caller doesn't wait for database commit. Background committer inserts messages
+ * from the log into database in batches and sends them to
+ * {@link AsynchInMessageRoute#URI_GUARANTEED_ORDER_ROUTE guaranteed order route} for next processing
+ * (the same way as {@link AsynchInMessageRoute} does).
+ * <p>
+ * Incoming message which was already saved (or which waits in the log) is rejected before it's appended,
+ * the same way as unique correlation ID rejects it without the log.
+ * <p>
+ * Messages not saved before shutdown or crash are saved after restart. Replayed message which was already saved
+ * (crash before checkpoint) is detected by unique correlation ID and it's only sent for processing if it's still
+ * in the state {@link MsgStateEnum#NEW NEW}.
+ * <p>
+ * Message which can't be saved repeatedly although database is available (or which can't be decoded) is moved
+ * to {@value #DEAD_LETTER_DIR} subdirectory of the log, so it doesn't block next messages.
+ *
+ * @since 2.2
+ * @see IngestionLogProperties
+ */
+@ManagedResource(objectName = "org.openhubframework.openhub.core.monitoring:name=IngestionLog",
+        description = "Ingestion of asynch. messages via write-ahead log")
+public class IngestionLogService implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IngestionLogService.class);
+
+    private static final String THREAD_NAME = "ohf-ingestion-log-committer";
+
+    private static final long IDLE_WAIT_MILLIS = 100;
+
+    static final String DEAD_LETTER_DIR = "dead-letter";
+
+    private final IngestionLogProperties properties;
+
+    private final MessageService messageService;
+
+    private final MessageDao messageDao;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private IngestionLog log;
+
+    /**
+     * Position of the end of records from previous run, only these records can be already saved.
+     */
+    private long replayEndPosition;
+
+    /**
+     * Keys of appended messages which are not saved yet.
+     */
+    private final Set<String> pendingKeys = ConcurrentHashMap.newKeySet();
+
+    private ProducerTemplate producerTemplate;
+
+    private Thread committer;
+
+    private volatile boolean running;
+
+    private volatile boolean stopping;
+
+    private final AtomicLong appendedCount = new AtomicLong();
+
+    private final AtomicLong committedCount = new AtomicLong();
+
+    private final AtomicLong duplicateCount = new AtomicLong();
+
+    private final AtomicLong deadLetterCount = new AtomicLong();
+
+    /**
+     * Creates new service.
+     *
+     * @param properties the configuration
+     * @param messageService the message service
+     * @param messageDao the message DAO
+     * @param transactionManager the transaction manager
+     */
+    public IngestionLogService(IngestionLogProperties properties, MessageService messageService,
+            MessageDao messageDao, PlatformTransactionManager transactionManager) {
+        Assert.notNull(properties, "the properties must not be null");
+        Assert.notNull(messageService, "the messageService must not be null");
+        Assert.notNull(messageDao, "the messageDao must not be null");
+        Assert.notNull(transactionManager, "the transactionManager must not be null");
+
+        this.properties = properties;
+        this.messageService = messageService;
+        this.messageDao = messageDao;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+
+    @Override
+    public void afterPropertiesSet() throws IOException {
+        log = new IngestionLog(new File(properties.getDirectory()), properties.getSegmentSize(),
+                properties.getMaxSyncDelayMillis());
+        replayEndPosition = log.getDurablePosition();
+    }
+
+    /**
+     * Appends new message to the log and waits until it's durable.
+     *
+     * @param msg the new message
+     * @param requestId the log request ID
+     * @throws IntegrationException when the message with the same correlation ID was already received
+     * @throws IOException when the message can't be written
+     * @throws InterruptedException when waiting is interrupted
+     */
+    public void append(Message msg, @Nullable String requestId) throws IOException, InterruptedException {
+        Assert.notNull(msg, "the msg must not be null");
+        Assert.state(msg.getState() == MsgStateEnum.NEW, "new message can be in NEW state only");
+
+        String key = getKey(msg);
+        if (!pendingKeys.add(key)) {
+            throw new IntegrationException(InternalErrorEnum.E106, "Message " + msg.toHumanString()
+                    + " was already received and it waits for saving");
+        }
+
+        boolean appended = false;
+        try {
+            if (findExisting(msg) != null) {
+                throw new IntegrationException(InternalErrorEnum.E106, "Message " + msg.toHumanString()
+                        + " was already saved");
+            }
+
+            long position = log.append(MessageRecordCodec.encode(msg, requestId));
+            appended = true;
+            log.awaitDurable(position);
+        } finally {
+            if (!appended) {
+                pendingKeys.remove(key);
+            }
+        }
+
+        appendedCount.incrementAndGet();
+        LOG.debug("New asynch message '{}' was appended to ingestion log.", msg.toHumanString());
+    }
+
+    /**
+     * Starts saving messages from the log into database, messages from previous run are saved first.
+     *
+     * @param camelContext the Camel context
+     */
+    public synchronized void start(CamelContext camelContext) {
+        Assert.notNull(camelContext, "the camelContext must not be null");
+
+        if (running) {
+            return;
+        }
+
+        producerTemplate = camelContext.createProducerTemplate();
+        running = true;
+
+        committer = new Thread(this::commitLoop, THREAD_NAME);
+        committer.setDaemon(true);
+        committer.start();
+    }
+
+    private void commitLoop() {
+        long position = log.getCheckpointPosition();
+        long checkpoint = position;
+
+        while (running) {
+            try {
+                if (checkpoint < position) {
+                    // checkpoint failed last time, saved messages mustn't be saved again
+                    log.checkpoint(position);
+                    checkpoint = position;
+                }
+
+                List<IngestionLog.Record> records = log.read(position, properties.getBatchSize());
+                if (records.isEmpty()) {
+                    if (stopping) {
+                        break;
+                    }
+                    log.awaitRecords(position, IDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                    continue;
+                }
+
+                commit(records);
+
+                position = records.get(records.size() - 1).getNextPosition();
+                log.checkpoint(position);
+                checkpoint = position;
+
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception ex) {
+                LOG.error("Committer of ingestion log failed, it's restarted in "
+                        + properties.getRetryDelayMillis() + " ms", ex);
+                try {
+                    Thread.sleep(properties.getRetryDelayMillis());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves messages into database and sends them for next processing, failed saving is repeated.
+     */
+    private void commit(List<IngestionLog.Record> records) throws InterruptedException {
+        Batch batch = new Batch(records);
+        while (true) {
+            try {
+                insert(batch);
+                break;
+
+            } catch (Exception ex) {
+                if (!running) {
+                    throw new InterruptedException("Committer was stopped, messages will be saved after restart");
+                }
+
+                LOG.error("Messages from ingestion log can't be saved, next attempt in "
+                        + properties.getRetryDelayMillis() + " ms", ex);
+                Thread.sleep(properties.getRetryDelayMillis());
+            }
+        }
+
+        for (DecodedMessage msg : batch.saved) {
+            dispatch(msg);
+        }
+    }
+
+    /**
+     * Inserts not saved messages of the batch in one transaction, if it fails then messages are inserted
+     * one by one and already saved messages are detected.
+     */
+    private void insert(Batch batch) throws IOException {
+        Map<IngestionLog.Record, DecodedMessage> messages = decode(batch);
+        List<Message> entities = new ArrayList<>(messages.size());
+        for (DecodedMessage msg : messages.values()) {
+            entities.add(msg.getMessage());
+        }
+
+        try {
+            messageService.insertMessages(entities);
+            committedCount.addAndGet(entities.size());
+            for (Map.Entry<IngestionLog.Record, DecodedMessage> entry : messages.entrySet()) {
+                batch.saved(entry.getKey(), entry.getValue());
+            }
+            return;
+        } catch (Exception ex) {
+            LOG.debug("Batch insert of " + entities.size() + " messages failed, messages will be inserted one by one",
+                    ex);
+        }
+
+        // entities from failed transaction can't be used again
+        for (Map.Entry<IngestionLog.Record, DecodedMessage> entry : decode(batch).entrySet()) {
+            insertOne(batch, entry.getKey(), entry.getValue());
+        }
+    }
+
+    private void insertOne(Batch batch, IngestionLog.Record record, DecodedMessage msg) throws IOException {
+        try {
+            messageService.insertMessage(msg.getMessage());
+            committedCount.incrementAndGet();
+            batch.saved(record, msg);
+        } catch (RuntimeException ex) {
+            // when database isn't available then exception is thrown and saving is repeated later
+            Message existing = findExisting(msg.getMessage());
+
+            if (existing == null) {
+                if (batch.failed(record) < properties.getMaxAttempts()) {
+                    throw ex;
+                }
+                moveToDeadLetter(batch, record, msg, ex);
+
+            } else if (record.getNextPosition() > replayEndPosition) {
+                // message was received in this run, it was saved by another node meanwhile
+                moveToDeadLetter(batch, record, msg, new IntegrationException(InternalErrorEnum.E106,
+                        "Message " + existing.toHumanString() + " was already saved", ex));
+
+            } else {
+                duplicateCount.incrementAndGet();
+                if (existing.getState() == MsgStateEnum.NEW) {
+                    LOG.info("Message {} was already saved but not processed, it's sent for processing.",
+                            existing.toHumanString());
+                    batch.saved(record, new DecodedMessage(existing, msg.getRequestId()));
+                } else {
+                    LOG.info("Message {} was already saved and processed, it's skipped.", existing.toHumanString());
+                    batch.skipped(record, msg);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes not saved records of the batch, records which can't be decoded are moved to dead-letter directory.
+     */
+    private Map<IngestionLog.Record, DecodedMessage> decode(Batch batch) throws IOException {
+        Map<IngestionLog.Record, DecodedMessage> messages = new LinkedHashMap<>();
+        for (IngestionLog.Record record : batch.records) {
+            if (batch.done.contains(record)) {
+                continue;
+            }
+
+            try {
+                messages.put(record, MessageRecordCodec.decode(record.getData()));
+            } catch (RuntimeException ex) {
+                moveToDeadLetter(batch, record, null, ex);
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * Saves the record into dead-letter directory, the record isn't saved into database.
+     */
+    private void moveToDeadLetter(Batch batch, IngestionLog.Record record, @Nullable DecodedMessage msg,
+            Exception cause) throws IOException {
+        Path dir = new File(properties.getDirectory(), DEAD_LETTER_DIR).toPath();
+        Files.createDirectories(dir);
+        Path file = dir.resolve(String.format("record-%012d.bin", record.getNextPosition()));
+        Files.write(file, record.getData());
+
+        deadLetterCount.incrementAndGet();
+        batch.skipped(record, msg);
+        LOG.error("Message from ingestion log can't be saved into database, it was moved to '" + file + "'", cause);
+    }
+
+    @Nullable
+    private Message findExisting(Message msg) {
+        return transactionTemplate.execute(status ->
+                messageDao.findByCorrelationId(msg.getCorrelationId(), msg.getSourceSystem()));
+    }
+
+    private static String getKey(Message msg) {
+        return msg.getSourceSystem().getSystemName() + ":" + msg.getCorrelationId();
+    }
+
+    private void dispatch(DecodedMessage msg) {
+        if (msg.getRequestId() != null) {
+            new LogContextCarrier(Collections.singletonMap(LogContextFilter.CTX_REQUEST_ID, msg.getRequestId()))
+                    .install();
+        }
+
+        try {
+            Exchange exchange = producerTemplate.send(AsynchInMessageRoute.URI_GUARANTEED_ORDER_ROUTE,
+                    ex -> ex.getIn().setBody(msg.getMessage()));
+
+            if (exchange.getException() != null) {
+                LOG.error("Message " + msg.getMessage().toHumanString() + " was saved but it can't be sent"
+                        + " for next processing", exchange.getException());
+            }
+        } finally {
+            LogContextCarrier.clear();
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        // remaining messages are saved if possible, otherwise they are saved after restart
+        stopping = true;
+        if (committer != null) {
+            committer.join(properties.getShutdownTimeoutMillis());
+        }
+
+        running = false;
+        if (committer != null && committer.isAlive()) {
+            committer.interrupt();
+            committer.join(IDLE_WAIT_MILLIS);
+        }
+
+        if (producerTemplate != null) {
+            producerTemplate.stop();
+        }
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    @ManagedAttribute(description = "Count of bytes in the log which are not saved into database yet")
+    public long getPendingBytes() {
+        return log.getDurablePosition() - log.getCheckpointPosition();
+    }
+
+    @ManagedAttribute(description = "Count of appended messages")
+    public long getAppendedCount() {
+        return appendedCount.get();
+    }
+
+    @ManagedAttribute(description = "Count of messages saved into database")
+    public long getCommittedCount() {
+        return committedCount.get();
+    }
+
+    @ManagedAttribute(description = "Count of messages which were already saved before restart")
+    public long getDuplicateCount() {
+        return duplicateCount.get();
+    }
+
+    @ManagedAttribute(description = "Count of messages which couldn't be saved and were moved to dead-letter directory")
+    public long getDeadLetterCount() {
+        return deadLetterCount.get();
+    }
+
+    /**
+     * Records of the log which are saved together, state is kept between attempts.
+     */
+    private final class Batch {
+
+        private final List<IngestionLog.Record> records;
+
+        private final Set<IngestionLog.Record> done = new HashSet<>();
+
+        private final List<DecodedMessage> saved = new ArrayList<>();
+
+        private final Map<IngestionLog.Record, Integer> failures = new HashMap<>();
+
+        private Batch(List<IngestionLog.Record> records) {
+            this.records = records;
+        }
+
+        private void saved(IngestionLog.Record record, DecodedMessage msg) {
+            done.add(record);
+            saved.add(msg);
+            pendingKeys.remove(getKey(msg.getMessage()));
+        }
+
+        private void skipped(IngestionLog.Record record, @Nullable DecodedMessage msg) {
+            done.add(record);
+            if (msg != null) {
+                pendingKeys.remove(getKey(msg.getMessage()));
+            }
+        }
+
+        /**
+         * Records failed attempt to save the record.
+         *
+         * @return count of failed attempts
+         */
+        private int failed(IngestionLog.Record record) {
+            return failures.merge(record, 1, Integer::sum);
+        }
+    }
+}
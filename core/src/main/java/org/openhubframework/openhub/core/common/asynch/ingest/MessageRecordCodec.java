@@ -0,0 +1,212 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.ingest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import javax.annotation.Nullable;
+
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.api.entity.EntityTypeExtEnum;
+import org.openhubframework.openhub.api.entity.ExternalSystemExtEnum;
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.api.entity.ServiceExtEnum;
+
+
+/**
+ * Binary format of new asynchronous {@link Message message} in {@link IngestionLog}.
+ * <p>
+ * Only attributes of new message (see {@code MessageTransformer#createMessage}) are stored,
+ * together with log request ID.
+ *
+ * @since 2.2
+ */
+final class MessageRecordCodec {
+
+    private static final byte VERSION = 1;
+
+    private MessageRecordCodec() {
+    }
+
+    /**
+     * Encodes new message into record.
+     *
+     * @param msg the message
+     * @param requestId the log request ID
+     * @return record data
+     */
+    static byte[] encode(Message msg, @Nullable String requestId) {
+        Assert.notNull(msg, "the msg must not be null");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256 + length(msg.getPayload())
+                + length(msg.getEnvelope()));
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            writeString(out, requestId);
+            writeString(out, msg.getCorrelationId());
+            writeString(out, msg.getProcessId());
+            writeString(out, msg.getSourceSystem().getSystemName());
+            writeString(out, msg.getService().getServiceName());
+            writeString(out, msg.getOperationName());
+            writeString(out, msg.getObjectId());
+            writeString(out, msg.getEntityType() != null ? msg.getEntityType().getEntityType() : null);
+            writeString(out, msg.getFunnelValue());
+            out.writeBoolean(msg.isGuaranteedOrder());
+            out.writeBoolean(msg.isExcludeFailedState());
+            writeInstant(out, msg.getMsgTimestamp());
+            writeInstant(out, msg.getReceiveTimestamp());
+            writeString(out, msg.getPayload());
+            writeString(out, msg.getEnvelope());
+        } catch (IOException ex) {
+            throw new IllegalStateException("Message " + msg.toHumanString() + " can't be encoded", ex);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Decodes new message from record.
+     *
+     * @param data the record data
+     * @return message with log request ID
+     */
+    static DecodedMessage decode(byte[] data) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            Assert.state(version == VERSION, "unsupported version of message record: " + version);
+
+            String requestId = readString(in);
+
+            Message msg = new Message();
+            msg.setState(MsgStateEnum.NEW);
+            msg.setCorrelationId(readString(in));
+            msg.setProcessId(readString(in));
+
+            final String sourceSystem = readString(in);
+            msg.setSourceSystem(new ExternalSystemExtEnum() {
+                @Override
+                public String getSystemName() {
+                    return sourceSystem;
+                }
+            });
+
+            final String service = readString(in);
+            msg.setService(new ServiceExtEnum() {
+                @Override
+                public String getServiceName() {
+                    return service;
+                }
+            });
+
+            msg.setOperationName(readString(in));
+            msg.setObjectId(readString(in));
+
+            final String entityType = readString(in);
+            if (entityType != null) {
+                msg.setEntityType(new EntityTypeExtEnum() {
+                    @Override
+                    public String getEntityType() {
+                        return entityType;
+                    }
+                });
+            }
+
+            msg.setFunnelValue(readString(in));
+            msg.setGuaranteedOrder(in.readBoolean());
+            msg.setExcludeFailedState(in.readBoolean());
+            msg.setMsgTimestamp(readInstant(in));
+
+            Instant receiveTimestamp = readInstant(in);
+            msg.setReceiveTimestamp(receiveTimestamp);
+            msg.setStartProcessTimestamp(receiveTimestamp);
+            msg.setLastUpdateTimestamp(receiveTimestamp);
+
+            msg.setPayload(readString(in));
+            msg.setEnvelope(readString(in));
+
+            return new DecodedMessage(msg, requestId);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Message record can't be decoded", ex);
+        }
+    }
+
+    private static int length(@Nullable String str) {
+        return str != null ? str.length() : 0;
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String str) throws IOException {
+        if (str == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    @Nullable
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant instant) throws IOException {
+        out.writeLong(instant.getEpochSecond());
+        out.writeInt(instant.getNano());
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return Instant.ofEpochSecond(in.readLong(), in.readInt());
+    }
+
+    /**
+     * Message decoded from the record.
+     */
+    static final class DecodedMessage {
+
+        private final Message message;
+
+        private final String requestId;
+
+        DecodedMessage(Message message, @Nullable String requestId) {
+            this.message = message;
+            this.requestId = requestId;
+        }
+
+        Message getMessage() {
+            return message;
+        }
+
+        @Nullable
+        String getRequestId() {
+            return requestId;
+        }
+    }
+}
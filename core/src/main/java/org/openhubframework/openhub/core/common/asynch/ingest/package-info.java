@@ -0,0 +1,6 @@
+/**
+ * Ingestion of new asynch. messages via local write-ahead log.
+ * <p>
+ * Incoming message is acknowledged when it's written to the log, it's saved into database by background committer.
+ */
+package org.openhubframework.openhub.core.common.asynch.ingest;
\ No newline at end of file
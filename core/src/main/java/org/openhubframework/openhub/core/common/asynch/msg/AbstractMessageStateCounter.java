@@ -0,0 +1,128 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import java.util.Map;
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.core.common.dao.MessageDao;
+
+
+/**
+ * Parent class for {@link MessageStateCounter} implementations, implementations define storage of counts only.
+ * <p>
+ * Counts are reconciled lazily by first reading.
+ *
+ * @since 2.2
+ */
+public abstract class AbstractMessageStateCounter implements MessageStateCounter {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractMessageStateCounter.class);
+
+    private final MessageDao messageDao;
+
+    private volatile boolean reconciled = false;
+
+    protected AbstractMessageStateCounter(MessageDao messageDao) {
+        Assert.notNull(messageDao, "messageDao must not be null");
+
+        this.messageDao = messageDao;
+    }
+
+    @Override
+    public final void stateChanged(@Nullable final MsgStateEnum from, final MsgStateEnum to) {
+        Assert.notNull(to, "to must not be null");
+
+        if (from == to) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    applyChange(from, to);
+                }
+            });
+        } else {
+            applyChange(from, to);
+        }
+    }
+
+    private void applyChange(@Nullable MsgStateEnum from, MsgStateEnum to) {
+        if (from != null) {
+            add(from, -1);
+        }
+        add(to, 1);
+    }
+
+    @Override
+    public final long getCount(MsgStateEnum state) {
+        Assert.notNull(state, "state must not be null");
+
+        if (!reconciled) {
+            reconcile();
+        }
+
+        // counts can be temporary negative because of races with reconciliation
+        return Math.max(0, get(state));
+    }
+
+    @Override
+    public final void reconcile() {
+        Map<MsgStateEnum, Long> counts = messageDao.getCountMessagesByState();
+
+        for (MsgStateEnum state : MsgStateEnum.values()) {
+            Long count = counts.get(state);
+            set(state, count != null ? count : 0);
+        }
+        reconciled = true;
+
+        LOG.debug("Counts of messages were reconciled: {}", counts);
+    }
+
+    /**
+     * Adds delta to count of messages in specified state.
+     *
+     * @param state the state
+     * @param delta the delta
+     */
+    protected abstract void add(MsgStateEnum state, long delta);
+
+    /**
+     * Gets count of messages in specified state.
+     *
+     * @param state the state
+     * @return count
+     */
+    protected abstract long get(MsgStateEnum state);
+
+    /**
+     * Sets count of messages in specified state.
+     *
+     * @param state the state
+     * @param count the count
+     */
+    protected abstract void set(MsgStateEnum state, long count);
+}
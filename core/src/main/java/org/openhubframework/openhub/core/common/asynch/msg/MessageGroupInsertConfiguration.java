@@ -0,0 +1,44 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import org.openhubframework.openhub.api.configuration.CoreProps;
+import org.openhubframework.openhub.spi.msg.MessageService;
+
+
+/**
+ * Configuration of group commit of new asynchronous messages.
+ *
+ * @since 2.2
+ * @see MessageGroupInserter
+ */
+@Configuration
+@ConditionalOnProperty(value = CoreProps.ASYNCH_GROUP_COMMIT_ENABLED)
+@EnableConfigurationProperties(MessageGroupInsertProperties.class)
+public class MessageGroupInsertConfiguration {
+
+    @Bean
+    public MessageGroupInserter messageGroupInserter(MessageGroupInsertProperties properties,
+            MessageService messageService) {
+        return new MessageGroupInserter(properties, messageService);
+    }
+}
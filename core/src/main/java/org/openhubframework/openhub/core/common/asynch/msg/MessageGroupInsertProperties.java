@@ -0,0 +1,97 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import org.openhubframework.openhub.common.OpenHubPropertyConstants;
+
+
+/**
+ * Configuration properties of group commit of new asynchronous messages.
+ *
+ * @since 2.2
+ * @see MessageGroupInserter
+ */
+@ConfigurationProperties(OpenHubPropertyConstants.PREFIX + "asynch.groupCommit")
+public class MessageGroupInsertProperties {
+
+    /**
+     * Enables group commit: new messages from concurrent requests are inserted into database in one transaction.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum count of messages inserted in one transaction.
+     */
+    private int maxBatchSize = 100;
+
+    /**
+     * Maximum time (in milliseconds) to wait for next messages before the transaction is started.
+     */
+    private long maxDelayMillis = 2;
+
+    /**
+     * Maximum count of messages waiting for insert, next callers wait for free space.
+     */
+    private int queueCapacity = 10000;
+
+    /**
+     * Maximum time (in milliseconds) the caller waits for insert of its message.
+     */
+    private long timeoutMillis = 30000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(int maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public long getMaxDelayMillis() {
+        return maxDelayMillis;
+    }
+
+    public void setMaxDelayMillis(long maxDelayMillis) {
+        this.maxDelayMillis = maxDelayMillis;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public long getTimeoutMillis() {
+        return timeoutMillis;
+    }
+
+    public void setTimeoutMillis(long timeoutMillis) {
+        this.timeoutMillis = timeoutMillis;
+    }
+}
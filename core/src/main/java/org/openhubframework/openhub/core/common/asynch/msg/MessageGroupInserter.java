@@ -0,0 +1,328 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.exception.StoppingException;
+import org.openhubframework.openhub.spi.msg.MessageService;
+
+
+/**
+ * Inserts new messages from concurrent callers into database in groups (group commit).
+ * <p>
+ * Caller {@link #insert(Message) enqueues} the message and waits until it's inserted. Single flusher thread
+ * takes waiting messages (at most {@link MessageGroupInsertProperties#getMaxBatchSize()} messages, it waits
+ * {@link MessageGroupInsertProperties#getMaxDelayMillis()} for next messages) and inserts them
+ * by {@link MessageService#insertMessages(java.util.Collection)} in one transaction. When the transaction fails
+ * then messages are inserted one by one, so only the caller of wrong message (e.g. duplicate correlation ID)
+ * gets the error.
+ * <p>
+ * Callers get the same result as with {@link MessageService#insertMessage(Message)}: the message is committed
+ * when the method returns; count of transactions is lower under load. Message which waits for insert longer
+ * than {@link MessageGroupInsertProperties#getTimeoutMillis()} is withdrawn and it's never inserted, message
+ * which is just being inserted is waited for.
+ *
+ * @since 2.2
+ * @see MessageGroupInsertProperties
+ */
+@ManagedResource(objectName = "org.openhubframework.openhub.core.monitoring:name=MessageGroupInserter",
+        description = "Group commit of new asynch. messages")
+public class MessageGroupInserter implements InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MessageGroupInserter.class);
+
+    private static final String THREAD_NAME = "ohf-message-group-inserter";
+
+    private static final long IDLE_WAIT_MILLIS = 100;
+
+    private final MessageGroupInsertProperties properties;
+
+    private final MessageService messageService;
+
+    private final BlockingQueue<PendingInsert> queue;
+
+    private Thread flusher;
+
+    private volatile boolean running;
+
+    private final AtomicLong insertedCount = new AtomicLong();
+
+    private final AtomicLong transactionCount = new AtomicLong();
+
+    private final AtomicLong fallbackCount = new AtomicLong();
+
+    /**
+     * Creates new inserter.
+     *
+     * @param properties the configuration
+     * @param messageService the message service
+     */
+    public MessageGroupInserter(MessageGroupInsertProperties properties, MessageService messageService) {
+        Assert.notNull(properties, "the properties must not be null");
+        Assert.notNull(messageService, "the messageService must not be null");
+        Assert.isTrue(properties.getMaxBatchSize() > 0, "the maxBatchSize must be positive");
+
+        this.properties = properties;
+        this.messageService = messageService;
+        this.queue = new LinkedBlockingQueue<>(properties.getQueueCapacity());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+
+        flusher = new Thread(this::flushLoop, THREAD_NAME);
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    /**
+     * Inserts new message and waits until it's committed.
+     *
+     * @param msg the new message
+     * @throws Exception when the message can't be inserted (exception from {@link MessageService})
+     */
+    public void insert(Message msg) throws Exception {
+        Assert.notNull(msg, "the msg must not be null");
+
+        if (!running) {
+            throw new StoppingException("Inserting of new messages is stopped");
+        }
+
+        // timeout is for both waiting in the queue and waiting for insert
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getTimeoutMillis());
+
+        PendingInsert pending = new PendingInsert(msg);
+        if (!queue.offer(pending, properties.getTimeoutMillis(), TimeUnit.MILLISECONDS)) {
+            throw new IllegalStateException("Message " + msg.toHumanString() + " can't be inserted, queue is full");
+        }
+
+        try {
+            try {
+                pending.result.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException ex) {
+                if (pending.cancel()) {
+                    throw new IllegalStateException("Message " + msg.toHumanString() + " wasn't inserted in "
+                            + properties.getTimeoutMillis() + " ms", ex);
+                }
+
+                // the message is just being inserted, the caller must know the result
+                pending.result.get();
+            }
+        } catch (ExecutionException ex) {
+            Throwable cause = ex.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw ex;
+        }
+    }
+
+    private void flushLoop() {
+        List<PendingInsert> batch = new ArrayList<>(properties.getMaxBatchSize());
+
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingInsert first = queue.poll(IDLE_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                collectBatch(batch);
+
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception ex) {
+                // flush completes all callers, this is unexpected
+                LOG.error("Unexpected error during group insert of messages", ex);
+            } finally {
+                for (PendingInsert pending : batch) {
+                    pending.result.completeExceptionally(new IllegalStateException("Message wasn't inserted"));
+                }
+                batch.clear();
+            }
+        }
+
+        // callers which came too late
+        PendingInsert pending;
+        while ((pending = queue.poll()) != null) {
+            pending.result.completeExceptionally(new StoppingException("Inserting of new messages is stopped"));
+        }
+    }
+
+    /**
+     * Adds next waiting messages to the batch, waits at most max. delay for them.
+     */
+    private void collectBatch(List<PendingInsert> batch) throws InterruptedException {
+        queue.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getMaxDelayMillis());
+        while (batch.size() < properties.getMaxBatchSize()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                break;
+            }
+
+            PendingInsert next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                break;
+            }
+            batch.add(next);
+            queue.drainTo(batch, properties.getMaxBatchSize() - batch.size());
+        }
+    }
+
+    private void flush(List<PendingInsert> batch) {
+        // withdrawn messages must not be inserted
+        batch.removeIf(pending -> !pending.claim());
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        List<Message> messages = new ArrayList<>(batch.size());
+        for (PendingInsert pending : batch) {
+            messages.add(pending.msg);
+        }
+
+        try {
+            messageService.insertMessages(messages);
+            transactionCount.incrementAndGet();
+            insertedCount.addAndGet(messages.size());
+
+            for (PendingInsert pending : batch) {
+                pending.result.complete(null);
+            }
+            return;
+        } catch (Exception ex) {
+            if (batch.size() == 1) {
+                transactionCount.incrementAndGet();
+                batch.get(0).result.completeExceptionally(ex);
+                return;
+            }
+
+            LOG.debug("Group insert of " + batch.size() + " messages failed, messages will be inserted one by one",
+                    ex);
+        }
+
+        fallbackCount.incrementAndGet();
+        for (PendingInsert pending : batch) {
+            // ID was assigned in rolled back transaction
+            pending.msg.setMsgId(null);
+            try {
+                messageService.insertMessage(pending.msg);
+                insertedCount.incrementAndGet();
+                pending.result.complete(null);
+            } catch (Exception ex) {
+                pending.result.completeExceptionally(ex);
+            } finally {
+                transactionCount.incrementAndGet();
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        // waiting messages are still inserted
+        running = false;
+
+        if (flusher != null) {
+            flusher.join(properties.getTimeoutMillis());
+            if (flusher.isAlive()) {
+                flusher.interrupt();
+            }
+        }
+    }
+
+    @ManagedAttribute(description = "Count of messages waiting for insert")
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    @ManagedAttribute(description = "Count of inserted messages")
+    public long getInsertedCount() {
+        return insertedCount.get();
+    }
+
+    @ManagedAttribute(description = "Count of transactions")
+    public long getTransactionCount() {
+        return transactionCount.get();
+    }
+
+    @ManagedAttribute(description = "Count of failed group inserts (messages were inserted one by one)")
+    public long getFallbackCount() {
+        return fallbackCount.get();
+    }
+
+    /**
+     * Message waiting for insert.
+     */
+    private static final class PendingInsert {
+
+        private final Message msg;
+
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        /**
+         * Flag if the message is taken for insert or withdrawn by the caller.
+         */
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        private PendingInsert(Message msg) {
+            this.msg = msg;
+        }
+
+        /**
+         * Takes the message for insert.
+         *
+         * @return {@code false} if the message was withdrawn by the caller
+         */
+        private boolean claim() {
+            return claimed.compareAndSet(false, true) && !result.isDone();
+        }
+
+        /**
+         * Withdraws the message if it isn't taken for insert yet.
+         *
+         * @return {@code true} if the message was withdrawn and it won't be inserted
+         */
+        private boolean cancel() {
+            return claimed.compareAndSet(false, true) && result.cancel(false);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
 import org.openhubframework.openhub.core.common.dao.MessageDao;
 import org.openhubframework.openhub.core.common.dao.MessageOperationDao;
 
@@ -48,6 +49,9 @@ public class MessageOperationServiceImpl implements MessageOperationService {
     @Autowired
     private MessageDao msgDao;
 
+    @Autowired
+    private MessageStateCounter messageStateCounter;
+
     /**
      * Method restarts message enables the option for the user to re-set/restart a message in a FAILED/CANCEL state.
      * Steps:
@@ -77,9 +81,11 @@ public class MessageOperationServiceImpl implements MessageOperationService {
                 );
             }
 
+            MsgStateEnum oldState = msg.getState();
             if (!msgOpDao.setPartlyFailedState(msg)) {
                 throw new IllegalStateException("Message (id = " + messageId + ") hasn't been restarted.");
             }
+            messageStateCounter.stateChanged(oldState, MsgStateEnum.PARTLY_FAILED);
 
             msgOpDao.removeExtCalls(msg, totalRestart);
 
@@ -105,9 +111,11 @@ public class MessageOperationServiceImpl implements MessageOperationService {
                 );
             }
 
+            MsgStateEnum oldState = msg.getState();
             if (!msgOpDao.setCancelState(msg)) {
                 throw new IllegalStateException("Message (id = " + messageId + ") hasn't been changed to CANCEL state.");
             }
+            messageStateCounter.stateChanged(oldState, MsgStateEnum.CANCEL);
 
             LOG.debug("Message " + msg.toHumanString() + " was successfully canceled ...");
         } catch (DataAccessException dx) {
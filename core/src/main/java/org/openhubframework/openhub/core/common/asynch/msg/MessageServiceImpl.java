@@ -27,6 +27,7 @@ import javax.annotation.Nullable;
 import org.apache.commons.collections4.MapUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.openhubframework.openhub.api.entity.MessageCursor;
 import org.openhubframework.openhub.api.entity.MessageFilter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -37,6 +38,8 @@ import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.TransactionStatus;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.Assert;
 
@@ -46,6 +49,7 @@ import org.openhubframework.openhub.api.entity.Node;
 import org.openhubframework.openhub.api.exception.ErrorExtEnum;
 import org.openhubframework.openhub.core.common.dao.MessageDao;
 import org.openhubframework.openhub.core.common.exception.ExceptionTranslator;
+import org.openhubframework.openhub.spi.monitoring.AsynchMetrics;
 import org.openhubframework.openhub.spi.msg.MessageService;
 import org.openhubframework.openhub.spi.node.NodeService;
 
@@ -68,6 +72,12 @@ public class MessageServiceImpl implements MessageService {
     @Autowired
     private MessageDao messageDao;
 
+    @Autowired
+    private AsynchMetrics asynchMetrics;
+
+    @Autowired
+    private MessageStateCounter messageStateCounter;
+
     @Autowired
     public MessageServiceImpl(PlatformTransactionManager transactionManager) {
         Assert.notNull(transactionManager, "the transactionManager must not be null");
@@ -84,6 +94,7 @@ public class MessageServiceImpl implements MessageService {
         message.setLastUpdateTimestamp(Instant.now());
 
         messageDao.insert(message);
+        messageStateCounter.stateChanged(null, MsgStateEnum.NEW);
 
         LOG.debug("Inserted new message " + message.toHumanString());
     }
@@ -103,6 +114,7 @@ public class MessageServiceImpl implements MessageService {
     public void setStateOk(Message msg, Map<String, Object> props) {
         Assert.notNull(msg, "the msg must not be null");
 
+        MsgStateEnum oldState = msg.getState();
         msg.setState(MsgStateEnum.OK);
         msg.setLastUpdateTimestamp(Instant.now());
 
@@ -118,6 +130,7 @@ public class MessageServiceImpl implements MessageService {
         }
 
         messageDao.update(msg);
+        stateChanged(oldState, MsgStateEnum.OK);
 
         if (msg.isParentMessage()) {
             LOG.debug("State of the parent message " + msg.toHumanString() + " was changed to "
@@ -164,6 +177,7 @@ public class MessageServiceImpl implements MessageService {
         msg.setNodeId(nodeService.getActualNode().getNodeId());
 
         messageDao.update(msg);
+        stateChanged(MsgStateEnum.WAITING_FOR_RES, MsgStateEnum.PROCESSING);
 
         LOG.debug("State of the message " + msg.toHumanString() + " was changed to " + MsgStateEnum.PROCESSING);
     }
@@ -192,6 +206,7 @@ public class MessageServiceImpl implements MessageService {
             msg.setLastUpdateTimestamp(Instant.now());
 
             messageDao.update(msg);
+            stateChanged(MsgStateEnum.PROCESSING, MsgStateEnum.WAITING);
 
             LOG.debug("State of the message " + msg.toHumanString() + " was changed to " + MsgStateEnum.WAITING);
         }
@@ -211,6 +226,7 @@ public class MessageServiceImpl implements MessageService {
             msg.setLastUpdateTimestamp(Instant.now());
 
             messageDao.update(msg);
+            stateChanged(MsgStateEnum.PROCESSING, MsgStateEnum.WAITING_FOR_RES);
 
             LOG.debug("State of the message " + msg.toHumanString() + " was changed to " + MsgStateEnum.WAITING_FOR_RES);
         } else {
@@ -224,10 +240,12 @@ public class MessageServiceImpl implements MessageService {
         Assert.notNull(msg, "the msg must not be null");
         Assert.isTrue(!msg.isParentMessage(), "the message must not be parent");
 
+        MsgStateEnum oldState = msg.getState();
         msg.setState(MsgStateEnum.PARTLY_FAILED);
         msg.setLastUpdateTimestamp(Instant.now());
 
         messageDao.update(msg);
+        stateChanged(oldState, MsgStateEnum.PARTLY_FAILED);
 
         LOG.debug("State of the message " + msg.toHumanString() + " was changed to " + MsgStateEnum.PARTLY_FAILED
                 + ", but WITHOUT increasing error counter");
@@ -240,8 +258,10 @@ public class MessageServiceImpl implements MessageService {
 
         Assert.notNull(msg, "the msg must not be null");
 
+        MsgStateEnum oldState = msg.getState();
         msg.setState(MsgStateEnum.PARTLY_FAILED);
         updateErrorMessage(msg, ex, errCode, customData, props);
+        stateChanged(oldState, MsgStateEnum.PARTLY_FAILED);
 
         LOG.debug("State of the message " + msg.toHumanString() + " was changed to "
                 + MsgStateEnum.PARTLY_FAILED + " (failed count = " + msg.getFailedCount() + ")");
@@ -254,8 +274,10 @@ public class MessageServiceImpl implements MessageService {
 
         Assert.notNull(msg, "the msg must not be null");
 
+        MsgStateEnum oldState = msg.getState();
         msg.setState(MsgStateEnum.FAILED);
         updateErrorMessage(msg, ex, errCode, customData, props);
+        stateChanged(oldState, MsgStateEnum.FAILED);
 
         LOG.debug("State of the message " + msg.toHumanString() + " was changed to "
                 + MsgStateEnum.FAILED + " (failed count = " + msg.getFailedCount() + ")");
@@ -273,6 +295,7 @@ public class MessageServiceImpl implements MessageService {
         // mark parent message as failed too
         Message parentMsg = messageDao.getMessage(msg.getParentMsgId());
 
+        MsgStateEnum oldParentState = parentMsg.getState();
         parentMsg.setState(MsgStateEnum.FAILED);
         parentMsg.setLastUpdateTimestamp(Instant.now());
 
@@ -282,6 +305,7 @@ public class MessageServiceImpl implements MessageService {
         parentMsg.setFailedCount(msg.getFailedCount());
 
         messageDao.update(parentMsg);
+        stateChanged(oldParentState, MsgStateEnum.FAILED);
 
         LOG.debug("State of the parent message " + parentMsg.toHumanString() + " was changed to " + MsgStateEnum.FAILED);
 
@@ -298,6 +322,7 @@ public class MessageServiceImpl implements MessageService {
         Assert.notNull(errCode, "the errCode must not be null");
         Assert.hasText(errDesc, "the errDesc must not be empty");
 
+        MsgStateEnum oldState = msg.getState();
         msg.setState(MsgStateEnum.FAILED);
         msg.setLastUpdateTimestamp(Instant.now());
         msg.setFailedErrorCode(errCode);
@@ -305,6 +330,7 @@ public class MessageServiceImpl implements MessageService {
         msg.setFailedDesc(errDesc);
 
         messageDao.update(msg);
+        stateChanged(oldState, MsgStateEnum.FAILED);
 
         LOG.debug("State of the message " + msg.toHumanString() + " was changed to "
                 + MsgStateEnum.FAILED + " (failed count = " + msg.getFailedCount() + ")");
@@ -326,6 +352,7 @@ public class MessageServiceImpl implements MessageService {
                         + message.getState());
 
         boolean result;
+        final MsgStateEnum oldState = message.getState();
         final Node actualNode = nodeService.getActualNode();
         try {
             result = transactionTemplate.execute(new TransactionCallback<Boolean>() {
@@ -340,6 +367,7 @@ public class MessageServiceImpl implements MessageService {
         }
 
         if (result) {
+            stateChanged(oldState, MsgStateEnum.IN_QUEUE);
             LOG.debug("Successfully locked message: {} for changed state: {} in node: {}", message.toHumanString(),
                     MsgStateEnum.IN_QUEUE, actualNode.toHumanString());
         } else {
@@ -370,6 +398,7 @@ public class MessageServiceImpl implements MessageService {
         }
 
         if (result) {
+            stateChanged(MsgStateEnum.IN_QUEUE, MsgStateEnum.PROCESSING);
             LOG.debug("Successfully locked message: {} for changed state: {} in node: {}", message.toHumanString(),
                     MsgStateEnum.PROCESSING, actualNode.toHumanString());
         } else {
@@ -431,6 +460,14 @@ public class MessageServiceImpl implements MessageService {
         return messageDao.findMessagesByFilter(messageFilter, limit);
     }
 
+    @Override
+    public List<Message> findMessagesByFilter(final MessageFilter messageFilter, @Nullable MessageCursor after,
+            int limit) {
+        Assert.notNull(messageFilter, "the messageFilter must not be null");
+
+        return messageDao.findMessagesByFilter(messageFilter, after, limit);
+    }
+
     @Override
     public int getCountMessages(MsgStateEnum state, Duration interval) {
         Assert.notNull(state, "the state must not be null");
@@ -468,10 +505,12 @@ public class MessageServiceImpl implements MessageService {
                         || msg.getState().equals(MsgStateEnum.IN_QUEUE),
                 "the message must be in PROCESSING, NEW or IN_QUEUE state, but state is " + msg.getState());
 
+        MsgStateEnum oldState = msg.getState();
         msg.setState(MsgStateEnum.POSTPONED);
         msg.setLastUpdateTimestamp(Instant.now());
 
         messageDao.update(msg);
+        stateChanged(oldState, MsgStateEnum.POSTPONED);
 
         LOG.debug("State of the message " + msg.toHumanString() + " was changed to " + MsgStateEnum.POSTPONED);
     }
@@ -511,4 +550,20 @@ public class MessageServiceImpl implements MessageService {
 
         return messageDao.findPartlyFailedMessage(interval);
     }
+
+    private void stateChanged(final MsgStateEnum from, final MsgStateEnum to) {
+        // only committed changes are counted
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    asynchMetrics.markStateTransition(from, to);
+                }
+            });
+        } else {
+            asynchMetrics.markStateTransition(from, to);
+        }
+
+        messageStateCounter.stateChanged(from, to);
+    }
 }
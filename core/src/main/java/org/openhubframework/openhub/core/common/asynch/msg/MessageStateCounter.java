@@ -0,0 +1,58 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import javax.annotation.Nullable;
+
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+
+
+/**
+ * Counter of messages in each {@link MsgStateEnum state}.
+ * <p>
+ * Counts are maintained incrementally by every state transition (see {@link MessageServiceImpl})
+ * and periodically reconciled with the database (transitions made directly in DB, e.g. by repairing
+ * processes or by removing of final messages, are reflected after next reconciliation).
+ * Reading of counts is cheap, counts are approximate between reconciliations.
+ *
+ * @since 2.2
+ * @see MessageStateCounterReconcileJob
+ */
+public interface MessageStateCounter {
+
+    /**
+     * Records change of message state.
+     * If there is active transaction then counts are changed after successful commit only.
+     *
+     * @param from the original state, {@code null} for new message
+     * @param to the new state
+     */
+    void stateChanged(@Nullable MsgStateEnum from, MsgStateEnum to);
+
+    /**
+     * Gets count of messages in specified state.
+     *
+     * @param state the state
+     * @return count of messages
+     */
+    long getCount(MsgStateEnum state);
+
+    /**
+     * Reconciles counts with the database.
+     */
+    void reconcile();
+}
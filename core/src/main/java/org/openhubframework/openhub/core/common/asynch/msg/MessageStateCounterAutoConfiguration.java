@@ -0,0 +1,73 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import com.hazelcast.core.HazelcastInstance;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.hazelcast.HazelcastAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import org.openhubframework.openhub.common.AutoConfiguration;
+import org.openhubframework.openhub.core.common.dao.MessageDao;
+
+
+/**
+ * Configures {@link MessageStateCounter} implementations.
+ * There is property '{@value #COUNTER_IMPL_PROPERTY}' that defines which built-in implementation will be used.
+ * If not defined then default {@link MessageStateCounterMemoryImpl} implementation is used.
+ *
+ * @since 2.2
+ */
+@AutoConfiguration
+@ConditionalOnMissingBean(MessageStateCounter.class)
+public class MessageStateCounterAutoConfiguration {
+
+    private static final String COUNTER_IMPL_PROPERTY = "ohf.asynch.stateCounter.impl";
+
+    private static final String IN_MEMORY_CLASS_NAME
+            = "org.openhubframework.openhub.core.common.asynch.msg.MessageStateCounterMemoryImpl";
+
+    private static final String HAZELCAST_CLASS_NAME
+            = "org.openhubframework.openhub.core.common.asynch.msg.MessageStateCounterHazelcastImpl";
+
+    @AutoConfiguration
+    @ConditionalOnProperty(name = COUNTER_IMPL_PROPERTY, matchIfMissing = true, havingValue = IN_MEMORY_CLASS_NAME)
+    public static class InMemoryConfiguration {
+
+        @Bean
+        public MessageStateCounterMemoryImpl inMemoryMessageStateCounter(MessageDao messageDao) {
+            return new MessageStateCounterMemoryImpl(messageDao);
+        }
+    }
+
+    @AutoConfiguration
+    @ConditionalOnClass(HazelcastInstance.class)
+    @AutoConfigureAfter({HazelcastAutoConfiguration.class, CacheAutoConfiguration.class})
+    @ConditionalOnProperty(name = COUNTER_IMPL_PROPERTY, havingValue = HAZELCAST_CLASS_NAME)
+    public static class HazelcastConfiguration {
+
+        @Bean
+        public MessageStateCounterHazelcastImpl hazelcastMessageStateCounter(HazelcastInstance hazelcast,
+                MessageDao messageDao) {
+            return new MessageStateCounterHazelcastImpl(hazelcast, messageDao);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IAtomicLong;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.core.common.dao.MessageDao;
+
+
+/**
+ * Implementation of {@link MessageStateCounter} by Hazelcast' {@link IAtomicLong atomic longs},
+ * counts are shared by all nodes in the cluster.
+ * <p>
+ * There is one atomic long for each state with the name '{@value #COUNTER_NAME_PREFIX}STATE'.
+ *
+ * @since 2.2
+ */
+public class MessageStateCounterHazelcastImpl extends AbstractMessageStateCounter {
+
+    static final String COUNTER_NAME_PREFIX = "msgStateCounter.";
+
+    private final IAtomicLong[] counts;
+
+    public MessageStateCounterHazelcastImpl(HazelcastInstance hazelcast, MessageDao messageDao) {
+        super(messageDao);
+
+        Assert.notNull(hazelcast, "hazelcast must not be null");
+
+        MsgStateEnum[] states = MsgStateEnum.values();
+        this.counts = new IAtomicLong[states.length];
+        for (MsgStateEnum state : states) {
+            counts[state.ordinal()] = hazelcast.getAtomicLong(COUNTER_NAME_PREFIX + state.name());
+        }
+    }
+
+    @Override
+    protected void add(MsgStateEnum state, long delta) {
+        counts[state.ordinal()].addAndGet(delta);
+    }
+
+    @Override
+    protected long get(MsgStateEnum state) {
+        return counts[state.ordinal()].get();
+    }
+
+    @Override
+    protected void set(MsgStateEnum state, long count) {
+        counts[state.ordinal()].set(count);
+    }
+}
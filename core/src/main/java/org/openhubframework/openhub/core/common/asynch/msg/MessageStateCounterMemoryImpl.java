@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.core.common.dao.MessageDao;
+
+
+/**
+ * In-memory implementation of {@link MessageStateCounter}.
+ * <p>
+ * Only transitions made by this node are counted, in the cluster environment counts include
+ * changes from other nodes after next reconciliation only.
+ *
+ * @since 2.2
+ */
+public class MessageStateCounterMemoryImpl extends AbstractMessageStateCounter {
+
+    private final AtomicLongArray counts = new AtomicLongArray(MsgStateEnum.values().length);
+
+    public MessageStateCounterMemoryImpl(MessageDao messageDao) {
+        super(messageDao);
+    }
+
+    @Override
+    protected void add(MsgStateEnum state, long delta) {
+        counts.addAndGet(state.ordinal(), delta);
+    }
+
+    @Override
+    protected long get(MsgStateEnum state) {
+        return counts.get(state.ordinal());
+    }
+
+    @Override
+    protected void set(MsgStateEnum state, long count) {
+        counts.set(state.ordinal(), count);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import static org.openhubframework.openhub.api.configuration.CoreProps.ASYNCH_STATE_COUNTER_RECONCILE_INTERVAL_SEC;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import org.openhubframework.openhub.api.common.quartz.JobExecuteTypeInCluster;
+import org.openhubframework.openhub.api.common.quartz.QuartzSimpleTrigger;
+import org.openhubframework.openhub.api.common.quartz.SimpleTriggerPropertyUnit;
+import org.openhubframework.openhub.api.configuration.CoreProps;
+import org.openhubframework.openhub.common.Profiles;
+import org.openhubframework.openhub.core.common.quartz.OpenHubQuartzJob;
+
+
+/**
+ * Job definition that reconciles {@link MessageStateCounter message state counts} with the database.
+ * <p>
+ * Repeat interval for this job is load from configuration {@value CoreProps#ASYNCH_STATE_COUNTER_RECONCILE_INTERVAL_SEC}.
+ * Counts held by each node (e.g. {@link MessageStateCounterMemoryImpl}) are reconciled by job running concurrent
+ * in all nodes in cluster, counts shared by the cluster ({@link MessageStateCounterHazelcastImpl}) are reconciled
+ * by job running only on one node in cluster.
+ *
+ * @since 2.2
+ */
+@Profile(Profiles.PROD)
+@Component
+public class MessageStateCounterReconcileJob {
+
+    /**
+     * Name for reconciliation job.
+     */
+    private static final String JOB_NAME = "core_MessageStateCounterReconcile";
+
+    /**
+     * Name for reconciliation job of counts shared by the cluster.
+     */
+    private static final String CLUSTER_JOB_NAME = "core_MessageStateCounterClusterReconcile";
+
+    @Autowired
+    private MessageStateCounter messageStateCounter;
+
+    /**
+     * Invoke job for reconciliation of counts held by each node.
+     */
+    @OpenHubQuartzJob(name = JOB_NAME, executeTypeInCluster = JobExecuteTypeInCluster.CONCURRENT,
+            simpleTriggers = @QuartzSimpleTrigger(repeatIntervalProperty = ASYNCH_STATE_COUNTER_RECONCILE_INTERVAL_SEC,
+                    intervalPropertyUnit = SimpleTriggerPropertyUnit.SECONDS))
+    public final void invokeJob() {
+        if (!isSharedByCluster()) {
+            messageStateCounter.reconcile();
+        }
+    }
+
+    /**
+     * Invoke job for reconciliation of counts shared by the cluster.
+     */
+    @OpenHubQuartzJob(name = CLUSTER_JOB_NAME, executeTypeInCluster = JobExecuteTypeInCluster.NOT_CONCURRENT,
+            simpleTriggers = @QuartzSimpleTrigger(repeatIntervalProperty = ASYNCH_STATE_COUNTER_RECONCILE_INTERVAL_SEC,
+                    intervalPropertyUnit = SimpleTriggerPropertyUnit.SECONDS))
+    public final void invokeClusterJob() {
+        if (isSharedByCluster()) {
+            messageStateCounter.reconcile();
+        }
+    }
+
+    private boolean isSharedByCluster() {
+        return messageStateCounter instanceof MessageStateCounterHazelcastImpl;
+    }
+}
@@ -21,6 +21,7 @@ import javax.annotation.Nullable;
 import javax.xml.XMLConstants;
 import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.TransformerFactory;
 
 import org.apache.camel.Body;
@@ -57,6 +58,19 @@ public final class MessageTransformer {
 
     private static MessageTransformer instance;
 
+    /**
+     * Factory for transformers, creating of the factory is expensive (service lookup).
+     * Factory isn't thread-safe, access must be synchronized.
+     */
+    private static final TransformerFactory TRANSFORMER_FACTORY = createTransformerFactory();
+
+    /**
+     * Identity transformers for serialization of SOAP envelope, transformer isn't thread-safe
+     * but it can be reused in one thread.
+     */
+    private static final ThreadLocal<Transformer> ENVELOPE_TRANSFORMER
+            = ThreadLocal.withInitial(MessageTransformer::createTransformer);
+
     private MessageTransformer() {
     }
 
@@ -81,6 +95,7 @@ public final class MessageTransformer {
      * @param funnelValue the funnel value
      * @param guaranteedOrder the flag if order is guaranteed or not
      * @param excludeFailedState the exclude failed state flag
+     * @param skipEnvelope the flag if SOAP envelope should not be saved
      * @return new message
      */
     @Handler
@@ -93,7 +108,8 @@ public final class MessageTransformer {
             @Header(value = AsynchConstants.ENTITY_TYPE_HEADER) @Nullable EntityTypeExtEnum entityType,
             @Header(value = AsynchConstants.FUNNEL_VALUE_HEADER) @Nullable String funnelValue,
             @Header(value = AsynchConstants.GUARANTEED_ORDER_HEADER) @Nullable Boolean guaranteedOrder,
-            @Header(value = AsynchConstants.EXCLUDE_FAILED_HEADER) @Nullable Boolean excludeFailedState) {
+            @Header(value = AsynchConstants.EXCLUDE_FAILED_HEADER) @Nullable Boolean excludeFailedState,
+            @Header(value = AsynchConstants.SKIP_ENVELOPE_HEADER) @Nullable Boolean skipEnvelope) {
 
         // validate input params (trace header is validated in TraceHeaderProcessor)
         Assert.notNull(exchange, "the exchange must not be null");
@@ -131,7 +147,9 @@ public final class MessageTransformer {
         msg.setExcludeFailedState(BooleanUtils.isTrue(excludeFailedState));
 
         msg.setPayload(payload);
-        msg.setEnvelope(getSOAPEnvelope(exchange));
+        if (!BooleanUtils.isTrue(skipEnvelope)) {
+            msg.setEnvelope(getSOAPEnvelope(exchange));
+        }
 
         msg.setLastUpdateTimestamp(currDate);
 
@@ -150,21 +168,39 @@ public final class MessageTransformer {
             return null;
         }
 
+        Transformer transformer = ENVELOPE_TRANSFORMER.get();
         try {
-            final TransformerFactory tranFactory = TransformerFactory.newInstance();
-            tranFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-
-            Transformer aTransformer = tranFactory.newTransformer();
-
             SpringWebserviceMessage inMsg = (SpringWebserviceMessage) exchange.getIn();
             Source source = ((SaajSoapMessage) inMsg.getWebServiceMessage()).getEnvelope().getSource();
 
             StringResult strRes = new StringResult();
-            aTransformer.transform(source, strRes);
+            transformer.transform(source, strRes);
 
             return strRes.toString();
         } catch (Exception ex) {
             throw new IllegalStateException("Error occurred during conversion SOAP envelope to string", ex);
+        } finally {
+            transformer.reset();
+        }
+    }
+
+    private static TransformerFactory createTransformerFactory() {
+        try {
+            TransformerFactory tranFactory = TransformerFactory.newInstance();
+            tranFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+            return tranFactory;
+        } catch (TransformerConfigurationException ex) {
+            throw new IllegalStateException("Error occurred during creating transformer factory", ex);
+        }
+    }
+
+    private static Transformer createTransformer() {
+        synchronized (TRANSFORMER_FACTORY) {
+            try {
+                return TRANSFORMER_FACTORY.newTransformer();
+            } catch (TransformerConfigurationException ex) {
+                throw new IllegalStateException("Error occurred during creating transformer", ex);
+            }
         }
     }
 }
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.queue;
+
+import com.hazelcast.core.HazelcastInstance;
+import org.apache.camel.CamelContext;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import org.openhubframework.openhub.api.configuration.CoreProps;
+import org.openhubframework.openhub.spi.msg.MessageService;
+import org.openhubframework.openhub.spi.node.NodeService;
+
+
+/**
+ * Configuration of cluster dispatch of asynchronous messages, requires {@link HazelcastInstance}.
+ *
+ * @since 2.2
+ * @see ClusterDispatcher
+ */
+@Configuration
+@ConditionalOnProperty(value = CoreProps.ASYNCH_CLUSTER_DISPATCH_ENABLED)
+@EnableConfigurationProperties(ClusterDispatchProperties.class)
+public class ClusterDispatchConfiguration {
+
+    @Bean
+    public ClusterDispatcher clusterDispatcher(HazelcastInstance hazelcast, ClusterDispatchProperties properties,
+            MessageService messageService, ObjectProvider<FunnelOwnership> funnelOwnership) {
+        return new ClusterDispatcher(hazelcast, properties, messageService, funnelOwnership.getIfAvailable());
+    }
+
+    @Bean
+    @ConditionalOnProperty(value = CoreProps.ASYNCH_CLUSTER_DISPATCH_FUNNEL_AFFINITY)
+    public FunnelOwnership funnelOwnership(HazelcastInstance hazelcast, NodeService nodeService) {
+        return new FunnelOwnership(hazelcast, nodeService);
+    }
+
+    /**
+     * Starts pulling of messages when Camel context is started.
+     */
+    @Bean
+    public CamelContextConfiguration clusterDispatchStarter(final ClusterDispatcher clusterDispatcher,
+            final MessagePollExecutor messagePollExecutor) {
+        return new CamelContextConfiguration() {
+
+            @Override
+            public void beforeApplicationStart(CamelContext camelContext) {
+                // nothing to set
+            }
+
+            @Override
+            public void afterApplicationStart(CamelContext camelContext) {
+                clusterDispatcher.start(camelContext, messagePollExecutor::startMessageProcessing);
+            }
+        };
+    }
+}
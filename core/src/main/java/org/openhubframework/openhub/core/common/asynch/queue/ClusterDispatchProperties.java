@@ -0,0 +1,125 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.queue;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import org.openhubframework.openhub.common.OpenHubPropertyConstants;
+
+
+/**
+ * Configuration properties of cluster dispatch of asynchronous messages.
+ *
+ * @since 2.2
+ * @see ClusterDispatcher
+ */
+@ConfigurationProperties(OpenHubPropertyConstants.PREFIX + "asynch.clusterDispatch")
+public class ClusterDispatchProperties {
+
+    /**
+     * Enables cluster dispatch: messages claimed from database are distributed to nodes via Hazelcast queues.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Name prefix of Hazelcast queues with IDs of claimed messages.
+     */
+    private String queueName = "ohf-dispatch";
+
+    /**
+     * Count of Hazelcast queues, queues are spread over cluster partitions.
+     */
+    private int partitions = 4;
+
+    /**
+     * Count of messages processed by this node at the same time (waiting in SEDA queue or in processing),
+     * node doesn't pull next messages when it's reached. Zero means count of SEDA concurrent consumers.
+     */
+    private int capacity = 0;
+
+    /**
+     * Enables funnel affinity: messages with funnel value are processed by the node which owns the funnel value,
+     * one by one.
+     */
+    private boolean funnelAffinity = false;
+
+    /**
+     * Maximum time (in milliseconds) to wait for next message ID when all queues are empty.
+     */
+    private long pollTimeoutMillis = 500;
+
+    /**
+     * Maximum time (in milliseconds) to wait for the consumer when the node is stopping.
+     */
+    private long shutdownTimeoutMillis = 10000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getQueueName() {
+        return queueName;
+    }
+
+    public void setQueueName(String queueName) {
+        this.queueName = queueName;
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public void setPartitions(int partitions) {
+        this.partitions = partitions;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public boolean isFunnelAffinity() {
+        return funnelAffinity;
+    }
+
+    public void setFunnelAffinity(boolean funnelAffinity) {
+        this.funnelAffinity = funnelAffinity;
+    }
+
+    public long getPollTimeoutMillis() {
+        return pollTimeoutMillis;
+    }
+
+    public void setPollTimeoutMillis(long pollTimeoutMillis) {
+        this.pollTimeoutMillis = pollTimeoutMillis;
+    }
+
+    public long getShutdownTimeoutMillis() {
+        return shutdownTimeoutMillis;
+    }
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+}
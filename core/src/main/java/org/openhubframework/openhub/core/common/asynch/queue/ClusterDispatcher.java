@@ -0,0 +1,621 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.queue;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.IntSupplier;
+import javax.annotation.Nullable;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.core.ILock;
+import com.hazelcast.core.IQueue;
+import com.hazelcast.core.Member;
+import org.apache.camel.CamelContext;
+import org.apache.camel.component.seda.SedaEndpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.core.common.asynch.AsynchMessageRoute;
+import org.openhubframework.openhub.spi.msg.MessageService;
+
+
+/**
+ * Distributes messages for processing between nodes in the cluster via Hazelcast queues
+ * (alternative to polling of the database by all nodes).
+ * <p>
+ * Only one node {@link #runAsClaimer(Runnable) claims} messages from the database at the same time (cluster-wide
+ * Hazelcast lock), the claimer locks messages in the database as before (state
+ * {@link MsgStateEnum#IN_QUEUE IN_QUEUE}) and {@link #dispatch(Message) offers} their IDs to one of Hazelcast queues.
+ * Each node pulls IDs only when it has free capacity (SEDA queue of asynch. processing isn't full), queues owned
+ * by the local node are preferred, then queues of other nodes (work stealing).
+ * <p>
+ * The database is still source of truth: pulled message is loaded from the database and it's processed only
+ * when it's still in {@link MsgStateEnum#IN_QUEUE IN_QUEUE} state, the processing route locks the message again.
+ * IDs lost with crashed node are repaired as other messages stuck in the queue.
+ * <p>
+ * With {@link FunnelOwnership funnel affinity} messages with funnel value are sent to the queue of the node which
+ * owns the funnel value (other nodes don't steal from this queue), new messages too. The owner processes messages
+ * with the same funnel value one by one in order of their arrival, next message is sent for processing when
+ * processing of the previous one ends. Queues of nodes which lost their ownership are redistributed by the claimer.
+ * When the funnel value moves to another live node (e.g. new node joins the cluster) then the previous owner hands
+ * over its waiting messages of the funnel value to the new owner. Messages with funnel value are never processed
+ * by other nodes than the owner; when the queue of the owner is full then the message stays in
+ * {@link MsgStateEnum#IN_QUEUE IN_QUEUE} state and it's repaired as other stuck messages.
+ *
+ * @since 2.2
+ * @see ClusterDispatchProperties
+ */
+@ManagedResource(objectName = "org.openhubframework.openhub.core.monitoring:name=ClusterDispatcher",
+        description = "Dispatch of asynch. messages between cluster nodes")
+public class ClusterDispatcher implements DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ClusterDispatcher.class);
+
+    private static final String THREAD_NAME = "ohf-cluster-dispatch";
+
+    private static final String CLAIM_LOCK_SUFFIX = "-claimer";
+
+    private static final long IDLE_WAIT_MILLIS = 50;
+
+    private final HazelcastInstance hazelcast;
+
+    private final ClusterDispatchProperties properties;
+
+    private final MessageService messageService;
+
+    private final List<IQueue<Long>> queues;
+
+    private final ILock claimLock;
+
+    @Nullable
+    private final FunnelOwnership funnelOwnership;
+
+    /**
+     * Messages ready for local processing (next messages from funnel lanes, messages not offered to the cluster),
+     * each of them holds its funnel lane. Messages are loaded again before processing.
+     */
+    private final BlockingQueue<Message> readyMessages = new LinkedBlockingQueue<>();
+
+    /**
+     * Messages waiting for processing by funnel value, guarded by itself.
+     */
+    private final Map<String, Deque<Message>> funnelLanes = new HashMap<>();
+
+    private Thread consumer;
+
+    private volatile boolean running;
+
+    private final AtomicLong dispatchedCount = new AtomicLong();
+
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    private final AtomicLong pulledCount = new AtomicLong();
+
+    private final AtomicLong skippedCount = new AtomicLong();
+
+    private final AtomicLong redistributedCount = new AtomicLong();
+
+    /**
+     * Creates new dispatcher.
+     *
+     * @param hazelcast the Hazelcast instance
+     * @param properties the configuration
+     * @param messageService the message service
+     */
+    public ClusterDispatcher(HazelcastInstance hazelcast, ClusterDispatchProperties properties,
+            MessageService messageService) {
+        this(hazelcast, properties, messageService, null);
+    }
+
+    /**
+     * Creates new dispatcher.
+     *
+     * @param hazelcast the Hazelcast instance
+     * @param properties the configuration
+     * @param messageService the message service
+     * @param funnelOwnership the ownership of funnel values, {@code null} if funnel affinity is disabled
+     */
+    public ClusterDispatcher(HazelcastInstance hazelcast, ClusterDispatchProperties properties,
+            MessageService messageService, @Nullable FunnelOwnership funnelOwnership) {
+        Assert.notNull(hazelcast, "the hazelcast must not be null");
+        Assert.notNull(properties, "the properties must not be null");
+        Assert.notNull(messageService, "the messageService must not be null");
+        Assert.isTrue(properties.getPartitions() > 0, "the partitions must be positive");
+
+        this.hazelcast = hazelcast;
+        this.properties = properties;
+        this.messageService = messageService;
+        this.funnelOwnership = funnelOwnership;
+
+        this.queues = new ArrayList<>(properties.getPartitions());
+        for (int i = 0; i < properties.getPartitions(); i++) {
+            queues.add(hazelcast.getQueue(properties.getQueueName() + "-" + i));
+        }
+        this.claimLock = hazelcast.getLock(properties.getQueueName() + CLAIM_LOCK_SUFFIX);
+    }
+
+    /**
+     * Starts pulling of messages.
+     *
+     * @param camelContext the started Camel context
+     * @param processor the processor of pulled messages, it calls the callback when processing of the message ends
+     */
+    public void start(CamelContext camelContext, BiConsumer<Message, Runnable> processor) {
+        Assert.notNull(camelContext, "the camelContext must not be null");
+
+        final SedaEndpoint endpoint = camelContext.getEndpoint(AsynchMessageRoute.URI_ASYNC_PROCESSING_MSG,
+                SedaEndpoint.class);
+        final int capacity = properties.getCapacity() > 0 ? properties.getCapacity()
+                : endpoint.getConcurrentConsumers();
+
+        start(() -> capacity - endpoint.getCurrentQueueSize()
+                - camelContext.getInflightRepository().size(AsynchMessageRoute.ROUTE_ID_ASYNC_OUT), processor);
+    }
+
+    /**
+     * Starts pulling of messages.
+     *
+     * @param freeCapacity the supplier of count of messages this node can take now
+     * @param processor the processor of pulled messages, it calls the callback when processing of the message ends
+     */
+    void start(IntSupplier freeCapacity, BiConsumer<Message, Runnable> processor) {
+        Assert.notNull(freeCapacity, "the freeCapacity must not be null");
+        Assert.notNull(processor, "the processor must not be null");
+        Assert.state(consumer == null, "the dispatcher is already started");
+
+        running = true;
+
+        consumer = new Thread(() -> consumeLoop(freeCapacity, processor), THREAD_NAME);
+        consumer.setDaemon(true);
+        consumer.start();
+
+        LOG.info("Cluster dispatch of messages started, {} queue(s) with prefix '{}'", queues.size(),
+                properties.getQueueName());
+    }
+
+    /**
+     * Runs the claimer of messages if no other node in the cluster runs it.
+     *
+     * @param claimer the claimer of messages
+     * @return {@code true} if the claimer was run, {@code false} if other node runs it
+     */
+    public boolean runAsClaimer(Runnable claimer) {
+        Assert.notNull(claimer, "the claimer must not be null");
+
+        if (funnelOwnership != null) {
+            // state of nodes could be changed in the database
+            funnelOwnership.refresh();
+        }
+
+        if (!claimLock.tryLock()) {
+            LOG.debug("Messages are claimed by another node.");
+            return false;
+        }
+
+        try {
+            if (funnelOwnership != null) {
+                redistributeOrphanedMessages();
+            }
+
+            claimer.run();
+            return true;
+        } finally {
+            claimLock.unlock();
+        }
+    }
+
+    /**
+     * Offers claimed message (in state {@link MsgStateEnum#IN_QUEUE IN_QUEUE}) to the cluster.
+     * Message with funnel value is always taken, only its owner can process it.
+     *
+     * @param msg the claimed message
+     * @return {@code true} if the message was taken, {@code false} if the queue is full and the caller should
+     *      process the message locally
+     */
+    public boolean dispatch(Message msg) {
+        Assert.notNull(msg, "the msg must not be null");
+        Assert.notNull(msg.getMsgId(), "the msgId must not be null");
+
+        IQueue<Long> queue = getTargetQueue(msg);
+        if (queue.offer(msg.getMsgId())) {
+            dispatchedCount.incrementAndGet();
+            return true;
+        }
+
+        rejectedCount.incrementAndGet();
+
+        Long owner = getFunnelOwner(msg);
+        if (owner == null) {
+            return false;
+        }
+
+        if (owner.equals(funnelOwnership.getLocalNodeId())) {
+            // the queue of this node is full => process it locally in order
+            if (enterFunnelLane(msg)) {
+                readyMessages.add(msg);
+            }
+        } else {
+            LOG.warn("Queue of the node {} is full, message (msgId = {}) stays in state {} and it will be repaired",
+                    owner, msg.getMsgId(), MsgStateEnum.IN_QUEUE);
+        }
+        return true;
+    }
+
+    /**
+     * Sends new message with funnel value to the owner of the funnel value.
+     *
+     * @param msg the new message (in state {@link MsgStateEnum#NEW NEW})
+     * @return {@code true} if the message was taken by the dispatcher, {@code false} if it should be processed
+     *      in standard way (no funnel value, funnel affinity is disabled or there is no owner)
+     */
+    public boolean dispatchToFunnelOwner(Message msg) {
+        Assert.notNull(msg, "the msg must not be null");
+
+        if (funnelOwnership == null || !StringUtils.hasText(msg.getFunnelValue())
+                || funnelOwnership.getOwner(msg.getFunnelValue()) == null) {
+            return false;
+        }
+
+        if (!messageService.setStateInQueueForLock(msg)) {
+            // message was already claimed
+            return true;
+        }
+
+        dispatch(msg);
+        return true;
+    }
+
+    private IQueue<Long> getTargetQueue(Message msg) {
+        Long owner = getFunnelOwner(msg);
+        if (owner != null) {
+            return getNodeQueue(owner);
+        }
+
+        return queues.get((int) (msg.getMsgId() % queues.size()));
+    }
+
+    /**
+     * Gets owner of the funnel value of specified message.
+     *
+     * @return node ID or {@code null} if funnel affinity is disabled, the message has no funnel value
+     *      or there is no owner
+     */
+    @Nullable
+    private Long getFunnelOwner(Message msg) {
+        if (funnelOwnership == null || !StringUtils.hasText(msg.getFunnelValue())) {
+            return null;
+        }
+        return funnelOwnership.getOwner(msg.getFunnelValue());
+    }
+
+    /**
+     * Sends message to the queue of the new owner of its funnel value.
+     */
+    private void handOver(Long msgId, Long owner) {
+        if (getNodeQueue(owner).offer(msgId)) {
+            redistributedCount.incrementAndGet();
+        } else {
+            // no space => it will be repaired as stuck message
+            rejectedCount.incrementAndGet();
+        }
+    }
+
+    private IQueue<Long> getNodeQueue(Long nodeId) {
+        return hazelcast.getQueue(properties.getQueueName() + "-node-" + nodeId);
+    }
+
+    /**
+     * Sends messages from queues of nodes without ownership to actual owners.
+     */
+    private void redistributeOrphanedMessages() {
+        for (Long nodeId : funnelOwnership.getNodesWithoutOwnership()) {
+            IQueue<Long> queue = getNodeQueue(nodeId);
+
+            Long msgId;
+            while ((msgId = queue.poll()) != null) {
+                Message msg = messageService.findMessageById(msgId);
+                if (msg == null || msg.getState() != MsgStateEnum.IN_QUEUE) {
+                    skippedCount.incrementAndGet();
+                } else if (!getTargetQueue(msg).offer(msgId)) {
+                    // no space => it will be repaired as stuck message
+                    rejectedCount.incrementAndGet();
+                } else {
+                    redistributedCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private void consumeLoop(IntSupplier freeCapacity, BiConsumer<Message, Runnable> processor) {
+        while (running) {
+            Long msgId = null;
+            try {
+                if (freeCapacity.getAsInt() <= 0) {
+                    Thread.sleep(IDLE_WAIT_MILLIS);
+                    continue;
+                }
+
+                Message ready = readyMessages.poll();
+                if (ready != null) {
+                    msgId = ready.getMsgId();
+                    processReady(ready, processor);
+                    continue;
+                }
+
+                msgId = pollNext();
+                if (msgId != null) {
+                    process(msgId, processor);
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (HazelcastInstanceNotActiveException ex) {
+                LOG.debug("Hazelcast instance isn't active, cluster dispatch of messages ends.");
+                break;
+            } catch (Exception ex) {
+                LOG.error("Error occurred during processing of dispatched message (msgId = " + msgId + ")", ex);
+            }
+        }
+    }
+
+    /**
+     * Gets next message ID, queue of this node first, then local queues and then queues of other nodes.
+     */
+    private Long pollNext() throws InterruptedException {
+        if (funnelOwnership != null) {
+            Long msgId = getNodeQueue(funnelOwnership.getLocalNodeId()).poll();
+            if (msgId != null) {
+                return msgId;
+            }
+        }
+
+        List<IQueue<Long>> pollOrder = getPollOrder();
+        for (IQueue<Long> queue : pollOrder) {
+            Long msgId = queue.poll();
+            if (msgId != null) {
+                return msgId;
+            }
+        }
+
+        // all queues are empty => wait for the first one
+        return pollOrder.get(0).poll(properties.getPollTimeoutMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private List<IQueue<Long>> getPollOrder() {
+        List<IQueue<Long>> local = new ArrayList<>(queues.size());
+        List<IQueue<Long>> remote = new ArrayList<>(queues.size());
+        for (IQueue<Long> queue : queues) {
+            Member owner = hazelcast.getPartitionService().getPartition(queue.getPartitionKey()).getOwner();
+            if (owner != null && owner.localMember()) {
+                local.add(queue);
+            } else {
+                remote.add(queue);
+            }
+        }
+
+        // nodes shouldn't steal from the same queue
+        Collections.shuffle(local);
+        Collections.shuffle(remote);
+        local.addAll(remote);
+        return local;
+    }
+
+    private void process(Long msgId, BiConsumer<Message, Runnable> processor) {
+        Message msg = loadInQueue(msgId);
+        if (msg == null) {
+            return;
+        }
+
+        Long owner = getFunnelOwner(msg);
+        if (owner != null && !owner.equals(funnelOwnership.getLocalNodeId())) {
+            // funnel value was moved to another node meanwhile
+            handOver(msgId, owner);
+            return;
+        }
+
+        pulledCount.incrementAndGet();
+
+        if (enterFunnelLane(msg)) {
+            startProcessing(msg, processor);
+        }
+    }
+
+    /**
+     * Processes message which already holds its funnel lane, the message could wait in the lane for a long time
+     * so it's loaded again.
+     */
+    private void processReady(Message ready, BiConsumer<Message, Runnable> processor) {
+        Message msg = loadInQueue(ready.getMsgId());
+        if (msg == null) {
+            releaseLane(ready.getFunnelValue());
+            return;
+        }
+
+        pulledCount.incrementAndGet();
+        startProcessing(msg, processor);
+    }
+
+    /**
+     * Loads message from the database.
+     *
+     * @return the message or {@code null} if it isn't in state {@link MsgStateEnum#IN_QUEUE IN_QUEUE} anymore
+     */
+    @Nullable
+    private Message loadInQueue(Long msgId) {
+        Message msg = messageService.findMessageById(msgId);
+        if (msg == null || msg.getState() != MsgStateEnum.IN_QUEUE) {
+            // message was processed or repaired meanwhile
+            LOG.debug("Message (msgId = {}) isn't in state {}, it's skipped", msgId, MsgStateEnum.IN_QUEUE);
+            skippedCount.incrementAndGet();
+            return null;
+        }
+        return msg;
+    }
+
+    /**
+     * Adds message into the lane of its funnel value.
+     *
+     * @param msg the message
+     * @return {@code true} if the message can be processed now, {@code false} if it waits in the lane
+     */
+    private boolean enterFunnelLane(Message msg) {
+        if (funnelOwnership == null || !StringUtils.hasText(msg.getFunnelValue())) {
+            return true;
+        }
+
+        synchronized (funnelLanes) {
+            Deque<Message> lane = funnelLanes.get(msg.getFunnelValue());
+            if (lane != null) {
+                // another message with the same funnel value is in processing
+                lane.add(msg);
+                return false;
+            }
+
+            funnelLanes.put(msg.getFunnelValue(), new ArrayDeque<>());
+            return true;
+        }
+    }
+
+    private void startProcessing(Message msg, BiConsumer<Message, Runnable> processor) {
+        Runnable onDone = () -> { };
+        if (funnelOwnership != null && StringUtils.hasText(msg.getFunnelValue())) {
+            // the lane must be released only once
+            AtomicBoolean released = new AtomicBoolean();
+            onDone = () -> {
+                if (released.compareAndSet(false, true)) {
+                    releaseLane(msg.getFunnelValue());
+                }
+            };
+        }
+
+        try {
+            processor.accept(msg, onDone);
+        } catch (RuntimeException ex) {
+            onDone.run();
+            throw ex;
+        }
+    }
+
+    /**
+     * Processing of message with specified funnel value ends, next message from the lane is ready.
+     * If the funnel value was moved to another node then waiting messages are handed over to the new owner.
+     */
+    private void releaseLane(String funnelValue) {
+        Long owner = funnelOwnership.getOwner(funnelValue);
+        boolean movedAway = owner != null && !owner.equals(funnelOwnership.getLocalNodeId());
+
+        List<Message> handedOver;
+        synchronized (funnelLanes) {
+            Deque<Message> lane = funnelLanes.get(funnelValue);
+            if (lane == null) {
+                return;
+            }
+
+            if (!movedAway) {
+                Message next = lane.poll();
+                if (next == null) {
+                    funnelLanes.remove(funnelValue);
+                } else {
+                    readyMessages.add(next);
+                }
+                return;
+            }
+
+            funnelLanes.remove(funnelValue);
+            handedOver = new ArrayList<>(lane);
+        }
+
+        for (Message msg : handedOver) {
+            handOver(msg.getMsgId(), owner);
+        }
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        // not pulled IDs stay in the queues for other nodes
+        running = false;
+
+        if (consumer != null) {
+            consumer.join(properties.getShutdownTimeoutMillis());
+            if (consumer.isAlive()) {
+                consumer.interrupt();
+            }
+        }
+    }
+
+    @ManagedAttribute(description = "Count of message IDs in all queues (cluster-wide)")
+    public int getQueueSize() {
+        try {
+            return queues.stream().mapToInt(IQueue::size).sum();
+        } catch (HazelcastInstanceNotActiveException ex) {
+            return -1;
+        }
+    }
+
+    @ManagedAttribute(description = "Count of messages offered to the cluster by this node")
+    public long getDispatchedCount() {
+        return dispatchedCount.get();
+    }
+
+    @ManagedAttribute(description = "Count of messages not offered because the queue was full")
+    public long getRejectedCount() {
+        return rejectedCount.get();
+    }
+
+    @ManagedAttribute(description = "Count of messages pulled and processed by this node")
+    public long getPulledCount() {
+        return pulledCount.get();
+    }
+
+    @ManagedAttribute(description = "Count of messages waiting for processing of previous message"
+            + " with the same funnel value")
+    public int getWaitingInFunnelLanesCount() {
+        synchronized (funnelLanes) {
+            return funnelLanes.values().stream().mapToInt(Deque::size).sum() + readyMessages.size();
+        }
+    }
+
+    @ManagedAttribute(description = "Count of messages moved to new owners of funnel values")
+    public long getRedistributedCount() {
+        return redistributedCount.get();
+    }
+
+    @ManagedAttribute(description = "Count of pulled messages which weren't in IN_QUEUE state anymore")
+    public long getSkippedCount() {
+        return skippedCount.get();
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.queue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.Nullable;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.Member;
+import com.hazelcast.core.MemberAttributeEvent;
+import com.hazelcast.core.MembershipEvent;
+import com.hazelcast.core.MembershipListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.api.entity.Node;
+import org.openhubframework.openhub.spi.node.NodeService;
+
+
+/**
+ * Ownership of funnel values by nodes in the cluster (consistent hashing).
+ * <p>
+ * Owners are nodes which are {@link Node#isAbleToHandleExistingMessages() able to handle existing messages}
+ * and which are members of Hazelcast cluster at the same time (each member has attribute
+ * {@value #NODE_ID_ATTRIBUTE} with ID of its node). Each owner has {@value #VIRTUAL_NODES} points on the hash ring,
+ * so when the owner leaves or joins then only its part of funnel values is moved to other nodes.
+ * <p>
+ * The ring is rebuilt when Hazelcast membership changes and when {@link #refresh()} is called
+ * (state of nodes is changed in the database only).
+ *
+ * @since 2.2
+ * @see ClusterDispatcher
+ */
+@ManagedResource(objectName = "org.openhubframework.openhub.core.monitoring:name=FunnelOwnership",
+        description = "Ownership of funnel values by cluster nodes")
+public class FunnelOwnership implements MembershipListener, InitializingBean, DisposableBean {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FunnelOwnership.class);
+
+    static final String NODE_ID_ATTRIBUTE = "ohf.nodeId";
+
+    static final int VIRTUAL_NODES = 64;
+
+    private final HazelcastInstance hazelcast;
+
+    private final NodeService nodeService;
+
+    private Long localNodeId;
+
+    private String registrationId;
+
+    private volatile NavigableMap<Integer, Long> ring = Collections.emptyNavigableMap();
+
+    private volatile Set<Long> nodesWithoutOwnership = Collections.emptySet();
+
+    /**
+     * Creates new ownership.
+     *
+     * @param hazelcast the Hazelcast instance
+     * @param nodeService the node service
+     */
+    public FunnelOwnership(HazelcastInstance hazelcast, NodeService nodeService) {
+        Assert.notNull(hazelcast, "the hazelcast must not be null");
+        Assert.notNull(nodeService, "the nodeService must not be null");
+
+        this.hazelcast = hazelcast;
+        this.nodeService = nodeService;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        localNodeId = nodeService.getActualNode().getNodeId();
+        Assert.notNull(localNodeId, "the actual node must be saved");
+
+        hazelcast.getCluster().getLocalMember().setStringAttribute(NODE_ID_ATTRIBUTE, String.valueOf(localNodeId));
+        registrationId = hazelcast.getCluster().addMembershipListener(this);
+
+        refresh();
+    }
+
+    @Override
+    public void destroy() {
+        if (registrationId != null) {
+            hazelcast.getCluster().removeMembershipListener(registrationId);
+        }
+    }
+
+    /**
+     * Rebuilds the ring from actual Hazelcast members and state of nodes in the database.
+     */
+    public synchronized void refresh() {
+        Set<Long> memberNodeIds = new HashSet<>();
+        for (Member member : hazelcast.getCluster().getMembers()) {
+            String nodeId = member.getStringAttribute(NODE_ID_ATTRIBUTE);
+            if (nodeId != null) {
+                memberNodeIds.add(Long.valueOf(nodeId));
+            }
+        }
+
+        Set<Long> owners = new HashSet<>();
+        Set<Long> others = new HashSet<>();
+        for (Node node : nodeService.getAllNodes()) {
+            if (node.isAbleToHandleExistingMessages() && memberNodeIds.contains(node.getNodeId())) {
+                owners.add(node.getNodeId());
+            } else {
+                others.add(node.getNodeId());
+            }
+        }
+
+        NavigableMap<Integer, Long> newRing = buildRing(owners);
+        if (!newRing.equals(ring)) {
+            LOG.info("Owners of funnel values were changed: {}", owners);
+        }
+
+        ring = newRing;
+        nodesWithoutOwnership = Collections.unmodifiableSet(others);
+    }
+
+    /**
+     * Gets owner of specified funnel value.
+     *
+     * @param funnelValue the funnel value
+     * @return node ID of the owner or {@code null} if there is no owner
+     */
+    @Nullable
+    public Long getOwner(String funnelValue) {
+        return getOwner(ring, funnelValue);
+    }
+
+    /**
+     * Gets ID of the node of this application server instance.
+     *
+     * @return node ID
+     */
+    public Long getLocalNodeId() {
+        return localNodeId;
+    }
+
+    /**
+     * Gets IDs of known nodes which don't own any funnel value (e.g. stopped or disconnected nodes).
+     *
+     * @return node IDs
+     */
+    public Set<Long> getNodesWithoutOwnership() {
+        return nodesWithoutOwnership;
+    }
+
+    @ManagedAttribute(description = "IDs of nodes owning funnel values")
+    public Set<Long> getOwners() {
+        return new HashSet<>(ring.values());
+    }
+
+    static NavigableMap<Integer, Long> buildRing(Collection<Long> nodeIds) {
+        NavigableMap<Integer, Long> ring = new TreeMap<>();
+        for (Long nodeId : nodeIds) {
+            for (int i = 0; i < VIRTUAL_NODES; i++) {
+                ring.put(hash(nodeId + "#" + i), nodeId);
+            }
+        }
+        return ring;
+    }
+
+    @Nullable
+    static Long getOwner(NavigableMap<Integer, Long> ring, String funnelValue) {
+        Assert.hasText(funnelValue, "the funnelValue must not be empty");
+
+        if (ring.isEmpty()) {
+            return null;
+        }
+
+        Map.Entry<Integer, Long> entry = ring.ceilingEntry(hash(funnelValue));
+        return entry != null ? entry.getValue() : ring.firstEntry().getValue();
+    }
+
+    /**
+     * FNV-1a hash with MurmurHash3 finalizer (similar values are spread over the ring), the same value on all nodes.
+     */
+    private static int hash(String value) {
+        int hash = 0x811c9dc5;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x01000193;
+        }
+
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    @Override
+    public void memberAdded(MembershipEvent membershipEvent) {
+        refresh();
+    }
+
+    @Override
+    public void memberRemoved(MembershipEvent membershipEvent) {
+        refresh();
+    }
+
+    @Override
+    public void memberAttributeChanged(MemberAttributeEvent memberAttributeEvent) {
+        if (NODE_ID_ATTRIBUTE.equals(memberAttributeEvent.getKey())) {
+            refresh();
+        }
+    }
+}
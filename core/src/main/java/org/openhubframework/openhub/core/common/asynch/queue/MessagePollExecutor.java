@@ -20,12 +20,14 @@ import static org.openhubframework.openhub.api.configuration.CoreProps.ASYNCH_PO
 
 import java.time.Instant;
 import java.util.List;
+import javax.annotation.Nullable;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePattern;
 import org.apache.camel.Processor;
 import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.ExchangeBuilder;
+import org.apache.camel.support.SynchronizationAdapter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,10 +41,12 @@ import org.openhubframework.openhub.api.entity.Message;
 import org.openhubframework.openhub.api.exception.IntegrationException;
 import org.openhubframework.openhub.api.exception.InternalErrorEnum;
 import org.openhubframework.openhub.api.exception.LockFailureException;
+import org.openhubframework.openhub.common.log.LogContextCarrier;
 import org.openhubframework.openhub.common.time.Seconds;
 import org.openhubframework.openhub.core.common.asynch.AsynchMessageRoute;
 import org.openhubframework.openhub.core.common.asynch.LogContextHelper;
-import org.openhubframework.openhub.core.common.event.AsynchEventHelper;
+import org.openhubframework.openhub.spi.AsyncEventNotifier;
+import org.openhubframework.openhub.spi.monitoring.AsynchMetrics;
 import org.openhubframework.openhub.spi.msg.MessageService;
 
 
@@ -51,6 +55,9 @@ import org.openhubframework.openhub.spi.msg.MessageService;
  * Execution will stop when there is no further message for processing.
  * <p>
  * This executor is invoked by {@link JobStarterForMessagePooling}.
+ * <p>
+ * If {@link ClusterDispatcher cluster dispatch} is enabled then only one node in the cluster reads messages
+ * and they are distributed to all nodes.
  *
  * @author Petr Juza
  */
@@ -70,6 +77,15 @@ public class MessagePollExecutor implements Runnable {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private AsyncEventNotifier asyncEventNotifier;
+
+    @Autowired
+    private AsynchMetrics asynchMetrics;
+
+    @Autowired(required = false)
+    private ClusterDispatcher clusterDispatcher;
+
     /**
      * Interval (in seconds) after that postponed messages will fail.
      */
@@ -81,6 +97,14 @@ public class MessagePollExecutor implements Runnable {
 
     @Override
     public void run() {
+        if (clusterDispatcher != null) {
+            clusterDispatcher.runAsClaimer(this::pollMessages);
+        } else {
+            pollMessages();
+        }
+    }
+
+    private void pollMessages() {
         LOG.debug("Message pooling starts ...");
 
         // is there message for processing?
@@ -91,9 +115,16 @@ public class MessagePollExecutor implements Runnable {
                 msg = messagesPool.getNextMessage();
 
                 if (msg != null) {
-                    LogContextHelper.setLogContextParams(msg, null);
-
-                    startMessageProcessing(msg);
+                    LogContextCarrier logContext = LogContextHelper.createLogContext(msg, null);
+                    logContext.install();
+
+                    if (clusterDispatcher == null) {
+                        startMessageProcessing(msg, logContext);
+                    } else if (!clusterDispatcher.dispatch(msg)) {
+                        // cluster is saturated => process the message locally and stop claiming
+                        startMessageProcessing(msg, logContext);
+                        break;
+                    }
                 } else {
                     //there is no new message for processing
                     //  => finish this executor and try it again after some time
@@ -118,12 +149,50 @@ public class MessagePollExecutor implements Runnable {
     }
 
     void startMessageProcessing(Message msg) {
+        startMessageProcessing(msg, LogContextHelper.createLogContext(msg, null));
+    }
+
+    /**
+     * Starts processing of the message.
+     *
+     * @param msg the message
+     * @param onDone the callback called when processing of the message ends (or when it's postponed
+     *      or when the message can't be sent for next processing)
+     * @see ClusterDispatcher
+     */
+    void startMessageProcessing(Message msg, Runnable onDone) {
+        Assert.notNull(onDone, "the onDone must not be null");
+
+        startMessageProcessing(msg, LogContextHelper.createLogContext(msg, null), onDone);
+    }
+
+    private void startMessageProcessing(Message msg, LogContextCarrier logContext) {
+        startMessageProcessing(msg, logContext, null);
+    }
+
+    private void startMessageProcessing(Message msg, LogContextCarrier logContext, @Nullable Runnable onDone) {
         Assert.notNull(msg, "the msg must not be null");
 
         if (isMsgInGuaranteedOrder(msg)) {
-            // sends message for next processing
-            producerTemplate.sendBodyAndHeader(targetURI, ExchangePattern.InOnly, msg,
-                    AsynchConstants.MSG_QUEUE_INSERT_HEADER, System.currentTimeMillis());
+            // sends message for next processing, log context travels with the exchange
+            Exchange sent = producerTemplate.send(targetURI, ExchangePattern.InOnly, exchange -> {
+                exchange.getIn().setBody(msg);
+                exchange.getIn().setHeader(AsynchConstants.MSG_QUEUE_INSERT_HEADER, System.currentTimeMillis());
+                exchange.setProperty(LogContextHelper.LOG_CONTEXT_PROPERTY, logContext);
+
+                if (onDone != null) {
+                    // completion is handed over to the exchange in SEDA route
+                    exchange.addOnCompletion(new SynchronizationAdapter() {
+                        @Override
+                        public void onDone(Exchange exchange) {
+                            onDone.run();
+                        }
+                    });
+                }
+            });
+
+            // completion wasn't handed over if the message wasn't sent
+            checkSent(sent, msg, onDone);
 
         } else {
             Instant failedDate = Instant.now().minusSeconds(postponedIntervalWhenFailed.getValue().getSeconds());
@@ -132,7 +201,7 @@ public class MessagePollExecutor implements Runnable {
 
             if (msg.getReceiveTimestamp().isBefore(failedDate)) {
                 // change to failed message => redirect to "FAILED" route
-                producerTemplate.send(AsynchConstants.URI_ERROR_FATAL, ExchangePattern.InOnly,
+                Exchange sent = producerTemplate.send(AsynchConstants.URI_ERROR_FATAL, ExchangePattern.InOnly,
                         new Processor() {
                             @Override
                             public void process(Exchange exchange) throws Exception {
@@ -146,9 +215,12 @@ public class MessagePollExecutor implements Runnable {
                             }
                         });
 
+                checkSent(sent, msg, onDone);
+
             } else {
                 // postpone message
                 messageService.setStatePostponed(msg);
+                asynchMetrics.markPostponed(msg.getFunnelComponentId());
 
                 // create Exchange for event only
                 ExchangeBuilder exchangeBuilder = ExchangeBuilder.anExchange(producerTemplate.getCamelContext());
@@ -156,11 +228,34 @@ public class MessagePollExecutor implements Runnable {
 
                 exchange.getIn().setHeader(AsynchConstants.MSG_HEADER, paramMsg);
 
-                AsynchEventHelper.notifyMsgPostponed(exchange);
+                asyncEventNotifier.notifyMsgPostponed(exchange);
+            }
+
+            if (onDone != null) {
+                onDone.run();
             }
         }
     }
 
+    /**
+     * Checks if the exchange was successfully sent, producer template doesn't throw exceptions.
+     *
+     * @param exchange the sent exchange
+     * @param msg the message
+     * @param onDone the callback called when processing of the message ends
+     * @throws IntegrationException if sending failed
+     */
+    private static void checkSent(Exchange exchange, Message msg, @Nullable Runnable onDone) {
+        if (exchange.getException() != null) {
+            if (onDone != null) {
+                onDone.run();
+            }
+
+            throw new IntegrationException(InternalErrorEnum.E100, "Message " + msg.toHumanString()
+                    + " can't be sent for next processing", exchange.getException());
+        }
+    }
+
     /**
      * Checks if specified message should be processed in guaranteed order and if yes
      * then checks if the message is in the right order.
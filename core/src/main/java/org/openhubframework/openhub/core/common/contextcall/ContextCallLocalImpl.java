@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.contextcall;
+
+import java.util.Set;
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.core.common.camel.ApplicationContextsRegistry;
+
+
+/**
+ * Implementation of {@link ContextCall} interface that calls target service directly in the caller's thread.
+ * <p>
+ * Target service is searched in all application contexts of this application (see {@link ApplicationContextsRegistry}),
+ * there is no HTTP request, no servlet processing and no round-trip through {@link ContextCallRegistry}.
+ * If target service is not found in local contexts then the call is delegated to {@link ContextCallHttpImpl}.
+ *
+ * @since 2.2
+ */
+@Service
+@Primary
+public class ContextCallLocalImpl implements ContextCall {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContextCallLocalImpl.class);
+
+    @Autowired
+    private ApplicationContextsRegistry contextsRegistry;
+
+    @Autowired
+    private ContextCallHttpImpl remoteCall;
+
+    @Nullable
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T makeCall(Class<?> targetType, String methodName, Class<T> responseType, Object... methodArgs) {
+        Assert.notNull(targetType, "targetType must not be null");
+        Assert.hasText(methodName, "methodName must not be empty");
+
+        Set<?> targetServices = contextsRegistry.findByType(targetType);
+        if (targetServices.isEmpty()) {
+            LOG.debug("No local service of type '{}', call is made by HTTP", targetType.getName());
+
+            return remoteCall.makeCall(targetType, methodName, responseType, methodArgs);
+        }
+
+        if (targetServices.size() > 1) {
+            throw new IllegalStateException("there is more services of type '" + targetType.getSimpleName()
+                    + "', exactly one is expected");
+        }
+
+        ContextCallParams params = new ContextCallParams(targetType, methodName, methodArgs);
+        try {
+            return (T) ReflectionCallUtils.invokeMethod(params, targetServices.iterator().next());
+        } catch (IllegalStateException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new IllegalStateException("error occurs during calling target method '" + methodName
+                    + "' of service type '" + targetType.getSimpleName() + "'", ex);
+        }
+    }
+}
@@ -16,51 +16,52 @@
 
 package org.openhubframework.openhub.core.common.contextcall;
 
-import java.time.Instant;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import javax.annotation.Nullable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import org.openhubframework.openhub.api.exception.NoDataFoundException;
+import org.openhubframework.openhub.common.collection.ExpiringMap;
 
 
 /**
  * Memory implementation of {@link ContextCallRegistry} interface.
+ * <p>
+ * Params and responses are removed automatically after {@value #OLD_PARAMS_INTERVAL_MS} ms
+ * (if the call is not cleared before), see {@link ExpiringMap}.
+ * Note: responses had no time to live before version 2.2, now the response must be read by the caller
+ * within this interval since it was added (caller reads it immediately after the call, so it's enough).
  *
  * @author Petr Juza
  */
 @Service
+@ManagedResource(objectName = "org.openhubframework.openhub.core.monitoring:name=ContextCallRegistry",
+        description = "Registry of context call parameters and responses")
 public class ContextCallRegistryMemoryImpl implements ContextCallRegistry {
 
     private static final Logger LOG = LoggerFactory.getLogger(ContextCallRegistryMemoryImpl.class);
 
     private static final int OLD_PARAMS_INTERVAL_MS = 60 * 1000;
 
-    private Map<String, ContextCallParams> paramsRegistry = new ConcurrentHashMap<String, ContextCallParams>();
+    private final ExpiringMap<String, ContextCallParams> paramsRegistry = new ExpiringMap<>(OLD_PARAMS_INTERVAL_MS);
 
-    private Map<String, Object> responseRegistry = new ConcurrentHashMap<String, Object>();
+    private final ExpiringMap<String, Object> responseRegistry = new ExpiringMap<>(OLD_PARAMS_INTERVAL_MS);
 
     @Override
     public void addParams(String callId, ContextCallParams params) {
         Assert.hasText(callId, "the callId must not be empty");
         Assert.notNull(params, "the params must not be null");
 
-        if (paramsRegistry.get(callId) != null) {
+        if (paramsRegistry.putIfAbsent(callId, params) != null) {
             throw new IllegalStateException("there are already call params with call ID = " + callId);
         }
 
-        paramsRegistry.put(callId, params);
-
         LOG.debug("Call params with callId=" + callId + " added to registry: " + params);
-
-        removeOldParams();
     }
 
     @Override
@@ -79,12 +80,10 @@ public class ContextCallRegistryMemoryImpl implements ContextCallRegistry {
         Assert.hasText(callId, "the callId must not be empty");
         Assert.notNull(res, "the res must not be null");
 
-        if (responseRegistry.get(callId) != null) {
+        if (responseRegistry.putIfAbsent(callId, res) != null) {
             throw new IllegalStateException("there is already call response with call ID = " + callId);
         }
 
-        responseRegistry.put(callId, res);
-
         LOG.debug("Call response with callId=" + callId + " added to registry: " + res);
     }
 
@@ -119,24 +118,18 @@ public class ContextCallRegistryMemoryImpl implements ContextCallRegistry {
         }
     }
 
-    /**
-     * Removes old params.
-     */
-    private void removeOldParams() {
-        Instant threshold = Instant.now().minusMillis(OLD_PARAMS_INTERVAL_MS);
-
-        Set<String> removes = new HashSet<String>();
+    @ManagedAttribute(description = "Count of call params in the registry")
+    public int getParamsSize() {
+        return paramsRegistry.size();
+    }
 
-        // find old params
-        for (Map.Entry<String, ContextCallParams> en : paramsRegistry.entrySet()) {
-            if (en.getValue().getCreationTimestamp().isBefore(threshold)) {
-                removes.add(en.getKey());
-            }
-        }
+    @ManagedAttribute(description = "Count of call responses in the registry")
+    public int getResponseSize() {
+        return responseRegistry.size();
+    }
 
-        // remove old params
-        for (String callId : removes) {
-            removeParams(callId);
-        }
+    @ManagedAttribute(description = "Count of call params and responses removed because of expiration")
+    public long getExpiredCount() {
+        return paramsRegistry.getExpiredCount() + responseRegistry.getExpiredCount();
     }
 }
@@ -45,6 +45,17 @@ final class ReflectionCallUtils {
         // find target service
         Object targetService = beanFactory.getBean(params.getTargetType());
 
+        return invokeMethod(params, targetService);
+    }
+
+    /**
+     * Invokes target method on specified service.
+     *
+     * @param params the parameters of the call
+     * @param targetService the target service
+     * @return response
+     */
+    static Object invokeMethod(ContextCallParams params, Object targetService) {
         // determine method's argument types
         List<Class> argTypes = new ArrayList<Class>();
         for (Object arg : params.getMethodArgs()) {
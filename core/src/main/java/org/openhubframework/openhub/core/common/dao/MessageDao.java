@@ -18,10 +18,12 @@ package org.openhubframework.openhub.core.common.dao;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 import javax.annotation.Nullable;
 
 import org.openhubframework.openhub.api.entity.ExternalSystemExtEnum;
 import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MessageCursor;
 import org.openhubframework.openhub.api.entity.MessageFilter;
 import org.openhubframework.openhub.api.entity.MsgStateEnum;
 import org.openhubframework.openhub.api.entity.Node;
@@ -163,6 +165,13 @@ public interface MessageDao {
      */
     int getCountMessages(MsgStateEnum state, @Nullable Duration interval);
 
+    /**
+     * Gets count of messages in each state.
+     *
+     * @return count of messages by state (states without messages are missing)
+     */
+    Map<MsgStateEnum, Long> getCountMessagesByState();
+
     /**
      * Gets count of processing messages (PROCESSING, WAITING, WAITING_FOR_RES) with same funnel value
      * and for specified funnel ID.
@@ -206,4 +215,15 @@ public interface MessageDao {
      * @return list of messages.
      */
     List<Message> findMessagesByFilter(MessageFilter messageFilter, long limit);
+
+    /**
+     * Finds messages by filter page by page (keyset pagination).
+     * Messages are sorted by received timestamp and message ID (newest first), next page starts after the cursor.
+     *
+     * @param messageFilter the filter.
+     * @param after the cursor of last message of previous page, {@code null} for the first page
+     * @param limit the maximum count of messages in the page.
+     * @return list of messages.
+     */
+    List<Message> findMessagesByFilter(MessageFilter messageFilter, @Nullable MessageCursor after, int limit);
 }
@@ -22,7 +22,10 @@ import java.time.Duration;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.StringJoiner;
 import java.util.stream.Stream;
@@ -30,10 +33,14 @@ import javax.annotation.Nullable;
 import javax.persistence.EntityManager;
 import javax.persistence.LockModeType;
 import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 
 import org.apache.commons.collections4.CollectionUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.openhubframework.openhub.api.entity.MessageCursor;
 import org.openhubframework.openhub.api.entity.MessageFilter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Repository;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
@@ -56,9 +63,35 @@ public class MessageDaoJpaImpl implements MessageDao {
 
     public static final int MAX_MESSAGES_IN_ONE_QUERY = 50;
 
+    private static final String FULLTEXT_PARAM = "fulltext";
+
+    /**
+     * Columns of message fields used by filter in native SQL queries.
+     */
+    private static final Map<String, String> NATIVE_COLUMNS;
+
+    static {
+        Map<String, String> columns = new HashMap<>();
+        columns.put("m.msgId", "m.msg_id");
+        columns.put("m.receiveTimestamp", "m.receive_timestamp");
+        columns.put("m.lastUpdateTimestamp", "m.last_update_timestamp");
+        columns.put("m.sourceSystemInternal", "m.source_system");
+        columns.put("m.correlationId", "m.correlation_id");
+        columns.put("m.processId", "m.process_id");
+        columns.put("m.state", "m.state");
+        columns.put("m.failedErrorCodeInternal", "m.failed_error_code");
+        columns.put("m.serviceInternal", "m.service");
+        columns.put("m.operationName", "m.operation_name");
+        NATIVE_COLUMNS = Collections.unmodifiableMap(columns);
+    }
+
     @PersistenceContext(unitName = DbConst.UNIT_NAME)
     private EntityManager em;
 
+    @Autowired(required = false)
+    @Nullable
+    private MessageFulltextSearch fulltextSearch;
+
     @Override
     @Transactional(propagation = Propagation.MANDATORY)
     public void insert(Message msg) {
@@ -327,6 +360,21 @@ public class MessageDaoJpaImpl implements MessageDao {
         return q.getSingleResult().intValue();
     }
 
+    @Override
+    public Map<MsgStateEnum, Long> getCountMessagesByState() {
+        String jSql = "SELECT m.state, COUNT(m) "
+                + "FROM " + Message.class.getName() + " m "
+                + "GROUP BY m.state";
+
+        TypedQuery<Object[]> q = em.createQuery(jSql, Object[].class);
+
+        Map<MsgStateEnum, Long> result = new EnumMap<>(MsgStateEnum.class);
+        for (Object[] row : q.getResultList()) {
+            result.put((MsgStateEnum) row[0], ((Number) row[1]).longValue());
+        }
+        return result;
+    }
+
     @Override
     public int getCountProcessingMessagesForFunnel(String funnelValue, Duration idleInterval, String funnelCompId) {
         Assert.notNull(idleInterval, "idleInterval must not be null");
@@ -410,99 +458,172 @@ public class MessageDaoJpaImpl implements MessageDao {
         Assert.notNull(filter, "the messageFilter must not be null");
         verifyMessageFilter(filter);
 
+        if (isFulltextSearch(filter)) {
+            return findMessagesByFulltext(filter, null, filter.isFulltextRanked(), (int) limit);
+        }
+
+        final Map<String, Object> params = new HashMap<>();
         String jSql = "SELECT m "
                 + "         FROM " +  Message.class.getName() + " m " +
-                "           WHERE ";
+                "           WHERE " + createFilterConditions(filter, params, false)
+                + "         ORDER BY m.receiveTimestamp DESC";
 
-        final StringJoiner conditions = new StringJoiner(" AND ");
-        // conditions
-        if (null != filter.getReceivedFrom()) {
-            conditions.add("m.receiveTimestamp >= :receivedFrom");
-        }
-        if (null != filter.getReceivedTo()) {
-            conditions.add("m.receiveTimestamp <= :receivedTo");
-        }
-        if (null != filter.getLastChangeFrom()) {
-            conditions.add("m.lastUpdateTimestamp >= :lastChangeFrom");
-        }
-        if (null != filter.getLastChangeTo()) {
-            conditions.add("m.lastUpdateTimestamp <= :lastChangeTo");
-        }
-        if (hasText(filter.getSourceSystem())) {
-            conditions.add("m.sourceSystemInternal like :sourceSystem");
-        }
-        if (hasText(filter.getCorrelationId())) {
-            conditions.add("m.correlationId like :correlationId");
-        }
-        if (hasText(filter.getProcessId())) {
-            conditions.add("m.processId like :processId");
-        }
-        if (null != filter.getState()) {
-            conditions.add("m.state like :state");
-        }
-        if (hasText(filter.getErrorCode())) {
-            conditions.add("m.failedErrorCodeInternal like :errorCode");
-        }
-        if (hasText(filter.getServiceName())) {
-            conditions.add("m.serviceInternal like :serviceName");
-        }
-        if (hasText(filter.getOperationName())) {
-            conditions.add("m.operationName like :operationName");
+        TypedQuery<Message> q = em.createQuery(jSql, Message.class);
+        params.forEach(q::setParameter);
+        q.setMaxResults((int) limit);
+
+        return q.getResultList();
+    }
+
+    private boolean isFulltextSearch(MessageFilter filter) {
+        return fulltextSearch != null && hasText(filter.getFulltext());
+    }
+
+    @Override
+    public List<Message> findMessagesByFilter(final MessageFilter filter, @Nullable MessageCursor after, int limit) {
+        Assert.notNull(filter, "the messageFilter must not be null");
+        Assert.isTrue(limit > 0, "the limit must be positive");
+        verifyMessageFilter(filter);
+
+        if (isFulltextSearch(filter)) {
+            return findMessagesByFulltext(filter, after, false, limit);
         }
-        // fulltext
-        if (hasText(filter.getFulltext())) {
-            conditions.add(findMessagesByFilterFulltextSql("fulltext"));
+
+        final Map<String, Object> params = new HashMap<>();
+        String jSql = "SELECT m "
+                + "         FROM " +  Message.class.getName() + " m " +
+                "           WHERE " + createFilterConditions(filter, params, false);
+
+        if (after != null) {
+            jSql += "       AND " + createCursorCondition(after, params, false);
         }
 
-        // add conditions
-        jSql += conditions.toString();
-        jSql += "           ORDER BY m.receiveTimestamp DESC";
+        jSql += "           ORDER BY m.receiveTimestamp DESC, m.msgId DESC";
 
         TypedQuery<Message> q = em.createQuery(jSql, Message.class);
+        params.forEach(q::setParameter);
+        q.setMaxResults(limit);
+
+        return q.getResultList();
+    }
+
+    /**
+     * Finds messages by native SQL query because full-text condition is specific for the database.
+     * Full-text condition is evaluated together with other conditions of the filter, limit and cursor
+     * are applied to messages matching all conditions.
+     */
+    @SuppressWarnings("unchecked")
+    private List<Message> findMessagesByFulltext(MessageFilter filter, @Nullable MessageCursor after,
+            boolean ranked, int limit) {
+        final Map<String, Object> params = new HashMap<>();
+        String sql = "SELECT m.* FROM message m WHERE " + createFilterConditions(filter, params, true);
+
+        if (after != null) {
+            sql += " AND " + createCursorCondition(after, params, true);
+        }
+
+        String rank = ranked ? fulltextSearch.getRankExpression("m", FULLTEXT_PARAM) : null;
+        sql += " ORDER BY " + (rank != null ? rank + " DESC, " : "") + "m.receive_timestamp DESC, m.msg_id DESC";
+
+        Query q = em.createNativeQuery(sql, Message.class);
+        params.forEach(q::setParameter);
+        q.setMaxResults(limit);
+
+        return q.getResultList();
+    }
+
+    /**
+     * Creates condition that seeks to the position after the cursor, it's the same order as defined by ORDER BY.
+     */
+    private static String createCursorCondition(MessageCursor after, Map<String, Object> params, boolean nativeSql) {
+        params.put("cursorTimestamp", after.getReceiveTimestamp());
+        params.put("cursorMsgId", after.getMsgId());
+
+        String receiveTimestamp = field("m.receiveTimestamp", nativeSql);
+        return "(" + receiveTimestamp + " < :cursorTimestamp"
+                + " OR (" + receiveTimestamp + " = :cursorTimestamp AND " + field("m.msgId", nativeSql)
+                + " < :cursorMsgId))";
+    }
+
+    /**
+     * Creates conditions (joined by AND) for the filter and fills query parameters.
+     * Text values are compared with LIKE only if they contain wildcard, otherwise exact match is used
+     * (it allows to use indexes).
+     *
+     * @param nativeSql {@code true} for conditions of native SQL query, {@code false} for JPQL
+     */
+    private String createFilterConditions(MessageFilter filter, Map<String, Object> params, boolean nativeSql) {
+        final StringJoiner conditions = new StringJoiner(" AND ");
+
         if (null != filter.getReceivedFrom()) {
-            q.setParameter("receivedFrom", filter.getReceivedFrom());
+            conditions.add(field("m.receiveTimestamp", nativeSql) + " >= :receivedFrom");
+            params.put("receivedFrom", filter.getReceivedFrom());
         }
         if (null != filter.getReceivedTo()) {
-            q.setParameter("receivedTo", filter.getReceivedTo());
+            conditions.add(field("m.receiveTimestamp", nativeSql) + " <= :receivedTo");
+            params.put("receivedTo", filter.getReceivedTo());
         }
         if (null != filter.getLastChangeFrom()) {
-            q.setParameter("lastChangeFrom", filter.getLastChangeFrom());
+            conditions.add(field("m.lastUpdateTimestamp", nativeSql) + " >= :lastChangeFrom");
+            params.put("lastChangeFrom", filter.getLastChangeFrom());
         }
         if (null != filter.getLastChangeTo()) {
-            q.setParameter("lastChangeTo", filter.getLastChangeTo());
-        }
-        if (hasText(filter.getSourceSystem())) {
-            q.setParameter("sourceSystem", filter.getSourceSystem());
-        }
-        if (hasText(filter.getCorrelationId())) {
-            q.setParameter("correlationId", filter.getCorrelationId());
-        }
-        if (hasText(filter.getProcessId())) {
-            q.setParameter("processId", filter.getProcessId());
-        }
+            conditions.add(field("m.lastUpdateTimestamp", nativeSql) + " <= :lastChangeTo");
+            params.put("lastChangeTo", filter.getLastChangeTo());
+        }
+        addTextCondition(conditions, params, field("m.sourceSystemInternal", nativeSql), "sourceSystem",
+                filter.getSourceSystem());
+        addTextCondition(conditions, params, field("m.correlationId", nativeSql), "correlationId",
+                filter.getCorrelationId());
+        addTextCondition(conditions, params, field("m.processId", nativeSql), "processId", filter.getProcessId());
         if (null != filter.getState()) {
-            q.setParameter("state", filter.getState());
-        }
-        if (hasText(filter.getErrorCode())) {
-            q.setParameter("errorCode", filter.getErrorCode());
-        }
-        if (hasText(filter.getServiceName())) {
-            q.setParameter("serviceName", filter.getServiceName());
-        }
-        if (hasText(filter.getOperationName())) {
-            q.setParameter("operationName", filter.getOperationName());
-        }
+            conditions.add(field("m.state", nativeSql) + " = :state");
+            // enum is not converted in native query
+            params.put("state", nativeSql ? filter.getState().name() : filter.getState());
+        }
+        addTextCondition(conditions, params, field("m.failedErrorCodeInternal", nativeSql), "errorCode",
+                filter.getErrorCode());
+        addTextCondition(conditions, params, field("m.serviceInternal", nativeSql), "serviceName",
+                filter.getServiceName());
+        addTextCondition(conditions, params, field("m.operationName", nativeSql), "operationName",
+                filter.getOperationName());
         // fulltext
-        if (hasText(filter.getFulltext())) {
-            q.setParameter("fulltext", "%" + filter.getFulltext() + "%");
+        if (isFulltextSearch(filter)) {
+            Assert.isTrue(nativeSql, "full-text search is supported by native SQL only");
+            conditions.add(fulltextSearch.getCondition("m", FULLTEXT_PARAM));
+            params.put(FULLTEXT_PARAM, filter.getFulltext());
+        } else if (hasText(filter.getFulltext())) {
+            conditions.add(findMessagesByFilterFulltextSql("fulltext"));
+            params.put("fulltext", "%" + filter.getFulltext() + "%");
         }
-        q.setMaxResults((int) limit);
 
-        return q.getResultList();
+        return conditions.toString();
+    }
+
+    /**
+     * Gets field of message for JPQL or the column for native SQL query.
+     */
+    private static String field(String jpqlField, boolean nativeSql) {
+        if (!nativeSql) {
+            return jpqlField;
+        }
+        String column = NATIVE_COLUMNS.get(jpqlField);
+        Assert.notNull(column, "there is no column for the field " + jpqlField);
+        return column;
+    }
+
+    private static void addTextCondition(StringJoiner conditions, Map<String, Object> params, String field,
+            String placeholder, @Nullable String value) {
+        if (hasText(value)) {
+            boolean wildcard = StringUtils.containsAny(value, '%', '_');
+            conditions.add(field + (wildcard ? " like :" : " = :") + placeholder);
+            params.put(placeholder, value);
+        }
     }
 
     /**
-     * Fulltext SQL used with fulltext field of messageFilter in operation findMessagesByFilter.
+     * Fulltext SQL used with fulltext field of messageFilter in operation findMessagesByFilter
+     * if there is no {@link MessageFulltextSearch} configured.
      * Note: it is protected, as it could be overriden.
      *
      * @param placeholder where the actual fulltext string will be.
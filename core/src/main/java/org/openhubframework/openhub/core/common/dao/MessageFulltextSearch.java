@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.dao;
+
+import javax.annotation.Nullable;
+
+import org.openhubframework.openhub.api.entity.MessageFilter;
+
+
+/**
+ * Contract for full-text search over messages (envelope or payload if there is no envelope).
+ * <p>
+ * Implementations use full-text index of specific database, index is maintained by database on insert.
+ * Full-text condition is native SQL, it's evaluated by the database together with other conditions of the filter
+ * in {@link MessageDao#findMessagesByFilter(MessageFilter, long)}.
+ * If there is no implementation configured then LIKE condition is used.
+ *
+ * @since 2.2
+ * @see MessageFulltextSearchAutoConfiguration
+ */
+public interface MessageFulltextSearch {
+
+    /**
+     * Gets native SQL condition that matches messages containing the text.
+     *
+     * @param alias the alias of message table in the query
+     * @param placeholder the name of query parameter with the searched text
+     * @return SQL condition
+     */
+    String getCondition(String alias, String placeholder);
+
+    /**
+     * Gets native SQL expression of relevance of the message to the text (higher value is better match).
+     *
+     * @param alias the alias of message table in the query
+     * @param placeholder the name of query parameter with the searched text
+     * @return SQL expression or {@code null} if the database doesn't rank results
+     */
+    @Nullable
+    String getRankExpression(String alias, String placeholder);
+}
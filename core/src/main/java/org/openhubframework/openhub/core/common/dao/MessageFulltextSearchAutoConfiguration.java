@@ -0,0 +1,67 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.dao;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import org.openhubframework.openhub.common.AutoConfiguration;
+import org.openhubframework.openhub.core.config.OpenHub;
+
+
+/**
+ * Configures {@link MessageFulltextSearch} implementations.
+ * There is property '{@value #FULLTEXT_IMPL_PROPERTY}' that defines which built-in implementation will be used.
+ * If not defined then there is no full-text search and messages are searched by LIKE condition.
+ *
+ * @since 2.2
+ */
+@AutoConfiguration
+@ConditionalOnMissingBean(MessageFulltextSearch.class)
+public class MessageFulltextSearchAutoConfiguration {
+
+    private static final String FULLTEXT_IMPL_PROPERTY = "ohf.messages.fulltext.impl";
+
+    private static final String POSTGRESQL_CLASS_NAME
+            = "org.openhubframework.openhub.core.common.dao.MessageFulltextSearchPostgreSqlImpl";
+
+    private static final String H2_CLASS_NAME
+            = "org.openhubframework.openhub.core.common.dao.MessageFulltextSearchH2Impl";
+
+    @AutoConfiguration
+    @ConditionalOnProperty(name = FULLTEXT_IMPL_PROPERTY, havingValue = POSTGRESQL_CLASS_NAME)
+    public static class PostgreSqlConfiguration {
+
+        @Bean
+        public MessageFulltextSearchPostgreSqlImpl postgreSqlMessageFulltextSearch() {
+            return new MessageFulltextSearchPostgreSqlImpl();
+        }
+    }
+
+    @AutoConfiguration
+    @ConditionalOnProperty(name = FULLTEXT_IMPL_PROPERTY, havingValue = H2_CLASS_NAME)
+    public static class H2Configuration {
+
+        @Bean
+        public MessageFulltextSearchH2Impl h2MessageFulltextSearch(@OpenHub DataSource dataSource) {
+            return new MessageFulltextSearchH2Impl(dataSource);
+        }
+    }
+}
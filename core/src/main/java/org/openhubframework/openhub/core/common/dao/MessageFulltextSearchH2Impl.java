@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.dao;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.util.Assert;
+
+
+/**
+ * Implementation of {@link MessageFulltextSearch} for H2, it uses native H2 full-text search
+ * ({@code org.h2.fulltext.FullText}) over message envelope and payload.
+ * <p>
+ * Full-text index is created by the first search if it doesn't exist yet (existing messages are
+ * indexed, database schema must be already migrated), then it's maintained by database triggers.
+ * H2 doesn't rank results.
+ *
+ * @since 2.2
+ */
+public class MessageFulltextSearchH2Impl implements MessageFulltextSearch {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MessageFulltextSearchH2Impl.class);
+
+    private static final String TABLE = "MESSAGE";
+
+    private static final String COLUMNS = "ENVELOPE,PAYLOAD";
+
+    private final JdbcTemplate template;
+
+    private volatile boolean initialized;
+
+    /**
+     * Creates new search.
+     *
+     * @param dataSource the OpenHub data source
+     */
+    public MessageFulltextSearchH2Impl(DataSource dataSource) {
+        Assert.notNull(dataSource, "the dataSource must not be null");
+
+        this.template = new JdbcTemplate(dataSource);
+    }
+
+    /**
+     * Initializes H2 full-text search and creates index of messages if it doesn't exist.
+     */
+    private synchronized void initIndex() {
+        if (initialized) {
+            return;
+        }
+
+        template.execute("CREATE ALIAS IF NOT EXISTS FT_INIT FOR \"org.h2.fulltext.FullText.init\"");
+        template.execute("CALL FT_INIT()");
+
+        String schema = template.queryForObject("SELECT SCHEMA()", String.class);
+        Integer count = template.queryForObject("SELECT COUNT(*) FROM FT.INDEXES WHERE SCHEMA = ? AND TABLE = ?",
+                Integer.class, schema, TABLE);
+        if (count == null || count == 0) {
+            template.update("CALL FT_CREATE_INDEX(?, ?, ?)", schema, TABLE, COLUMNS);
+
+            LOG.info("Full-text index of messages was created in schema '{}'", schema);
+        }
+        initialized = true;
+    }
+
+    @Override
+    public String getCondition(String alias, String placeholder) {
+        if (!initialized) {
+            initIndex();
+        }
+
+        // keys of found rows are primary keys of messages (all found rows, limit 0)
+        return alias + ".msg_id IN (SELECT CAST(ARRAY_GET(ft.KEYS, 1) AS BIGINT)"
+                + " FROM FT_SEARCH_DATA(:" + placeholder + ", 0, 0) ft WHERE ft.TABLE = '" + TABLE + "')";
+    }
+
+    @Nullable
+    @Override
+    public String getRankExpression(String alias, String placeholder) {
+        return null;
+    }
+}
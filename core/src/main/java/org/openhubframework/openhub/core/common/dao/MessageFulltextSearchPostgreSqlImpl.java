@@ -0,0 +1,51 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.dao;
+
+
+/**
+ * Implementation of {@link MessageFulltextSearch} for PostgreSQL, it uses GIN index over {@code tsvector}
+ * of message envelope (or payload if there is no envelope) created by migration, results are ranked by
+ * {@code ts_rank}.
+ * <p>
+ * Note: the expression in the condition must be the same as the expression of the index.
+ *
+ * @since 2.2
+ */
+public class MessageFulltextSearchPostgreSqlImpl implements MessageFulltextSearch {
+
+    @Override
+    public String getCondition(String alias, String placeholder) {
+        return getDocument(alias) + " @@ " + getQuery(placeholder);
+    }
+
+    @Override
+    public String getRankExpression(String alias, String placeholder) {
+        return "ts_rank(" + getDocument(alias) + ", " + getQuery(placeholder) + ")";
+    }
+
+    /**
+     * Gets indexed document, only the beginning of huge messages is indexed because of tsvector size limit.
+     */
+    private static String getDocument(String alias) {
+        return "to_tsvector('simple', left(coalesce(" + alias + ".envelope, " + alias + ".payload), 100000))";
+    }
+
+    private static String getQuery(String placeholder) {
+        return "plainto_tsquery('simple', :" + placeholder + ")";
+    }
+}
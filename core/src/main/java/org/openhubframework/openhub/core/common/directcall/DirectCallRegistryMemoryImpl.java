@@ -16,46 +16,44 @@
 
 package org.openhubframework.openhub.core.common.directcall;
 
-import java.time.Instant;
-import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
-
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import org.openhubframework.openhub.common.collection.ExpiringMap;
+
 
 /**
  * Memory implementation of {@link DirectCallRegistry} interface.
+ * <p>
+ * Params are removed automatically after {@value #OLD_PARAMS_INTERVAL_MS} ms, see {@link ExpiringMap}.
  *
  * @author Petr Juza
  */
 @Service
+@ManagedResource(objectName = "org.openhubframework.openhub.core.monitoring:name=DirectCallRegistry",
+        description = "Registry of direct call parameters")
 public class DirectCallRegistryMemoryImpl implements DirectCallRegistry {
 
     private static final Logger LOG = LoggerFactory.getLogger(DirectCallRegistryMemoryImpl.class);
 
     private static final int OLD_PARAMS_INTERVAL_MS = 60 * 1000;
 
-    private Map<String, DirectCallParams> registry = new ConcurrentHashMap<String, DirectCallParams>();
+    private final ExpiringMap<String, DirectCallParams> registry = new ExpiringMap<>(OLD_PARAMS_INTERVAL_MS);
 
     @Override
     public void addParams(String callId, DirectCallParams params) {
         Assert.hasText(callId, "the callId must not be empty");
         Assert.notNull(params, "the params must not be null");
 
-        if (registry.get(callId) != null) {
+        if (registry.putIfAbsent(callId, params) != null) {
             throw new IllegalStateException("there are already call params with call ID = " + callId);
         }
 
-        registry.put(callId, params);
-
         LOG.debug("Call params with callId=" + callId + " added to registry: " + params);
-
-        removeOldParams();
     }
 
     @Override
@@ -76,24 +74,13 @@ public class DirectCallRegistryMemoryImpl implements DirectCallRegistry {
         }
     }
 
-    /**
-     * Removes old params.
-     */
-    private void removeOldParams() {
-        Instant threshold = Instant.now().minusMillis(OLD_PARAMS_INTERVAL_MS);
-
-        Set<String> removes = new HashSet<String>();
-
-        // find old params
-        for (Map.Entry<String, DirectCallParams> en : registry.entrySet()) {
-            if (en.getValue().getCreationTimestamp().isBefore(threshold)) {
-                removes.add(en.getKey());
-            }
-        }
+    @ManagedAttribute(description = "Count of call params in the registry")
+    public int getSize() {
+        return registry.size();
+    }
 
-        // remove old params
-        for (String callId : removes) {
-            removeParams(callId);
-        }
+    @ManagedAttribute(description = "Count of call params removed because of expiration")
+    public long getExpiredCount() {
+        return registry.getExpiredCount();
     }
 }
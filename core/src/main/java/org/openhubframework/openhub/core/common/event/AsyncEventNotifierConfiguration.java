@@ -0,0 +1,42 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.event;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import org.openhubframework.openhub.api.configuration.CoreProps;
+
+
+/**
+ * Configuration of asynchronous delivery of events, replaces default {@link AsyncEventNotifierImpl}
+ * with {@link AsyncEventNotifierRingBufferImpl}.
+ *
+ * @since 2.2
+ */
+@Configuration
+@ConditionalOnProperty(value = CoreProps.ASYNCH_EVENTS_ASYNC_DISPATCH_ENABLED)
+@EnableConfigurationProperties(AsyncEventNotifierProperties.class)
+public class AsyncEventNotifierConfiguration {
+
+    @Bean
+    public AsyncEventNotifierRingBufferImpl asyncEventNotifier(AsyncEventNotifierProperties properties) {
+        return new AsyncEventNotifierRingBufferImpl(properties);
+    }
+}
@@ -17,17 +17,23 @@
 package org.openhubframework.openhub.core.common.event;
 
 import org.apache.camel.Exchange;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
+import org.openhubframework.openhub.api.configuration.CoreProps;
 import org.openhubframework.openhub.spi.AsyncEventNotifier;
 
 
 /**
- * Implementation of {@link AsyncEventNotifier}.
+ * Implementation of {@link AsyncEventNotifier}, events are delivered synchronously in the caller thread.
+ * <p>
+ * This implementation isn't used when asynchronous delivery is enabled, see {@link AsyncEventNotifierConfiguration}.
  *
  * @author Petr Juza
  */
 @Service
+@ConditionalOnProperty(value = CoreProps.ASYNCH_EVENTS_ASYNC_DISPATCH_ENABLED, havingValue = "false",
+        matchIfMissing = true)
 public class AsyncEventNotifierImpl implements AsyncEventNotifier {
 
     @Override
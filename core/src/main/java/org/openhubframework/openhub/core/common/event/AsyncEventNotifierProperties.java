@@ -0,0 +1,113 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.event;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import org.openhubframework.openhub.common.OpenHubPropertyConstants;
+
+
+/**
+ * Configuration properties for asynchronous (off-thread) delivery of asynch. message events.
+ *
+ * @since 2.2
+ * @see AsyncEventNotifierRingBufferImpl
+ */
+@ConfigurationProperties(OpenHubPropertyConstants.PREFIX + "asynch.events.asyncDispatch")
+public class AsyncEventNotifierProperties {
+
+    /**
+     * Behaviour when the lag of event notifier exceeds the buffer size.
+     */
+    public enum OverflowPolicy {
+
+        /**
+         * New event is dropped, message processing continues without delay.
+         */
+        DROP,
+
+        /**
+         * Message processing waits until the notifier consumes older events.
+         */
+        BLOCK
+    }
+
+    /**
+     * Enables asynchronous delivery of events.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Size of the buffer per event notifier (maximum lag), rounded up to the power of two.
+     */
+    private int bufferSize = 1024;
+
+    /**
+     * Maximum count of events delivered to event notifier in one batch.
+     */
+    private int batchSize = 64;
+
+    /**
+     * Behaviour when the buffer is full.
+     */
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+    /**
+     * Maximum time (in milliseconds) to wait for delivery of remaining events during shutdown.
+     */
+    private long shutdownTimeoutMillis = 5000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public long getShutdownTimeoutMillis() {
+        return shutdownTimeoutMillis;
+    }
+
+    public void setShutdownTimeoutMillis(long shutdownTimeoutMillis) {
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.event;
+
+import java.util.EventObject;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.spi.EventNotifier;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.spi.AsyncEventNotifier;
+
+
+/**
+ * Implementation of {@link AsyncEventNotifier} that delivers events to Camel event notifiers off the processing thread.
+ * <p>
+ * Events are still created by {@link AsynchEventFactory} on the caller thread (they are the same as created by
+ * {@link AsyncEventNotifierImpl}), but they are published into {@link EventNotifierLane lane} of each notifier
+ * and delivered in batches by lane's consumer thread.
+ * <p>
+ * Note: listeners receive events later than the state was changed, the exchange and message in the event
+ * can be already changed by next processing.
+ *
+ * @since 2.2
+ * @see AsyncEventNotifierProperties
+ */
+@ManagedResource(objectName = "org.openhubframework.openhub.core.monitoring:name=AsyncEventNotifier",
+        description = "Asynchronous delivery of asynch. message events")
+public class AsyncEventNotifierRingBufferImpl implements AsyncEventNotifier, DisposableBean {
+
+    private static final String THREAD_NAME_PREFIX = "ohf-event-notifier-";
+
+    private final AsyncEventNotifierProperties properties;
+
+    private final Map<EventNotifier, EventNotifierLane> lanes = new ConcurrentHashMap<>();
+
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    /**
+     * Creates new notifier.
+     *
+     * @param properties the configuration
+     */
+    public AsyncEventNotifierRingBufferImpl(AsyncEventNotifierProperties properties) {
+        Assert.notNull(properties, "the properties must not be null");
+
+        this.properties = properties;
+    }
+
+    @Override
+    public void notifyMsgCompleted(Exchange exchange) {
+        publish(exchange, AsynchEventHelper.COMPLETED_CALLBACK);
+    }
+
+    @Override
+    public void notifyMsgPartlyFailed(Exchange exchange) {
+        publish(exchange, AsynchEventHelper.PARTLY_FAILED_CALLBACK);
+    }
+
+    @Override
+    public void notifyMsgFailed(Exchange exchange) {
+        publish(exchange, AsynchEventHelper.FAILED_CALLBACK);
+    }
+
+    @Override
+    public void notifyMsgWaiting(Exchange exchange) {
+        publish(exchange, AsynchEventHelper.WAITING_CALLBACK);
+    }
+
+    @Override
+    public void notifyMsgProcessing(Exchange exchange) {
+        publish(exchange, AsynchEventHelper.PROCESSING_CALLBACK);
+    }
+
+    @Override
+    public void notifyMsgPostponed(Exchange exchange) {
+        publish(exchange, AsynchEventHelper.POSTPONED_CALLBACK);
+    }
+
+    /**
+     * Publishes new events for all interested event notifiers.
+     *
+     * @param exchange the exchange
+     * @param callback the callback contract for creating new events
+     */
+    void publish(Exchange exchange, EventNotifierCallback callback) {
+        for (EventNotifier notifier : AsynchEventHelper.getEventNotifiers(exchange)) {
+            if (callback.ignore(notifier)) {
+                continue;
+            }
+
+            // we want to have new event instance for all notifiers
+            EventObject event = callback.createEvent(exchange);
+
+            getLane(notifier).publish(event);
+        }
+    }
+
+    private EventNotifierLane getLane(EventNotifier notifier) {
+        EventNotifierLane lane = lanes.get(notifier);
+        if (lane == null) {
+            lane = lanes.computeIfAbsent(notifier, n -> new EventNotifierLane(n, properties,
+                    THREAD_NAME_PREFIX + threadCounter.incrementAndGet()));
+        }
+
+        return lane;
+    }
+
+    @Override
+    public void destroy() {
+        for (EventNotifierLane lane : lanes.values()) {
+            lane.stop(properties.getShutdownTimeoutMillis());
+        }
+        lanes.clear();
+    }
+
+    @ManagedAttribute(description = "Count of events published but not delivered yet (sum of all notifiers)")
+    public long getLag() {
+        return lanes.values().stream().mapToLong(EventNotifierLane::getLag).sum();
+    }
+
+    @ManagedAttribute(description = "Maximum observed lag of single notifier")
+    public long getMaxLag() {
+        return lanes.values().stream().mapToLong(EventNotifierLane::getMaxLag).max().orElse(0);
+    }
+
+    @ManagedAttribute(description = "Lag of each notifier")
+    public Map<String, Long> getLagPerNotifier() {
+        Map<String, Long> result = new ConcurrentHashMap<>();
+        for (EventNotifierLane lane : lanes.values()) {
+            result.merge(lane.getNotifier().toString(), lane.getLag(), Long::sum);
+        }
+        return result;
+    }
+
+    @ManagedAttribute(description = "Count of published events")
+    public long getPublishedCount() {
+        return lanes.values().stream().mapToLong(EventNotifierLane::getPublishedCount).sum();
+    }
+
+    @ManagedAttribute(description = "Count of delivered events")
+    public long getDeliveredCount() {
+        return lanes.values().stream().mapToLong(EventNotifierLane::getDeliveredCount).sum();
+    }
+
+    @ManagedAttribute(description = "Count of dropped events (buffer was full)")
+    public long getDroppedCount() {
+        return lanes.values().stream().mapToLong(EventNotifierLane::getDroppedCount).sum();
+    }
+}
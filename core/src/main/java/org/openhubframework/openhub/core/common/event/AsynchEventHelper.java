@@ -16,6 +16,7 @@
 
 package org.openhubframework.openhub.core.common.event;
 
+import java.util.Collections;
 import java.util.EventObject;
 import java.util.List;
 
@@ -42,91 +43,121 @@ public final class AsynchEventHelper {
 
     private static final AsynchEventFactory factory = new DefaultAsynchEventFactory();
 
+    /**
+     * Callback for {@link org.openhubframework.openhub.api.event.CompletedMsgAsynchEvent}.
+     */
+    static final EventNotifierCallback COMPLETED_CALLBACK = new EventNotifierCallback() {
+        @Override
+        public boolean ignore(EventNotifier notifier) {
+            return notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeCompletedEvent();
+        }
+
+        @Override
+        public AbstractAsynchEvent createEvent(Exchange exchange) {
+            return factory.createCompletedMsgEvent(exchange);
+        }
+    };
+
+    /**
+     * Callback for {@link org.openhubframework.openhub.api.event.PartlyFailedMsgAsynchEvent}.
+     */
+    static final EventNotifierCallback PARTLY_FAILED_CALLBACK = new EventNotifierCallback() {
+        @Override
+        public boolean ignore(EventNotifier notifier) {
+            return notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeFailedEvents();
+        }
+
+        @Override
+        public AbstractAsynchEvent createEvent(Exchange exchange) {
+            return factory.createPartlyFailedMsgEvent(exchange);
+        }
+    };
+
+    /**
+     * Callback for {@link org.openhubframework.openhub.api.event.FailedMsgAsynchEvent}.
+     */
+    static final EventNotifierCallback FAILED_CALLBACK = new EventNotifierCallback() {
+        @Override
+        public boolean ignore(EventNotifier notifier) {
+            return notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeFailedEvents();
+        }
+
+        @Override
+        public AbstractAsynchEvent createEvent(Exchange exchange) {
+            return factory.createFailedMsgEvent(exchange);
+        }
+    };
+
+    /**
+     * Callback for {@link org.openhubframework.openhub.api.event.WaitingMsgAsynchEvent}.
+     */
+    static final EventNotifierCallback WAITING_CALLBACK = new EventNotifierCallback() {
+        @Override
+        public boolean ignore(EventNotifier notifier) {
+            return notifier.isIgnoreExchangeEvents();
+        }
+
+        @Override
+        public AbstractAsynchEvent createEvent(Exchange exchange) {
+            return factory.createWaitingMsgEvent(exchange);
+        }
+    };
+
+    /**
+     * Callback for {@link org.openhubframework.openhub.api.event.ProcessingMsgAsynchEvent}.
+     */
+    static final EventNotifierCallback PROCESSING_CALLBACK = new EventNotifierCallback() {
+        @Override
+        public boolean ignore(EventNotifier notifier) {
+            return notifier.isIgnoreExchangeEvents();
+        }
+
+        @Override
+        public AbstractAsynchEvent createEvent(Exchange exchange) {
+            return factory.createProcessingMsgEvent(exchange);
+        }
+    };
+
+    /**
+     * Callback for {@link org.openhubframework.openhub.api.event.PostponedMsgAsynchEvent}.
+     */
+    static final EventNotifierCallback POSTPONED_CALLBACK = new EventNotifierCallback() {
+        @Override
+        public boolean ignore(EventNotifier notifier) {
+            return notifier.isIgnoreExchangeEvents();
+        }
+
+        @Override
+        public AbstractAsynchEvent createEvent(Exchange exchange) {
+            return factory.createPostponedMsgEvent(exchange);
+        }
+    };
+
     private AsynchEventHelper() {
     }
 
     public static void notifyMsgCompleted(Exchange exchange) {
-        notifyMsg(exchange, new EventNotifierCallback() {
-            @Override
-            public boolean ignore(EventNotifier notifier) {
-                return notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeCompletedEvent();
-            }
-
-            @Override
-            public AbstractAsynchEvent createEvent(Exchange exchange) {
-                return factory.createCompletedMsgEvent(exchange);
-            }
-        });
+        notifyMsg(exchange, COMPLETED_CALLBACK);
     }
 
     public static void notifyMsgPartlyFailed(Exchange exchange) {
-        notifyMsg(exchange, new EventNotifierCallback() {
-            @Override
-            public boolean ignore(EventNotifier notifier) {
-                return notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeFailedEvents();
-            }
-
-            @Override
-            public AbstractAsynchEvent createEvent(Exchange exchange) {
-                return factory.createPartlyFailedMsgEvent(exchange);
-            }
-        });
+        notifyMsg(exchange, PARTLY_FAILED_CALLBACK);
     }
 
     public static void notifyMsgFailed(Exchange exchange) {
-        notifyMsg(exchange, new EventNotifierCallback() {
-            @Override
-            public boolean ignore(EventNotifier notifier) {
-                return notifier.isIgnoreExchangeEvents() || notifier.isIgnoreExchangeFailedEvents();
-            }
-
-            @Override
-            public AbstractAsynchEvent createEvent(Exchange exchange) {
-                return factory.createFailedMsgEvent(exchange);
-            }
-        });
+        notifyMsg(exchange, FAILED_CALLBACK);
     }
 
     public static void notifyMsgWaiting(Exchange exchange) {
-        notifyMsg(exchange, new EventNotifierCallback() {
-            @Override
-            public boolean ignore(EventNotifier notifier) {
-                return notifier.isIgnoreExchangeEvents();
-            }
-
-            @Override
-            public AbstractAsynchEvent createEvent(Exchange exchange) {
-                return factory.createWaitingMsgEvent(exchange);
-            }
-        });
+        notifyMsg(exchange, WAITING_CALLBACK);
     }
 
     public static void notifyMsgProcessing(Exchange exchange) {
-        notifyMsg(exchange, new EventNotifierCallback() {
-            @Override
-            public boolean ignore(EventNotifier notifier) {
-                return notifier.isIgnoreExchangeEvents();
-            }
-
-            @Override
-            public AbstractAsynchEvent createEvent(Exchange exchange) {
-                return factory.createProcessingMsgEvent(exchange);
-            }
-        });
+        notifyMsg(exchange, PROCESSING_CALLBACK);
     }
 
     public static void notifyMsgPostponed(Exchange exchange) {
-        notifyMsg(exchange, new EventNotifierCallback() {
-            @Override
-            public boolean ignore(EventNotifier notifier) {
-                return notifier.isIgnoreExchangeEvents();
-            }
-
-            @Override
-            public AbstractAsynchEvent createEvent(Exchange exchange) {
-                return factory.createPostponedMsgEvent(exchange);
-            }
-        });
+        notifyMsg(exchange, POSTPONED_CALLBACK);
     }
 
     /**
@@ -136,38 +167,54 @@ public final class AsynchEventHelper {
      * @param callback the callback contract for creating new events.
      */
     public static void notifyMsg(Exchange exchange, EventNotifierCallback callback) {
+        for (EventNotifier notifier : getEventNotifiers(exchange)) {
+            if (callback.ignore(notifier)) {
+                continue;
+            }
+
+            // we want to have new event instance for all notifiers
+            EventObject event = callback.createEvent(exchange);
+
+            doNotifyEvent(notifier, event);
+        }
+    }
+
+    /**
+     * Gets event notifiers which should be notified about events of specified exchange.
+     *
+     * @param exchange the exchange
+     * @return event notifiers, empty list if there is no notifier or the exchange is notify event itself
+     */
+    static List<EventNotifier> getEventNotifiers(Exchange exchange) {
         Assert.notNull(exchange, "the exchange must not be null");
 
         if (exchange.getProperty(Exchange.NOTIFY_EVENT, false, Boolean.class)) {
             // do not generate events for an notify event
-            return;
+            return Collections.emptyList();
         }
 
         CamelContext context = exchange.getContext();
 
         ManagementStrategy management = context.getManagementStrategy();
         if (management == null) {
-            return;
+            return Collections.emptyList();
         }
 
         List<EventNotifier> notifiers = management.getEventNotifiers();
-        if (notifiers == null || notifiers.isEmpty()) {
-            return;
+        if (notifiers == null) {
+            return Collections.emptyList();
         }
 
-        for (EventNotifier notifier : notifiers) {
-            if (callback.ignore(notifier)) {
-                continue;
-            }
-
-            // we want to have new event instance for all notifiers
-            EventObject event = callback.createEvent(exchange);
-
-            doNotifyEvent(notifier, event);
-        }
+        return notifiers;
     }
 
-    private static void doNotifyEvent(EventNotifier notifier, EventObject event) {
+    /**
+     * Notifies specified event notifier if it's started and enabled for the event.
+     *
+     * @param notifier the event notifier
+     * @param event the event
+     */
+    static void doNotifyEvent(EventNotifier notifier, EventObject event) {
         // only notify if notifier is started
         boolean started = true;
         if (notifier instanceof StatefulService) {
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.event;
+
+import java.util.ArrayList;
+import java.util.EventObject;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.camel.spi.EventNotifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.core.common.event.AsyncEventNotifierProperties.OverflowPolicy;
+
+
+/**
+ * Delivery lane of events for one {@link EventNotifier}.
+ * <p>
+ * Events are published into own {@link MpscEventRingBuffer} and delivered in batches by dedicated consumer thread,
+ * so slow notifier delays neither message processing nor other notifiers.
+ * The capacity of the buffer is the maximum lag of the notifier, the behaviour when it's exceeded
+ * is defined by {@link OverflowPolicy}.
+ *
+ * @since 2.2
+ */
+final class EventNotifierLane implements Runnable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EventNotifierLane.class);
+
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private final EventNotifier notifier;
+
+    private final MpscEventRingBuffer<EventObject> ringBuffer;
+
+    private final int batchSize;
+
+    private final OverflowPolicy overflowPolicy;
+
+    private final Thread consumer;
+
+    private final AtomicLong publishedCount = new AtomicLong();
+
+    private final AtomicLong deliveredCount = new AtomicLong();
+
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    private volatile long maxLag;
+
+    private volatile boolean consumerParked;
+
+    private volatile boolean running = true;
+
+    /**
+     * Creates new lane and starts its consumer thread.
+     *
+     * @param notifier the event notifier
+     * @param properties the configuration
+     * @param threadName the name of consumer thread
+     */
+    EventNotifierLane(EventNotifier notifier, AsyncEventNotifierProperties properties, String threadName) {
+        Assert.notNull(notifier, "the notifier must not be null");
+        Assert.notNull(properties, "the properties must not be null");
+        Assert.isTrue(properties.getBatchSize() > 0, "the batchSize must be positive");
+
+        this.notifier = notifier;
+        this.ringBuffer = new MpscEventRingBuffer<>(properties.getBufferSize());
+        this.batchSize = properties.getBatchSize();
+        this.overflowPolicy = properties.getOverflowPolicy();
+
+        this.consumer = new Thread(this, threadName);
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+
+    /**
+     * Publishes event for asynchronous delivery.
+     *
+     * @param event the event
+     * @return {@code true} if event was accepted, {@code false} if it was dropped
+     */
+    boolean publish(EventObject event) {
+        if (Thread.currentThread() == consumer) {
+            // event raised by the notifier itself => blocking would cause deadlock
+            AsynchEventHelper.doNotifyEvent(notifier, event);
+            return true;
+        }
+
+        while (!ringBuffer.offer(event)) {
+            if (overflowPolicy == OverflowPolicy.DROP || !running) {
+                droppedCount.incrementAndGet();
+                LOG.debug("Event {} was dropped, the lag of notifier {} exceeds {} events", event,
+                        notifier.getClass().getName(), ringBuffer.capacity());
+                return false;
+            }
+
+            // BLOCK policy => wait for the consumer
+            wakeUpConsumer();
+            LockSupport.parkNanos(FULL_PARK_NANOS);
+        }
+
+        publishedCount.incrementAndGet();
+
+        long lag = ringBuffer.size();
+        if (lag > maxLag) {
+            maxLag = lag;
+        }
+
+        if (consumerParked) {
+            wakeUpConsumer();
+        }
+
+        return true;
+    }
+
+    @Override
+    public void run() {
+        List<EventObject> batch = new ArrayList<>(batchSize);
+
+        while (running || ringBuffer.size() > 0) {
+            if (ringBuffer.drainTo(batch, batchSize) == 0) {
+                consumerParked = true;
+                // check again, producer could publish before the flag was set
+                if (ringBuffer.size() == 0 && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                consumerParked = false;
+                continue;
+            }
+
+            for (EventObject event : batch) {
+                AsynchEventHelper.doNotifyEvent(notifier, event);
+            }
+            deliveredCount.addAndGet(batch.size());
+            batch.clear();
+        }
+    }
+
+    /**
+     * Stops the consumer thread, already published events are delivered before.
+     *
+     * @param timeoutMillis the maximum time to wait for delivery of remaining events
+     */
+    void stop(long timeoutMillis) {
+        running = false;
+        wakeUpConsumer();
+
+        try {
+            consumer.join(timeoutMillis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (consumer.isAlive()) {
+            LOG.warn("Consumer thread of notifier {} wasn't stopped in {} ms, {} events remained undelivered",
+                    notifier.getClass().getName(), timeoutMillis, getLag());
+        }
+    }
+
+    private void wakeUpConsumer() {
+        LockSupport.unpark(consumer);
+    }
+
+    EventNotifier getNotifier() {
+        return notifier;
+    }
+
+    /**
+     * Gets count of events published but not delivered yet.
+     */
+    long getLag() {
+        return ringBuffer.size();
+    }
+
+    long getMaxLag() {
+        return maxLag;
+    }
+
+    long getPublishedCount() {
+        return publishedCount.get();
+    }
+
+    long getDeliveredCount() {
+        return deliveredCount.get();
+    }
+
+    long getDroppedCount() {
+        return droppedCount.get();
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.event;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.util.Assert;
+
+
+/**
+ * Bounded lock-free ring buffer for multiple producers and single consumer.
+ * <p>
+ * Producers claim slots by CAS on the tail sequence, every slot has own sequence number that says
+ * if the slot is free for writing or published for reading (Disruptor-style publishing).
+ * Only one thread is allowed to consume elements.
+ *
+ * @param <E> the type of elements
+ * @since 2.2
+ */
+final class MpscEventRingBuffer<E> {
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final AtomicReferenceArray<E> buffer;
+
+    private final AtomicLongArray sequences;
+
+    private final AtomicLong tail = new AtomicLong();
+
+    private final AtomicLong head = new AtomicLong();
+
+    /**
+     * Creates new ring buffer.
+     *
+     * @param requestedCapacity the requested capacity, rounded up to the power of two
+     */
+    MpscEventRingBuffer(int requestedCapacity) {
+        Assert.isTrue(requestedCapacity > 0, "the capacity must be positive");
+
+        this.capacity = requestedCapacity == 1 ? 1 : Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Inserts element if there is free slot.
+     *
+     * @param element the element
+     * @return {@code true} if element was inserted, {@code false} if the buffer is full
+     */
+    boolean offer(E element) {
+        Assert.notNull(element, "the element must not be null");
+
+        while (true) {
+            long seq = tail.get();
+            int index = (int) seq & mask;
+            long diff = sequences.get(index) - seq;
+
+            if (diff == 0) {
+                if (tail.compareAndSet(seq, seq + 1)) {
+                    buffer.lazySet(index, element);
+                    // publish slot for the consumer
+                    sequences.set(index, seq + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                // slot has not been consumed yet => full
+                return false;
+            }
+            // else other producer claimed the slot => try again
+        }
+    }
+
+    /**
+     * Takes next published element. Can be called from consumer thread only.
+     *
+     * @return element or {@code null} if there is no published element
+     */
+    E poll() {
+        long seq = head.get();
+        int index = (int) seq & mask;
+
+        if (sequences.get(index) != seq + 1) {
+            return null;
+        }
+
+        E element = buffer.get(index);
+        buffer.lazySet(index, null);
+        // release slot for producers (next round)
+        sequences.set(index, seq + capacity);
+        head.lazySet(seq + 1);
+
+        return element;
+    }
+
+    /**
+     * Moves published elements to specified list. Can be called from consumer thread only.
+     *
+     * @param batch the target list
+     * @param maxElements the maximum count of moved elements
+     * @return count of moved elements
+     */
+    int drainTo(List<? super E> batch, int maxElements) {
+        int count = 0;
+        E element;
+        while (count < maxElements && (element = poll()) != null) {
+            batch.add(element);
+            count++;
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets count of claimed but not consumed elements.
+     *
+     * @return count of elements
+     */
+    long size() {
+        return Math.max(0, tail.get() - head.get());
+    }
+
+    /**
+     * Gets real capacity of the buffer.
+     *
+     * @return capacity
+     */
+    int capacity() {
+        return capacity;
+    }
+}
@@ -16,7 +16,20 @@
 
 package org.openhubframework.openhub.core.common.extension;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.CamelContextAware;
@@ -37,6 +50,12 @@ import org.openhubframework.openhub.api.route.AbstractExtRoute;
  * <p>
  * If {@link #isAutoRouteAdding()} is true then route definitions which extends {@link AbstractExtRoute})
  * will be automatically added to {@link CamelContext}.
+ * <p>
+ * Extensions can declare dependencies on other extensions (see {@link #setExtensionDependencies(Map)}),
+ * extension contexts are always created in the dependency order.
+ * If {@link #isParallelLoading()} is true then independent extension contexts are refreshed concurrently
+ * by {@link #getLoadingThreads() bounded count of threads} and routes are added after all contexts are ready,
+ * in the dependency order.
  *
  * @author Petr Juza
  * @see ClassPathXmlApplicationContext
@@ -49,8 +68,18 @@ public abstract class AbstractExtensionConfigurationLoader implements Applicatio
 
     private CamelContext camelContext;
 
+    private static final String THREAD_NAME_PREFIX = "ohf-ext-loader-";
+
     private boolean autoRouteAdding = true;
 
+    private boolean parallelLoading = false;
+
+    private int loadingThreads = Runtime.getRuntime().availableProcessors();
+
+    private Map<String, Set<String>> extensionDependencies = Collections.emptyMap();
+
+    private final Map<String, Long> extensionLoadingTimes = Collections.synchronizedMap(new LinkedHashMap<>());
+
     /**
      * Creates new configuration loader.
      */
@@ -86,30 +115,98 @@ public abstract class AbstractExtensionConfigurationLoader implements Applicatio
             return;
         }
 
-        int count = 0;
-        for (String extConfigLocation : extConfigLocations) {
-            try {
-                loadExtension(extConfigLocation, ++count);
-            } catch (Exception ex) {
-                String msg = "error during extension configuration '" + extConfigLocation + "' loading";
+        List<String> orderedLocations = sortByDependencies(extConfigLocations);
 
-                LOG.error(msg, ex);
+        long start = System.currentTimeMillis();
+        if (parallelLoading && orderedLocations.size() > 1) {
+            loadExtensionsInParallel(orderedLocations);
+        } else {
+            int count = 0;
+            for (String extConfigLocation : orderedLocations) {
+                ClassPathXmlApplicationContext extContext = createExtensionContext(extConfigLocation, ++count);
+                addRoutes(extConfigLocation, extContext);
+            }
+        }
+
+        LOG.info("{} extension(s) loaded in {} ms (parallel loading: {}), loading times: {}",
+                orderedLocations.size(), System.currentTimeMillis() - start, parallelLoading,
+                getExtensionLoadingTimes());
+    }
 
-                throw new ExtensionConfigurationException(msg, ex);
+    /**
+     * Refreshes extension contexts concurrently, each context waits for contexts of its dependencies only.
+     * Routes are added to Camel context when all contexts are successfully refreshed.
+     *
+     * @param orderedLocations extension configuration locations sorted by dependencies
+     */
+    private void loadExtensionsInParallel(List<String> orderedLocations) {
+        final AtomicInteger threadCounter = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(loadingThreads, orderedLocations.size()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, THREAD_NAME_PREFIX + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+
+        try {
+            Map<String, CompletableFuture<ClassPathXmlApplicationContext>> futures = new HashMap<>();
+            int count = 0;
+            for (String extConfigLocation : orderedLocations) {
+                // dependencies are before in the list => their futures already exist
+                CompletableFuture<?>[] dependencies = getDependencies(extConfigLocation).stream()
+                        .map(futures::get)
+                        .toArray(CompletableFuture<?>[]::new);
+
+                final int extNumber = ++count;
+                futures.put(extConfigLocation, CompletableFuture.allOf(dependencies)
+                        .thenApplyAsync(v -> createExtensionContext(extConfigLocation, extNumber), executor));
             }
+
+            // routes are added in deterministic order
+            for (String extConfigLocation : orderedLocations) {
+                ClassPathXmlApplicationContext extContext;
+                try {
+                    extContext = futures.get(extConfigLocation).join();
+                } catch (CompletionException ex) {
+                    if (ex.getCause() instanceof ExtensionConfigurationException) {
+                        throw (ExtensionConfigurationException) ex.getCause();
+                    }
+                    throw new ExtensionConfigurationException("error during extension configuration '"
+                            + extConfigLocation + "' loading", ex.getCause());
+                }
+
+                addRoutes(extConfigLocation, extContext);
+            }
+        } finally {
+            executor.shutdownNow();
         }
     }
 
-    private void loadExtension(String extConfigLocation, int extNumber) throws Exception {
+    private ClassPathXmlApplicationContext createExtensionContext(String extConfigLocation, int extNumber) {
         LOG.debug("new extension context for '" + extConfigLocation + "' started ...");
 
-        ClassPathXmlApplicationContext extContext = new ClassPathXmlApplicationContext(parentContext);
-        extContext.setId("OpenHub extension nr. " + extNumber);
-        extContext.setDisplayName("OpenHub extension context for '" + extConfigLocation + '"');
-        extContext.setConfigLocation(extConfigLocation);
+        long start = System.currentTimeMillis();
+        try {
+            ClassPathXmlApplicationContext extContext = new ClassPathXmlApplicationContext(parentContext);
+            extContext.setId("OpenHub extension nr. " + extNumber);
+            extContext.setDisplayName("OpenHub extension context for '" + extConfigLocation + '"');
+            extContext.setConfigLocation(extConfigLocation);
+
+            extContext.refresh();
 
-        extContext.refresh();
+            long duration = System.currentTimeMillis() - start;
+            extensionLoadingTimes.put(extConfigLocation, duration);
 
+            LOG.debug("new extension context for '" + extConfigLocation + "' was successfully created in "
+                    + duration + " ms");
+
+            return extContext;
+        } catch (Exception ex) {
+            throw newLoadingException(extConfigLocation, ex);
+        }
+    }
+
+    private void addRoutes(String extConfigLocation, ClassPathXmlApplicationContext extContext) {
         // add routes into Camel context
         if (isAutoRouteAdding()) {
             Map<String, AbstractExtRoute> beansOfType = extContext.getBeansOfType(AbstractExtRoute.class);
@@ -118,11 +215,66 @@ public abstract class AbstractExtensionConfigurationLoader implements Applicatio
 
                 // note: route with existing route ID will override the previous one
                 //  it's not possible automatically change route ID before adding to Camel context
-                camelContext.addRoutes(route);
+                try {
+                    camelContext.addRoutes(route);
+                } catch (Exception ex) {
+                    throw newLoadingException(extConfigLocation, ex);
+                }
+            }
+        }
+    }
+
+    private static ExtensionConfigurationException newLoadingException(String extConfigLocation, Exception ex) {
+        String msg = "error during extension configuration '" + extConfigLocation + "' loading";
+
+        LOG.error(msg, ex);
+
+        return new ExtensionConfigurationException(msg, ex);
+    }
+
+    /**
+     * Sorts extension configuration locations topologically by their dependencies,
+     * independent extensions keep their original order.
+     *
+     * @param extConfigLocations extension configuration locations
+     * @return sorted locations
+     * @throws ExtensionConfigurationException when there is unknown dependency or cyclic dependency
+     */
+    private List<String> sortByDependencies(String... extConfigLocations) {
+        Set<String> remaining = new LinkedHashSet<>();
+        Collections.addAll(remaining, extConfigLocations);
+
+        for (String extConfigLocation : remaining) {
+            for (String dependency : getDependencies(extConfigLocation)) {
+                if (!remaining.contains(dependency)) {
+                    throw new ExtensionConfigurationException("extension '" + extConfigLocation
+                            + "' depends on unknown extension '" + dependency + "'", null);
+                }
+            }
+        }
+
+        List<String> result = new ArrayList<>(remaining.size());
+        while (!remaining.isEmpty()) {
+            boolean added = false;
+            for (String extConfigLocation : new ArrayList<>(remaining)) {
+                if (result.containsAll(getDependencies(extConfigLocation))) {
+                    result.add(extConfigLocation);
+                    remaining.remove(extConfigLocation);
+                    added = true;
+                }
+            }
+
+            if (!added) {
+                throw new ExtensionConfigurationException("cyclic dependency between extensions " + remaining, null);
             }
         }
 
-        LOG.debug("new extension context for '" + extConfigLocation + "' was successfully created");
+        return result;
+    }
+
+    private Set<String> getDependencies(String extConfigLocation) {
+        Set<String> dependencies = extensionDependencies.get(extConfigLocation);
+        return dependencies != null ? dependencies : Collections.emptySet();
     }
 
     /**
@@ -173,4 +325,73 @@ public abstract class AbstractExtensionConfigurationLoader implements Applicatio
     public void setAutoRouteAdding(boolean autoRouteAdding) {
         this.autoRouteAdding = autoRouteAdding;
     }
+
+    /**
+     * Returns whether extension contexts are refreshed concurrently.
+     *
+     * @return {@code true} for parallel loading, otherwise {@code false}
+     */
+    public boolean isParallelLoading() {
+        return parallelLoading;
+    }
+
+    /**
+     * Sets whether extension contexts are refreshed concurrently.
+     * Extensions with dependencies are refreshed after their dependencies anyway and routes are added
+     * after all contexts are ready.
+     * <p>Default value is {@code false}.
+     *
+     * @param parallelLoading {@code true} for parallel loading, otherwise {@code false}
+     */
+    public void setParallelLoading(boolean parallelLoading) {
+        this.parallelLoading = parallelLoading;
+    }
+
+    /**
+     * Returns maximum count of threads for parallel loading.
+     *
+     * @return count of threads
+     */
+    public int getLoadingThreads() {
+        return loadingThreads;
+    }
+
+    /**
+     * Sets maximum count of threads for parallel loading.
+     * <p>Default value is count of available processors.
+     *
+     * @param loadingThreads count of threads
+     */
+    public void setLoadingThreads(int loadingThreads) {
+        Assert.isTrue(loadingThreads > 0, "loadingThreads must be positive");
+
+        this.loadingThreads = loadingThreads;
+    }
+
+    /**
+     * Sets dependencies between extensions.
+     *
+     * @param extensionDependencies the map of extension configuration location to configuration locations
+     *      of extensions which must be loaded before
+     */
+    public void setExtensionDependencies(Map<String, ? extends Collection<String>> extensionDependencies) {
+        Assert.notNull(extensionDependencies, "extensionDependencies must not be null");
+
+        Map<String, Set<String>> dependencies = new HashMap<>();
+        for (Map.Entry<String, ? extends Collection<String>> entry : extensionDependencies.entrySet()) {
+            dependencies.put(entry.getKey(), new LinkedHashSet<>(entry.getValue()));
+        }
+        this.extensionDependencies = dependencies;
+    }
+
+    /**
+     * Returns how long (in milliseconds) took refreshing of each extension context.
+     *
+     * @return the map of extension configuration location to refresh time
+     */
+    public Map<String, Long> getExtensionLoadingTimes() {
+        synchronized (extensionLoadingTimes) {
+            return new LinkedHashMap<>(extensionLoadingTimes);
+        }
+    }
 }
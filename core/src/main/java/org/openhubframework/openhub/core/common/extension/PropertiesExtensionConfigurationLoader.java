@@ -16,8 +16,12 @@
 
 package org.openhubframework.openhub.core.common.extension;
 
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import javax.annotation.PostConstruct;
 
 import org.apache.commons.lang3.StringUtils;
@@ -28,12 +32,21 @@ import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import org.openhubframework.openhub.api.configuration.CoreProps;
 import org.openhubframework.openhub.common.Tools;
 
 
 /**
  * OpenHub extensions loader where extensions are defined in properties.
- * Relevant properties are with '{@value #PROPERTY_PREFIX}' prefix.
+ * Relevant properties are with '{@value #PROPERTY_PREFIX}' prefix, extensions are loaded in order
+ * of their property names.
+ * <p>
+ * Dependencies between extensions are defined by properties with
+ * '{@value CoreProps#EXTENSIONS_DEPENDS_ON_PREFIX}' prefix, for example
+ * {@code ohf.extensions.dependsOn.context.ext.crm = context.ext.core} means that extension defined by property
+ * {@code context.ext.crm} is loaded after extension defined by property {@code context.ext.core}.
+ * Parallel loading is configured by properties {@value CoreProps#EXTENSIONS_PARALLEL_LOADING}
+ * and {@value CoreProps#EXTENSIONS_LOADING_THREADS}.
  *
  * @author Petr Juza
  */
@@ -59,19 +72,44 @@ public class PropertiesExtensionConfigurationLoader extends AbstractExtensionCon
     private void initExtensions() {
         Assert.notNull(env, "env must not be null");
 
-        // gets extension config locations
-        Set<String> confLocations = new HashSet<String>();
+        // gets extension config locations (sorted by property names)
+        SortedMap<String, String> extensions = new TreeMap<String, String>();
 
         for (String propName : Tools.getAllKnownPropertyNames(env)) {
             if (propName.startsWith(PROPERTY_PREFIX)) {
                 String configLoc = env.getProperty(propName);
 
                 if (StringUtils.isNotEmpty(configLoc)) {
-                    confLocations.add(configLoc);
+                    extensions.put(propName, configLoc);
                 }
             }
         }
 
+        Set<String> confLocations = new LinkedHashSet<String>(extensions.values());
+
+        // gets dependencies between extensions
+        Map<String, Set<String>> dependencies = new HashMap<String, Set<String>>();
+        for (Map.Entry<String, String> extension : extensions.entrySet()) {
+            String[] dependsOn = env.getProperty(CoreProps.EXTENSIONS_DEPENDS_ON_PREFIX + extension.getKey(),
+                    String[].class, new String[0]);
+
+            for (String dependency : dependsOn) {
+                String dependencyLoc = extensions.get(StringUtils.trim(dependency));
+                if (dependencyLoc == null) {
+                    throw new ExtensionConfigurationException("extension '" + extension.getKey()
+                            + "' depends on unknown extension '" + dependency + "'", null);
+                }
+
+                dependencies.computeIfAbsent(extension.getValue(), k -> new LinkedHashSet<String>())
+                        .add(dependencyLoc);
+            }
+        }
+
+        setExtensionDependencies(dependencies);
+        setParallelLoading(env.getProperty(CoreProps.EXTENSIONS_PARALLEL_LOADING, Boolean.class, false));
+        setLoadingThreads(env.getProperty(CoreProps.EXTENSIONS_LOADING_THREADS, Integer.class,
+                getLoadingThreads()));
+
         // loads extension configuration
         loadExtensions(confLocations.toArray(new String[confLocations.size()]));
     }
@@ -30,6 +30,7 @@ import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
@@ -45,10 +46,15 @@ import org.openhubframework.openhub.api.file.OutputStreamWriterCallback;
 
 /**
  * Default implementation of {@link FileRepository} interface - files are stored in the file system.
+ * <p>
+ * It's used if no other implementation is selected by property
+ * '{@value FileRepositoryAutoConfiguration#FILE_REPOSITORY_IMPL_PROPERTY}', see {@link FileRepositoryAutoConfiguration}.
  *
  * @author Petr Juza
  */
 @Service
+@ConditionalOnProperty(name = FileRepositoryAutoConfiguration.FILE_REPOSITORY_IMPL_PROPERTY,
+        havingValue = FileRepositoryAutoConfiguration.DEFAULT_CLASS_NAME, matchIfMissing = true)
 public class DefaultFileRepository implements FileRepository {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultFileRepository.class);
@@ -114,7 +120,7 @@ public class DefaultFileRepository implements FileRepository {
         return fileId;
     }
 
-    private void assertDirs() {
+    protected void assertDirs() {
         if (tempDir == null || fileRepoDir == null) {
             throw new IllegalStateException("tempDir or fileRepoDir can't be null");
         }
@@ -182,6 +188,26 @@ public class DefaultFileRepository implements FileRepository {
         }
     }
 
+    /**
+     * Gets temporary directory where new files are stored.
+     *
+     * @return directory
+     * @since 2.2
+     */
+    protected File getTempDir() {
+        return tempDir;
+    }
+
+    /**
+     * Gets file repository directory where files are stored.
+     *
+     * @return directory
+     * @since 2.2
+     */
+    protected File getFileRepoDir() {
+        return fileRepoDir;
+    }
+
     /**
      * Gets file name that the file will be saved with.
      *
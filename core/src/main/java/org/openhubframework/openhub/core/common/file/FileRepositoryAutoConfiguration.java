@@ -0,0 +1,47 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.file;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+
+import org.openhubframework.openhub.common.AutoConfiguration;
+
+
+/**
+ * Configures {@link org.openhubframework.openhub.api.file.FileRepository} implementation.
+ * There is property '{@value #FILE_REPOSITORY_IMPL_PROPERTY}' that defines which built-in implementation will be used.
+ * If not defined then default {@link DefaultFileRepository} implementation is used.
+ *
+ * @since 2.2
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = FileRepositoryAutoConfiguration.FILE_REPOSITORY_IMPL_PROPERTY,
+        havingValue = FileRepositoryAutoConfiguration.NIO_CLASS_NAME)
+public class FileRepositoryAutoConfiguration {
+
+    static final String FILE_REPOSITORY_IMPL_PROPERTY = "ohf.fileRepository.impl";
+
+    static final String NIO_CLASS_NAME = "org.openhubframework.openhub.core.common.file.FileRepositoryNioImpl";
+
+    static final String DEFAULT_CLASS_NAME = "org.openhubframework.openhub.core.common.file.DefaultFileRepository";
+
+    @Bean
+    public FileRepositoryNioImpl nioFileRepository() {
+        return new FileRepositoryNioImpl();
+    }
+}
@@ -0,0 +1,294 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.file;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.api.exception.IntegrationException;
+import org.openhubframework.openhub.api.exception.InternalErrorEnum;
+import org.openhubframework.openhub.api.file.FileContentTypeExtEnum;
+import org.openhubframework.openhub.api.file.OutputStreamWriterCallback;
+import org.openhubframework.openhub.common.collection.ExpiringMap;
+
+
+/**
+ * Implementation of {@link org.openhubframework.openhub.api.file.FileRepository} interface
+ * built on {@link java.nio.file} API.
+ * <ul>
+ *     <li>temporary files are stored in sharded directories ({@code tempDir/ab/cd/abcd...})
+ *     so one directory doesn't hold all temporary files
+ *     <li>CRC32 checksum is computed during writing of the file and verified when the file must be copied
+ *     during commit
+ *     <li>files are committed by atomic move if possible (the same file system), otherwise the file is copied
+ *     by {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel) zero-copy transfer}
+ *     into temporary file in the target directory that is atomically renamed then
+ *     <li>existing target file is never replaced, commit fails (as in {@link DefaultFileRepository})
+ *     <li>content from channels can be saved by {@link #saveTempFile(ReadableByteChannel) zero-copy transfer}
+ * </ul>
+ *
+ * @since 2.2
+ * @see FileRepositoryAutoConfiguration
+ */
+public class FileRepositoryNioImpl extends DefaultFileRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FileRepositoryNioImpl.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final long TRANSFER_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private static final int SHARD_LEVELS = 2;
+
+    private static final int SHARD_LENGTH = 2;
+
+    private static final String PART_FILE_SUFFIX = ".part";
+
+    /**
+     * Checksums of temporary files saved by this node.
+     */
+    private final ExpiringMap<String, Long> checksums = new ExpiringMap<>(TimeUnit.HOURS.toMillis(1));
+
+    @Override
+    public String saveTempFile(OutputStreamWriterCallback writerCallback) {
+        Assert.notNull(writerCallback, "writerCallback must not be null");
+
+        assertDirs();
+
+        String fileId = getNewFileId();
+        Path targetFile = getTempFile(fileId);
+
+        try {
+            Files.createDirectories(targetFile.getParent());
+
+            CRC32 crc = new CRC32();
+            try (FileChannel channel = FileChannel.open(targetFile, CREATE_NEW, WRITE);
+                    OutputStream os = new CheckedOutputStream(
+                            new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE), crc)) {
+                writerCallback.writeTo(os);
+            }
+
+            checksums.putIfAbsent(fileId, crc.getValue());
+
+            LOG.debug("new file was successfully saved: {} (CRC32: {})", targetFile, crc.getValue());
+        } catch (IOException ex) {
+            LOG.error("error occurred during saving file " + targetFile, ex);
+            throw new IntegrationException(InternalErrorEnum.E115);
+        }
+
+        return fileId;
+    }
+
+    /**
+     * Saves temporary file in the repository, content is transferred from the channel without copying
+     * into JVM memory (if supported by OS).
+     * Checksum of the file is not computed.
+     *
+     * @param source the blocking channel with file content, the channel isn't closed
+     * @return new unique file identifier
+     */
+    public String saveTempFile(ReadableByteChannel source) {
+        Assert.notNull(source, "source must not be null");
+
+        assertDirs();
+
+        String fileId = getNewFileId();
+        Path targetFile = getTempFile(fileId);
+
+        try {
+            Files.createDirectories(targetFile.getParent());
+
+            try (FileChannel channel = FileChannel.open(targetFile, CREATE_NEW, WRITE)) {
+                long position = 0;
+                long count;
+                while ((count = channel.transferFrom(source, position, TRANSFER_CHUNK_SIZE)) > 0) {
+                    position += count;
+                }
+            }
+
+            LOG.debug("new file was successfully saved: {}", targetFile);
+        } catch (IOException ex) {
+            LOG.error("error occurred during saving file " + targetFile, ex);
+            throw new IntegrationException(InternalErrorEnum.E115);
+        }
+
+        return fileId;
+    }
+
+    @Override
+    public boolean isFileIdValid(String fileId) {
+        // file ID mustn't be path
+        if (StringUtils.isEmpty(fileId) || StringUtils.containsAny(fileId, '/', '\\', '.')) {
+            return false;
+        }
+
+        assertDirs();
+
+        return Files.isRegularFile(getTempFile(fileId));
+    }
+
+    @Override
+    public void commitFile(String fileId, String fileName, FileContentTypeExtEnum contentType, List<String> subFolders) {
+        Assert.hasText(fileId, "fileId must not be empty");
+        Assert.hasText(fileName, "fileName must not be empty");
+        Assert.notNull(subFolders, "subFolders must not be null");
+
+        assertDirs();
+
+        Path tmpFile = getTempFile(fileId);
+
+        // check file existence
+        if (!Files.isRegularFile(tmpFile) || !Files.isReadable(tmpFile)) {
+            String msg = "temp file " + tmpFile + " doesn't exist or can't be read";
+            LOG.error(msg);
+            throw new IntegrationException(InternalErrorEnum.E115, msg);
+        }
+
+        Path targetDir = getFileRepoDir().toPath().toAbsolutePath();
+        for (String subFolder : subFolders) {
+            targetDir = targetDir.resolve(subFolder);
+        }
+        targetDir = targetDir.normalize();
+        Path targetFile = targetDir.resolve(getFileName(fileName, contentType)).normalize();
+
+        try {
+            Files.createDirectories(targetDir);
+
+            // existing file is never replaced (as in default implementation), atomic move could replace it
+            assertNotExists(targetFile);
+            try {
+                Files.move(tmpFile, targetFile, ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                // different file systems
+                copyAndMove(tmpFile, targetFile, checksums.get(fileId));
+            }
+
+            LOG.debug("File (" + tmpFile + ") was successfully committed. New path: " + targetFile);
+        } catch (IOException ex) {
+            String msg = "error occurred during moving temp file " + tmpFile + " to target file - " + targetFile;
+            LOG.error(msg, ex);
+            throw new IntegrationException(InternalErrorEnum.E115, msg);
+        } finally {
+            checksums.remove(fileId);
+        }
+    }
+
+    /**
+     * Copies source file into temporary file in the target directory (and verifies checksum),
+     * then renames it to the target file and deletes source file.
+     */
+    private void copyAndMove(Path sourceFile, Path targetFile, @Nullable Long checksum) throws IOException {
+        Path partFile = targetFile.resolveSibling(targetFile.getFileName() + PART_FILE_SUFFIX);
+
+        try {
+            try (FileChannel in = FileChannel.open(sourceFile, READ);
+                    FileChannel out = FileChannel.open(partFile, CREATE, TRUNCATE_EXISTING, WRITE)) {
+                long size = in.size();
+                long position = 0;
+                while (position < size) {
+                    position += in.transferTo(position, Math.min(TRANSFER_CHUNK_SIZE, size - position), out);
+                }
+                out.force(true);
+            }
+
+            if (checksum != null && checksum != computeChecksum(partFile)) {
+                throw new IOException("checksum of copied file " + partFile + " doesn't match");
+            }
+
+            assertNotExists(targetFile);
+            try {
+                Files.move(partFile, targetFile, ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                // fails if the target file exists
+                Files.move(partFile, targetFile);
+            }
+        } finally {
+            Files.deleteIfExists(partFile);
+        }
+
+        Files.delete(sourceFile);
+    }
+
+    private static void assertNotExists(Path targetFile) throws FileAlreadyExistsException {
+        if (Files.exists(targetFile)) {
+            throw new FileAlreadyExistsException(targetFile.toString());
+        }
+    }
+
+    private static long computeChecksum(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream is = new CheckedInputStream(Files.newInputStream(file), crc)) {
+            while (is.read(buffer) >= 0) {
+                // only read
+            }
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * Gets CRC32 checksum of temporary file.
+     *
+     * @param fileId the file identifier
+     * @return checksum or {@code null} if checksum wasn't computed (or file was saved by other node)
+     */
+    @Nullable
+    public Long getChecksum(String fileId) {
+        return checksums.get(fileId);
+    }
+
+    /**
+     * Gets path to temporary file in sharded directory, e.g. {@code tempDir/ab/cd/abcdef...}.
+     *
+     * @param fileId the file identifier
+     * @return path
+     */
+    protected Path getTempFile(String fileId) {
+        Path dir = getTempDir().toPath();
+        for (int i = 0; i < SHARD_LEVELS && fileId.length() >= (i + 1) * SHARD_LENGTH; i++) {
+            dir = dir.resolve(fileId.substring(i * SHARD_LENGTH, (i + 1) * SHARD_LENGTH));
+        }
+        return dir.resolve(fileId);
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.route;
+
+import java.util.Arrays;
+import java.util.EventObject;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Route;
+import org.apache.camel.management.event.ExchangeSendingEvent;
+import org.apache.camel.model.FromDefinition;
+import org.apache.camel.model.ModelCamelContext;
+import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.apache.camel.support.EventNotifierSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.apache.camel.util.ServiceHelper;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.api.configuration.CoreProps;
+
+
+/**
+ * Activator of lazy routes - routes which are registered but not started with Camel context,
+ * they are started when the first message is sent to them.
+ * <p>
+ * Lazy routes are routes with ID matching the pattern (see {@link CoreProps#ROUTE_LAZY_START_PATTERN})
+ * and with input endpoint of internal component ({@value #SUPPORTED_COMPONENTS}) where the message is sent
+ * by Camel producer. Routes with other input endpoints (e.g. web services, timers) are started normally
+ * because there is no producer which could start them.
+ * <p>
+ * Only exchange sending events are handled, handling of all events is switched off when all lazy routes
+ * are started. Event notifier is internal object registered by the activator (only if there are lazy routes),
+ * the activator itself isn't {@link org.apache.camel.spi.EventNotifier} so it's not registered once more
+ * as Spring bean.
+ *
+ * @since 2.2
+ */
+@ManagedResource(objectName = "org.openhubframework.openhub.core.monitoring:name=LazyRouteActivator",
+        description = "Activator of lazily started routes")
+public class LazyRouteActivator implements CamelContextConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LazyRouteActivator.class);
+
+    private static final String SUPPORTED_COMPONENTS = "direct,direct-vm,seda,vm";
+
+    private static final Set<String> SUPPORTED_SCHEMES
+            = new HashSet<>(Arrays.asList(StringUtils.split(SUPPORTED_COMPONENTS, ",")));
+
+    private final Pattern routeIdPattern;
+
+    /**
+     * Not started lazy routes, endpoint key => route ID.
+     */
+    private final Map<String, String> lazyRoutes = new ConcurrentHashMap<>();
+
+    private final Set<String> lazyRouteIds = ConcurrentHashMap.newKeySet();
+
+    private final LazyRouteNotifier notifier = new LazyRouteNotifier();
+
+    private CamelContext camelContext;
+
+    /**
+     * Creates new activator.
+     *
+     * @param routeIdPattern the pattern of lazy route IDs
+     */
+    public LazyRouteActivator(Pattern routeIdPattern) {
+        Assert.notNull(routeIdPattern, "the routeIdPattern must not be null");
+
+        this.routeIdPattern = routeIdPattern;
+    }
+
+    @Override
+    public void beforeApplicationStart(CamelContext camelContext) {
+        this.camelContext = camelContext;
+
+        List<RouteDefinition> routeDefinitions = camelContext.adapt(ModelCamelContext.class).getRouteDefinitions();
+        for (RouteDefinition routeDef : routeDefinitions) {
+            if (isLazyRoute(routeDef)) {
+                routeDef.setAutoStartup(Boolean.FALSE.toString());
+                lazyRouteIds.add(routeDef.getId());
+            }
+        }
+
+        if (!lazyRouteIds.isEmpty()) {
+            camelContext.getManagementStrategy().addEventNotifier(notifier);
+            try {
+                ServiceHelper.startService(notifier);
+            } catch (Exception ex) {
+                throw ObjectHelper.wrapRuntimeCamelException(ex);
+            }
+        }
+    }
+
+    private boolean isLazyRoute(RouteDefinition routeDef) {
+        if (routeDef.getId() == null || !routeIdPattern.matcher(routeDef.getId()).matches()
+                || routeDef.getInputs().size() != 1 || Boolean.FALSE.toString().equals(routeDef.getAutoStartup())) {
+            return false;
+        }
+
+        FromDefinition input = routeDef.getInputs().get(0);
+        String uri = input.getUri() != null ? input.getUri() : input.getEndpointUri();
+        return uri != null && SUPPORTED_SCHEMES.contains(StringUtils.substringBefore(uri, ":"));
+    }
+
+    @Override
+    public void afterApplicationStart(CamelContext camelContext) {
+        for (String routeId : lazyRouteIds) {
+            Route route = camelContext.getRoute(routeId);
+            if (route != null) {
+                lazyRoutes.put(getEndpointKey(route.getEndpoint()), routeId);
+            }
+        }
+
+        if (!lazyRoutes.isEmpty()) {
+            LOG.info("{} route(s) will be started lazily: {}", lazyRoutes.size(), lazyRoutes.values());
+        } else {
+            notifier.setIgnoreExchangeEvents(true);
+        }
+    }
+
+    private synchronized void startRoute(String endpointKey) throws Exception {
+        // note: the route is removed after start, concurrent senders must wait until the route is started
+        String routeId = lazyRoutes.get(endpointKey);
+        if (routeId == null) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        camelContext.startRoute(routeId);
+        lazyRoutes.remove(endpointKey);
+
+        LOG.info("Lazy route '{}' was started in {} ms", routeId, System.currentTimeMillis() - start);
+
+        if (lazyRoutes.isEmpty()) {
+            notifier.setIgnoreExchangeEvents(true);
+        }
+    }
+
+    /**
+     * Gets endpoint key without options, the same endpoint can be referenced with different options.
+     */
+    private static String getEndpointKey(Endpoint endpoint) {
+        String uri = StringUtils.substringBefore(endpoint.getEndpointUri(), "?");
+        return StringUtils.replaceOnce(uri, "://", ":");
+    }
+
+    @ManagedAttribute(description = "IDs of lazy routes which are not started yet")
+    public Set<String> getNotStartedRouteIds() {
+        return new HashSet<>(lazyRoutes.values());
+    }
+
+    @ManagedAttribute(description = "IDs of all lazy routes")
+    public Set<String> getLazyRouteIds() {
+        return new HashSet<>(lazyRouteIds);
+    }
+
+    /**
+     * Event notifier that starts lazy route when the message is sent to its endpoint.
+     */
+    private class LazyRouteNotifier extends EventNotifierSupport {
+
+        private LazyRouteNotifier() {
+            // only sending events are interesting
+            setIgnoreCamelContextEvents(true);
+            setIgnoreRouteEvents(true);
+            setIgnoreServiceEvents(true);
+            setIgnoreExchangeCreatedEvent(true);
+            setIgnoreExchangeCompletedEvent(true);
+            setIgnoreExchangeFailedEvents(true);
+            setIgnoreExchangeRedeliveryEvents(true);
+            setIgnoreExchangeSentEvents(true);
+        }
+
+        @Override
+        public boolean isEnabled(EventObject event) {
+            return event instanceof ExchangeSendingEvent && !lazyRoutes.isEmpty();
+        }
+
+        @Override
+        public void notify(EventObject event) throws Exception {
+            String endpointKey = getEndpointKey(((ExchangeSendingEvent) event).getEndpoint());
+            if (lazyRoutes.containsKey(endpointKey)) {
+                startRoute(endpointKey);
+            }
+        }
+    }
+}
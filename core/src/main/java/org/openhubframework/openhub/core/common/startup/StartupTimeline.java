@@ -0,0 +1,273 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.startup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+import org.springframework.util.Assert;
+
+
+/**
+ * Timeline of application startup, contains phases of startup and initialization times of Spring beans.
+ * <p>
+ * Phases follow each other, new phase ends the previous one. Bean timings contain total time (including creation
+ * of dependencies) and self time (excluding creation of dependencies) of creation and initialization of each bean.
+ * Nothing is recorded after the timeline is {@link #finish() finished}.
+ *
+ * @since 2.2
+ * @see StartupTimelineListener
+ */
+public class StartupTimeline {
+
+    /**
+     * Name of the timeline bean.
+     */
+    public static final String BEAN_NAME = "startupTimeline";
+
+    private final long startMillis;
+
+    private final long startNanos;
+
+    private final List<Phase> phases = new ArrayList<>();
+
+    private final Queue<BeanTiming> beans = new ConcurrentLinkedQueue<>();
+
+    @Nullable
+    private String currentPhase;
+
+    private long currentPhaseStartNanos;
+
+    private volatile boolean finished;
+
+    private volatile long totalMillis;
+
+    /**
+     * Creates new timeline which starts now.
+     */
+    public StartupTimeline() {
+        this.startMillis = System.currentTimeMillis();
+        this.startNanos = System.nanoTime();
+    }
+
+    /**
+     * Starts new phase and ends the current one (if any).
+     *
+     * @param name the phase name
+     */
+    public synchronized void startPhase(String name) {
+        Assert.hasText(name, "the name must not be empty");
+
+        if (finished) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        endCurrentPhase(now);
+
+        currentPhase = name;
+        currentPhaseStartNanos = now;
+    }
+
+    /**
+     * Ends the current phase and finishes the timeline.
+     */
+    public synchronized void finish() {
+        if (finished) {
+            return;
+        }
+
+        long now = System.nanoTime();
+        endCurrentPhase(now);
+
+        totalMillis = TimeUnit.NANOSECONDS.toMillis(now - startNanos);
+        finished = true;
+    }
+
+    private void endCurrentPhase(long now) {
+        if (currentPhase != null) {
+            phases.add(new Phase(currentPhase, TimeUnit.NANOSECONDS.toMillis(currentPhaseStartNanos - startNanos),
+                    TimeUnit.NANOSECONDS.toMillis(now - currentPhaseStartNanos)));
+            currentPhase = null;
+        }
+    }
+
+    /**
+     * Records creation of one bean.
+     *
+     * @param beanName the bean name
+     * @param type the bean type
+     * @param totalNanos the total time including creation of dependencies
+     * @param selfNanos the time excluding creation of dependencies
+     */
+    public void recordBean(String beanName, String type, long totalNanos, long selfNanos) {
+        if (!finished) {
+            beans.add(new BeanTiming(beanName, type, totalNanos, selfNanos));
+        }
+    }
+
+    /**
+     * Returns {@code true} if the timeline is finished.
+     *
+     * @return {@code true} if finished, otherwise {@code false}
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    /**
+     * Gets the time when the timeline started.
+     *
+     * @return start time in milliseconds since the epoch
+     */
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * Gets total startup time.
+     *
+     * @return total time in milliseconds, 0 if the timeline is not finished yet
+     */
+    public long getTotalMillis() {
+        return totalMillis;
+    }
+
+    /**
+     * Gets finished phases in order of their start.
+     *
+     * @return list of phases
+     */
+    public synchronized List<Phase> getPhases() {
+        return Collections.unmodifiableList(new ArrayList<>(phases));
+    }
+
+    /**
+     * Gets count of recorded beans.
+     *
+     * @return count of beans
+     */
+    public int getBeanCount() {
+        return beans.size();
+    }
+
+    /**
+     * Gets beans with the longest self time.
+     *
+     * @param limit the maximum count of beans
+     * @return list of beans sorted by self time descending
+     */
+    public List<BeanTiming> getSlowestBeans(int limit) {
+        return beans.stream()
+                .sorted(Comparator.comparingLong(BeanTiming::getSelfNanos).reversed())
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * One phase of startup.
+     */
+    public static final class Phase {
+
+        private final String name;
+
+        private final long startOffsetMillis;
+
+        private final long durationMillis;
+
+        private Phase(String name, long startOffsetMillis, long durationMillis) {
+            this.name = name;
+            this.startOffsetMillis = startOffsetMillis;
+            this.durationMillis = durationMillis;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets start of the phase relative to start of the timeline.
+         *
+         * @return start offset in milliseconds
+         */
+        public long getStartOffsetMillis() {
+            return startOffsetMillis;
+        }
+
+        public long getDurationMillis() {
+            return durationMillis;
+        }
+
+        @Override
+        public String toString() {
+            return name + "=" + durationMillis + "ms";
+        }
+    }
+
+    /**
+     * Creation time of one bean.
+     */
+    public static final class BeanTiming {
+
+        private final String beanName;
+
+        private final String type;
+
+        private final long totalNanos;
+
+        private final long selfNanos;
+
+        private BeanTiming(String beanName, String type, long totalNanos, long selfNanos) {
+            this.beanName = beanName;
+            this.type = type;
+            this.totalNanos = totalNanos;
+            this.selfNanos = selfNanos;
+        }
+
+        public String getBeanName() {
+            return beanName;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public long getTotalMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(totalNanos);
+        }
+
+        public long getSelfMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(selfNanos);
+        }
+
+        long getSelfNanos() {
+            return selfNanos;
+        }
+
+        @Override
+        public String toString() {
+            return beanName + "=" + getSelfMillis() + "ms";
+        }
+    }
+}
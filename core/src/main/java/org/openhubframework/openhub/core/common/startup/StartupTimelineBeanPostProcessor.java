@@ -0,0 +1,107 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.startup;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.InstantiationAwareBeanPostProcessorAdapter;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+
+/**
+ * Bean post processor which measures creation and initialization time of each bean and records it
+ * into {@link StartupTimeline}.
+ * <p>
+ * Beans are created recursively (dependencies are created during creation of the bean) in one thread,
+ * so there is a stack of beans being created for each thread to subtract creation time of dependencies.
+ *
+ * @since 2.2
+ */
+class StartupTimelineBeanPostProcessor extends InstantiationAwareBeanPostProcessorAdapter {
+
+    private final StartupTimeline timeline;
+
+    private final ThreadLocal<Deque<BeanFrame>> beansInCreation = ThreadLocal.withInitial(ArrayDeque::new);
+
+    StartupTimelineBeanPostProcessor(StartupTimeline timeline) {
+        Assert.notNull(timeline, "the timeline must not be null");
+
+        this.timeline = timeline;
+    }
+
+    @Override
+    public Object postProcessBeforeInstantiation(Class<?> beanClass, String beanName) throws BeansException {
+        if (!timeline.isFinished()) {
+            beansInCreation.get().push(new BeanFrame(beanName, System.nanoTime()));
+        }
+        return null;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        Deque<BeanFrame> frames = beansInCreation.get();
+        if (frames.isEmpty()) {
+            return bean;
+        }
+
+        // note: it's called also for objects created by factory beans, these have no frame
+        BeanFrame frame = frames.peek();
+        if (!ObjectUtils.nullSafeEquals(frame.beanName, beanName)) {
+            if (frames.stream().noneMatch(f -> ObjectUtils.nullSafeEquals(f.beanName, beanName))) {
+                return bean;
+            }
+
+            // beans which failed during creation
+            while (!ObjectUtils.nullSafeEquals(frames.peek().beanName, beanName)) {
+                frames.pop();
+            }
+            frame = frames.peek();
+        }
+        frames.pop();
+
+        long totalNanos = System.nanoTime() - frame.startNanos;
+        if (!frames.isEmpty()) {
+            frames.peek().dependenciesNanos += totalNanos;
+        } else {
+            beansInCreation.remove();
+        }
+
+        timeline.recordBean(beanName, bean.getClass().getName(), totalNanos, totalNanos - frame.dependenciesNanos);
+
+        return bean;
+    }
+
+    /**
+     * Bean in creation.
+     */
+    private static final class BeanFrame {
+
+        private final String beanName;
+
+        private final long startNanos;
+
+        private long dependenciesNanos;
+
+        private BeanFrame(String beanName, long startNanos) {
+            this.beanName = beanName;
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.startup;
+
+import javax.annotation.Nullable;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.BeanDefinitionRegistryPostProcessor;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.event.ApplicationFailedEvent;
+import org.springframework.boot.context.event.ApplicationPreparedEvent;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.event.ApplicationStartingEvent;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.Ordered;
+
+import org.openhubframework.openhub.api.configuration.CoreProps;
+
+
+/**
+ * Listener which records {@link StartupTimeline} of Spring Boot application.
+ * <p>
+ * The timeline is registered as bean {@value StartupTimeline#BEAN_NAME} and contains the following phases:
+ * <ul>
+ *     <li>environment preparation (loading of properties)
+ *     <li>context preparation
+ *     <li>bean definitions loading (parsing of configuration classes, scanning of components and routes)
+ *     <li>beans instantiation
+ *     <li>lifecycle start (start of {@link SmartLifecycle} beans, e.g. Quartz scheduler)
+ *     <li>application start (start of Camel context and routes, web server, runners)
+ * </ul>
+ * Creation times of beans (e.g. Flyway migration, Hazelcast instance, WSDL definitions) are recorded as well.
+ * Recording is enabled by default, it can be disabled by property {@value CoreProps#STARTUP_TIMELINE_ENABLED}.
+ *
+ * @since 2.2
+ */
+public class StartupTimelineListener implements ApplicationListener<ApplicationEvent>, Ordered {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StartupTimelineListener.class);
+
+    private static final int LOGGED_BEANS_COUNT = 10;
+
+    @Nullable
+    private StartupTimeline timeline;
+
+    @Nullable
+    private ConfigurableApplicationContext context;
+
+    @Override
+    public int getOrder() {
+        // after other listeners, e.g. after loading of properties
+        return Ordered.LOWEST_PRECEDENCE;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (event instanceof ApplicationStartingEvent) {
+            timeline = new StartupTimeline();
+            timeline.startPhase("environment preparation");
+
+        } else if (timeline == null) {
+            return;
+
+        } else if (event instanceof ApplicationEnvironmentPreparedEvent) {
+            if (((ApplicationEnvironmentPreparedEvent) event).getEnvironment()
+                    .getProperty(CoreProps.STARTUP_TIMELINE_ENABLED, Boolean.class, true)) {
+                timeline.startPhase("context preparation");
+            } else {
+                timeline = null;
+            }
+
+        } else if (event instanceof ApplicationPreparedEvent) {
+            context = ((ApplicationPreparedEvent) event).getApplicationContext();
+            context.addBeanFactoryPostProcessor(new TimelineRegistrar(timeline));
+
+        } else if (event instanceof ContextRefreshedEvent) {
+            // note: events from child contexts are propagated to parent context
+            if (((ContextRefreshedEvent) event).getApplicationContext() == context) {
+                timeline.startPhase("application start");
+            }
+
+        } else if (event instanceof ApplicationReadyEvent || event instanceof ApplicationFailedEvent) {
+            timeline.finish();
+
+            LOG.info("Application startup took {} ms, phases: {}, {} beans created, the slowest beans: {}",
+                    timeline.getTotalMillis(), timeline.getPhases(), timeline.getBeanCount(),
+                    timeline.getSlowestBeans(LOGGED_BEANS_COUNT));
+
+            timeline = null;
+            context = null;
+        }
+    }
+
+    /**
+     * Registers the timeline and its recorders into bean factory. It's the first bean factory post processor
+     * and its methods are called before and after processing of bean definitions.
+     */
+    private static class TimelineRegistrar implements BeanDefinitionRegistryPostProcessor {
+
+        private final StartupTimeline timeline;
+
+        private TimelineRegistrar(StartupTimeline timeline) {
+            this.timeline = timeline;
+        }
+
+        @Override
+        public void postProcessBeanDefinitionRegistry(BeanDefinitionRegistry registry) throws BeansException {
+            timeline.startPhase("bean definitions loading");
+
+            if (registry instanceof ConfigurableListableBeanFactory) {
+                ConfigurableListableBeanFactory beanFactory = (ConfigurableListableBeanFactory) registry;
+                beanFactory.registerSingleton(StartupTimeline.BEAN_NAME, timeline);
+                beanFactory.registerSingleton(StartupTimeline.BEAN_NAME + "Lifecycle",
+                        new LifecycleStartMarker(timeline));
+                beanFactory.addBeanPostProcessor(new StartupTimelineBeanPostProcessor(timeline));
+            }
+        }
+
+        @Override
+        public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) throws BeansException {
+            timeline.startPhase("beans instantiation");
+        }
+    }
+
+    /**
+     * Lifecycle which is started as the first one and marks start of lifecycle phase.
+     */
+    private static class LifecycleStartMarker implements SmartLifecycle {
+
+        private final StartupTimeline timeline;
+
+        private volatile boolean running;
+
+        private LifecycleStartMarker(StartupTimeline timeline) {
+            this.timeline = timeline;
+        }
+
+        @Override
+        public void start() {
+            timeline.startPhase("lifecycle start");
+            running = true;
+        }
+
+        @Override
+        public void stop() {
+            running = false;
+        }
+
+        @Override
+        public void stop(Runnable callback) {
+            stop();
+            callback.run();
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public boolean isAutoStartup() {
+            return true;
+        }
+
+        @Override
+        public int getPhase() {
+            return Integer.MIN_VALUE;
+        }
+    }
+}
@@ -18,13 +18,19 @@ package org.openhubframework.openhub.core.common.ws;
 
 import java.io.IOException;
 import java.util.*;
+import javax.annotation.Nullable;
 import javax.xml.namespace.QName;
+import javax.xml.soap.SOAPException;
+import javax.xml.soap.SOAPHeader;
+import javax.xml.transform.Source;
 import javax.xml.transform.TransformerException;
 import javax.xml.transform.dom.DOMSource;
 
 import org.springframework.util.ObjectUtils;
+import org.springframework.ws.WebServiceMessage;
 import org.springframework.ws.context.MessageContext;
 import org.springframework.ws.soap.*;
+import org.springframework.ws.soap.saaj.SaajSoapHeaderException;
 import org.springframework.ws.soap.saaj.SaajSoapMessage;
 import org.springframework.ws.soap.server.endpoint.interceptor.PayloadValidatingInterceptor;
 import org.w3c.dom.Node;
@@ -39,6 +45,17 @@ import org.openhubframework.openhub.api.exception.validation.ValidationException
  * <p>
  * When the payload is invalid, this interceptor stops processing of the interceptor chain. Additionally, if the message
  * is a SOAP request message, a SOAP Fault is created as reply. Invalid SOAP responses do not result in a fault.
+ * <p>
+ * Root element name of the payload is resolved only once per request (directly from DOM node for SAAJ messages,
+ * stream payload of other message implementations isn't pre-read, nothing is ignored or skipped then)
+ * and it's used for all decisions:
+ * <ul>
+ *     <li>requests set by {@link #setIgnoreRequests(Collection)} are ignored from trace header checking
+ *     <li>requests set by {@link #setSkipValidationRequests(Collection)} are not validated against XSD schemas
+ *     (fast lane for trusted high-volume partners), trace header is checked still
+ * </ul>
+ * Note: XSD schemas are compiled only once to thread-safe {@link javax.xml.validation.Schema}
+ * by the parent interceptor.
  *
  * @author Petr Juza
  */
@@ -53,21 +70,32 @@ public class HeaderAndPayloadValidatingInterceptor extends PayloadValidatingInte
 
     private String faultHeaderStringOrReason = DEFAULT_FAULT_HEADER_REASON;
 
-    private Set<QName> ignoreRequests;
+    private Set<QName> ignoreRequests = Collections.emptySet();
+
+    private Set<QName> skipValidationRequests = Collections.emptySet();
 
     @Override
     public boolean handleRequest(MessageContext messageContext, Object endpoint)
             throws IOException, SAXException, TransformerException {
 
+        QName reqName = getPayloadName(messageContext.getRequest());
+
         // validate payload
-        boolean reqValResult = super.handleRequest(messageContext, endpoint);
+        boolean reqValResult;
+        if (reqName != null && skipValidationRequests.contains(reqName)) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("XSD validation of request '" + reqName + "' is skipped");
+            }
+            reqValResult = true;
+        } else {
+            reqValResult = super.handleRequest(messageContext, endpoint);
+        }
 
         // validate header
-        if (reqValResult && validateHeader && !ignoreRequest(messageContext)) {
-            SaajSoapMessage soapMessage = (SaajSoapMessage) messageContext.getRequest();
-            SoapHeader soapHeader = soapMessage.getSoapHeader();
+        if (reqValResult && validateHeader && (reqName == null || !ignoreRequests.contains(reqName))) {
+            SoapMessage soapMessage = (SoapMessage) messageContext.getRequest();
 
-            ValidationException[] errors = validateHeader(soapHeader);
+            ValidationException[] errors = validateHeader(soapMessage);
             if (!ObjectUtils.isEmpty(errors)) {
                 return handleHeaderValidationErrors(messageContext, errors);
             } else if (logger.isDebugEnabled()) {
@@ -79,39 +107,69 @@ public class HeaderAndPayloadValidatingInterceptor extends PayloadValidatingInte
     }
 
     /**
-     * Checks if input request should be ignored from header checking.
+     * Gets root element name of the request payload.
+     * <p>
+     * Name is resolved from DOM payload only, stream payload isn't read here because it could be consumed
+     * before XSD validation and endpoint.
      *
-     * @param messageContext the msg context
-     * @return {@code true} when input request should be ignored, otherwise {@code false}
+     * @param request the request message
+     * @return element name or {@code null} if there is no payload or payload isn't DOM
      */
-    private boolean ignoreRequest(MessageContext messageContext) {
-        Node reqNode = ((DOMSource) messageContext.getRequest().getPayloadSource()).getNode();
-        QName reqName = new QName(reqNode.getNamespaceURI(), reqNode.getLocalName());
-        return ignoreRequests.contains(reqName);
+    @Nullable
+    private QName getPayloadName(WebServiceMessage request) {
+        Source payload = request.getPayloadSource();
+        if (payload instanceof DOMSource) {
+            Node reqNode = ((DOMSource) payload).getNode();
+            return new QName(reqNode.getNamespaceURI(), reqNode.getLocalName());
+        }
+
+        if (payload != null && logger.isDebugEnabled()) {
+            logger.debug("Root element name of the payload isn't resolved from " + payload.getClass().getName());
+        }
+        return null;
     }
 
     /**
-     * Validate SOAP header - check existence of trace header.
+     * Checks existence of trace header.
      *
-     * @param soapHeader the SOAP header
-     * @return array of possible validation errors
+     * @param soapMessage the SOAP message
+     * @return {@code true} if trace header exists
      */
-    private ValidationException[] validateHeader(SoapHeader soapHeader) {
-        List<ValidationException> errors = new ArrayList<ValidationException>();
+    private boolean containsTraceHeader(SoapMessage soapMessage) {
+        if (soapMessage instanceof SaajSoapMessage) {
+            // direct lookup of the element by name, no wrapping of all header elements
+            try {
+                SOAPHeader saajHeader = ((SaajSoapMessage) soapMessage).getSaajMessage().getSOAPHeader();
+                return saajHeader != null && saajHeader.getChildElements(TRACE_HEADER_ELM).hasNext();
+            } catch (SOAPException ex) {
+                throw new SaajSoapHeaderException(ex);
+            }
+        }
 
-        boolean headerFound = false;
+        SoapHeader soapHeader = soapMessage.getSoapHeader();
         if (soapHeader != null) {
             // iterate over header elements
             Iterator<SoapHeaderElement> itElements = soapHeader.examineAllHeaderElements();
-            while (!headerFound && itElements.hasNext()) {
-                SoapHeaderElement elm = itElements.next();
-                if (TRACE_HEADER_ELM.equals(elm.getName())) {
-                    headerFound = true;
+            while (itElements.hasNext()) {
+                if (TRACE_HEADER_ELM.equals(itElements.next().getName())) {
+                    return true;
                 }
             }
         }
 
-        if (!headerFound) {
+        return false;
+    }
+
+    /**
+     * Validate SOAP header - check existence of trace header.
+     *
+     * @param soapMessage the SOAP message
+     * @return array of possible validation errors
+     */
+    private ValidationException[] validateHeader(SoapMessage soapMessage) {
+        List<ValidationException> errors = new ArrayList<ValidationException>();
+
+        if (!containsTraceHeader(soapMessage)) {
             errors.add(new ValidationException("there is no header element: " + TRACE_HEADER_ELM));
         }
 
@@ -176,9 +234,28 @@ public class HeaderAndPayloadValidatingInterceptor extends PayloadValidatingInte
      *                       {@code {http://openhubframework.org/ws/SubscriberService-v1}getCounterDataRequest }
      */
     public void setIgnoreRequests(Collection<String> ignoreRequests) {
-        this.ignoreRequests = new HashSet<QName>();
-        for (String ignoreRequest : ignoreRequests) {
-                this.ignoreRequests.add(QName.valueOf(ignoreRequest));
+        this.ignoreRequests = toQNames(ignoreRequests);
+    }
+
+    /**
+     * Sets request root element names which won't be validated against XSD schemas.
+     * <p>
+     * Use it for trusted high-volume partners only, trace header is checked still
+     * (if it's not {@link #setIgnoreRequests(Collection) ignored}).
+     *
+     * @param skipValidationRequests the array of element names, e.g.
+     *                       {@code {http://openhubframework.org/ws/SubscriberService-v1}getCounterDataRequest }
+     * @since 2.2
+     */
+    public void setSkipValidationRequests(Collection<String> skipValidationRequests) {
+        this.skipValidationRequests = toQNames(skipValidationRequests);
+    }
+
+    private static Set<QName> toQNames(Collection<String> names) {
+        Set<QName> result = new HashSet<QName>();
+        for (String name : names) {
+            result.add(QName.valueOf(name));
         }
+        return result;
     }
 }
@@ -16,6 +16,7 @@
 
 package org.openhubframework.openhub.core.config;
 
+import java.util.regex.Pattern;
 import javax.persistence.EntityManagerFactory;
 
 import org.apache.camel.CamelContext;
@@ -30,16 +31,20 @@ import org.apache.camel.spi.Registry;
 import org.apache.camel.spi.ThreadPoolProfile;
 import org.apache.camel.spring.SpringCamelContext;
 import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import org.openhubframework.openhub.api.asynch.AsynchConstants;
+import org.openhubframework.openhub.api.configuration.CoreProps;
 import org.openhubframework.openhub.common.Profiles;
 import org.openhubframework.openhub.core.common.asynch.confirm.DelegateConfirmationCallback;
 import org.openhubframework.openhub.core.common.asynch.msg.MsgPriorityComparator;
 import org.openhubframework.openhub.core.common.camel.ApplicationContextsRegistry;
+import org.openhubframework.openhub.core.common.route.LazyRouteActivator;
 
 
 /**
@@ -84,6 +89,16 @@ public class CamelConfig {
       };
     }
 
+    /**
+     * Configures {@link LazyRouteActivator} if there is pattern of lazy routes.
+     */
+    @Bean
+    @ConditionalOnProperty(name = CoreProps.ROUTE_LAZY_START_PATTERN)
+    public LazyRouteActivator lazyRouteActivator(
+            @Value("${" + CoreProps.ROUTE_LAZY_START_PATTERN + "}") String routeIdPattern) {
+        return new LazyRouteActivator(Pattern.compile(routeIdPattern));
+    }
+
     /**
      * Configures {@link ApplicationContextsRegistry}.
      */
@@ -22,6 +22,7 @@ import java.util.List;
 
 import org.apache.camel.component.spring.ws.bean.CamelEndpointMapping;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfigureBefore;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -41,6 +42,7 @@ import org.springframework.xml.xsd.SimpleXsdSchema;
 import org.springframework.xml.xsd.XsdSchema;
 
 import org.openhubframework.openhub.api.config.WebServiceValidatingSources;
+import org.openhubframework.openhub.api.configuration.CoreProps;
 import org.openhubframework.openhub.api.route.RouteConstants;
 import org.openhubframework.openhub.core.common.route.SpringWsUriBuilder;
 import org.openhubframework.openhub.core.common.ws.ErrorCodeAwareSoapExceptionResolver;
@@ -64,6 +66,9 @@ public class WebServiceConfig extends WsConfigurerAdapter {
     @Autowired(required = false)
     private List<WebServiceValidatingSources> xsdSources;
 
+    @Value("${" + CoreProps.WS_VALIDATION_SKIP_REQUESTS + ":}")
+    private String[] skipValidationRequests;
+
     @Bean
     //http://stackoverflow.com/questions/31048389/no-adapter-for-endpoint-exception-apache-camel-with-spring-boot-spring-ws
     public EndpointAdapter messageEndpointAdapter() {
@@ -81,15 +86,18 @@ public class WebServiceConfig extends WsConfigurerAdapter {
         // the order of XSDs is important: commons -> entity XSD -> service XSD
         List<Resource> schemas = new ArrayList<>();
         List<String> ignoreRequests = new ArrayList<>();
+        List<String> skipRequests = new ArrayList<>(Arrays.asList(skipValidationRequests));
         schemas.add(XSD_COMMON_RESOURCE);
         if (xsdSources != null) {
             for (WebServiceValidatingSources xsdSource : xsdSources) {
                 schemas.addAll(Arrays.asList(xsdSource.getXsdSchemas()));
                 ignoreRequests.addAll(Arrays.asList(xsdSource.getIgnoreRequests()));
+                skipRequests.addAll(Arrays.asList(xsdSource.getSkipValidationRequests()));
             }
         }
         validatingInterceptor.setSchemas(schemas.toArray(new Resource[]{}));
         validatingInterceptor.setIgnoreRequests(ignoreRequests);
+        validatingInterceptor.setSkipValidationRequests(skipRequests);
 
         return validatingInterceptor;
     }
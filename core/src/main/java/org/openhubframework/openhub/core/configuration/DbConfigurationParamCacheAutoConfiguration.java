@@ -0,0 +1,83 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.configuration;
+
+import static org.openhubframework.openhub.api.configuration.CoreProps.PROPERTY_NEAR_CACHE_TTL_SEC;
+
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IMap;
+import com.hazelcast.map.listener.MapClearedListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.hazelcast.HazelcastAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import org.openhubframework.openhub.common.AutoConfiguration;
+import org.openhubframework.openhub.core.config.CacheNames;
+
+
+/**
+ * Configures {@link DbConfigurationParamNearCache}.
+ * <p>
+ * If there is {@link HazelcastInstance} then invalidation is propagated to all nodes in the cluster
+ * via clearing distributed map {@value CacheNames#CONFIG_PARAMS} - each node listens to this event and invalidates
+ * its local cache. Clearing this map evicts cached values of {@link ConfigurationService} as well.
+ *
+ * @since 2.2
+ */
+@AutoConfiguration
+@AutoConfigureAfter(HazelcastAutoConfiguration.class)
+public class DbConfigurationParamCacheAutoConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DbConfigurationParamCacheAutoConfiguration.class);
+
+    @Bean
+    @ConditionalOnMissingBean
+    public DbConfigurationParamNearCache dbConfigurationParamNearCache(
+            @Value("${" + PROPERTY_NEAR_CACHE_TTL_SEC + ":0}") int ttlSec) {
+        return new DbConfigurationParamNearCache(ttlSec);
+    }
+
+    @AutoConfiguration
+    @ConditionalOnClass(HazelcastInstance.class)
+    @ConditionalOnBean(HazelcastInstance.class)
+    public static class HazelcastConfiguration {
+
+        @Bean
+        public MapClearedListener dbConfigurationParamInvalidationListener(HazelcastInstance hazelcast,
+                final DbConfigurationParamNearCache nearCache) {
+            final IMap<Object, Object> map = hazelcast.getMap(CacheNames.CONFIG_PARAMS);
+
+            MapClearedListener listener = event -> {
+                LOG.debug("Distributed map '{}' was cleared by {}, local cache of DB parameters is invalidated",
+                        CacheNames.CONFIG_PARAMS, event.getMember());
+
+                nearCache.invalidateAll();
+            };
+            map.addEntryListener(listener, false);
+
+            nearCache.addInvalidationListener(code -> map.clear());
+
+            return listener;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.configuration;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+import org.springframework.util.Assert;
+
+
+/**
+ * Local (near) cache of values of DB configuration parameters used by {@link DbPropertySource}.
+ * <p>
+ * Values (including missing parameters) are cached for defined time to live. Cache is versioned - value loaded
+ * concurrently with invalidation is never stored, so invalidation can't be overwritten by stale value.
+ * <p>
+ * {@link #invalidate(String)} is called when parameter is changed, registered invalidation listeners
+ * propagate the change to other nodes in the cluster (see {@link DbConfigurationParamCacheAutoConfiguration}).
+ *
+ * @since 2.2
+ */
+public class DbConfigurationParamNearCache {
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final long ttlNanos;
+
+    private final ConcurrentMap<String, CacheEntry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong version = new AtomicLong();
+
+    private final List<Consumer<String>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Creates new cache.
+     *
+     * @param ttlSec time to live of cached values (in seconds), value 0 or less disables caching
+     */
+    public DbConfigurationParamNearCache(int ttlSec) {
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(0, ttlSec));
+    }
+
+    /**
+     * Is caching enabled?
+     *
+     * @return {@code true} if values are cached
+     */
+    public boolean isEnabled() {
+        return ttlNanos > 0;
+    }
+
+    /**
+     * Gets value of the parameter, loads it if there is no valid cached value.
+     *
+     * @param code the parameter code
+     * @param loader the function that loads value of the parameter
+     * @return parameter value, {@code null} if there is no such parameter
+     */
+    @Nullable
+    public Object getValue(String code, Function<String, Object> loader) {
+        Assert.hasText(code, "the code must not be empty");
+        Assert.notNull(loader, "the loader must not be null");
+
+        if (!isEnabled()) {
+            return loader.apply(code);
+        }
+
+        long now = System.nanoTime();
+        CacheEntry entry = entries.get(code);
+        if (entry != null && now - entry.loadedAt < ttlNanos) {
+            return entry.value == NULL_VALUE ? null : entry.value;
+        }
+
+        long loadVersion = version.get();
+        Object value = loader.apply(code);
+
+        CacheEntry newEntry = new CacheEntry(value != null ? value : NULL_VALUE, now);
+        entries.put(code, newEntry);
+        if (version.get() != loadVersion) {
+            // invalidated during loading => value can be stale
+            entries.remove(code, newEntry);
+        }
+
+        return value;
+    }
+
+    /**
+     * Invalidates cached value of the parameter in this node and notifies invalidation listeners.
+     *
+     * @param code the parameter code
+     */
+    public void invalidate(String code) {
+        Assert.hasText(code, "the code must not be empty");
+
+        invalidateLocally(code);
+
+        for (Consumer<String> listener : invalidationListeners) {
+            listener.accept(code);
+        }
+    }
+
+    /**
+     * Invalidates cached value of the parameter in this node only.
+     *
+     * @param code the parameter code
+     */
+    public void invalidateLocally(String code) {
+        version.incrementAndGet();
+        entries.remove(code);
+    }
+
+    /**
+     * Invalidates all cached values in this node.
+     */
+    public void invalidateAll() {
+        version.incrementAndGet();
+        entries.clear();
+    }
+
+    /**
+     * Adds listener which is notified when parameter is invalidated by {@link #invalidate(String)}.
+     *
+     * @param listener the listener, gets code of the parameter
+     */
+    public void addInvalidationListener(Consumer<String> listener) {
+        Assert.notNull(listener, "the listener must not be null");
+
+        invalidationListeners.add(listener);
+    }
+
+    /**
+     * Gets count of cached values.
+     *
+     * @return count of values
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    private static final class CacheEntry {
+
+        private final Object value;
+
+        private final long loadedAt;
+
+        private CacheEntry(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
@@ -25,6 +25,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import org.openhubframework.openhub.api.common.Constraints;
 import org.openhubframework.openhub.api.configuration.DbConfigurationParam;
@@ -51,6 +53,9 @@ public class DbConfigurationParamServiceImpl implements DbConfigurationParamServ
     @Autowired
     private ConversionService conversionService;
 
+    @Autowired(required = false)
+    private DbConfigurationParamNearCache nearCache;
+
     @Override
     public void update(DbConfigurationParam parameter) {
         Constraints.notNull(parameter, "the parameter must not be null");
@@ -60,9 +65,32 @@ public class DbConfigurationParamServiceImpl implements DbConfigurationParamServ
 
         paramDao.update(parameter);
 
+        invalidateCache(parameter.getCode());
+
         LOG.debug("Parameter (code = {}) changed: {}", parameter.getCode(), parameter);
     }
 
+    /**
+     * Invalidates cached value of the parameter immediately and again after transaction completion
+     * (value can be loaded again from DB before the change is committed).
+     */
+    private void invalidateCache(final String code) {
+        if (nearCache == null) {
+            return;
+        }
+
+        nearCache.invalidate(code);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCompletion(int status) {
+                    nearCache.invalidate(code);
+                }
+            });
+        }
+    }
+
     @Transactional(readOnly = true)
     @Override
     public DbConfigurationParam getParameter(String code) {
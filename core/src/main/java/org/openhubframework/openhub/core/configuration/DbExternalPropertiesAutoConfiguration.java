@@ -67,6 +67,9 @@ public class DbExternalPropertiesAutoConfiguration
     @Autowired
     private DbConfigurationParamService paramService;
 
+    @Autowired(required = false)
+    private DbConfigurationParamNearCache nearCache;
+
     @Override
     public int getOrder() {
         return ORDER;
@@ -76,7 +79,8 @@ public class DbExternalPropertiesAutoConfiguration
     public void onApplicationEvent(ContextRefreshedEvent event) {
         Constraints.notNull(event, "event must not be null");
 
-        final PropertySource source = new DbPropertySource(DB_CONF_PROPERTY_SOURCE_NAME, paramService, includePatternStr);
+        final PropertySource source = new DbPropertySource(DB_CONF_PROPERTY_SOURCE_NAME, paramService,
+                includePatternStr, nearCache);
 
         ConfigurableEnvironment env = (ConfigurableEnvironment) event.getApplicationContext().getEnvironment();
         env.getPropertySources().addLast(source);
@@ -17,7 +17,8 @@
 package org.openhubframework.openhub.core.configuration;
 
 import java.util.Optional;
-import java.util.regex.Matcher;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.regex.Pattern;
 import javax.annotation.Nullable;
 
@@ -39,7 +40,10 @@ import org.openhubframework.openhub.common.OpenHubPropertyConstants;
  * <p>
  * Use '{@value CoreProps#PROPERTY_INCLUDE_PATTERN}' property to define pattern for which property names should
  * be loaded from DB. If there is no defined then all property names which starts with
- * '{@value OpenHubPropertyConstants#PREFIX}' will be loaded from DB.
+ * '{@value OpenHubPropertyConstants#PREFIX}' will be loaded from DB. Decision whether property name matches
+ * the pattern is evaluated only once for each name.
+ * <p>
+ * Values can be cached in {@link DbConfigurationParamNearCache}.
  *
  * @author Petr Juza
  * @since 2.0
@@ -52,11 +56,25 @@ public class DbPropertySource extends PropertySource<DbConfigurationParamService
 
     private Pattern includePattern;
 
+    private final ConcurrentMap<String, Boolean> includeDecisions = new ConcurrentHashMap<>();
+
+    @Nullable
+    private final DbConfigurationParamNearCache nearCache;
+
 	/**
 	 * Create a new {@code DbPropertySource} with the given name and the given
 	 * {@code DbConfigurationParamService}.
 	 */
 	DbPropertySource(String name, DbConfigurationParamService paramService, @Nullable String includePatternStr) {
+		this(name, paramService, includePatternStr, null);
+	}
+
+	/**
+	 * Create a new {@code DbPropertySource} with the given name, the given
+	 * {@code DbConfigurationParamService} and cache of values.
+	 */
+	DbPropertySource(String name, DbConfigurationParamService paramService, @Nullable String includePatternStr,
+			@Nullable DbConfigurationParamNearCache nearCache) {
 		super(name, paramService);
 
         if (StringUtils.isNotEmpty(includePatternStr)) {
@@ -64,6 +82,7 @@ public class DbPropertySource extends PropertySource<DbConfigurationParamService
         } else {
             this.includePattern = Pattern.compile(DEFAULT_INCLUDE_PATTERN);
         }
+        this.nearCache = nearCache;
 	}
 
 	@Override
@@ -73,10 +92,7 @@ public class DbPropertySource extends PropertySource<DbConfigurationParamService
         Object value =  null;
 
         if (isDbProperty(name)) {
-            Optional<DbConfigurationParam> param = this.source.findParameter(name);
-            if (param.isPresent()) {
-                value = param.get().getValue();
-            }
+            value = nearCache != null ? nearCache.getValue(name, this::loadValue) : loadValue(name);
 
             LOG.debug("Get DB property value for name '{}': {}", name, value);
         } else {
@@ -86,8 +102,17 @@ public class DbPropertySource extends PropertySource<DbConfigurationParamService
         return value;
 	}
 
+    @Nullable
+    private Object loadValue(String name) {
+        Optional<DbConfigurationParam> param = this.source.findParameter(name);
+        return param.isPresent() ? param.get().getValue() : null;
+    }
+
 	private boolean isDbProperty(String name) {
-        Matcher matcher = includePattern.matcher(name);
-        return matcher.matches();
+        Boolean included = includeDecisions.get(name);
+        if (included == null) {
+            included = includeDecisions.computeIfAbsent(name, n -> includePattern.matcher(n).matches());
+        }
+        return included;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.monitoring;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import javax.annotation.Nullable;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.springframework.util.Assert;
+
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.spi.monitoring.AsynchMetrics;
+import org.openhubframework.openhub.spi.throttling.ThrottleScope;
+
+
+/**
+ * Implementation of {@link AsynchMetrics} with <a href="http://metrics.dropwizard.io">Dropwizard metrics</a>.
+ * <p>
+ * Metrics are registered lazily into {@link MetricRegistry} under the prefix {@value #PREFIX}
+ * and cached by their keys, so recording is map lookup and atomic update only.
+ *
+ * @since 2.2
+ */
+public class AsynchMetricsDropwizardImpl implements AsynchMetrics {
+
+    /**
+     * Prefix of all metric names.
+     */
+    public static final String PREFIX = "ohf.asynch";
+
+    private static final String PROCESSING_PREFIX = name(PREFIX, "processing");
+
+    private static final String EXTERNAL_CALL_PREFIX = name(PREFIX, "externalCall");
+
+    private static final String UNKNOWN_FUNNEL = "unknown";
+
+    private static final MsgStateEnum[] STATES = MsgStateEnum.values();
+
+    private final MetricRegistry registry;
+
+    private final Timer queueWaitTimer;
+
+    private final AtomicReferenceArray<Counter> stateTransitions
+            = new AtomicReferenceArray<>(STATES.length * STATES.length);
+
+    private final ConcurrentMap<String, Timer> processingTimers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Timer> externalCallTimers = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<ThrottleScope, Meter> throttleRejections = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Meter> postponements = new ConcurrentHashMap<>();
+
+    /**
+     * Creates new metrics.
+     *
+     * @param registry the metric registry
+     */
+    public AsynchMetricsDropwizardImpl(MetricRegistry registry) {
+        Assert.notNull(registry, "the registry must not be null");
+
+        this.registry = registry;
+        this.queueWaitTimer = registry.timer(name(PREFIX, "queue", "wait"));
+    }
+
+    @Override
+    public void recordQueueWait(long waitMillis) {
+        queueWaitTimer.update(waitMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void recordProcessingTime(String routeId, long durationNanos) {
+        getOrCreate(processingTimers, routeId, PROCESSING_PREFIX)
+                .update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordExternalCall(String operation, long durationNanos) {
+        getOrCreate(externalCallTimers, operation, EXTERNAL_CALL_PREFIX)
+                .update(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void markStateTransition(MsgStateEnum from, MsgStateEnum to) {
+        Assert.notNull(to, "the to must not be null");
+
+        // note: state of new message is not defined
+        MsgStateEnum fromState = from != null ? from : MsgStateEnum.NEW;
+        getStateTransitionCounter(fromState, to).inc();
+    }
+
+    @Override
+    public void markThrottleRejected(ThrottleScope scope) {
+        Meter meter = throttleRejections.get(scope);
+        if (meter == null) {
+            meter = throttleRejections.computeIfAbsent(scope, s -> registry.meter(
+                    name(PREFIX, "throttling", "rejected", s.getSourceSystem(), s.getServiceName())));
+        }
+        meter.mark();
+    }
+
+    @Override
+    public void markPostponed(@Nullable String funnelId) {
+        String key = funnelId != null ? funnelId : UNKNOWN_FUNNEL;
+
+        Meter meter = postponements.get(key);
+        if (meter == null) {
+            meter = postponements.computeIfAbsent(key,
+                    id -> registry.meter(name(PREFIX, "postponed", id)));
+        }
+        meter.mark();
+    }
+
+    private Timer getOrCreate(Map<String, Timer> timers, String key, String namePrefix) {
+        Timer timer = timers.get(key);
+        if (timer == null) {
+            timer = timers.computeIfAbsent(key, k -> registry.timer(name(namePrefix, k)));
+        }
+        return timer;
+    }
+
+    /**
+     * Gets count of transitions between specified states.
+     *
+     * @param from the original state
+     * @param to the new state
+     * @return count of transitions
+     */
+    public long getStateTransitionCount(MsgStateEnum from, MsgStateEnum to) {
+        return getStateTransitionCounter(from, to).getCount();
+    }
+
+    private Counter getStateTransitionCounter(MsgStateEnum from, MsgStateEnum to) {
+        int index = from.ordinal() * STATES.length + to.ordinal();
+
+        Counter counter = stateTransitions.get(index);
+        if (counter == null) {
+            // registry returns the same instance for the same name
+            counter = registry.counter(name(PREFIX, "state", from.name(), to.name()));
+            stateTransitions.set(index, counter);
+        }
+        return counter;
+    }
+
+    public MetricRegistry getRegistry() {
+        return registry;
+    }
+}
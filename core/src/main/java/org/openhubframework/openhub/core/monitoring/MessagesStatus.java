@@ -25,10 +25,14 @@ import org.springframework.stereotype.Service;
 
 import org.openhubframework.openhub.api.entity.MsgStateEnum;
 import org.openhubframework.openhub.common.time.Seconds;
+import org.openhubframework.openhub.core.common.asynch.msg.MessageStateCounter;
 import org.openhubframework.openhub.spi.msg.MessageService;
 
 /**
  * JMX exporter of message processing statistics.
+ * <p>
+ * Counts of messages in specified state are read from {@link MessageStateCounter}, counts of messages
+ * updated in specified interval are always counted in the database.
  *
  * @author Jaromir Stradej
  * @since 0.1
@@ -41,55 +45,57 @@ public class MessagesStatus {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private MessageStateCounter messageStateCounter;
 
     @ManagedAttribute(description = "Count of messages in state FAILED")
     public int getCountOfFailed() {
-        return messageService.getCountMessages(MsgStateEnum.FAILED, null);
+        return getCount(MsgStateEnum.FAILED);
     }
 
     @ManagedAttribute(description = "Count of messages in state PROCESSING")
     public int getCountOfProcessing() {
-        return messageService.getCountMessages(MsgStateEnum.PROCESSING, null);
+        return getCount(MsgStateEnum.PROCESSING);
     }
 
     @ManagedAttribute(description = "Count of messages in state CANCEL")
     public int getCountOfCanceled() {
-        return messageService.getCountMessages(MsgStateEnum.CANCEL, null);
+        return getCount(MsgStateEnum.CANCEL);
     }
 
     @ManagedAttribute(description = "Count of messages in state NEW")
     public int getCountOfNew() {
-        return messageService.getCountMessages(MsgStateEnum.NEW, null);
+        return getCount(MsgStateEnum.NEW);
     }
 
     @ManagedAttribute(description = "Count of messages in state OK")
     public int getCountOfOk() {
-        return messageService.getCountMessages(MsgStateEnum.OK, null);
+        return getCount(MsgStateEnum.OK);
     }
 
     @ManagedAttribute(description = "Count of messages in state PARTLY_FAILED")
     public int getCountOfPartlyFailed() {
-        return messageService.getCountMessages(MsgStateEnum.PARTLY_FAILED, null);
+        return getCount(MsgStateEnum.PARTLY_FAILED);
     }
 
     @ManagedAttribute(description = "Count of messages in state WAITING")
     public int getCountOfWaiting() {
-        return messageService.getCountMessages(MsgStateEnum.WAITING, null);
+        return getCount(MsgStateEnum.WAITING);
     }
 
     @ManagedAttribute(description = "Count of messages in state WAITING_FOR_RES")
     public int getCountOfWaitingForResponse() {
-        return messageService.getCountMessages(MsgStateEnum.WAITING_FOR_RES, null);
+        return getCount(MsgStateEnum.WAITING_FOR_RES);
     }
 
     @ManagedAttribute(description = "Count of messages in state POSTPONED")
     public int getCountOfPostponed() {
-        return messageService.getCountMessages(MsgStateEnum.POSTPONED, null);
+        return getCount(MsgStateEnum.POSTPONED);
     }
 
     @ManagedAttribute(description = "Count of messages in state CANCEL")
     public int getCountOfCancel() {
-        return messageService.getCountMessages(MsgStateEnum.CANCEL, null);
+        return getCount(MsgStateEnum.CANCEL);
     }
 
     @ManagedOperation(description = "Count of messages in state FAILED and after interval")
@@ -137,6 +143,15 @@ public class MessagesStatus {
         return messageService.getCountMessages(MsgStateEnum.POSTPONED, Seconds.of(intervalSec).toDuration());
     }
 
+    @ManagedOperation(description = "Reconciles counts of messages in each state with the database")
+    public void reconcileCounts() {
+        messageStateCounter.reconcile();
+    }
+
+    private int getCount(MsgStateEnum state) {
+        return (int) messageStateCounter.getCount(state);
+    }
+
     public void setMessageService(MessageService messageService) {
         this.messageService = messageService;
     }
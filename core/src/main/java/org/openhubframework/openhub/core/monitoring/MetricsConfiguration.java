@@ -0,0 +1,114 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.monitoring;
+
+import static com.codahale.metrics.MetricRegistry.name;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.JmxReporter;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.component.seda.SedaEndpoint;
+import org.apache.camel.spring.boot.CamelContextConfiguration;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import org.openhubframework.openhub.spi.monitoring.AsynchMetrics;
+
+
+/**
+ * Configuration of metrics of asynchronous message processing.
+ * <p>
+ * Metrics are held in {@link MetricRegistry} bean (the same registry is used by Spring Boot actuator if available)
+ * and exported to JMX into domain {@value #JMX_DOMAIN} unless property {@value #JMX_ENABLED_PROPERTY} is false.
+ * There are also gauges of queue sizes of all SEDA endpoints.
+ *
+ * @since 2.2
+ * @see AsynchMetrics
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MetricsConfiguration.class);
+
+    private static final String JMX_ENABLED_PROPERTY = "ohf.metrics.jmx.enabled";
+
+    private static final String JMX_DOMAIN = "org.openhubframework.openhub.metrics";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public MetricRegistry metricRegistry() {
+        return new MetricRegistry();
+    }
+
+    @Bean
+    public AsynchMetrics asynchMetrics(MetricRegistry metricRegistry) {
+        return new AsynchMetricsDropwizardImpl(metricRegistry);
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    @ConditionalOnProperty(name = JMX_ENABLED_PROPERTY, matchIfMissing = true)
+    public JmxReporter metricsJmxReporter(MetricRegistry metricRegistry) {
+        return JmxReporter.forRegistry(metricRegistry)
+                .inDomain(JMX_DOMAIN)
+                .build();
+    }
+
+    /**
+     * Registers gauges of SEDA queue sizes when Camel context is started (and all SEDA endpoints are known).
+     */
+    @Bean
+    public CamelContextConfiguration sedaQueueMetricsConfiguration(final MetricRegistry metricRegistry) {
+        return new CamelContextConfiguration() {
+
+            @Override
+            public void beforeApplicationStart(CamelContext camelContext) {
+                // nothing to set
+            }
+
+            @Override
+            public void afterApplicationStart(CamelContext camelContext) {
+                for (Endpoint endpoint : camelContext.getEndpoints()) {
+                    if (endpoint instanceof SedaEndpoint) {
+                        registerQueueSizeGauge(metricRegistry, (SedaEndpoint) endpoint);
+                    }
+                }
+            }
+        };
+    }
+
+    private static void registerQueueSizeGauge(MetricRegistry metricRegistry, final SedaEndpoint endpoint) {
+        String queueName = ObjectHelper.before(ObjectHelper.after(endpoint.getEndpointUri(), ":"), "?");
+        if (queueName == null) {
+            queueName = ObjectHelper.after(endpoint.getEndpointUri(), ":");
+        }
+        queueName = queueName.replaceFirst("^//", "");
+
+        String gaugeName = name(AsynchMetricsDropwizardImpl.PREFIX, "seda", queueName, "size");
+        if (!metricRegistry.getGauges().containsKey(gaugeName)) {
+            metricRegistry.register(gaugeName, (Gauge<Integer>) endpoint::getCurrentQueueSize);
+
+            LOG.debug("Gauge '{}' for SEDA endpoint '{}' was registered", gaugeName, endpoint.getEndpointUri());
+        }
+    }
+}
@@ -0,0 +1,242 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.reqres;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+
+/**
+ * Cache of decisions whether requests/responses of endpoint URI should be saved.
+ * <p>
+ * Configuration (enable flag, endpoint filter pattern and excluded schemes) is read at most once
+ * per {@link #REFRESH_INTERVAL_SEC} seconds, decisions are cached per endpoint URI
+ * (at most {@link #MAX_CACHED_URIS} URIs) and they are invalidated when the configuration is changed.
+ * URIs with excluded schemes (e.g. {@code direct}, {@code seda}) are rejected without evaluation of the pattern.
+ * Invalid pattern is reported once when the configuration is read and saving is disabled until the pattern
+ * is fixed.
+ *
+ * @since 2.2
+ * @see RequestSendingEventNotifier
+ * @see ResponseReceiveEventNotifier
+ */
+final class EndpointFilterCache {
+
+    /**
+     * Maximum count of cached decisions, next URIs are evaluated without caching.
+     */
+    static final int MAX_CACHED_URIS = 1000;
+
+    /**
+     * How often (in seconds) is configuration read again.
+     */
+    static final int REFRESH_INTERVAL_SEC = 5;
+
+    private static final Logger LOG = LoggerFactory.getLogger(EndpointFilterCache.class);
+
+    private static final long REFRESH_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(REFRESH_INTERVAL_SEC);
+
+    private final Supplier<Boolean> enableSupplier;
+
+    private final Supplier<String> filterSupplier;
+
+    private final Supplier<String> excludedSchemesSupplier;
+
+    private volatile Snapshot snapshot = new Snapshot(false, null, null, Long.MAX_VALUE);
+
+    private volatile boolean active;
+
+    /**
+     * Creates new cache.
+     *
+     * @param enableSupplier supplier of flag if saving is enabled
+     * @param filterSupplier supplier of endpoint filter pattern
+     * @param excludedSchemesSupplier supplier of comma-separated endpoint schemes which are never saved
+     */
+    EndpointFilterCache(Supplier<Boolean> enableSupplier, Supplier<String> filterSupplier,
+            Supplier<String> excludedSchemesSupplier) {
+        Assert.notNull(enableSupplier, "the enableSupplier must not be null");
+        Assert.notNull(filterSupplier, "the filterSupplier must not be null");
+        Assert.notNull(excludedSchemesSupplier, "the excludedSchemesSupplier must not be null");
+
+        this.enableSupplier = enableSupplier;
+        this.filterSupplier = filterSupplier;
+        this.excludedSchemesSupplier = excludedSchemesSupplier;
+    }
+
+    /**
+     * Reads configuration again, cached decisions are invalidated if configuration is changed.
+     * Configuration isn't read before the first call of this method.
+     */
+    synchronized void refresh() {
+        boolean enabled = BooleanUtils.isTrue(enableSupplier.get());
+        String filter = StringUtils.trimToNull(filterSupplier.get());
+        String excludedSchemes = StringUtils.trimToNull(excludedSchemesSupplier.get());
+
+        Snapshot current = snapshot;
+        if (current.enabled == enabled && Objects.equals(current.filter, filter)
+                && Objects.equals(current.excludedSchemes, excludedSchemes)) {
+            snapshot = new Snapshot(current, System.nanoTime());
+        } else {
+            snapshot = new Snapshot(enabled, filter, excludedSchemes, System.nanoTime());
+        }
+
+        active = true;
+    }
+
+    /**
+     * Returns {@code true} if saving is enabled and there is valid endpoint filter.
+     */
+    boolean isEnabled() {
+        Snapshot current = getSnapshot();
+        return current.enabled && current.pattern != null;
+    }
+
+    /**
+     * Returns {@code true} if specified endpoint URI matches endpoint filter.
+     *
+     * @param endpointUri the endpoint URI
+     * @return {@code true} if requests/responses of the endpoint should be saved
+     */
+    boolean matches(String endpointUri) {
+        Assert.hasText(endpointUri, "the endpointUri must be defined");
+
+        return getSnapshot().matches(endpointUri);
+    }
+
+    /**
+     * Gets count of cached decisions.
+     */
+    int getCachedCount() {
+        return snapshot.decisions.size();
+    }
+
+    @Nullable
+    String getFilter() {
+        return snapshot.filter;
+    }
+
+    private Snapshot getSnapshot() {
+        Snapshot current = snapshot;
+        if (active && System.nanoTime() - current.loadedNanos >= REFRESH_INTERVAL_NANOS) {
+            synchronized (this) {
+                if (snapshot == current) {
+                    refresh();
+                }
+            }
+            current = snapshot;
+        }
+        return current;
+    }
+
+    /**
+     * Immutable configuration with cached decisions.
+     */
+    private static final class Snapshot {
+
+        private final boolean enabled;
+
+        @Nullable
+        private final String filter;
+
+        @Nullable
+        private final String excludedSchemes;
+
+        @Nullable
+        private final Pattern pattern;
+
+        private final Set<String> rejectedSchemes;
+
+        private final Map<String, Boolean> decisions;
+
+        private final long loadedNanos;
+
+        private Snapshot(boolean enabled, @Nullable String filter, @Nullable String excludedSchemes,
+                long loadedNanos) {
+            this.enabled = enabled;
+            this.filter = filter;
+            this.excludedSchemes = excludedSchemes;
+            this.pattern = compile(filter);
+            this.rejectedSchemes = excludedSchemes != null
+                    ? Arrays.stream(StringUtils.split(excludedSchemes, ','))
+                            .map(StringUtils::trimToNull)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toSet())
+                    : Collections.emptySet();
+            this.decisions = new ConcurrentHashMap<>();
+            this.loadedNanos = loadedNanos;
+        }
+
+        private Snapshot(Snapshot snapshot, long loadedNanos) {
+            this.enabled = snapshot.enabled;
+            this.filter = snapshot.filter;
+            this.excludedSchemes = snapshot.excludedSchemes;
+            this.pattern = snapshot.pattern;
+            this.rejectedSchemes = snapshot.rejectedSchemes;
+            this.decisions = snapshot.decisions;
+            this.loadedNanos = loadedNanos;
+        }
+
+        private boolean matches(String endpointUri) {
+            if (pattern == null) {
+                return false;
+            }
+
+            Boolean decision = decisions.get(endpointUri);
+            if (decision == null) {
+                decision = !rejectedSchemes.contains(StringUtils.substringBefore(endpointUri, ":"))
+                        && pattern.matcher(endpointUri).matches();
+
+                if (decisions.size() < MAX_CACHED_URIS) {
+                    decisions.put(endpointUri, decision);
+                }
+            }
+            return decision;
+        }
+
+        @Nullable
+        private static Pattern compile(@Nullable String filter) {
+            if (filter == null) {
+                return null;
+            }
+
+            try {
+                return Pattern.compile(filter);
+            } catch (PatternSyntaxException ex) {
+                LOG.error("Invalid endpoint filter pattern [" + filter + "], saving of requests/responses "
+                        + "is disabled.", ex);
+                return null;
+            }
+        }
+    }
+}
@@ -18,10 +18,9 @@ package org.openhubframework.openhub.core.reqres;
 
 import static org.openhubframework.openhub.api.configuration.CoreProps.REQUEST_SAVING_ENABLE;
 import static org.openhubframework.openhub.api.configuration.CoreProps.REQUEST_SAVING_ENDPOINT_FILTER;
+import static org.openhubframework.openhub.api.configuration.CoreProps.REQUEST_SAVING_EXCLUDED_SCHEMES;
 
 import java.util.EventObject;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.management.event.ExchangeSendingEvent;
@@ -30,7 +29,6 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.util.Assert;
 
 import org.openhubframework.openhub.api.asynch.AsynchConstants;
 import org.openhubframework.openhub.api.configuration.ConfigurableValue;
@@ -39,12 +37,13 @@ import org.openhubframework.openhub.api.entity.Message;
 import org.openhubframework.openhub.api.entity.Request;
 import org.openhubframework.openhub.api.event.EventNotifier;
 import org.openhubframework.openhub.api.event.EventNotifierBase;
-import org.springframework.util.StringUtils;
 
 
 /**
  * Listens to request sending (event = {@link ExchangeSendingEvent}).
  * If endpoint URI is successfully filtered and saving is enabled then request is saved to DB.
+ * <p>
+ * Filtering decisions are cached per endpoint URI, see {@link EndpointFilterCache}.
  *
  * @author Petr Juza
  * @see ResponseReceiveEventNotifier
@@ -72,17 +71,32 @@ public class RequestSendingEventNotifier extends EventNotifierBase<ExchangeSendi
     @ConfigurableValue(key = REQUEST_SAVING_ENDPOINT_FILTER)
     private ConfigurationItem<String> endpointFilter;
 
-    private Pattern endpointFilterPattern;
+    /**
+     * Comma-separated list of endpoint schemes which requests/response are never saved.
+     */
+    @ConfigurableValue(key = REQUEST_SAVING_EXCLUDED_SCHEMES)
+    private ConfigurationItem<String> excludedSchemes;
+
+    private final EndpointFilterCache filterCache = new EndpointFilterCache(
+            () -> enable.getValue(Boolean.FALSE), () -> endpointFilter.getValue(null),
+            () -> excludedSchemes.getValue(null));
 
     /**
      * After all the db properties are set, set pattern for endpointFilter.
      */
     @EventListener
     public void onApplicationEvent(ApplicationReadyEvent event) {
-        if (StringUtils.hasText(endpointFilter.getValue(null))) {
-            endpointFilterPattern = Pattern.compile(endpointFilter.getValue());
-            LOG.debug("Initialized RequestSendingEventNotifier: enabled [{}], filterPattern [{}].", enable, endpointFilterPattern);
-        }
+        refreshEndpointFilter();
+        LOG.debug("Initialized RequestSendingEventNotifier: enabled [{}], filterPattern [{}].", enable,
+                filterCache.getFilter());
+    }
+
+    /**
+     * Reads configuration of saving again, it's done automatically every
+     * {@value EndpointFilterCache#REFRESH_INTERVAL_SEC} seconds.
+     */
+    void refreshEndpointFilter() {
+        filterCache.refresh();
     }
 
     @Autowired
@@ -90,14 +104,14 @@ public class RequestSendingEventNotifier extends EventNotifierBase<ExchangeSendi
 
     @Override
     public boolean isEnabled(EventObject event) {
-        return super.isEnabled(event) && enable.getValue() && endpointFilterPattern != null;
+        return super.isEnabled(event) && filterCache.isEnabled();
     }
 
     @Override
     protected void doNotify(ExchangeSendingEvent event) throws Exception {
         String endpointUri = event.getEndpoint().getEndpointUri();
 
-        if (filter(endpointUri, endpointFilterPattern)) {
+        if (filterCache.matches(endpointUri)) {
             Message msg = event.getExchange().getIn().getHeader(AsynchConstants.MSG_HEADER, Message.class);
 
             // create request
@@ -118,20 +132,6 @@ public class RequestSendingEventNotifier extends EventNotifierBase<ExchangeSendi
         }
     }
 
-    /**
-     * Returns {@code true} if specified URI matches specified pattern.
-     *
-     * @param endpointURI the endpoint URI
-     * @param pattern pattern
-     * @return {@code true} if specified URI matches at least one of specified patterns otherwise {@code false}
-     */
-    static boolean filter(String endpointURI, Pattern pattern) {
-        Assert.hasText(endpointURI, "the endpointURI must be defined");
-
-        Matcher matcher = pattern.matcher(endpointURI);
-        return matcher.matches();
-    }
-
     /**
      * Creates response join ID.
      * <p/>
@@ -18,10 +18,10 @@ package org.openhubframework.openhub.core.reqres;
 
 import static org.openhubframework.openhub.api.configuration.CoreProps.REQUEST_SAVING_ENABLE;
 import static org.openhubframework.openhub.api.configuration.CoreProps.REQUEST_SAVING_ENDPOINT_FILTER;
+import static org.openhubframework.openhub.api.configuration.CoreProps.REQUEST_SAVING_EXCLUDED_SCHEMES;
 
 import java.io.StringWriter;
 import java.util.EventObject;
-import java.util.regex.Pattern;
 import javax.annotation.Nullable;
 import javax.xml.XMLConstants;
 import javax.xml.transform.Transformer;
@@ -55,6 +55,8 @@ import org.openhubframework.openhub.api.event.EventNotifierBase;
 /**
  * Listens to response receive (event = {@link ExchangeSentEvent}).
  * If endpoint URI is successfully filtered and saving is enabled then response is saved to DB.
+ * <p>
+ * Filtering decisions are cached per endpoint URI, see {@link EndpointFilterCache}.
  *
  * @author Petr Juza
  * @see RequestSendingEventNotifier
@@ -77,17 +79,32 @@ public class ResponseReceiveEventNotifier extends EventNotifierBase<ExchangeSent
     @ConfigurableValue(key = REQUEST_SAVING_ENDPOINT_FILTER)
     private ConfigurationItem<String> endpointFilter;
 
-    private Pattern endpointFilterPattern;
+    /**
+     * Comma-separated list of endpoint schemes which requests/response are never saved.
+     */
+    @ConfigurableValue(key = REQUEST_SAVING_EXCLUDED_SCHEMES)
+    private ConfigurationItem<String> excludedSchemes;
+
+    private final EndpointFilterCache filterCache = new EndpointFilterCache(
+            () -> enable.getValue(Boolean.FALSE), () -> endpointFilter.getValue(null),
+            () -> excludedSchemes.getValue(null));
 
     /**
      * After all the db properties are set, set pattern for endpointFilter.
      */
     @EventListener
     public void onApplicationEvent(ApplicationReadyEvent applicationReadyEvent) {
-        if (StringUtils.isNotEmpty(endpointFilter.getValue(null))) {
-            endpointFilterPattern = Pattern.compile(endpointFilter.getValue());
-            LOG.debug("Initialized ResponseReceiveEventNotifier: enabled [{}], filterPattern [{}].", enable, endpointFilterPattern);
-        }
+        refreshEndpointFilter();
+        LOG.debug("Initialized ResponseReceiveEventNotifier: enabled [{}], filterPattern [{}].", enable,
+                filterCache.getFilter());
+    }
+
+    /**
+     * Reads configuration of saving again, it's done automatically every
+     * {@value EndpointFilterCache#REFRESH_INTERVAL_SEC} seconds.
+     */
+    void refreshEndpointFilter() {
+        filterCache.refresh();
     }
 
     @Autowired
@@ -95,14 +112,14 @@ public class ResponseReceiveEventNotifier extends EventNotifierBase<ExchangeSent
 
     @Override
     public boolean isEnabled(EventObject event) {
-        return super.isEnabled(event) && enable.getValue() && endpointFilterPattern != null;
+        return super.isEnabled(event) && filterCache.isEnabled();
     }
 
     @Override
     protected void doNotify(ExchangeSentEvent event) throws Exception {
         String endpointUri = event.getEndpoint().getEndpointUri();
 
-        if (RequestSendingEventNotifier.filter(endpointUri, endpointFilterPattern)) {
+        if (filterCache.matches(endpointUri)) {
             // get response
             String resStr;
             String failedReason = null;
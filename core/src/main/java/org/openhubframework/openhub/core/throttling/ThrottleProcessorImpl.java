@@ -23,6 +23,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
 import org.openhubframework.openhub.api.exception.ThrottlingExceededException;
+import org.openhubframework.openhub.spi.monitoring.AsynchMetrics;
 import org.openhubframework.openhub.spi.throttling.*;
 
 
@@ -42,6 +43,9 @@ public class ThrottleProcessorImpl implements ThrottlingProcessor {
     @Autowired
     private ThrottleCounter counter;
 
+    @Autowired
+    private AsynchMetrics asynchMetrics;
+
     @Override
     public void throttle(ThrottleScope throttleScope) {
         if (!configuration.isThrottlingDisabled()) {
@@ -68,6 +72,8 @@ public class ThrottleProcessorImpl implements ThrottlingProcessor {
 
                 LOG.warn(errMsg);
 
+                asynchMetrics.markThrottleRejected(throttleScope);
+
                 throw new ThrottlingExceededException(errMsg);
             }
         }
@@ -0,0 +1,7 @@
+--
+-- core.async
+--
+
+-- interval (in seconds) of reconciliation of message state counts with the database
+INSERT INTO configuration_item (code, category_code, current_value, default_value, data_type, mandatory, validation)
+    VALUES('ohf.asynch.stateCounter.reconcileIntervalSec', 'core.async', 300, 300, 'INT', true, null);
@@ -0,0 +1,6 @@
+-- indexes for keyset pagination of messages (newest first) with the most common filters
+CREATE INDEX MSG_RECEIVE_TS_ID_IDX ON MESSAGE (RECEIVE_TIMESTAMP DESC, MSG_ID DESC);
+CREATE INDEX MSG_STATE_RECEIVE_TS_IDX ON MESSAGE (STATE, RECEIVE_TIMESTAMP DESC, MSG_ID DESC);
+CREATE INDEX MSG_SOURCE_SYSTEM_RECEIVE_TS_IDX ON MESSAGE (SOURCE_SYSTEM, RECEIVE_TIMESTAMP DESC, MSG_ID DESC);
+CREATE INDEX MSG_SERVICE_OPERATION_RECEIVE_TS_IDX ON MESSAGE (SERVICE, OPERATION_NAME, RECEIVE_TIMESTAMP DESC, MSG_ID DESC);
+CREATE INDEX MSG_PROCESS_ID_IDX ON MESSAGE (PROCESS_ID);
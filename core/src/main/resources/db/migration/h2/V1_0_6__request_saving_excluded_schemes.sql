@@ -0,0 +1,4 @@
+-- endpoint schemes (separated by comma) which requests/responses are never saved regardless of endpoint filter
+INSERT INTO configuration_item (code, description, category_code, current_value, default_value, data_type, mandatory, validation)
+    VALUES('ohf.requestSaving.excludedSchemes', 'Endpoint schemes which requests/responses are never saved',
+'core.requestSaving', 'direct,seda,bean', 'direct,seda,bean', 'STRING', false, null);
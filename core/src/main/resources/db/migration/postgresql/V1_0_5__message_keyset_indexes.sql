@@ -0,0 +1,15 @@
+-- indexes for keyset pagination of messages (newest first) with the most common filters
+drop index if exists msg_receive_ts_id_idx;
+create index msg_receive_ts_id_idx ON message (receive_timestamp DESC, msg_id DESC);
+
+drop index if exists msg_state_receive_ts_idx;
+create index msg_state_receive_ts_idx ON message (state, receive_timestamp DESC, msg_id DESC);
+
+drop index if exists msg_source_system_receive_ts_idx;
+create index msg_source_system_receive_ts_idx ON message (source_system, receive_timestamp DESC, msg_id DESC);
+
+drop index if exists msg_service_operation_receive_ts_idx;
+create index msg_service_operation_receive_ts_idx ON message (service, operation_name, receive_timestamp DESC, msg_id DESC);
+
+drop index if exists msg_process_id_idx;
+create index msg_process_id_idx ON message (process_id);
@@ -0,0 +1,4 @@
+-- full-text index of messages used by MessageFulltextSearchPostgreSqlImpl,
+-- the expression must be the same as in the search query
+drop index if exists msg_fulltext_idx;
+create index msg_fulltext_idx ON message USING gin (to_tsvector('simple', left(coalesce(envelope, payload), 100000)));
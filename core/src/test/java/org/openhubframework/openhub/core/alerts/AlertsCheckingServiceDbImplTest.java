@@ -16,8 +16,15 @@
 
 package org.openhubframework.openhub.core.alerts;
 
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyLong;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -25,6 +32,7 @@ import java.util.Arrays;
 
 import org.junit.Test;
 
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
 import org.openhubframework.openhub.core.AbstractCoreTest;
 import org.openhubframework.openhub.spi.alerts.AlertInfo;
 import org.openhubframework.openhub.spi.alerts.AlertListener;
@@ -66,4 +74,111 @@ public class AlertsCheckingServiceDbImplTest extends AbstractCoreTest {
         verify(alertsDao).runQuery(alert.getSql());
         verify(listener).onAlert(alert, 2L);
     }
+
+    @Test
+    public void testCheckAlertsWithFailedQuery() {
+        // prepare data
+        AlertsCheckingServiceDbImpl checkingService = new AlertsCheckingServiceDbImpl();
+
+        AlertInfo failedAlert = new AlertInfo("FAILED", 1, "sql1", true, null, null);
+        AlertInfo alert = new AlertInfo("ID", 1, "sql2", true, null, null);
+        alert.setQueryTimeoutSec(5);
+
+        AlertsConfiguration alertsConfig = mock(AlertsConfiguration.class);
+        when(alertsConfig.getAlerts(true)).thenReturn(Arrays.asList(failedAlert, alert));
+
+        AlertListener listener = mock(AlertListener.class);
+        when(listener.supports(alert)).thenReturn(true);
+        when(listener.supports(failedAlert)).thenReturn(true);
+
+        AlertsDao alertsDao = mock(AlertsDao.class);
+        when(alertsDao.runQuery("sql1")).thenThrow(new IllegalStateException("query timeout"));
+        when(alertsDao.runQuery("sql2", 5)).thenReturn(2L);
+
+        setPrivateField(checkingService, "alertsConfig", alertsConfig);
+        setPrivateField(checkingService, "listeners", Arrays.asList(listener));
+        setPrivateField(checkingService, "alertsDao", alertsDao);
+
+        // action
+        checkingService.checkAlerts();
+        checkingService.destroy();
+
+        // verify
+        verify(listener).onAlert(alert, 2L);
+        verify(listener, never()).onAlert(eq(failedAlert), anyLong());
+    }
+
+    @Test
+    public void testCachedCount() {
+        // prepare data
+        AlertsCheckingServiceDbImpl checkingService = new AlertsCheckingServiceDbImpl();
+
+        AlertInfo alert = new AlertInfo("ID", 1, "sql", true, null, null);
+
+        AlertsConfiguration alertsConfig = mock(AlertsConfiguration.class);
+        when(alertsConfig.getAlerts(true)).thenReturn(Arrays.asList(alert));
+
+        AlertsDao alertsDao = mock(AlertsDao.class);
+        when(alertsDao.runQuery(anyString())).thenReturn(2L);
+
+        AlertsCheckingProperties properties = new AlertsCheckingProperties();
+        properties.setCacheTimeSec(60);
+
+        setPrivateField(checkingService, "alertsConfig", alertsConfig);
+        setPrivateField(checkingService, "listeners", Arrays.asList(mock(AlertListener.class)));
+        setPrivateField(checkingService, "alertsDao", alertsDao);
+        setPrivateField(checkingService, "properties", properties);
+
+        // action
+        checkingService.checkAlerts();
+        checkingService.checkAlerts();
+
+        // verify
+        verify(alertsDao, times(1)).runQuery(alert.getSql());
+    }
+
+    @Test
+    public void testCachedCountWithRefreshInterval() {
+        // prepare data
+        AlertsCheckingServiceDbImpl checkingService = new AlertsCheckingServiceDbImpl();
+
+        // the same query with different refresh intervals
+        AlertInfo alert = new AlertInfo("ID", 1, "sql", true, null, null);
+        alert.setRefreshIntervalSec(60);
+        AlertInfo notCachedAlert = new AlertInfo("ID2", 1, "sql", true, null, null);
+        notCachedAlert.setRefreshIntervalSec(0);
+
+        AlertsConfiguration alertsConfig = mock(AlertsConfiguration.class);
+        when(alertsConfig.getAlerts(true)).thenReturn(Arrays.asList(alert, notCachedAlert));
+
+        AlertsDao alertsDao = mock(AlertsDao.class);
+        when(alertsDao.runQuery(anyString())).thenReturn(2L);
+
+        AlertsCheckingProperties properties = new AlertsCheckingProperties();
+        properties.setParallelism(1);
+
+        setPrivateField(checkingService, "alertsConfig", alertsConfig);
+        setPrivateField(checkingService, "listeners", Arrays.asList(mock(AlertListener.class)));
+        setPrivateField(checkingService, "alertsDao", alertsDao);
+        setPrivateField(checkingService, "properties", properties);
+
+        // action
+        checkingService.checkAlerts();
+        checkingService.checkAlerts();
+
+        // verify: once for cached alert, twice for not cached alert
+        verify(alertsDao, times(3)).runQuery("sql");
+    }
+
+    @Test
+    public void testParseStateCountQuery() {
+        assertThat(StateCountAlertEvaluator.parseState("SELECT COUNT(*) FROM message WHERE state = 'FAILED'"),
+                is(MsgStateEnum.FAILED));
+        assertThat(StateCountAlertEvaluator.parseState(" select count( * ) from MESSAGE where state='partly_failed';"),
+                is(MsgStateEnum.PARTLY_FAILED));
+        assertThat(StateCountAlertEvaluator.parseState("SELECT COUNT(*) FROM message WHERE state = 'WAITING_FOR_RES'"
+                + " AND last_update_timestamp < (current_timestamp - interval '3600 seconds')"), is(nullValue()));
+        assertThat(StateCountAlertEvaluator.parseState("SELECT COUNT(*) FROM message WHERE state = 'UNKNOWN'"),
+                is(nullValue()));
+    }
 }
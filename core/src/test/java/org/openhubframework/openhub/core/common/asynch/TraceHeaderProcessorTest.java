@@ -23,8 +23,11 @@ import static org.hamcrest.CoreMatchers.nullValue;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.fail;
 
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
+import javax.xml.transform.stream.StreamSource;
 
 import org.apache.camel.EndpointInject;
 import org.apache.camel.Exchange;
@@ -104,6 +107,32 @@ public class TraceHeaderProcessorTest extends AbstractCoreTest {
         assertThat(header.getTraceIdentifier().getProcessID(), is("process123"));
     }
 
+    @Test
+    public void testParsingTraceHeaderFromStreamBody() throws Exception {
+        prepareRoute(new TraceHeaderProcessor(true, null));
+
+        String request = "<notifyCollectionStepRequest xmlns=\"http://openhubframework.org/ws/NotificationsService-v1\">"
+                + "            <traceIdentifier xmlns=\"http://openhubframework.org/ws/Common-v1\">"
+                + "                <applicationID>ERP</applicationID>"
+                + "                <timestamp>2013-09-27T10:23:34.6987744+02:00</timestamp>"
+                + "                <correlationID>da793349-b486-489a-9180-200789b7007f</correlationID>"
+                + "            </traceIdentifier>"
+                + "            <externalCustomerAccountID>2065</externalCustomerAccountID>"
+                + "        </notifyCollectionStepRequest>";
+
+        mock.expectedMessageCount(1);
+
+        // send message as one-shot stream
+        producer.sendBody(new StreamSource(new ByteArrayInputStream(request.getBytes(StandardCharsets.UTF_8))));
+
+        mock.assertIsSatisfied();
+
+        TraceHeader header = mock.getExchanges().get(0).getIn()
+                .getHeader(TraceHeaderProcessor.TRACE_HEADER, TraceHeader.class);
+        assertThat(header, notNullValue());
+        assertThat(header.getTraceIdentifier().getCorrelationID(), is("da793349-b486-489a-9180-200789b7007f"));
+    }
+
     @Test
     public void testValidateTraceIdNotAllowedValues() throws Exception {
         final TraceHeaderProcessor processor = new TraceHeaderProcessor(true,
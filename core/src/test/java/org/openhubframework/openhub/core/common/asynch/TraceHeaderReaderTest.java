@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.StringReader;
+import javax.xml.bind.JAXBContext;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.transform.Source;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+
+import org.openhubframework.openhub.api.asynch.model.TraceHeader;
+import org.openhubframework.openhub.api.asynch.model.TraceIdentifier;
+
+
+/**
+ * Test suite for {@link TraceHeaderReader}, results are compared with JAXB unmarshaller.
+ *
+ * @since 2.2
+ */
+public class TraceHeaderReaderTest {
+
+    private static final String TRACE_IDENTIFIER = "<traceIdentifier xmlns=\"http://openhubframework.org/ws/Common-v1\">"
+            + "    <applicationID>ERP</applicationID>"
+            + "    <timestamp>2013-09-27T10:23:34.6987744+02:00</timestamp>"
+            + "    <correlationID>da793349-b486-489a-9180-200789b7007f</correlationID>"
+            + "    <processID>process123</processID>"
+            + "</traceIdentifier>";
+
+    private static final String HEADER = "<traceHeader xmlns=\"http://openhubframework.org/ws/Common-v1\">"
+            + TRACE_IDENTIFIER
+            + "</traceHeader>";
+
+    private static final String BODY = "<notifyRequest xmlns=\"http://openhubframework.org/ws/NotificationsService-v1\">"
+            + TRACE_IDENTIFIER
+            + "    <externalCustomerAccountID>2065</externalCustomerAccountID>"
+            + "    <eventDate>2013-09-26T00:00:00</eventDate>"
+            + "</notifyRequest>";
+
+    @Test
+    public void testReadHeader() throws Exception {
+        assertSameAsJaxb(new StreamSource(new StringReader(HEADER)), false, HEADER);
+        assertSameAsJaxb(createDomSource(HEADER), false, HEADER);
+    }
+
+    @Test
+    public void testReadBody() throws Exception {
+        assertSameAsJaxb(new StreamSource(new StringReader(BODY)), true, BODY);
+        assertSameAsJaxb(createDomSource(BODY), true, BODY);
+    }
+
+    @Test
+    public void testUnknownElement() throws Exception {
+        String header = HEADER.replace("<processID>", "<unknown>a</unknown><processID>");
+
+        assertThat(TraceHeaderReader.read(new StreamSource(new StringReader(header)), false), nullValue());
+        assertThat(TraceHeaderReader.read(createDomSource(header), false), nullValue());
+    }
+
+    private static void assertSameAsJaxb(Source source, boolean headerInBody, String xml) throws Exception {
+        TraceHeader header = TraceHeaderReader.read(source, headerInBody);
+        assertThat(header, notNullValue());
+
+        TraceHeader expected = JAXBContext.newInstance(TraceHeader.class).createUnmarshaller()
+                .unmarshal(new StreamSource(new StringReader(xml)), TraceHeader.class).getValue();
+
+        TraceIdentifier traceId = header.getTraceIdentifier();
+        TraceIdentifier expectedTraceId = expected.getTraceIdentifier();
+        assertThat(traceId.getApplicationID(), is(expectedTraceId.getApplicationID()));
+        assertThat(traceId.getTimestamp(), is(expectedTraceId.getTimestamp()));
+        assertThat(traceId.getCorrelationID(), is(expectedTraceId.getCorrelationID()));
+        assertThat(traceId.getProcessID(), is(expectedTraceId.getProcessID()));
+    }
+
+    private static DOMSource createDomSource(String xml) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        Document doc = factory.newDocumentBuilder().parse(new InputSource(new StringReader(xml)));
+        return new DOMSource(doc.getDocumentElement());
+    }
+}
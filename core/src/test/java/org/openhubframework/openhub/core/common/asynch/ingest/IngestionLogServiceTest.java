@@ -0,0 +1,243 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.ingest;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.openhubframework.openhub.api.configuration.CoreProps.ASYNCH_INGESTION_LOG_ENABLED;
+import static org.openhubframework.openhub.api.configuration.CoreProps.URI_INPUT_PATTERN_FILTER;
+
+import java.io.File;
+import java.util.UUID;
+import java.util.function.BooleanSupplier;
+
+import org.apache.camel.EndpointInject;
+import org.apache.camel.Exchange;
+import org.apache.camel.Produce;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.jdbc.JdbcTestUtils;
+
+import org.openhubframework.openhub.api.asynch.AsynchConstants;
+import org.openhubframework.openhub.api.asynch.model.CallbackResponse;
+import org.openhubframework.openhub.api.asynch.model.ConfirmationTypes;
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.api.exception.InternalErrorEnum;
+import org.openhubframework.openhub.api.route.AbstractBasicRoute;
+import org.openhubframework.openhub.core.AbstractCoreDbTest;
+import org.openhubframework.openhub.core.common.asynch.AsynchInMessageRoute;
+import org.openhubframework.openhub.core.common.dao.MessageDao;
+import org.openhubframework.openhub.spi.msg.MessageService;
+import org.openhubframework.openhub.test.data.ExternalSystemTestEnum;
+import org.openhubframework.openhub.test.data.ServiceTestEnum;
+import org.openhubframework.openhub.test.route.ActiveRoutes;
+
+
+/**
+ * Test suite for {@link AsynchInMessageRoute} with ingestion via {@link IngestionLogService}.
+ *
+ * @since 2.2
+ */
+@ActiveRoutes(classes = AsynchInMessageRoute.class)
+@TestPropertySource(properties = {
+        URI_INPUT_PATTERN_FILTER + "=" + AsynchConstants.URI_ASYNCH_IN_MSG,
+        ASYNCH_INGESTION_LOG_ENABLED + "=true",
+        "ohf.asynch.ingestionLog.directory=target/ingestion-log-${random.uuid}"
+})
+public class IngestionLogServiceTest extends AbstractCoreDbTest {
+
+    @Produce(uri = AsynchConstants.URI_ASYNCH_IN_MSG)
+    private ProducerTemplate producer;
+
+    @EndpointInject(uri = "mock:test")
+    private MockEndpoint mock;
+
+    @Autowired
+    private IngestionLogService ingestionLogService;
+
+    @Autowired
+    private MessageService messageService;
+
+    @Autowired
+    private MessageDao messageDao;
+
+    @Before
+    public void prepareData() throws Exception {
+        getHeaders().put(AsynchConstants.SERVICE_HEADER, ServiceTestEnum.CUSTOMER);
+        getHeaders().put(AsynchConstants.OPERATION_HEADER, "setCustomer");
+        getHeaders().put(AsynchConstants.OBJECT_ID_HEADER, "567");
+
+        getCamelContext().addRoutes(new AbstractBasicRoute() {
+            @Override
+            public void doConfigure() throws Exception {
+                from(AsynchConstants.URI_ASYNC_MSG)
+                        .to("mock:test");
+            }
+        });
+    }
+
+    @Test
+    public void testMessageIsSavedAfterResponse() throws Exception {
+        mock.expectedMessageCount(1);
+
+        // action
+        Object response = producer.requestBodyAndHeaders("bodyContent", getHeaders());
+
+        // verify OK response
+        assertThat(response, instanceOf(CallbackResponse.class));
+        assertThat(((CallbackResponse) response).getStatus(), is(ConfirmationTypes.OK));
+
+        // message is saved and sent for next processing by committer
+        mock.assertIsSatisfied();
+
+        Message msg = mock.getExchanges().get(0).getIn().getBody(Message.class);
+        assertThat(msg.getCorrelationId(), is(getTraceHeader().getTraceIdentifier().getCorrelationID()));
+        assertThat(msg.getPayload(), is("bodyContent"));
+        assertThat(JdbcTestUtils.countRowsInTable(getJdbcTemplate(), "message"), is(1));
+        assertThat(ingestionLogService.getAppendedCount(), is(1L));
+        assertThat(ingestionLogService.getCommittedCount(), is(1L));
+    }
+
+    @Test
+    public void testAlreadySavedMessageIsRejected() throws Exception {
+        // message with the same correlation ID was already saved
+        createAndSaveMessages(1, (msg, order) -> {
+            msg.setCorrelationId(getTraceHeader().getTraceIdentifier().getCorrelationID());
+            msg.setState(MsgStateEnum.OK);
+        });
+
+        mock.expectedMessageCount(0);
+
+        // action
+        Exchange exchange = producer.send(ex -> {
+            ex.getIn().setBody("bodyContent");
+            ex.getIn().setHeaders(getHeaders());
+        });
+
+        // verify
+        CallbackResponse response = exchange.getProperty(AsynchConstants.ERR_CALLBACK_RES_PROP,
+                CallbackResponse.class);
+        assertThat(response.getStatus(), is(ConfirmationTypes.FAIL));
+        assertThat(response.getAdditionalInfo(), containsString(InternalErrorEnum.E106.getErrorCode()));
+        assertThat(ingestionLogService.getAppendedCount(), is(0L));
+        assertThat(ingestionLogService.getDuplicateCount(), is(0L));
+        assertThat(JdbcTestUtils.countRowsInTable(getJdbcTemplate(), "message"), is(1));
+        mock.assertIsSatisfied();
+    }
+
+    @Test
+    public void testReplayedSavedMessageIsSkipped() throws Exception {
+        // message was saved and processed before crash, but checkpoint wasn't saved
+        Message saved = createAndSaveMessages(1, (msg, order) -> msg.setState(MsgStateEnum.OK))[0];
+        Message replayed = createNewMessage();
+        replayed.setCorrelationId(saved.getCorrelationId());
+
+        File directory = writeLog(MessageRecordCodec.encode(replayed, null));
+
+        mock.expectedMessageCount(0);
+
+        // action
+        IngestionLogService service = startService(directory);
+        try {
+            await(() -> service.getDuplicateCount() > 0);
+
+            // verify
+            assertThat(service.getDuplicateCount(), is(1L));
+            assertThat(service.getCommittedCount(), is(0L));
+            assertThat(service.getDeadLetterCount(), is(0L));
+        } finally {
+            service.destroy();
+        }
+
+        assertThat(JdbcTestUtils.countRowsInTable(getJdbcTemplate(), "message"), is(1));
+        mock.assertIsSatisfied();
+    }
+
+    @Test
+    public void testPoisonRecordsAreMovedToDeadLetter() throws Exception {
+        Message invalid = createNewMessage();
+        invalid.setOperationName(null);
+
+        File directory = writeLog(new byte[] {99}, MessageRecordCodec.encode(invalid, null),
+                MessageRecordCodec.encode(createNewMessage(), null));
+
+        mock.expectedMessageCount(1);
+
+        // action
+        IngestionLogService service = startService(directory);
+        try {
+            await(() -> service.getPendingBytes() == 0);
+
+            // verify
+            assertThat(service.getCommittedCount(), is(1L));
+            assertThat(service.getDeadLetterCount(), is(2L));
+            assertThat(new File(directory, IngestionLogService.DEAD_LETTER_DIR).list().length, is(2));
+            assertThat(service.getPendingBytes(), is(0L));
+        } finally {
+            service.destroy();
+        }
+
+        assertThat(JdbcTestUtils.countRowsInTable(getJdbcTemplate(), "message"), is(1));
+        mock.assertIsSatisfied();
+    }
+
+    private Message createNewMessage() {
+        Message msg = createMessage(ExternalSystemTestEnum.CRM, ServiceTestEnum.CUSTOMER, "setCustomer", "payload");
+        msg.setState(MsgStateEnum.NEW);
+        return msg;
+    }
+
+    /**
+     * Writes records into new log, it simulates records from previous run.
+     */
+    private static File writeLog(byte[]... records) throws Exception {
+        File directory = new File("target/ingestion-log-" + UUID.randomUUID());
+        IngestionLog log = new IngestionLog(directory, 1024 * 1024, 0);
+        for (byte[] record : records) {
+            log.awaitDurable(log.append(record));
+        }
+        log.close();
+        return directory;
+    }
+
+    private IngestionLogService startService(File directory) throws Exception {
+        IngestionLogProperties properties = new IngestionLogProperties();
+        properties.setDirectory(directory.getPath());
+        properties.setSegmentSize(1024 * 1024);
+        properties.setRetryDelayMillis(50);
+
+        IngestionLogService service = new IngestionLogService(properties, messageService, messageDao,
+                transactionManager);
+        service.afterPropertiesSet();
+        service.start(getCamelContext());
+        return service;
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (!condition.getAsBoolean() && System.currentTimeMillis() - start < 10000) {
+            Thread.sleep(50);
+        }
+    }
+}
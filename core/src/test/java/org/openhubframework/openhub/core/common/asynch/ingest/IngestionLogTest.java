@@ -0,0 +1,189 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.ingest;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+
+/**
+ * Test suite for {@link IngestionLog}.
+ *
+ * @since 2.2
+ */
+public class IngestionLogTest {
+
+    private static final int SEGMENT_SIZE = 256;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private IngestionLog log;
+
+    @After
+    public void closeLog() {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    @Test
+    public void testAppendAndRead() throws Exception {
+        log = new IngestionLog(folder.getRoot(), SEGMENT_SIZE, 0);
+
+        // more segments are needed
+        for (int i = 0; i < 20; i++) {
+            log.awaitDurable(log.append(data(i)));
+        }
+
+        List<String> records = readAll(log, 0);
+        assertThat(records.size(), is(20));
+        for (int i = 0; i < 20; i++) {
+            assertThat(records.get(i), is("record-" + i));
+        }
+        assertTrue(folder.getRoot().list((dir, name) -> name.endsWith(".log")).length > 1);
+    }
+
+    @Test
+    public void testRecoveryFromCheckpoint() throws Exception {
+        log = new IngestionLog(folder.getRoot(), SEGMENT_SIZE, 0);
+        for (int i = 0; i < 20; i++) {
+            log.awaitDurable(log.append(data(i)));
+        }
+
+        List<IngestionLog.Record> processed = log.read(0, 12);
+        log.checkpoint(processed.get(11).getNextPosition());
+        log.close();
+
+        // restart => only not confirmed records remain
+        log = new IngestionLog(folder.getRoot(), SEGMENT_SIZE, 0);
+        List<String> records = readAll(log, log.getCheckpointPosition());
+        assertThat(records.size(), is(8));
+        assertThat(records.get(0), is("record-12"));
+
+        // new records follow the recovered ones
+        log.awaitDurable(log.append(data(20)));
+        records = readAll(log, log.getCheckpointPosition());
+        assertThat(records.size(), is(9));
+        assertThat(records.get(8), is("record-20"));
+    }
+
+    @Test
+    public void testRecoveryWithCorruptedCheckpoint() throws Exception {
+        log = new IngestionLog(folder.getRoot(), SEGMENT_SIZE, 0);
+        for (int i = 0; i < 40; i++) {
+            log.awaitDurable(log.append(data(i)));
+        }
+
+        // the first segment is deleted by checkpoint
+        List<IngestionLog.Record> processed = log.read(0, 30);
+        log.checkpoint(processed.get(29).getNextPosition());
+        log.close();
+        assertThat(new File(folder.getRoot(), "ingestion-000000000000.log").exists(), is(false));
+
+        try (RandomAccessFile file = new RandomAccessFile(new File(folder.getRoot(), "checkpoint"), "rw")) {
+            file.setLength(5);
+        }
+
+        // restart => records from the first remaining segment are processed again
+        log = new IngestionLog(folder.getRoot(), SEGMENT_SIZE, 0);
+        List<String> records = readAll(log, log.getCheckpointPosition());
+        assertTrue(records.size() >= 10 && records.size() < 40);
+        assertThat(records.get(records.size() - 1), is("record-39"));
+
+        // new records follow the recovered ones
+        log.awaitDurable(log.append(data(40)));
+        List<String> all = readAll(log, log.getCheckpointPosition());
+        assertThat(all.size(), is(records.size() + 1));
+        assertThat(all.get(all.size() - 1), is("record-40"));
+    }
+
+    @Test
+    public void testTornRecordIsIgnored() throws Exception {
+        log = new IngestionLog(folder.getRoot(), SEGMENT_SIZE, 0);
+        log.awaitDurable(log.append(data(0)));
+        long end = log.append(data(1));
+        log.awaitDurable(end);
+        log.close();
+
+        // corrupt data of the last record
+        try (RandomAccessFile file = new RandomAccessFile(new File(folder.getRoot(), "ingestion-000000000000.log"),
+                "rw")) {
+            file.seek(end - 1);
+            file.write('X');
+        }
+
+        log = new IngestionLog(folder.getRoot(), SEGMENT_SIZE, 0);
+        List<String> records = readAll(log, 0);
+        assertThat(records.size(), is(1));
+        assertThat(records.get(0), is("record-0"));
+    }
+
+    @Test
+    public void testGroupCommitFromMoreThreads() throws Exception {
+        log = new IngestionLog(new File(folder.getRoot(), "group"), 64 * 1024, 1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        log.awaitDurable(log.append(data(thread * 1000 + i)));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(readAll(log, 0).size(), is(400));
+    }
+
+    private static byte[] data(int index) {
+        return ("record-" + index).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readAll(IngestionLog log, long position) {
+        List<String> result = new ArrayList<>();
+        for (IngestionLog.Record record : log.read(position, Integer.MAX_VALUE)) {
+            result.add(new String(record.getData(), StandardCharsets.UTF_8));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyCollectionOf;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.spi.msg.MessageService;
+
+
+/**
+ * Test suite for {@link MessageGroupInserter}.
+ *
+ * @since 2.2
+ */
+public class MessageGroupInserterTest {
+
+    private static final String WRONG_CORRELATION_ID = "wrong";
+
+    private final List<Integer> transactions = new CopyOnWriteArrayList<>();
+
+    private MessageGroupInserter inserter;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void prepareInserter() {
+        MessageService messageService = mock(MessageService.class);
+
+        doAnswer(invocation -> {
+            Collection<Message> messages = (Collection<Message>) invocation.getArguments()[0];
+            transactions.add(messages.size());
+            for (Message msg : messages) {
+                checkMessage(msg);
+            }
+            return null;
+        }).when(messageService).insertMessages(anyCollectionOf(Message.class));
+
+        doAnswer(invocation -> {
+            transactions.add(1);
+            checkMessage((Message) invocation.getArguments()[0]);
+            return null;
+        }).when(messageService).insertMessage(any(Message.class));
+
+        MessageGroupInsertProperties properties = new MessageGroupInsertProperties();
+        properties.setMaxBatchSize(50);
+        properties.setMaxDelayMillis(20);
+
+        inserter = new MessageGroupInserter(properties, messageService);
+        inserter.afterPropertiesSet();
+    }
+
+    @After
+    public void stopInserter() throws Exception {
+        inserter.destroy();
+    }
+
+    @Test
+    public void testGroupInsertFromMoreThreads() throws Exception {
+        List<Future<?>> results = insertConcurrently(200, -1);
+
+        for (Future<?> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+
+        assertThat(inserter.getInsertedCount(), is(200L));
+        assertTrue("messages must be inserted in less transactions, but was " + transactions,
+                transactions.size() < 200);
+        for (Integer size : transactions) {
+            assertTrue(size <= 50);
+        }
+    }
+
+    @Test
+    public void testWrongMessageFailsOnlyItsCaller() throws Exception {
+        List<Future<?>> results = insertConcurrently(20, 7);
+
+        for (int i = 0; i < results.size(); i++) {
+            try {
+                results.get(i).get(10, TimeUnit.SECONDS);
+                if (i == 7) {
+                    fail("insert of wrong message must fail");
+                }
+            } catch (Exception ex) {
+                assertThat(i, is(7));
+                assertThat(ex.getCause(), instanceOf(IllegalArgumentException.class));
+            }
+        }
+
+        assertThat(inserter.getInsertedCount(), is(19L));
+        assertTrue(inserter.getFallbackCount() > 0);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testTimedOutMessageIsNotInserted() throws Exception {
+        List<String> inserted = new CopyOnWriteArrayList<>();
+        CountDownLatch insertStarted = new CountDownLatch(1);
+        CountDownLatch insertReleased = new CountDownLatch(1);
+
+        MessageService messageService = mock(MessageService.class);
+        doAnswer(invocation -> {
+            insertStarted.countDown();
+            insertReleased.await();
+            for (Message msg : (Collection<Message>) invocation.getArguments()[0]) {
+                inserted.add(msg.getCorrelationId());
+            }
+            return null;
+        }).when(messageService).insertMessages(anyCollectionOf(Message.class));
+
+        MessageGroupInsertProperties properties = new MessageGroupInsertProperties();
+        properties.setMaxBatchSize(1);
+        properties.setMaxDelayMillis(0);
+        properties.setTimeoutMillis(200);
+
+        MessageGroupInserter slowInserter = new MessageGroupInserter(properties, messageService);
+        slowInserter.afterPropertiesSet();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // the first message is being inserted
+            Future<?> first = executor.submit(() -> {
+                slowInserter.insert(createMessage("first"));
+                return null;
+            });
+            assertTrue(insertStarted.await(10, TimeUnit.SECONDS));
+
+            // the second message waits in the queue
+            try {
+                slowInserter.insert(createMessage("second"));
+                fail("insert must time out");
+            } catch (IllegalStateException ex) {
+                // expected
+            }
+
+            insertReleased.countDown();
+
+            // the first message is inserted although it takes longer than timeout
+            first.get(10, TimeUnit.SECONDS);
+        } finally {
+            insertReleased.countDown();
+            executor.shutdown();
+            slowInserter.destroy();
+        }
+
+        assertThat(inserted, is(Collections.singletonList("first")));
+        assertThat(slowInserter.getInsertedCount(), is(1L));
+    }
+
+    private static Message createMessage(String correlationId) {
+        Message msg = new Message();
+        msg.setCorrelationId(correlationId);
+        return msg;
+    }
+
+    private List<Future<?>> insertConcurrently(int count, int wrongIndex) {
+        ExecutorService executor = Executors.newFixedThreadPool(20);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                Message msg = new Message();
+                msg.setCorrelationId(i == wrongIndex ? WRONG_CORRELATION_ID : String.valueOf(i));
+
+                results.add(executor.submit(() -> {
+                    inserter.insert(msg);
+                    return null;
+                }));
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void checkMessage(Message msg) {
+        if (WRONG_CORRELATION_ID.equals(msg.getCorrelationId())) {
+            throw new IllegalArgumentException("duplicate correlation ID");
+        }
+    }
+}
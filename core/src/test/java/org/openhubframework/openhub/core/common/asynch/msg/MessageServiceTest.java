@@ -27,6 +27,7 @@ import java.time.ZoneOffset;
 import java.util.List;
 
 import org.junit.Test;
+import org.openhubframework.openhub.api.entity.MessageCursor;
 import org.openhubframework.openhub.api.entity.MessageFilter;
 import org.openhubframework.openhub.test.data.ServiceTestEnum;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -275,6 +276,43 @@ public class MessageServiceTest extends AbstractCoreDbTest {
         assertThat(messageService.findMessagesByFilter(filter, 100L).size(), is(3));
     }
 
+    @Test
+    public void testFindMessagesByFilter_keysetPages() throws Exception {
+        // messages with the same received timestamp are ordered by ID
+        final Instant receiveTimestamp = LocalDateTime.of(2017,5,28,10,0,0).toInstant(ZoneOffset.UTC);
+        createAndSaveMessages(5, (message, order) -> {
+            message.setReceiveTimestamp(order < 5 ? receiveTimestamp : receiveTimestamp.plusSeconds(10));
+        });
+
+        final MessageFilter filter = new MessageFilter();
+        filter.setReceivedFrom(LocalDateTime.of(2017,5,27,19,17,10).toInstant(ZoneOffset.UTC));
+
+        List<Message> page1 = messageService.findMessagesByFilter(filter, null, 2);
+        assertThat(page1.size(), is(2));
+        assertThat(page1.get(0).getReceiveTimestamp(), is(receiveTimestamp.plusSeconds(10)));
+
+        List<Message> page2 = messageService.findMessagesByFilter(filter, MessageCursor.of(page1.get(1)), 2);
+        assertThat(page2.size(), is(2));
+        assertThat(page2.get(0).getMsgId() < page1.get(1).getMsgId(), is(true));
+
+        List<Message> page3 = messageService.findMessagesByFilter(filter, MessageCursor.of(page2.get(1)), 2);
+        assertThat(page3.size(), is(1));
+        assertThat(page3.get(0).getMsgId() < page2.get(1).getMsgId(), is(true));
+    }
+
+    @Test
+    public void testFindMessagesByFilter_wildcard() throws Exception {
+        createAndSaveMessages(3, (message, order) -> message.setCorrelationId("corr-" + order));
+
+        final MessageFilter filter = new MessageFilter();
+        filter.setReceivedFrom(LocalDateTime.of(2017,5,27,19,17,10).toInstant(ZoneOffset.UTC));
+        filter.setCorrelationId("corr-");
+        assertThat(messageService.findMessagesByFilter(filter, 100L).size(), is(0));
+
+        filter.setCorrelationId("corr-%");
+        assertThat(messageService.findMessagesByFilter(filter, 100L).size(), is(3));
+    }
+
     private static void findByFilter_messageFill(final Message msg) {
         Instant received = LocalDateTime.of(2017,5,27,19,17,10).toInstant(ZoneOffset.UTC);
         Instant lastUpdate = LocalDateTime.of(2017,5,27,20,17,10).toInstant(ZoneOffset.UTC);
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.core.AbstractCoreDbTest;
+
+
+/**
+ * Test suite for {@link MessageStateCounter}.
+ *
+ * @since 2.2
+ */
+public class MessageStateCounterTest extends AbstractCoreDbTest {
+
+    @Autowired
+    private MessageStateCounter counter;
+
+    @Autowired
+    private MessageOperationService operationService;
+
+    private Message[] messages;
+
+    @Before
+    public void prepareMessages() {
+        // messages are inserted directly => counts are changed by reconciliation only
+        messages = createAndSaveMessages(2, (message, order) -> message.setState(MsgStateEnum.FAILED));
+
+        counter.reconcile();
+    }
+
+    @Test
+    public void testIncrementalChanges() {
+        assertThat(counter.getCount(MsgStateEnum.FAILED), is(2L));
+        assertThat(counter.getCount(MsgStateEnum.PARTLY_FAILED), is(0L));
+
+        operationService.restartMessage(messages[0].getMsgId(), false);
+        operationService.cancelMessage(messages[0].getMsgId());
+
+        assertThat(counter.getCount(MsgStateEnum.FAILED), is(1L));
+        assertThat(counter.getCount(MsgStateEnum.PARTLY_FAILED), is(0L));
+        assertThat(counter.getCount(MsgStateEnum.CANCEL), is(1L));
+    }
+
+    @Test
+    public void testRollback() {
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.execute(status -> {
+            counter.stateChanged(MsgStateEnum.FAILED, MsgStateEnum.OK);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        assertThat(counter.getCount(MsgStateEnum.FAILED), is(2L));
+        assertThat(counter.getCount(MsgStateEnum.OK), is(0L));
+    }
+
+    @Test
+    public void testReconcile() {
+        counter.stateChanged(null, MsgStateEnum.NEW);
+        assertThat(counter.getCount(MsgStateEnum.NEW), is(1L));
+
+        counter.reconcile();
+        assertThat(counter.getCount(MsgStateEnum.NEW), is(0L));
+        assertThat(counter.getCount(MsgStateEnum.FAILED), is(2L));
+    }
+}
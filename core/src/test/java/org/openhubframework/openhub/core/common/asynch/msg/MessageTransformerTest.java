@@ -0,0 +1,105 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.msg;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.component.spring.ws.SpringWebserviceMessage;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.ws.soap.saaj.SaajSoapMessage;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+import org.openhubframework.openhub.api.asynch.model.TraceHeader;
+import org.openhubframework.openhub.api.asynch.model.TraceIdentifier;
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.test.data.ServiceTestEnum;
+
+
+/**
+ * Test suite for {@link MessageTransformer}.
+ *
+ * @since 2.2
+ */
+public class MessageTransformerTest {
+
+    private static final String ENVELOPE = "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+            + "<soap:Body><cus:setCustomer xmlns:cus=\"http://openhubframework.org/ws/CustomerService-v1\">"
+            + "<cus:name>Jan</cus:name></cus:setCustomer></soap:Body></soap:Envelope>";
+
+    private CamelContext camelContext;
+
+    private TraceHeader traceHeader;
+
+    @Before
+    public void prepareTraceHeader() {
+        camelContext = new DefaultCamelContext();
+
+        TraceIdentifier traceId = new TraceIdentifier();
+        traceId.setCorrelationID("123-456-789");
+        traceId.setApplicationID("crm");
+        traceId.setTimestamp(OffsetDateTime.now());
+
+        traceHeader = new TraceHeader();
+        traceHeader.setTraceIdentifier(traceId);
+    }
+
+    @Test
+    public void testGetSOAPEnvelope() throws Exception {
+        // transformer is reused for next messages
+        for (int i = 0; i < 3; i++) {
+            String envelope = MessageTransformer.getSOAPEnvelope(createExchange());
+            assertThat(envelope, containsString("<cus:name>Jan</cus:name>"));
+        }
+
+        assertThat(MessageTransformer.getSOAPEnvelope(new DefaultExchange(camelContext)), nullValue());
+    }
+
+    @Test
+    public void testCreateMessageWithoutEnvelope() throws Exception {
+        Message msg = MessageTransformer.getInstance().createMessage(createExchange(), traceHeader, "payload",
+                ServiceTestEnum.CUSTOMER, "setCustomer", null, null, null, null, null, true);
+        assertThat(msg.getEnvelope(), nullValue());
+        assertThat(msg.getPayload(), is("payload"));
+
+        msg = MessageTransformer.getInstance().createMessage(createExchange(), traceHeader, "payload",
+                ServiceTestEnum.CUSTOMER, "setCustomer", null, null, null, null, null, null);
+        assertThat(msg.getEnvelope(), containsString("<cus:name>Jan</cus:name>"));
+    }
+
+    private Exchange createExchange() throws Exception {
+        SaajSoapMessageFactory messageFactory = new SaajSoapMessageFactory();
+        messageFactory.afterPropertiesSet();
+        SaajSoapMessage soapMessage = messageFactory.createWebServiceMessage(
+                new ByteArrayInputStream(ENVELOPE.getBytes(StandardCharsets.UTF_8)));
+
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.setIn(new SpringWebserviceMessage(camelContext, soapMessage));
+        return exchange;
+    }
+}
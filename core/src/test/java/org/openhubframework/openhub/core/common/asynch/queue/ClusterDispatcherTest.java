@@ -0,0 +1,338 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.asynch.queue;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.core.IQueue;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.api.entity.Node;
+import org.openhubframework.openhub.spi.msg.MessageService;
+import org.openhubframework.openhub.spi.node.NodeService;
+
+
+/**
+ * Test suite for {@link ClusterDispatcher} and {@link FunnelOwnership}.
+ *
+ * @since 2.2
+ */
+public class ClusterDispatcherTest {
+
+    private HazelcastInstance hazelcast;
+
+    private MessageService messageService;
+
+    private ClusterDispatcher dispatcher;
+
+    @Before
+    public void prepareDispatcher() throws IOException {
+        Resource conf = new ClassPathResource("config/ohf_hazelcast.xml");
+        Config config = new Config();
+        config.setConfigurationFile(conf.getFile());
+        hazelcast = Hazelcast.newHazelcastInstance(config);
+
+        messageService = mock(MessageService.class);
+
+        ClusterDispatchProperties properties = new ClusterDispatchProperties();
+        properties.setEnabled(true);
+        properties.setPollTimeoutMillis(50);
+        dispatcher = new ClusterDispatcher(hazelcast, properties, messageService);
+    }
+
+    @After
+    public void shutdownHazelcast() throws Exception {
+        dispatcher.destroy();
+
+        // gracefully shutdowns HazelcastInstance => necessary for running another tests
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testDispatchAndPull() throws Exception {
+        for (long i = 1; i <= 10; i++) {
+            assertTrue(dispatcher.dispatch(createMessage(i, MsgStateEnum.IN_QUEUE)));
+        }
+        // message processed meanwhile
+        assertTrue(dispatcher.dispatch(createMessage(11L, MsgStateEnum.OK)));
+        assertThat(dispatcher.getQueueSize(), is(11));
+
+        final CountDownLatch latch = new CountDownLatch(10);
+        final List<Long> processed = new CopyOnWriteArrayList<>();
+        dispatcher.start(() -> 1, (msg, onDone) -> {
+            processed.add(msg.getMsgId());
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertThat(processed.size(), is(10));
+        assertThat(processed.contains(11L), is(false));
+        assertThat(dispatcher.getDispatchedCount(), is(11L));
+        assertThat(dispatcher.getPulledCount(), is(10L));
+    }
+
+    @Test
+    public void testPullByFreeCapacity() throws Exception {
+        for (long i = 1; i <= 5; i++) {
+            dispatcher.dispatch(createMessage(i, MsgStateEnum.IN_QUEUE));
+        }
+
+        // node has capacity for 2 messages only (processing doesn't finish)
+        final AtomicInteger inProcessing = new AtomicInteger();
+        final CountDownLatch latch = new CountDownLatch(2);
+        dispatcher.start(() -> 2 - inProcessing.get(), (msg, onDone) -> {
+            inProcessing.incrementAndGet();
+            latch.countDown();
+        });
+
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        Thread.sleep(300);
+        assertThat(dispatcher.getPulledCount(), is(2L));
+        assertThat(dispatcher.getQueueSize(), is(3));
+    }
+
+    @Test
+    public void testFunnelOwnershipRing() {
+        NavigableMap<Integer, Long> ring = FunnelOwnership.buildRing(Arrays.asList(1L, 2L, 3L));
+        NavigableMap<Integer, Long> smallerRing = FunnelOwnership.buildRing(Arrays.asList(1L, 2L));
+
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            String funnelValue = "funnel" + i;
+            Long owner = FunnelOwnership.getOwner(ring, funnelValue);
+            counts.merge(owner, 1, Integer::sum);
+
+            // only funnel values of removed node are moved
+            if (owner != 3L) {
+                assertThat(FunnelOwnership.getOwner(smallerRing, funnelValue), is(owner));
+            }
+        }
+
+        for (Long nodeId : Arrays.asList(1L, 2L, 3L)) {
+            assertTrue("node " + nodeId + " owns " + counts.get(nodeId), counts.get(nodeId) > 500);
+        }
+        assertThat(FunnelOwnership.getOwner(FunnelOwnership.buildRing(Collections.emptyList()), "funnel"),
+                nullValue());
+    }
+
+    @Test
+    public void testSingleClaimer() throws Exception {
+        final CountDownLatch claiming = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(1);
+        Thread otherNode = new Thread(() -> dispatcher.runAsClaimer(() -> {
+            claiming.countDown();
+            try {
+                finish.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        otherNode.start();
+
+        assertTrue(claiming.await(10, TimeUnit.SECONDS));
+        assertThat(dispatcher.runAsClaimer(() -> { }), is(false));
+
+        finish.countDown();
+        otherNode.join();
+        assertThat(dispatcher.runAsClaimer(() -> { }), is(true));
+    }
+
+    @Test
+    public void testFunnelAffinity() throws Exception {
+        NodeService nodeService = mock(NodeService.class);
+        Node node = createNode(1L, true);
+        Node stoppedNode = createNode(2L, false);
+        when(nodeService.getActualNode()).thenReturn(node);
+        when(nodeService.getAllNodes()).thenReturn(Arrays.asList(node, stoppedNode));
+
+        FunnelOwnership ownership = new FunnelOwnership(hazelcast, nodeService);
+        ownership.afterPropertiesSet();
+        assertThat(ownership.getOwner("funnel"), is(1L));
+        assertThat(ownership.getNodesWithoutOwnership(), is(Collections.singleton(2L)));
+
+        ClusterDispatchProperties properties = new ClusterDispatchProperties();
+        properties.setPollTimeoutMillis(50);
+        dispatcher = new ClusterDispatcher(hazelcast, properties, messageService, ownership);
+
+        for (long i = 1; i <= 3; i++) {
+            dispatcher.dispatch(createMessage(i, MsgStateEnum.IN_QUEUE, "funnel"));
+        }
+        dispatcher.dispatch(createMessage(4L, MsgStateEnum.IN_QUEUE, null));
+
+        // processing doesn't end until callback is called
+        final BlockingQueue<Long> processed = new LinkedBlockingQueue<>();
+        final Map<Long, Runnable> callbacks = new ConcurrentHashMap<>();
+        dispatcher.start(() -> 10, (msg, onDone) -> {
+            callbacks.put(msg.getMsgId(), onDone);
+            processed.add(msg.getMsgId());
+        });
+
+        // messages with the same funnel value one by one, in order
+        Set<Long> started = new HashSet<>();
+        started.add(processed.poll(10, TimeUnit.SECONDS));
+        started.add(processed.poll(10, TimeUnit.SECONDS));
+        assertThat(started, is((Set<Long>) new HashSet<>(Arrays.asList(1L, 4L))));
+        assertThat(processed.poll(300, TimeUnit.MILLISECONDS), nullValue());
+        assertThat(dispatcher.getWaitingInFunnelLanesCount(), is(2));
+
+        callbacks.get(1L).run();
+        // second call is ignored
+        callbacks.get(1L).run();
+        assertThat(processed.poll(10, TimeUnit.SECONDS), is(2L));
+        assertThat(processed.poll(300, TimeUnit.MILLISECONDS), nullValue());
+
+        callbacks.get(2L).run();
+        assertThat(processed.poll(10, TimeUnit.SECONDS), is(3L));
+        assertThat(dispatcher.getWaitingInFunnelLanesCount(), is(0));
+
+        ownership.destroy();
+    }
+
+    @Test
+    public void testStaleLaneMessageIsSkipped() throws Exception {
+        FunnelOwnership ownership = mockOwnership(1L);
+        dispatcher = new ClusterDispatcher(hazelcast, createProperties(), messageService, ownership);
+
+        for (long i = 1; i <= 3; i++) {
+            dispatcher.dispatch(createMessage(i, MsgStateEnum.IN_QUEUE, "funnel"));
+        }
+
+        final BlockingQueue<Long> processed = new LinkedBlockingQueue<>();
+        final Map<Long, Runnable> callbacks = new ConcurrentHashMap<>();
+        dispatcher.start(() -> 10, (msg, onDone) -> {
+            callbacks.put(msg.getMsgId(), onDone);
+            processed.add(msg.getMsgId());
+        });
+
+        assertThat(processed.poll(10, TimeUnit.SECONDS), is(1L));
+        assertThat(processed.poll(300, TimeUnit.MILLISECONDS), nullValue());
+
+        // message waiting in the lane was repaired meanwhile
+        createMessage(2L, MsgStateEnum.PARTLY_FAILED, "funnel");
+
+        callbacks.get(1L).run();
+        assertThat(processed.poll(10, TimeUnit.SECONDS), is(3L));
+        assertThat(dispatcher.getSkippedCount(), is(1L));
+    }
+
+    @Test
+    public void testHandOverToNewOwner() throws Exception {
+        FunnelOwnership ownership = mockOwnership(1L);
+        ClusterDispatchProperties properties = createProperties();
+        dispatcher = new ClusterDispatcher(hazelcast, properties, messageService, ownership);
+
+        dispatcher.dispatch(createMessage(1L, MsgStateEnum.IN_QUEUE, "funnel"));
+        dispatcher.dispatch(createMessage(2L, MsgStateEnum.IN_QUEUE, "funnel"));
+
+        final BlockingQueue<Long> processed = new LinkedBlockingQueue<>();
+        final Map<Long, Runnable> callbacks = new ConcurrentHashMap<>();
+        dispatcher.start(() -> 10, (msg, onDone) -> {
+            callbacks.put(msg.getMsgId(), onDone);
+            processed.add(msg.getMsgId());
+        });
+
+        assertThat(processed.poll(10, TimeUnit.SECONDS), is(1L));
+        long start = System.currentTimeMillis();
+        while (dispatcher.getWaitingInFunnelLanesCount() == 0 && System.currentTimeMillis() - start < 10000) {
+            Thread.sleep(10);
+        }
+        assertThat(dispatcher.getWaitingInFunnelLanesCount(), is(1));
+
+        // new node joined and it owns the funnel value now
+        when(ownership.getOwner("funnel")).thenReturn(2L);
+        IQueue<Long> newOwnerQueue = hazelcast.getQueue(properties.getQueueName() + "-node-2");
+
+        // waiting message is handed over when processing of the previous one ends
+        callbacks.get(1L).run();
+        assertThat(newOwnerQueue.poll(10, TimeUnit.SECONDS), is(2L));
+
+        // message pulled from the queue of this node is handed over too
+        createMessage(3L, MsgStateEnum.IN_QUEUE, "funnel");
+        hazelcast.<Long>getQueue(properties.getQueueName() + "-node-1").offer(3L);
+        assertThat(newOwnerQueue.poll(10, TimeUnit.SECONDS), is(3L));
+
+        assertThat(processed.poll(300, TimeUnit.MILLISECONDS), nullValue());
+        assertThat(dispatcher.getWaitingInFunnelLanesCount(), is(0));
+        assertThat(dispatcher.getRedistributedCount(), is(2L));
+    }
+
+    private static FunnelOwnership mockOwnership(Long nodeId) {
+        FunnelOwnership ownership = mock(FunnelOwnership.class);
+        when(ownership.getLocalNodeId()).thenReturn(nodeId);
+        when(ownership.getOwner("funnel")).thenReturn(nodeId);
+        when(ownership.getNodesWithoutOwnership()).thenReturn(Collections.emptySet());
+        return ownership;
+    }
+
+    private static ClusterDispatchProperties createProperties() {
+        ClusterDispatchProperties properties = new ClusterDispatchProperties();
+        properties.setPollTimeoutMillis(50);
+        return properties;
+    }
+
+    private static Node createNode(Long nodeId, boolean handlesExisting) {
+        Node node = mock(Node.class);
+        when(node.getNodeId()).thenReturn(nodeId);
+        when(node.isAbleToHandleExistingMessages()).thenReturn(handlesExisting);
+        return node;
+    }
+
+    private Message createMessage(Long msgId, MsgStateEnum state) {
+        return createMessage(msgId, state, null);
+    }
+
+    private Message createMessage(Long msgId, MsgStateEnum state, String funnelValue) {
+        Message msg = new Message();
+        msg.setMsgId(msgId);
+        msg.setState(state);
+        msg.setFunnelValue(funnelValue);
+
+        when(messageService.findMessageById(msgId)).thenReturn(msg);
+        return msg;
+    }
+}
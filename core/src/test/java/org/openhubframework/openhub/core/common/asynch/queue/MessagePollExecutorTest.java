@@ -23,6 +23,7 @@ import static org.junit.Assert.assertThat;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import javax.annotation.Nullable;
 import javax.persistence.Query;
 
@@ -40,6 +41,7 @@ import org.springframework.transaction.support.TransactionTemplate;
 
 import org.openhubframework.openhub.api.entity.Message;
 import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.api.exception.IntegrationException;
 import org.openhubframework.openhub.common.time.Seconds;
 import org.openhubframework.openhub.core.AbstractCoreDbTest;
 import org.openhubframework.openhub.core.common.asynch.AsynchMessageRoute;
@@ -241,4 +243,24 @@ public class MessagePollExecutorTest extends AbstractCoreDbTest {
 
         Assert.assertThat(em.find(Message.class, msg.getMsgId()).getState(), CoreMatchers.is(MsgStateEnum.FAILED));
     }
+
+    @Test
+    @Transactional
+    public void testSendingFailed() throws InterruptedException {
+        Message msg = insertNewMessage("id1", MsgStateEnum.PROCESSING, FUNNEL_VALUE, false);
+        mock.whenAnyExchangeReceived(exchange -> {
+            throw new IllegalStateException("queue is full");
+        });
+        AtomicBoolean done = new AtomicBoolean();
+
+        // action
+        try {
+            messagePollExecutor.startMessageProcessing(msg, () -> done.set(true));
+            Assert.fail("sending must fail");
+        } catch (IntegrationException ex) {
+            assertThat(ex.getCause() instanceof IllegalStateException, is(true));
+        }
+
+        assertThat(done.get(), is(true));
+    }
 }
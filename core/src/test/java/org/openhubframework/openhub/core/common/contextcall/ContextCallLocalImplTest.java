@@ -0,0 +1,82 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.contextcall;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Matchers.anyVararg;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.support.StaticApplicationContext;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import org.openhubframework.openhub.core.common.camel.ApplicationContextsRegistry;
+
+
+/**
+ * Test suite for {@link ContextCallLocalImpl}.
+ *
+ * @since 2.2
+ */
+public class ContextCallLocalImplTest {
+
+    private ContextCallLocalImpl contextCall;
+
+    private ContextCallHttpImpl remoteCall;
+
+    @Before
+    public void prepareContextCall() {
+        StaticApplicationContext context = new StaticApplicationContext();
+        context.registerSingleton("testService", TestService.class);
+        context.refresh();
+
+        ApplicationContextsRegistry contextsRegistry = new ApplicationContextsRegistry();
+        contextsRegistry.onApplicationEvent(new ContextRefreshedEvent(context));
+
+        remoteCall = mock(ContextCallHttpImpl.class);
+
+        contextCall = new ContextCallLocalImpl();
+        ReflectionTestUtils.setField(contextCall, "contextsRegistry", contextsRegistry);
+        ReflectionTestUtils.setField(contextCall, "remoteCall", remoteCall);
+    }
+
+    @Test
+    public void testLocalCall() {
+        assertThat(contextCall.makeCall(TestService.class, "getGreeting", String.class, "Petr"), is("Hello Petr"));
+        assertThat(contextCall.makeCall(TestService.class, "getDefaultGreeting", String.class), is("Hello OpenHub"));
+
+        verifyZeroInteractions(remoteCall);
+    }
+
+    @Test
+    public void testRemoteCall() {
+        Object response = new Object();
+        when(remoteCall.makeCall(eq(Runnable.class), eq("run"), eq(Object.class), anyVararg())).thenReturn(response);
+
+        assertThat(contextCall.makeCall(Runnable.class, "run", Object.class), sameInstance(response));
+
+        verify(remoteCall).makeCall(eq(Runnable.class), eq("run"), eq(Object.class), anyVararg());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.dao;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MessageCursor;
+import org.openhubframework.openhub.api.entity.MessageFilter;
+import org.openhubframework.openhub.core.AbstractCoreDbTest;
+
+
+/**
+ * Test suite for {@link MessageFulltextSearchH2Impl} and full-text search in {@link MessageDao}.
+ *
+ * @since 2.2
+ */
+public class MessageFulltextSearchH2ImplTest extends AbstractCoreDbTest {
+
+    @Autowired
+    private MessageDao messageDao;
+
+    private MessageFulltextSearchH2Impl fulltextSearch;
+
+    private Message[] messages;
+
+    @Before
+    public void prepareMessages() {
+        messages = createAndSaveMessages(4, (message, order) -> {
+            if (order == 1) {
+                message.setEnvelope("<cus:customer><cus:car>Skoda</cus:car></cus:customer>");
+            } else if (order == 2) {
+                message.setEnvelope("<cus:customer><cus:car>Skoda</cus:car><cus:car>Skoda</cus:car></cus:customer>");
+            } else if (order == 3) {
+                message.setEnvelope("<cus:customer><cus:car>Tatra</cus:car></cus:customer>");
+            } else {
+                message.setPayload("Skoda without envelope");
+            }
+        });
+
+        fulltextSearch = new MessageFulltextSearchH2Impl(getJdbcTemplate().getDataSource());
+        ReflectionTestUtils.setField((Object) AopTestUtils.getTargetObject(messageDao), "fulltextSearch", fulltextSearch);
+    }
+
+    @After
+    public void removeFulltextSearch() {
+        ReflectionTestUtils.setField((Object) AopTestUtils.getTargetObject(messageDao), "fulltextSearch", null);
+    }
+
+    @Test
+    public void testFindMessagesByFilter() {
+        final MessageFilter filter = new MessageFilter();
+        filter.setReceivedFrom(LocalDateTime.of(2017,5,27,19,17,10).toInstant(ZoneOffset.UTC));
+        filter.setFulltext("Skoda");
+        assertThat(messageDao.findMessagesByFilter(filter, 100L).size(), is(3));
+
+        filter.setFulltextRanked(true);
+        assertThat(messageDao.findMessagesByFilter(filter, 2L).size(), is(2));
+
+        filter.setFulltext("Trabant");
+        assertThat(messageDao.findMessagesByFilter(filter, 100L).size(), is(0));
+    }
+
+    @Test
+    public void testFindMessagesByFilterWithOtherConditions() {
+        final MessageFilter filter = new MessageFilter();
+        filter.setFulltext("Skoda");
+        filter.setCorrelationId(messages[3].getCorrelationId());
+
+        List<Message> found = messageDao.findMessagesByFilter(filter, 1L);
+        assertThat(found.size(), is(1));
+        assertThat(found.get(0).getMsgId(), is(messages[3].getMsgId()));
+
+        filter.setFulltextRanked(true);
+        assertThat(messageDao.findMessagesByFilter(filter, 1L).size(), is(1));
+
+        filter.setCorrelationId(messages[2].getCorrelationId());
+        assertThat(messageDao.findMessagesByFilter(filter, 100L).isEmpty(), is(true));
+    }
+
+    @Test
+    public void testFindMessagesByFilterWithCursor() {
+        final MessageFilter filter = new MessageFilter();
+        filter.setFulltext("Skoda");
+
+        List<Message> firstPage = messageDao.findMessagesByFilter(filter, null, 2);
+        assertThat(firstPage.size(), is(2));
+
+        List<Message> nextPage = messageDao.findMessagesByFilter(filter, MessageCursor.of(firstPage.get(1)), 2);
+        assertThat(nextPage.size(), is(1));
+
+        Set<Long> ids = new HashSet<>();
+        Stream.concat(firstPage.stream(), nextPage.stream()).forEach(msg -> ids.add(msg.getMsgId()));
+        assertThat(ids.size(), is(3));
+        assertThat(ids.contains(messages[2].getMsgId()), is(false));
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.event;
+
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.EventObject;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.DefaultExchange;
+import org.apache.camel.support.EventNotifierSupport;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.openhubframework.openhub.api.asynch.AsynchConstants;
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.api.event.CompletedMsgAsynchEvent;
+import org.openhubframework.openhub.api.event.FailedMsgAsynchEvent;
+import org.openhubframework.openhub.core.common.event.AsyncEventNotifierProperties.OverflowPolicy;
+
+
+/**
+ * Test suite for {@link AsyncEventNotifierRingBufferImpl} and {@link MpscEventRingBuffer}.
+ *
+ * @since 2.2
+ */
+public class AsyncEventNotifierRingBufferImplTest {
+
+    private CamelContext camelContext;
+
+    private AsyncEventNotifierRingBufferImpl eventNotifier;
+
+    @Before
+    public void prepareContext() {
+        camelContext = new DefaultCamelContext();
+    }
+
+    @After
+    public void stopNotifier() {
+        if (eventNotifier != null) {
+            eventNotifier.destroy();
+        }
+    }
+
+    @Test
+    public void testDeliveryFromMoreThreads() throws Exception {
+        int threads = 5;
+        int eventsPerThread = 200;
+
+        CollectingNotifier notifier = new CollectingNotifier(threads * eventsPerThread, 0);
+        eventNotifier = new AsyncEventNotifierRingBufferImpl(createProperties(16, OverflowPolicy.BLOCK));
+
+        final CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < threads; i++) {
+            new Thread(() -> {
+                try {
+                    start.await();
+                    for (int j = 0; j < eventsPerThread; j++) {
+                        eventNotifier.notifyMsgCompleted(createExchange(MsgStateEnum.OK));
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }).start();
+        }
+        start.countDown();
+
+        assertTrue(notifier.await());
+        assertThat(notifier.events.size(), is(threads * eventsPerThread));
+        assertThat(notifier.events.get(0), instanceOf(CompletedMsgAsynchEvent.class));
+        assertThat(eventNotifier.getDroppedCount(), is(0L));
+        assertThat(eventNotifier.getDeliveredCount(), is((long) threads * eventsPerThread));
+    }
+
+    @Test
+    public void testIgnoredEvents() throws Exception {
+        CollectingNotifier notifier = new CollectingNotifier(1, 0);
+        notifier.setIgnoreExchangeFailedEvents(true);
+        eventNotifier = new AsyncEventNotifierRingBufferImpl(createProperties(16, OverflowPolicy.DROP));
+
+        eventNotifier.notifyMsgFailed(createExchange(MsgStateEnum.FAILED));
+        eventNotifier.notifyMsgCompleted(createExchange(MsgStateEnum.OK));
+
+        assertTrue(notifier.await());
+        assertThat(notifier.events.size(), is(1));
+        assertThat(notifier.events.get(0), not(instanceOf(FailedMsgAsynchEvent.class)));
+    }
+
+    @Test
+    public void testDropWhenLagExceeded() throws Exception {
+        // slow notifier => lag grows
+        CollectingNotifier notifier = new CollectingNotifier(1, 100);
+        eventNotifier = new AsyncEventNotifierRingBufferImpl(createProperties(4, OverflowPolicy.DROP));
+
+        for (int i = 0; i < 20; i++) {
+            eventNotifier.notifyMsgCompleted(createExchange(MsgStateEnum.OK));
+        }
+
+        assertTrue(eventNotifier.getDroppedCount() > 0);
+        assertTrue(eventNotifier.getMaxLag() <= 4);
+        assertThat(eventNotifier.getPublishedCount() + eventNotifier.getDroppedCount(), is(20L));
+        assertTrue(notifier.await());
+    }
+
+    @Test
+    public void testRingBufferCapacity() {
+        MpscEventRingBuffer<String> buffer = new MpscEventRingBuffer<>(3);
+        assertThat(buffer.capacity(), is(4));
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer("e" + i));
+        }
+        assertThat(buffer.offer("e5"), is(false));
+        assertThat(buffer.size(), is(4L));
+
+        assertThat(buffer.poll(), is("e0"));
+        assertTrue(buffer.offer("e5"));
+        assertThat(buffer.size(), is(4L));
+    }
+
+    private Exchange createExchange(MsgStateEnum state) {
+        Message msg = new Message();
+        msg.setState(state);
+
+        Exchange exchange = new DefaultExchange(camelContext);
+        exchange.getIn().setHeader(AsynchConstants.MSG_HEADER, msg);
+        return exchange;
+    }
+
+    private static AsyncEventNotifierProperties createProperties(int bufferSize, OverflowPolicy policy) {
+        AsyncEventNotifierProperties properties = new AsyncEventNotifierProperties();
+        properties.setEnabled(true);
+        properties.setBufferSize(bufferSize);
+        properties.setBatchSize(8);
+        properties.setOverflowPolicy(policy);
+        return properties;
+    }
+
+    /**
+     * Event notifier that collects received events.
+     */
+    private class CollectingNotifier extends EventNotifierSupport {
+
+        private final List<EventObject> events = new CopyOnWriteArrayList<>();
+
+        private final CountDownLatch latch;
+
+        private final long delayMillis;
+
+        private CollectingNotifier(int expectedEvents, long delayMillis) throws Exception {
+            this.latch = new CountDownLatch(expectedEvents);
+            this.delayMillis = delayMillis;
+
+            camelContext.getManagementStrategy().addEventNotifier(this);
+            start();
+        }
+
+        @Override
+        public void notify(EventObject event) throws Exception {
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            events.add(event);
+            latch.countDown();
+        }
+
+        @Override
+        public boolean isEnabled(EventObject event) {
+            return true;
+        }
+
+        private boolean await() throws InterruptedException {
+            return latch.await(10, TimeUnit.SECONDS);
+        }
+    }
+}
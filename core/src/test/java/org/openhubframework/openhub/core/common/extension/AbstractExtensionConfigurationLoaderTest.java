@@ -0,0 +1,174 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.extension;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.RoutesBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.support.StaticApplicationContext;
+
+import org.openhubframework.openhub.api.route.AbstractExtRoute;
+
+
+/**
+ * Test suite for {@link AbstractExtensionConfigurationLoader}.
+ *
+ * @since 2.2
+ */
+public class AbstractExtensionConfigurationLoaderTest {
+
+    private static final String LOCATION_PREFIX = "classpath:/org/openhubframework/openhub/core/common/extension/";
+
+    private static final String EXT_A = LOCATION_PREFIX + "ext-a.xml";
+
+    private static final String EXT_B = LOCATION_PREFIX + "ext-b.xml";
+
+    private static final String EXT_C = LOCATION_PREFIX + "ext-c.xml";
+
+    private static final Map<String, long[]> REFRESH_TIMES = new ConcurrentHashMap<>();
+
+    private CamelContext camelContext;
+
+    private TestLoader loader;
+
+    @Before
+    public void prepareLoader() {
+        REFRESH_TIMES.clear();
+
+        StaticApplicationContext parentContext = new StaticApplicationContext();
+        parentContext.refresh();
+
+        camelContext = mock(CamelContext.class);
+        loader = new TestLoader(parentContext, camelContext);
+    }
+
+    @Test
+    public void testParallelLoadingWithDependencies() throws Exception {
+        Map<String, List<String>> dependencies = new HashMap<>();
+        dependencies.put(EXT_C, Collections.singletonList(EXT_A));
+
+        loader.setParallelLoading(true);
+        loader.setLoadingThreads(3);
+        loader.setExtensionDependencies(dependencies);
+        loader.load(EXT_C, EXT_A, EXT_B);
+
+        // independent extensions were refreshed concurrently, dependent extension after its dependency
+        assertTrue(REFRESH_TIMES.get("b")[0] < REFRESH_TIMES.get("a")[1]);
+        assertTrue(REFRESH_TIMES.get("c")[0] >= REFRESH_TIMES.get("a")[1]);
+        assertThat(loader.getExtensionLoadingTimes().size(), is(3));
+
+        // routes are added in dependency order
+        assertThat(getAddedRoutes(), is(Arrays.asList("a", "b", "c")));
+    }
+
+    @Test
+    public void testSequentialLoadingWithDependencies() throws Exception {
+        loader.setExtensionDependencies(Collections.singletonMap(EXT_A, Collections.singletonList(EXT_B)));
+        loader.load(EXT_A, EXT_B);
+
+        assertTrue(REFRESH_TIMES.get("a")[0] >= REFRESH_TIMES.get("b")[1]);
+        assertThat(getAddedRoutes(), is(Arrays.asList("b", "a")));
+    }
+
+    @Test(expected = ExtensionConfigurationException.class)
+    public void testCyclicDependency() {
+        Map<String, List<String>> dependencies = new HashMap<>();
+        dependencies.put(EXT_A, Collections.singletonList(EXT_B));
+        dependencies.put(EXT_B, Collections.singletonList(EXT_A));
+
+        loader.setParallelLoading(true);
+        loader.setExtensionDependencies(dependencies);
+        loader.load(EXT_A, EXT_B, EXT_C);
+    }
+
+    private List<String> getAddedRoutes() throws Exception {
+        ArgumentCaptor<RoutesBuilder> routes = ArgumentCaptor.forClass(RoutesBuilder.class);
+        verify(camelContext, times(REFRESH_TIMES.size())).addRoutes(routes.capture());
+
+        List<String> result = new ArrayList<>();
+        for (RoutesBuilder route : routes.getAllValues()) {
+            result.add(((TestRoute) route).name);
+        }
+        return result;
+    }
+
+    /**
+     * Loader with public method for loading of extensions.
+     */
+    private static class TestLoader extends AbstractExtensionConfigurationLoader {
+
+        private TestLoader(StaticApplicationContext parentContext, CamelContext camelContext) {
+            super(parentContext, camelContext);
+        }
+
+        private void load(String... extConfigLocations) {
+            loadExtensions(extConfigLocations);
+        }
+    }
+
+    /**
+     * Bean with slow initialization, records start and end time of initialization.
+     */
+    public static class SlowBean {
+
+        private final String name;
+
+        public SlowBean(String name) {
+            this.name = name;
+        }
+
+        public void init() throws InterruptedException {
+            long start = System.nanoTime();
+            Thread.sleep(300);
+            REFRESH_TIMES.put(name, new long[] {start, System.nanoTime()});
+        }
+    }
+
+    /**
+     * Extension route that does nothing.
+     */
+    public static class TestRoute extends AbstractExtRoute {
+
+        private final String name;
+
+        public TestRoute(String name) {
+            this.name = name;
+        }
+
+        @Override
+        protected void doConfigure() throws Exception {
+            // nothing to configure
+        }
+    }
+}
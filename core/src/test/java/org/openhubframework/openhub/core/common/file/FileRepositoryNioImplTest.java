@@ -0,0 +1,140 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.file;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import org.openhubframework.openhub.api.exception.ErrorExtEnum;
+import org.openhubframework.openhub.api.exception.IntegrationException;
+import org.openhubframework.openhub.api.exception.InternalErrorEnum;
+import org.openhubframework.openhub.api.file.FileContentTypeExtEnum;
+import org.openhubframework.openhub.core.configuration.FixedConfigurationItem;
+
+
+/**
+ * Test suite for {@link FileRepositoryNioImpl}.
+ *
+ * @since 2.2
+ */
+public class FileRepositoryNioImplTest {
+
+    private static final byte[] CONTENT = "text to copy".getBytes(StandardCharsets.UTF_8);
+
+    private static final FileContentTypeExtEnum CONTENT_TYPE = new FileContentTypeExtEnum() {
+        @Override
+        public String getContentType() {
+            return "OBCANKA";
+        }
+
+        @Override
+        public String getFilePrefix() {
+            return "doc";
+        }
+    };
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private FileRepositoryNioImpl fileRepository = new FileRepositoryNioImpl();
+
+    private File repoDir;
+
+    @Before
+    public void prepareRepository() throws Exception {
+        repoDir = tempFolder.newFolder("repo");
+
+        ReflectionTestUtils.setField(fileRepository, "tempDirProperty",
+                new FixedConfigurationItem<>(tempFolder.newFolder("temp")));
+        ReflectionTestUtils.setField(fileRepository, "fileRepoDirProperty", new FixedConfigurationItem<>(repoDir));
+        fileRepository.checkDirs();
+    }
+
+    @Test
+    public void testSavingFile() throws Exception {
+        String fileId = fileRepository.saveTempFile(os -> os.write(CONTENT));
+
+        // sharded directory
+        Path tempFile = fileRepository.getTempFile(fileId);
+        assertThat(tempFile.getParent().getFileName().toString(), is(fileId.substring(2, 4)));
+        assertThat(Files.readAllBytes(tempFile), is(CONTENT));
+        assertThat(fileRepository.isFileIdValid(fileId), is(true));
+        assertThat(fileRepository.isFileIdValid(fileId + "sth"), is(false));
+        assertThat(fileRepository.isFileIdValid("../" + fileId), is(false));
+
+        CRC32 crc = new CRC32();
+        crc.update(CONTENT);
+        assertThat(fileRepository.getChecksum(fileId), is(crc.getValue()));
+
+        // commit file
+        fileRepository.commitFile(fileId, "orig.doc", CONTENT_TYPE, Arrays.asList("customerNo", "accountNo"));
+
+        Path targetFile = repoDir.toPath().resolve("customerNo").resolve("accountNo").resolve("doc_orig.doc");
+        assertThat(Files.exists(tempFile), is(false));
+        assertThat(Files.readAllBytes(targetFile), is(CONTENT));
+        assertThat(fileRepository.getChecksum(fileId), nullValue());
+    }
+
+    @Test
+    public void testSavingFileFromChannel() throws Exception {
+        String fileId = fileRepository.saveTempFile(Channels.newChannel(new ByteArrayInputStream(CONTENT)));
+
+        assertThat(fileRepository.isFileIdValid(fileId), is(true));
+        assertThat(fileRepository.getChecksum(fileId), nullValue());
+
+        fileRepository.commitFile(fileId, "orig.doc", CONTENT_TYPE, Arrays.asList());
+
+        Path targetFile = repoDir.toPath().resolve("doc_orig.doc");
+        assertThat(Files.readAllBytes(targetFile), is(CONTENT));
+    }
+
+    @Test
+    public void testCommitFileDoesNotReplaceExistingFile() throws Exception {
+        String fileId = fileRepository.saveTempFile(os -> os.write(CONTENT));
+
+        Path targetFile = repoDir.toPath().resolve("doc_orig.doc");
+        byte[] oldContent = "old content".getBytes(StandardCharsets.UTF_8);
+        Files.write(targetFile, oldContent);
+
+        try {
+            fileRepository.commitFile(fileId, "orig.doc", CONTENT_TYPE, Arrays.asList());
+            fail("existing file must not be replaced");
+        } catch (IntegrationException ex) {
+            assertThat(ex.getError(), is((ErrorExtEnum) InternalErrorEnum.E115));
+        }
+
+        assertThat(Files.readAllBytes(targetFile), is(oldContent));
+        assertThat(fileRepository.isFileIdValid(fileId), is(true));
+    }
+}
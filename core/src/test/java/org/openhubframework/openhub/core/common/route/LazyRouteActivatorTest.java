@@ -0,0 +1,108 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.route;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.Collections;
+import java.util.regex.Pattern;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ServiceStatus;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Test suite for {@link LazyRouteActivator}.
+ *
+ * @since 2.2
+ */
+public class LazyRouteActivatorTest {
+
+    private CamelContext camelContext;
+
+    private LazyRouteActivator activator;
+
+    @Before
+    public void prepareContext() throws Exception {
+        camelContext = new DefaultCamelContext();
+        camelContext.getShutdownStrategy().setTimeout(1);
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:lazy").routeId("lazy_out_route").to("mock:lazy");
+
+                from("seda:lazyQueue?concurrentConsumers=2").routeId("lazyQueue_out_route").to("mock:lazyQueue");
+
+                from("timer:never?delay=-1").routeId("timer_out_route").to("mock:timer");
+
+                from("direct:eager").routeId("eager_route").to("mock:eager");
+            }
+        });
+
+        activator = new LazyRouteActivator(Pattern.compile(".*_out_route"));
+        activator.beforeApplicationStart(camelContext);
+        camelContext.start();
+        activator.afterApplicationStart(camelContext);
+    }
+
+    @After
+    public void stopContext() throws Exception {
+        camelContext.stop();
+    }
+
+    @Test
+    public void testLazyStart() throws Exception {
+        assertThat(camelContext.getRouteStatus("lazy_out_route"), is(ServiceStatus.Stopped));
+        assertThat(camelContext.getRouteStatus("lazyQueue_out_route"), is(ServiceStatus.Stopped));
+        assertThat(camelContext.getRouteStatus("timer_out_route"), is(ServiceStatus.Started));
+        assertThat(camelContext.getRouteStatus("eager_route"), is(ServiceStatus.Started));
+
+        MockEndpoint mock = camelContext.getEndpoint("mock:lazy", MockEndpoint.class);
+        mock.expectedBodiesReceived("hello");
+
+        camelContext.createProducerTemplate().sendBody("direct:lazy", "hello");
+
+        mock.assertIsSatisfied();
+        assertThat(camelContext.getRouteStatus("lazy_out_route"), is(ServiceStatus.Started));
+        assertThat(activator.getNotStartedRouteIds(), is(Collections.singleton("lazyQueue_out_route")));
+    }
+
+    @Test
+    public void testLazyStartFromRoute() throws Exception {
+        camelContext.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").routeId("start_route").to("seda:lazyQueue");
+            }
+        });
+
+        MockEndpoint mock = camelContext.getEndpoint("mock:lazyQueue", MockEndpoint.class);
+        mock.expectedMessageCount(1);
+
+        camelContext.createProducerTemplate().sendBody("direct:start", "hello");
+
+        mock.assertIsSatisfied();
+        assertThat(camelContext.getRouteStatus("lazyQueue_out_route"), is(ServiceStatus.Started));
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.startup;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+
+import org.openhubframework.openhub.core.common.startup.StartupTimeline.BeanTiming;
+
+
+/**
+ * Test suite for {@link StartupTimelineListener} and {@link StartupTimeline}.
+ *
+ * @since 2.2
+ */
+public class StartupTimelineListenerTest {
+
+    private static final String PROFILE = "startupTimelineTest";
+
+    @Test
+    public void testTimeline() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SlowConfig.class)
+                .web(false)
+                .profiles(PROFILE)
+                .run()) {
+
+            StartupTimeline timeline = context.getBean(StartupTimeline.class);
+            assertTrue(timeline.isFinished());
+
+            List<String> phases = timeline.getPhases().stream()
+                    .map(StartupTimeline.Phase::getName)
+                    .collect(Collectors.toList());
+            assertThat(phases, hasItems("environment preparation", "bean definitions loading",
+                    "beans instantiation", "lifecycle start", "application start"));
+
+            // self time of slow bean doesn't contain time of its slow dependency
+            List<BeanTiming> beans = timeline.getSlowestBeans(2);
+            assertThat(beans.size(), is(2));
+            for (BeanTiming bean : beans) {
+                assertTrue(bean.getSelfMillis() >= 200);
+            }
+            BeanTiming slowBean = beans.stream().filter(b -> b.getBeanName().equals("slowBean")).findFirst().get();
+            assertTrue(slowBean.getTotalMillis() >= slowBean.getSelfMillis() + 200);
+        }
+    }
+
+    @Test
+    public void testDisabledTimeline() {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SlowConfig.class)
+                .web(false)
+                .profiles(PROFILE)
+                .properties("ohf.startup.timeline.enabled=false")
+                .run()) {
+
+            assertThat(context.getBeansOfType(StartupTimeline.class).isEmpty(), is(true));
+        }
+    }
+
+    /**
+     * Configuration with slow beans, it has own profile to be skipped by component scanning in other tests.
+     */
+    @Configuration
+    @Profile(PROFILE)
+    static class SlowConfig {
+
+        @Bean
+        @Lazy
+        public Object slowDependency() throws InterruptedException {
+            Thread.sleep(200);
+            return new Object();
+        }
+
+        @Bean
+        public String slowBean(Object slowDependency) throws InterruptedException {
+            Thread.sleep(200);
+            return "slow";
+        }
+    }
+}
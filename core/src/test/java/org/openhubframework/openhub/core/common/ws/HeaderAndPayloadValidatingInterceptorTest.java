@@ -0,0 +1,112 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.common.ws;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.ws.context.DefaultMessageContext;
+import org.springframework.ws.context.MessageContext;
+import org.springframework.ws.soap.SoapMessage;
+import org.springframework.ws.soap.saaj.SaajSoapMessageFactory;
+
+
+/**
+ * Test suite for {@link HeaderAndPayloadValidatingInterceptor}.
+ *
+ * @since 2.2
+ */
+public class HeaderAndPayloadValidatingInterceptorTest {
+
+    private static final String TRACE_HEADER = "<cc:traceHeader xmlns:cc=\"http://openhubframework.org/ws/Common-v1\">"
+            + "<cc:traceIdentifier>"
+            + "<cc:applicationID>ERP</cc:applicationID>"
+            + "<cc:timestamp>2013-09-27T10:23:34.6987744+02:00</cc:timestamp>"
+            + "<cc:correlationID>da793349-b486-489a-9180-200789b7007f</cc:correlationID>"
+            + "</cc:traceIdentifier>"
+            + "</cc:traceHeader>";
+
+    private static final String VALID_PAYLOAD = "<cc:asynchResponse xmlns:cc=\"http://openhubframework.org/ws/Common-v1\">"
+            + "<cc:confirmAsynchRequest><cc:status>OK</cc:status></cc:confirmAsynchRequest>"
+            + "</cc:asynchResponse>";
+
+    private static final String INVALID_PAYLOAD = "<cc:asynchResponse xmlns:cc=\"http://openhubframework.org/ws/Common-v1\">"
+            + "<cc:unknown/>"
+            + "</cc:asynchResponse>";
+
+    private static final String REQUEST_NAME = "{http://openhubframework.org/ws/Common-v1}asynchResponse";
+
+    private SaajSoapMessageFactory messageFactory;
+
+    private HeaderAndPayloadValidatingInterceptor interceptor;
+
+    @Before
+    public void prepareInterceptor() throws Exception {
+        messageFactory = new SaajSoapMessageFactory();
+        messageFactory.afterPropertiesSet();
+
+        interceptor = new HeaderAndPayloadValidatingInterceptor();
+        interceptor.setSchema(new ClassPathResource(
+                "org/openhubframework/openhub/api/modules/in/common/commonTypes-v1.0.xsd"));
+        interceptor.setValidateRequest(true);
+        interceptor.afterPropertiesSet();
+    }
+
+    @Test
+    public void testValidRequest() throws Exception {
+        assertThat(interceptor.handleRequest(createContext(TRACE_HEADER, VALID_PAYLOAD), null), is(true));
+        assertThat(interceptor.handleRequest(createContext(TRACE_HEADER, INVALID_PAYLOAD), null), is(false));
+    }
+
+    @Test
+    public void testMissingTraceHeader() throws Exception {
+        MessageContext context = createContext("", VALID_PAYLOAD);
+
+        assertThat(interceptor.handleRequest(context, null), is(false));
+        assertThat(((SoapMessage) context.getResponse()).getSoapBody().hasFault(), is(true));
+
+        interceptor.setIgnoreRequests(Collections.singleton(REQUEST_NAME));
+        assertThat(interceptor.handleRequest(createContext("", VALID_PAYLOAD), null), is(true));
+    }
+
+    @Test
+    public void testSkipValidation() throws Exception {
+        interceptor.setSkipValidationRequests(Collections.singleton(REQUEST_NAME));
+
+        assertThat(interceptor.handleRequest(createContext(TRACE_HEADER, INVALID_PAYLOAD), null), is(true));
+        // trace header is checked still
+        assertThat(interceptor.handleRequest(createContext("", INVALID_PAYLOAD), null), is(false));
+    }
+
+    private MessageContext createContext(String header, String payload) throws Exception {
+        String envelope = "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+                + "<soapenv:Header>" + header + "</soapenv:Header>"
+                + "<soapenv:Body>" + payload + "</soapenv:Body>"
+                + "</soapenv:Envelope>";
+
+        SoapMessage request = messageFactory.createWebServiceMessage(
+                new ByteArrayInputStream(envelope.getBytes(StandardCharsets.UTF_8)));
+        return new DefaultMessageContext(request, messageFactory);
+    }
+}
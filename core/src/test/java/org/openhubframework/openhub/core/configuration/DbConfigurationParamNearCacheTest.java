@@ -0,0 +1,95 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.configuration;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.junit.Assert.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+
+/**
+ * Test suite for {@link DbConfigurationParamNearCache}.
+ *
+ * @since 2.2
+ */
+public class DbConfigurationParamNearCacheTest {
+
+    private static final String CODE = "ohf.test.param";
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    public void testCachedValue() {
+        DbConfigurationParamNearCache cache = new DbConfigurationParamNearCache(60);
+
+        assertThat(cache.getValue(CODE, this::load), is("value1"));
+        assertThat(cache.getValue(CODE, this::load), is("value1"));
+        assertThat(loads.get(), is(1));
+
+        // missing parameter is cached too
+        assertThat(cache.getValue("ohf.test.missing", code -> null), nullValue());
+        assertThat(cache.getValue("ohf.test.missing", this::load), nullValue());
+        assertThat(cache.size(), is(2));
+    }
+
+    @Test
+    public void testInvalidate() {
+        List<String> invalidated = new ArrayList<>();
+        DbConfigurationParamNearCache cache = new DbConfigurationParamNearCache(60);
+        cache.addInvalidationListener(invalidated::add);
+
+        assertThat(cache.getValue(CODE, this::load), is("value1"));
+        cache.invalidate(CODE);
+        assertThat(cache.getValue(CODE, this::load), is("value2"));
+        assertThat(invalidated.size(), is(1));
+
+        cache.invalidateAll();
+        assertThat(cache.getValue(CODE, this::load), is("value3"));
+    }
+
+    @Test
+    public void testInvalidateDuringLoading() {
+        final DbConfigurationParamNearCache cache = new DbConfigurationParamNearCache(60);
+
+        // value loaded before invalidation mustn't be cached
+        assertThat(cache.getValue(CODE, code -> {
+            cache.invalidateLocally(code);
+            return load(code);
+        }), is("value1"));
+        assertThat(cache.size(), is(0));
+        assertThat(cache.getValue(CODE, this::load), is("value2"));
+    }
+
+    @Test
+    public void testDisabledCache() {
+        DbConfigurationParamNearCache cache = new DbConfigurationParamNearCache(0);
+
+        assertThat(cache.getValue(CODE, this::load), is("value1"));
+        assertThat(cache.getValue(CODE, this::load), is("value2"));
+        assertThat(cache.size(), is(0));
+    }
+
+    private String load(String code) {
+        return "value" + loads.incrementAndGet();
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.monitoring;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.openhubframework.openhub.api.entity.MsgStateEnum;
+import org.openhubframework.openhub.spi.throttling.ThrottleScope;
+
+
+/**
+ * Test suite for {@link AsynchMetricsDropwizardImpl}.
+ *
+ * @since 2.2
+ */
+public class AsynchMetricsDropwizardImplTest {
+
+    private MetricRegistry registry;
+
+    private AsynchMetricsDropwizardImpl metrics;
+
+    @Before
+    public void prepareMetrics() {
+        registry = new MetricRegistry();
+        metrics = new AsynchMetricsDropwizardImpl(registry);
+    }
+
+    @Test
+    public void testStateTransitions() {
+        metrics.markStateTransition(null, MsgStateEnum.IN_QUEUE);
+        metrics.markStateTransition(MsgStateEnum.IN_QUEUE, MsgStateEnum.PROCESSING);
+        metrics.markStateTransition(MsgStateEnum.IN_QUEUE, MsgStateEnum.PROCESSING);
+
+        assertThat(metrics.getStateTransitionCount(MsgStateEnum.NEW, MsgStateEnum.IN_QUEUE), is(1L));
+        assertThat(metrics.getStateTransitionCount(MsgStateEnum.IN_QUEUE, MsgStateEnum.PROCESSING), is(2L));
+        assertThat(registry.getCounters().get("ohf.asynch.state.IN_QUEUE.PROCESSING").getCount(), is(2L));
+        assertThat(registry.getCounters().containsKey("ohf.asynch.state.PROCESSING.OK"), is(false));
+    }
+
+    @Test
+    public void testTimersAndMeters() {
+        metrics.recordQueueWait(100);
+        metrics.recordProcessingTime("hello_sayHello_out_route", TimeUnit.MILLISECONDS.toNanos(5));
+        metrics.recordProcessingTime("hello_sayHello_out_route", TimeUnit.MILLISECONDS.toNanos(7));
+        metrics.recordExternalCall("direct:crm", TimeUnit.MILLISECONDS.toNanos(10));
+        metrics.markThrottleRejected(new ThrottleScope("crm", "sayHello"));
+        metrics.markPostponed("funnel");
+        metrics.markPostponed(null);
+
+        assertThat(registry.timer("ohf.asynch.queue.wait").getCount(), is(1L));
+        assertThat(registry.timer("ohf.asynch.processing.hello_sayHello_out_route").getCount(), is(2L));
+        assertThat(registry.timer("ohf.asynch.externalCall.direct:crm").getCount(), is(1L));
+        assertThat(registry.meter("ohf.asynch.throttling.rejected.crm.sayHello").getCount(), is(1L));
+        assertThat(registry.meter("ohf.asynch.postponed.funnel").getCount(), is(1L));
+        assertThat(registry.meter("ohf.asynch.postponed.unknown").getCount(), is(1L));
+    }
+}
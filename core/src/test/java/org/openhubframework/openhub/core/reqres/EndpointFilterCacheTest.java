@@ -0,0 +1,136 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.core.reqres;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+/**
+ * Test suite for {@link EndpointFilterCache}.
+ *
+ * @since 2.2
+ */
+public class EndpointFilterCacheTest {
+
+    private final AtomicReference<Boolean> enable = new AtomicReference<>(Boolean.TRUE);
+
+    private final AtomicReference<String> filter = new AtomicReference<>("^(spring-ws|http).*$");
+
+    private final AtomicReference<String> excludedSchemes = new AtomicReference<>("direct, bean,seda");
+
+    private final AtomicInteger configReads = new AtomicInteger();
+
+    private EndpointFilterCache cache;
+
+    @Before
+    public void prepareCache() {
+        cache = new EndpointFilterCache(() -> {
+            configReads.incrementAndGet();
+            return enable.get();
+        }, filter::get, excludedSchemes::get);
+    }
+
+    @Test
+    public void testDisabledBeforeRefresh() {
+        assertThat(cache.isEnabled(), is(false));
+        assertThat(cache.matches("http://localhost"), is(false));
+        assertThat(configReads.get(), is(0));
+    }
+
+    @Test
+    public void testCachedDecisions() {
+        cache.refresh();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.isEnabled(), is(true));
+            assertThat(cache.matches("http://localhost/ws"), is(true));
+            assertThat(cache.matches("direct:internal"), is(false));
+            assertThat(cache.matches("bean:service?method=call"), is(false));
+        }
+
+        assertThat(cache.getCachedCount(), is(3));
+        assertThat(configReads.get(), is(1));
+    }
+
+    @Test
+    public void testExcludedSchemes() {
+        filter.set(".*");
+        cache.refresh();
+
+        assertThat(cache.matches("direct://target"), is(false));
+        assertThat(cache.matches("seda:target"), is(false));
+        assertThat(cache.matches("direct-vm://target"), is(true));
+        assertThat(cache.matches("http://target"), is(true));
+
+        excludedSchemes.set(null);
+        cache.refresh();
+
+        assertThat(cache.matches("direct://target"), is(true));
+    }
+
+    @Test
+    public void testInvalidPattern() {
+        filter.set("^(spring-ws");
+        cache.refresh();
+
+        assertThat(cache.isEnabled(), is(false));
+        assertThat(cache.matches("spring-ws://localhost"), is(false));
+
+        filter.set("^spring-ws.*$");
+        cache.refresh();
+
+        assertThat(cache.isEnabled(), is(true));
+        assertThat(cache.matches("spring-ws://localhost"), is(true));
+    }
+
+    @Test
+    public void testInvalidationOnChange() {
+        cache.refresh();
+        assertThat(cache.matches("http://localhost/ws"), is(true));
+
+        // the same configuration => decisions are kept
+        cache.refresh();
+        assertThat(cache.getCachedCount(), is(1));
+
+        filter.set("^spring-ws.*$");
+        cache.refresh();
+        assertThat(cache.getCachedCount(), is(0));
+        assertThat(cache.matches("http://localhost/ws"), is(false));
+
+        enable.set(Boolean.FALSE);
+        cache.refresh();
+        assertThat(cache.isEnabled(), is(false));
+    }
+
+    @Test
+    public void testMaxCachedUris() {
+        cache.refresh();
+
+        for (int i = 0; i < EndpointFilterCache.MAX_CACHED_URIS + 10; i++) {
+            assertThat(cache.matches("http://localhost/" + i), is(true));
+        }
+
+        assertThat(cache.getCachedCount(), is(EndpointFilterCache.MAX_CACHED_URIS));
+    }
+}
@@ -89,12 +89,17 @@ public class RequestResponseTest extends AbstractCoreDbTest {
     @Before
     public void prepareConfiguration() {
         setPrivateField(reqSendingEventNotifier, "enable", new FixedConfigurationItem<>(Boolean.TRUE));
-        setPrivateField(reqSendingEventNotifier, "endpointFilterPattern",
-                java.util.regex.Pattern.compile("^(direct.*target).*$"));
+        setPrivateField(reqSendingEventNotifier, "endpointFilter", new FixedConfigurationItem<>("^(direct.*target).*$"));
 
         setPrivateField(resReceiveEventNotifier, "enable", new FixedConfigurationItem<>(Boolean.TRUE));
-        setPrivateField(resReceiveEventNotifier, "endpointFilterPattern",
-                java.util.regex.Pattern.compile("^(direct.*target).*$"));
+        setPrivateField(resReceiveEventNotifier, "endpointFilter", new FixedConfigurationItem<>("^(direct.*target).*$"));
+
+        refreshEndpointFilters();
+    }
+
+    private void refreshEndpointFilters() {
+        reqSendingEventNotifier.refreshEndpointFilter();
+        resReceiveEventNotifier.refreshEndpointFilter();
     }
 
     @Before
@@ -128,8 +133,9 @@ public class RequestResponseTest extends AbstractCoreDbTest {
 
 
         // try it again but change pattern for filtering
-        setPrivateField(reqSendingEventNotifier, "endpointFilterPattern", java.util.regex.Pattern.compile("^(noUrl).*$"));
-        setPrivateField(resReceiveEventNotifier, "endpointFilterPattern", java.util.regex.Pattern.compile("^(noUrl).*$"));
+        setPrivateField(reqSendingEventNotifier, "endpointFilter", new FixedConfigurationItem<>("^(noUrl).*$"));
+        setPrivateField(resReceiveEventNotifier, "endpointFilter", new FixedConfigurationItem<>("^(noUrl).*$"));
+        refreshEndpointFilters();
 
         producer.sendBody(REQUEST);
 
@@ -145,6 +151,7 @@ public class RequestResponseTest extends AbstractCoreDbTest {
         // try it again but disable saving at all
         setPrivateField(reqSendingEventNotifier, "enable", new FixedConfigurationItem<>(Boolean.FALSE));
         setPrivateField(resReceiveEventNotifier, "enable", new FixedConfigurationItem<>(Boolean.FALSE));
+        refreshEndpointFilters();
 
         producer.sendBody(REQUEST);
 
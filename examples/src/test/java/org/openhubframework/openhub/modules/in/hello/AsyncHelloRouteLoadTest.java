@@ -0,0 +1,104 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.modules.in.hello;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.Produce;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.AdviceWithRouteBuilder;
+import org.apache.camel.model.RouteDefinition;
+import org.junit.Test;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import org.openhubframework.openhub.core.common.asynch.AsynchInMessageRoute;
+import org.openhubframework.openhub.core.common.asynch.AsynchMessageRoute;
+import org.openhubframework.openhub.core.common.asynch.ExceptionTranslationRoute;
+import org.openhubframework.openhub.modules.ExampleProperties;
+import org.openhubframework.openhub.modules.ExampleTestConfig;
+import org.openhubframework.openhub.test.AbstractLoadTest;
+import org.openhubframework.openhub.test.load.LoadGenerator;
+import org.openhubframework.openhub.test.load.LoadTestReport;
+import org.openhubframework.openhub.test.load.MockOutboundEndpoint;
+import org.openhubframework.openhub.test.load.PayloadTemplate;
+import org.openhubframework.openhub.test.load.RequestSenders;
+import org.openhubframework.openhub.test.route.ActiveRoutes;
+import org.openhubframework.openhub.test.route.EnableTestWsUriBuilder;
+import org.openhubframework.openhub.test.route.TestWsUriBuilder;
+
+
+/**
+ * Load test of {@link AsyncHelloRoute}, whole asynchronous processing with mocked greeting printing.
+ *
+ * @since 2.2
+ */
+@EnableTestWsUriBuilder
+@ActiveRoutes(classes = {ExceptionTranslationRoute.class, AsynchInMessageRoute.class, AsynchMessageRoute.class,
+        AsyncHelloRoute.class})
+@ContextConfiguration(classes = ExampleTestConfig.class)
+@ActiveProfiles(profiles = ExampleProperties.EXAMPLE_PROFILE)
+public class AsyncHelloRouteLoadTest extends AbstractLoadTest {
+
+    private static final String REQ_XML =
+            "<asyncHelloRequest xmlns=\"http://openhubframework.org/ws/HelloService-v1\">"
+          + "    <name>Mr. Parker ${index}</name>"
+          + "</asyncHelloRequest>";
+
+    private static final int MESSAGE_COUNT = 50;
+
+    @Produce
+    private ProducerTemplate producer;
+
+    @Test
+    public void testAsyncHelloLoad() throws Exception {
+        final MockOutboundEndpoint outbound = new MockOutboundEndpoint().withLatency(1, 5);
+
+        RouteDefinition greetingRoute = getCamelContext().getRouteDefinitions().stream()
+                .filter(route -> route.getInputs().get(0).getUri().equals("direct:printGreeting"))
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+        greetingRoute.adviceWith(getCamelContext(), new AdviceWithRouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                weaveAddFirst().process(outbound);
+            }
+        });
+
+        LoadGenerator generator = new LoadGenerator(
+                RequestSenders.camel(producer, TestWsUriBuilder.URI_WS_IN + "asyncHelloRequest",
+                        RequestSenders.traceHeaders("crm")),
+                new PayloadTemplate(REQ_XML))
+                .withThreads(4)
+                .withMessageCount(MESSAGE_COUNT);
+
+        // action
+        LoadTestReport report = runLoadTest(generator, 60, TimeUnit.SECONDS);
+
+        // verify
+        assertThat(report.getRejected(), is(0L));
+        assertThat(report.getCompleted(), is((long) MESSAGE_COUNT));
+        assertThat(outbound.getCallCount(), is((long) MESSAGE_COUNT));
+        assertTrue(report.getThroughput() > 0);
+        assertTrue(report.getLatencyPercentile(99) >= report.getLatencyPercentile(50));
+        assertTrue(report.getDbStatementsPerMessage() > 0);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test;
+
+import static org.springframework.test.context.TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestExecutionListeners;
+
+import org.openhubframework.openhub.test.load.DbStatementCounter;
+import org.openhubframework.openhub.test.load.LoadGenerator;
+import org.openhubframework.openhub.test.load.LoadTestCleanupListener;
+import org.openhubframework.openhub.test.load.LoadTestCollector;
+import org.openhubframework.openhub.test.load.LoadTestProfilesResolver;
+import org.openhubframework.openhub.test.load.LoadTestReport;
+import org.openhubframework.openhub.test.route.ActiveRoutes;
+
+
+/**
+ * Parent class for load tests of asynchronous routes.
+ * <p>
+ * Load test sends messages by {@link LoadGenerator} into inbound route, waits until all messages
+ * are processed and creates {@link LoadTestReport report} with throughput, latencies and count of DB statements
+ * per message. Asynchronous routes must run, so add {@code AsynchInMessageRoute} and {@code AsynchMessageRoute}
+ * together with tested routes into {@link ActiveRoutes}. Outbound systems can be replaced by
+ * {@link org.openhubframework.openhub.test.load.MockOutboundEndpoint}.
+ * <p>
+ * Embedded H2 database is used by default, see {@link LoadTestProfilesResolver} for running against PostgreSQL.
+ *
+ * @since 2.2
+ */
+@ActiveProfiles(resolver = LoadTestProfilesResolver.class, inheritProfiles = false)
+@TestExecutionListeners(
+        listeners = LoadTestCleanupListener.class,
+        mergeMode = MERGE_WITH_DEFAULTS
+)
+public abstract class AbstractLoadTest extends AbstractTest {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AbstractLoadTest.class);
+
+    @Autowired
+    private DbStatementCounter dbStatementCounter;
+
+    /**
+     * Runs load test: sends all messages and waits until they are processed (OK or FAILED).
+     *
+     * @param generator the load generator
+     * @param timeout the maximum time to wait for processing of all messages
+     * @param unit the unit of timeout
+     * @return report, contains also unfinished results if timeout elapsed
+     * @throws Exception when load test can't be run
+     */
+    protected LoadTestReport runLoadTest(LoadGenerator generator, long timeout, TimeUnit unit) throws Exception {
+        LoadTestCollector collector = new LoadTestCollector(generator.getMessageCount());
+        getCamelContext().getManagementStrategy().addEventNotifier(collector);
+        collector.start();
+
+        try {
+            dbStatementCounter.reset();
+            long start = System.nanoTime();
+
+            LoadGenerator.Result result = generator.run();
+
+            long expected = result.getSent() - result.getRejected();
+            if (!collector.awaitFinished(expected, timeout, unit)) {
+                LOG.warn("Only {} from {} messages were finished in timeout", collector.getFinishedCount(), expected);
+            }
+
+            LoadTestReport report = new LoadTestReport(result, collector, System.nanoTime() - start,
+                    dbStatementCounter.getCount());
+
+            LOG.info(report.toString());
+
+            return report;
+        } finally {
+            collector.stop();
+            getCamelContext().getManagementStrategy().removeEventNotifier(collector);
+        }
+    }
+}
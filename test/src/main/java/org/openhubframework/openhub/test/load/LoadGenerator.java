@@ -0,0 +1,234 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test.load;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.IntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+
+
+/**
+ * Multi-threaded load generator which sends configured count of requests by {@link RequestSender}.
+ * <p>
+ * Requests are sent as fast as possible by default, optional rate limits count of requests per second
+ * (for all threads together).
+ *
+ * @since 2.2
+ */
+public class LoadGenerator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final int MAX_ERROR_SAMPLES = 10;
+
+    private final RequestSender sender;
+
+    private final IntFunction<String> payloadFactory;
+
+    private int threads = 4;
+
+    private int messageCount = 100;
+
+    private int rate = 0;
+
+    /**
+     * Creates new generator.
+     *
+     * @param sender the request sender
+     * @param payloadFactory the factory of payload for specified request index, e.g. {@link PayloadTemplate}
+     */
+    public LoadGenerator(RequestSender sender, IntFunction<String> payloadFactory) {
+        Assert.notNull(sender, "the sender must not be null");
+        Assert.notNull(payloadFactory, "the payloadFactory must not be null");
+
+        this.sender = sender;
+        this.payloadFactory = payloadFactory;
+    }
+
+    /**
+     * Sets count of client threads.
+     *
+     * @param threads the count of threads
+     * @return this generator
+     */
+    public LoadGenerator withThreads(int threads) {
+        Assert.isTrue(threads > 0, "the threads must be positive");
+
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets total count of requests.
+     *
+     * @param messageCount the count of requests
+     * @return this generator
+     */
+    public LoadGenerator withMessageCount(int messageCount) {
+        Assert.isTrue(messageCount > 0, "the messageCount must be positive");
+
+        this.messageCount = messageCount;
+        return this;
+    }
+
+    /**
+     * Sets target rate of requests.
+     *
+     * @param rate the count of requests per second, 0 means unlimited
+     * @return this generator
+     */
+    public LoadGenerator withRate(int rate) {
+        Assert.isTrue(rate >= 0, "the rate must not be negative");
+
+        this.rate = rate;
+        return this;
+    }
+
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    /**
+     * Sends all requests and waits for their responses.
+     *
+     * @return result of sending
+     * @throws InterruptedException when waiting is interrupted
+     */
+    public Result run() throws InterruptedException {
+        final AtomicInteger nextIndex = new AtomicInteger();
+        final AtomicLong rejected = new AtomicLong();
+        final AtomicLong responseNanos = new AtomicLong();
+        final List<String> errors = new CopyOnWriteArrayList<>();
+        final CountDownLatch finished = new CountDownLatch(threads);
+
+        final long intervalNanos = rate > 0 ? TimeUnit.SECONDS.toNanos(1) / rate : 0;
+        final long start = System.nanoTime();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new CustomizableThreadFactory("ohf-load-generator-"));
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.execute(() -> {
+                    try {
+                        int index;
+                        while ((index = nextIndex.getAndIncrement()) < messageCount) {
+                            if (intervalNanos > 0) {
+                                long delay = start + index * intervalNanos - System.nanoTime();
+                                if (delay > 0) {
+                                    LockSupport.parkNanos(delay);
+                                }
+                            }
+
+                            String payload = payloadFactory.apply(index);
+                            long sendStart = System.nanoTime();
+                            try {
+                                sender.send(payload);
+                            } catch (Exception ex) {
+                                rejected.incrementAndGet();
+                                if (errors.size() < MAX_ERROR_SAMPLES) {
+                                    errors.add(ex.toString());
+                                }
+                                LOG.debug("Request " + index + " was rejected", ex);
+                            } finally {
+                                responseNanos.addAndGet(System.nanoTime() - sendStart);
+                            }
+                        }
+                    } finally {
+                        finished.countDown();
+                    }
+                });
+            }
+
+            finished.await();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        return new Result(messageCount, rejected.get(), System.nanoTime() - start, responseNanos.get(), errors);
+    }
+
+    /**
+     * Result of sending requests.
+     */
+    public static final class Result {
+
+        private final long sent;
+
+        private final long rejected;
+
+        private final long durationNanos;
+
+        private final long responseNanos;
+
+        private final List<String> errorSamples;
+
+        private Result(long sent, long rejected, long durationNanos, long responseNanos, List<String> errorSamples) {
+            this.sent = sent;
+            this.rejected = rejected;
+            this.durationNanos = durationNanos;
+            this.responseNanos = responseNanos;
+            this.errorSamples = errorSamples;
+        }
+
+        /**
+         * Gets count of sent requests (including rejected).
+         */
+        public long getSent() {
+            return sent;
+        }
+
+        /**
+         * Gets count of requests which failed on client side (e.g. synchronous validation error, SOAP fault).
+         */
+        public long getRejected() {
+            return rejected;
+        }
+
+        /**
+         * Gets time of sending all requests.
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        /**
+         * Gets average time of synchronous response.
+         */
+        public long getAvgResponseNanos() {
+            return sent > 0 ? responseNanos / sent : 0;
+        }
+
+        /**
+         * Gets samples of errors of rejected requests.
+         */
+        public List<String> getErrorSamples() {
+            return errorSamples;
+        }
+    }
+}
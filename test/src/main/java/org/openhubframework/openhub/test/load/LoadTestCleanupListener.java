@@ -0,0 +1,39 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test.load;
+
+import org.springframework.test.context.TestContext;
+
+import org.openhubframework.openhub.common.Profiles;
+import org.openhubframework.openhub.test.listener.DropAllObjectsTestExecutionListener;
+
+
+/**
+ * Drops all objects in embedded H2 database after each load test,
+ * other databases (e.g. local PostgreSQL) are kept untouched.
+ *
+ * @since 2.2
+ */
+public class LoadTestCleanupListener extends DropAllObjectsTestExecutionListener {
+
+    @Override
+    public void afterTestMethod(TestContext testContext) {
+        if (testContext.getApplicationContext().getEnvironment().acceptsProfiles(Profiles.H2)) {
+            super.afterTestMethod(testContext);
+        }
+    }
+}
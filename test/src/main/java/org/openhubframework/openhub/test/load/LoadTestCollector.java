@@ -0,0 +1,157 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test.load;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.EventObject;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.camel.support.EventNotifierSupport;
+
+import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.event.CompletedMsgAsynchEvent;
+import org.openhubframework.openhub.api.event.FailedMsgAsynchEvent;
+import org.openhubframework.openhub.api.event.PartlyFailedMsgAsynchEvent;
+
+
+/**
+ * Event notifier which collects results of asynchronous messages processing during load test.
+ * <p>
+ * Latency of message is time from receiving message (see {@link Message#getReceiveTimestamp()})
+ * to its successful processing ({@link CompletedMsgAsynchEvent}).
+ * Messages which are still reprocessed ({@link PartlyFailedMsgAsynchEvent}) are counted only.
+ *
+ * @since 2.2
+ */
+public class LoadTestCollector extends EventNotifierSupport {
+
+    private final Object lock = new Object();
+
+    private long[] latencies;
+
+    private final AtomicInteger latencyCount = new AtomicInteger();
+
+    private final AtomicLong completed = new AtomicLong();
+
+    private final AtomicLong partlyFailed = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Creates new collector.
+     *
+     * @param expectedCount the expected count of messages
+     */
+    public LoadTestCollector(int expectedCount) {
+        this.latencies = new long[Math.max(expectedCount, 16)];
+    }
+
+    @Override
+    public boolean isEnabled(EventObject event) {
+        return event instanceof CompletedMsgAsynchEvent
+                || event instanceof PartlyFailedMsgAsynchEvent
+                || event instanceof FailedMsgAsynchEvent;
+    }
+
+    @Override
+    public void notify(EventObject event) throws Exception {
+        if (event instanceof CompletedMsgAsynchEvent) {
+            recordLatency(((CompletedMsgAsynchEvent) event).getMessage());
+            completed.incrementAndGet();
+        } else if (event instanceof PartlyFailedMsgAsynchEvent) {
+            partlyFailed.incrementAndGet();
+        } else {
+            failed.incrementAndGet();
+        }
+
+        synchronized (lock) {
+            lock.notifyAll();
+        }
+    }
+
+    private void recordLatency(Message msg) {
+        Instant received = msg.getReceiveTimestamp();
+        if (received == null) {
+            return;
+        }
+
+        long latency = System.currentTimeMillis() - received.toEpochMilli();
+        synchronized (lock) {
+            int index = latencyCount.getAndIncrement();
+            if (index == latencies.length) {
+                latencies = Arrays.copyOf(latencies, latencies.length * 2);
+            }
+            latencies[index] = latency;
+        }
+    }
+
+    /**
+     * Waits until specified count of messages is finished (OK or FAILED).
+     *
+     * @param count the count of messages
+     * @param timeout the maximum time to wait
+     * @param unit the unit of timeout
+     * @return {@code true} if all messages were finished, {@code false} if timeout elapsed
+     * @throws InterruptedException when waiting is interrupted
+     */
+    public boolean awaitFinished(long count, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+
+        synchronized (lock) {
+            while (getFinishedCount() < count) {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0) {
+                    return false;
+                }
+                lock.wait(remaining);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets sorted latencies of completed messages (in millis).
+     *
+     * @return latencies
+     */
+    public long[] getLatencies() {
+        synchronized (lock) {
+            long[] result = Arrays.copyOf(latencies, latencyCount.get());
+            Arrays.sort(result);
+            return result;
+        }
+    }
+
+    public long getFinishedCount() {
+        return completed.get() + failed.get();
+    }
+
+    public long getCompletedCount() {
+        return completed.get();
+    }
+
+    public long getPartlyFailedCount() {
+        return partlyFailed.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test.load;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+
+/**
+ * Configuration for load tests, all data sources count executed statements.
+ *
+ * @since 2.2
+ * @see LoadTestProfilesResolver#LOAD_TEST
+ */
+@Configuration
+@Profile(LoadTestProfilesResolver.LOAD_TEST)
+public class LoadTestConfig {
+
+    @Bean
+    public DbStatementCounter dbStatementCounter() {
+        return new DbStatementCounter();
+    }
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new StatementCountingPostProcessor();
+    }
+
+    /**
+     * Wraps all data sources by {@link StatementCountingDataSource}.
+     */
+    private static class StatementCountingPostProcessor implements BeanPostProcessor, BeanFactoryAware {
+
+        private BeanFactory beanFactory;
+
+        @Override
+        public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+            this.beanFactory = beanFactory;
+        }
+
+        @Override
+        public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+            return bean;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+            if (bean instanceof DataSource && !(bean instanceof StatementCountingDataSource)) {
+                return new StatementCountingDataSource((DataSource) bean,
+                        beanFactory.getBean(DbStatementCounter.class));
+            }
+            return bean;
+        }
+    }
+}
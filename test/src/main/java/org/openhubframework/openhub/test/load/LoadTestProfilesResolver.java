@@ -0,0 +1,55 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test.load;
+
+import org.springframework.test.context.ActiveProfilesResolver;
+
+import org.openhubframework.openhub.common.Profiles;
+
+
+/**
+ * Resolves active profiles of load tests: embedded H2 database is used by default,
+ * local PostgreSQL database is used when system property {@value #DATABASE_PROPERTY} is set to
+ * {@value Profiles#POSTGRES}, e.g. {@code -Dohf.loadTest.database=postgresql}.
+ * <p>
+ * PostgreSQL connection is configured in {@code application-loadTest-postgresql.properties}
+ * and can be overridden by system properties (e.g. {@code -Dspring.datasource.url=...}),
+ * PostgreSQL JDBC driver must be on test classpath.
+ *
+ * @since 2.2
+ */
+public class LoadTestProfilesResolver implements ActiveProfilesResolver {
+
+    /**
+     * Profile of load tests.
+     */
+    public static final String LOAD_TEST = "loadTest";
+
+    /**
+     * System property with target database.
+     */
+    public static final String DATABASE_PROPERTY = "ohf.loadTest.database";
+
+    @Override
+    public String[] resolve(Class<?> testClass) {
+        if (Profiles.POSTGRES.equalsIgnoreCase(System.getProperty(DATABASE_PROPERTY))) {
+            return new String[] {Profiles.TEST, Profiles.POSTGRES, LOAD_TEST, LOAD_TEST + "-" + Profiles.POSTGRES};
+        }
+
+        return new String[] {Profiles.TEST, Profiles.H2, LOAD_TEST};
+    }
+}
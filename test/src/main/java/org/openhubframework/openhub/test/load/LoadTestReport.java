@@ -0,0 +1,167 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test.load;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.util.Assert;
+
+
+/**
+ * Report of load test: throughput, latency percentiles and count of DB statements per message.
+ *
+ * @since 2.2
+ */
+public class LoadTestReport {
+
+    private final long sent;
+
+    private final long rejected;
+
+    private final long completed;
+
+    private final long partlyFailed;
+
+    private final long failed;
+
+    private final long durationMillis;
+
+    private final long avgResponseMillis;
+
+    private final long[] latencies;
+
+    private final long dbStatements;
+
+    private final List<String> errorSamples;
+
+    /**
+     * Creates new report.
+     *
+     * @param result the result of load generator
+     * @param collector the collector of processed messages
+     * @param durationNanos the time from start of sending to last finished message
+     * @param dbStatements the count of executed DB statements, negative if unknown
+     */
+    public LoadTestReport(LoadGenerator.Result result, LoadTestCollector collector, long durationNanos,
+            long dbStatements) {
+        Assert.notNull(result, "the result must not be null");
+        Assert.notNull(collector, "the collector must not be null");
+
+        this.sent = result.getSent();
+        this.rejected = result.getRejected();
+        this.completed = collector.getCompletedCount();
+        this.partlyFailed = collector.getPartlyFailedCount();
+        this.failed = collector.getFailedCount();
+        this.durationMillis = TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        this.avgResponseMillis = TimeUnit.NANOSECONDS.toMillis(result.getAvgResponseNanos());
+        this.latencies = collector.getLatencies();
+        this.dbStatements = dbStatements;
+        this.errorSamples = result.getErrorSamples();
+    }
+
+    /**
+     * Gets count of completed (OK) messages per second.
+     *
+     * @return throughput
+     */
+    public double getThroughput() {
+        return durationMillis > 0 ? completed * 1000.0 / durationMillis : 0;
+    }
+
+    /**
+     * Gets latency percentile of completed messages (from receive to OK).
+     *
+     * @param percentile the percentile (0 - 100)
+     * @return latency in millis
+     */
+    public long getLatencyPercentile(double percentile) {
+        Assert.isTrue(percentile >= 0 && percentile <= 100, "the percentile must be between 0 and 100");
+
+        if (latencies.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100 * latencies.length) - 1;
+        return latencies[Math.max(0, Math.min(index, latencies.length - 1))];
+    }
+
+    /**
+     * Gets average count of DB statements per finished message.
+     *
+     * @return count of statements, negative if unknown
+     */
+    public double getDbStatementsPerMessage() {
+        long finished = completed + failed;
+        if (dbStatements < 0 || finished == 0) {
+            return -1;
+        }
+        return (double) dbStatements / finished;
+    }
+
+    public long getSent() {
+        return sent;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getCompleted() {
+        return completed;
+    }
+
+    public long getPartlyFailed() {
+        return partlyFailed;
+    }
+
+    public long getFailed() {
+        return failed;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    public long getDbStatements() {
+        return dbStatements;
+    }
+
+    public List<String> getErrorSamples() {
+        return errorSamples;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Load test report:\n");
+        sb.append(String.format("  sent / rejected        : %d / %d%n", sent, rejected));
+        sb.append(String.format("  OK / FAILED            : %d / %d (partly failed events: %d)%n",
+                completed, failed, partlyFailed));
+        sb.append(String.format("  duration               : %d ms%n", durationMillis));
+        sb.append(String.format("  avg. sync response     : %d ms%n", avgResponseMillis));
+        sb.append(String.format("  throughput             : %.1f msgs/sec%n", getThroughput()));
+        sb.append(String.format("  latency p50 / p99 / max: %d / %d / %d ms%n",
+                getLatencyPercentile(50), getLatencyPercentile(99), getLatencyPercentile(100)));
+        if (dbStatements >= 0) {
+            sb.append(String.format("  DB statements          : %d (%.1f per message)%n",
+                    dbStatements, getDbStatementsPerMessage()));
+        }
+        for (String error : errorSamples) {
+            sb.append("  error sample           : ").append(error).append('\n');
+        }
+        return sb.toString();
+    }
+}
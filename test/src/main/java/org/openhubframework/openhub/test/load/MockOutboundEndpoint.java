@@ -0,0 +1,139 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test.load;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.springframework.util.Assert;
+
+
+/**
+ * Mock of outbound (target) system with configurable latency and error rate.
+ * <p>
+ * Use it instead of real external call, e.g. by {@code adviceWith}:
+ * <pre>
+    route.adviceWith(getCamelContext(), new AdviceWithRouteBuilder() {
+        public void configure() throws Exception {
+            weaveById("externalCall").replace().process(outbound);
+        }
+    });
+ * </pre>
+ *
+ * @since 2.2
+ */
+public class MockOutboundEndpoint implements Processor {
+
+    private long minLatencyMillis;
+
+    private long maxLatencyMillis;
+
+    private double errorRate;
+
+    private Object response;
+
+    private Supplier<? extends Exception> errorSupplier
+            = () -> new IllegalStateException("Simulated error of outbound endpoint");
+
+    private final AtomicLong calls = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    /**
+     * Sets latency of the endpoint, the latency is random value in specified range.
+     *
+     * @param minMillis the minimal latency in millis
+     * @param maxMillis the maximal latency in millis
+     * @return this endpoint
+     */
+    public MockOutboundEndpoint withLatency(long minMillis, long maxMillis) {
+        Assert.isTrue(minMillis >= 0 && maxMillis >= minMillis, "the latency range must be valid");
+
+        this.minLatencyMillis = minMillis;
+        this.maxLatencyMillis = maxMillis;
+        return this;
+    }
+
+    /**
+     * Sets error rate of the endpoint.
+     *
+     * @param errorRate the probability of error (0 - 1)
+     * @return this endpoint
+     */
+    public MockOutboundEndpoint withErrorRate(double errorRate) {
+        Assert.isTrue(errorRate >= 0 && errorRate <= 1, "the errorRate must be between 0 and 1");
+
+        this.errorRate = errorRate;
+        return this;
+    }
+
+    /**
+     * Sets exception which is thrown when the error is simulated.
+     *
+     * @param errorSupplier the supplier of exceptions
+     * @return this endpoint
+     */
+    public MockOutboundEndpoint withError(Supplier<? extends Exception> errorSupplier) {
+        Assert.notNull(errorSupplier, "the errorSupplier must not be null");
+
+        this.errorSupplier = errorSupplier;
+        return this;
+    }
+
+    /**
+     * Sets response body, the body is not changed if not set.
+     *
+     * @param response the response body
+     * @return this endpoint
+     */
+    public MockOutboundEndpoint withResponse(Object response) {
+        this.response = response;
+        return this;
+    }
+
+    @Override
+    public void process(Exchange exchange) throws Exception {
+        calls.incrementAndGet();
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (maxLatencyMillis > 0) {
+            Thread.sleep(minLatencyMillis == maxLatencyMillis
+                    ? minLatencyMillis
+                    : random.nextLong(minLatencyMillis, maxLatencyMillis + 1));
+        }
+
+        if (errorRate > 0 && random.nextDouble() < errorRate) {
+            failures.incrementAndGet();
+            throw errorSupplier.get();
+        }
+
+        if (response != null) {
+            exchange.getIn().setBody(response);
+        }
+    }
+
+    public long getCallCount() {
+        return calls.get();
+    }
+
+    public long getFailureCount() {
+        return failures.get();
+    }
+}
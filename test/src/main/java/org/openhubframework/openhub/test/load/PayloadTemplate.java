@@ -0,0 +1,91 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.function.IntFunction;
+
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.util.Assert;
+import org.springframework.util.StreamUtils;
+
+
+/**
+ * Payload factory which creates unique request for each index from text template.
+ * <p>
+ * Supported placeholders:
+ * <ul>
+ *     <li>{@value #INDEX} - index of the request (0..n-1)
+ *     <li>{@value #UUID} - random UUID, e.g. for correlation ID
+ *     <li>{@value #TIMESTAMP} - current time in ISO-8601 format
+ * </ul>
+ *
+ * @since 2.2
+ */
+public class PayloadTemplate implements IntFunction<String> {
+
+    public static final String INDEX = "${index}";
+
+    public static final String UUID = "${uuid}";
+
+    public static final String TIMESTAMP = "${timestamp}";
+
+    private final String template;
+
+    /**
+     * Creates new template.
+     *
+     * @param template the template text
+     */
+    public PayloadTemplate(String template) {
+        Assert.hasText(template, "the template must not be empty");
+
+        this.template = template;
+    }
+
+    /**
+     * Creates new template from classpath resource (UTF-8).
+     *
+     * @param path the resource path
+     * @return template
+     */
+    public static PayloadTemplate fromResource(String path) {
+        try (InputStream is = new ClassPathResource(path).getInputStream()) {
+            return new PayloadTemplate(StreamUtils.copyToString(is, StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            throw new IllegalStateException("Payload template '" + path + "' can't be read", ex);
+        }
+    }
+
+    @Override
+    public String apply(int index) {
+        String payload = template.replace(INDEX, String.valueOf(index));
+
+        if (payload.contains(UUID)) {
+            payload = payload.replace(UUID, java.util.UUID.randomUUID().toString());
+        }
+        if (payload.contains(TIMESTAMP)) {
+            payload = payload.replace(TIMESTAMP, Instant.now().toString());
+        }
+
+        return payload;
+    }
+}
@@ -0,0 +1,36 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test.load;
+
+/**
+ * Contract for sending one request (message) into OpenHub during load test.
+ *
+ * @since 2.2
+ * @see RequestSenders
+ */
+@FunctionalInterface
+public interface RequestSender {
+
+    /**
+     * Sends the request.
+     *
+     * @param payload the request payload
+     * @return response
+     * @throws Exception when sending fails, the request is considered as rejected
+     */
+    Object send(String payload) throws Exception;
+}
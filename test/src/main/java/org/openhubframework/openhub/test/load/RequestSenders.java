@@ -0,0 +1,153 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test.load;
+
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+import org.apache.camel.ProducerTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.util.Assert;
+import org.springframework.web.client.RestOperations;
+
+import org.openhubframework.openhub.api.asynch.model.TraceHeader;
+import org.openhubframework.openhub.api.asynch.model.TraceIdentifier;
+import org.openhubframework.openhub.api.common.ExchangeConstants;
+
+
+/**
+ * Factory methods of {@link RequestSender}s.
+ * <p>
+ * In-process sender ({@link #camel(ProducerTemplate, String)}) calls route directly
+ * (e.g. {@code direct:inWS_} URI from {@code TestWsUriBuilder}) and measures OpenHub only,
+ * HTTP senders call running OpenHub instance via SOAP or REST.
+ *
+ * @since 2.2
+ */
+public final class RequestSenders {
+
+    private static final String SOAP_ENVELOPE_START =
+            "<soapenv:Envelope xmlns:soapenv=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+                    + "<soapenv:Header/><soapenv:Body>";
+
+    private static final String SOAP_ENVELOPE_END = "</soapenv:Body></soapenv:Envelope>";
+
+    private static final MediaType TEXT_XML = MediaType.parseMediaType("text/xml;charset=UTF-8");
+
+    private RequestSenders() {
+    }
+
+    /**
+     * Creates sender which sends payload to Camel endpoint (in-out).
+     *
+     * @param producerTemplate the producer template
+     * @param uri the endpoint URI
+     * @return sender
+     */
+    public static RequestSender camel(ProducerTemplate producerTemplate, String uri) {
+        return camel(producerTemplate, uri, payload -> Collections.emptyMap());
+    }
+
+    /**
+     * Creates sender which sends payload with headers to Camel endpoint (in-out).
+     *
+     * @param producerTemplate the producer template
+     * @param uri the endpoint URI
+     * @param headersFactory the factory of headers for specified payload, e.g. {@link #traceHeaders(String)}
+     * @return sender
+     */
+    public static RequestSender camel(ProducerTemplate producerTemplate, String uri,
+            Function<String, Map<String, Object>> headersFactory) {
+        Assert.notNull(producerTemplate, "the producerTemplate must not be null");
+        Assert.hasText(uri, "the uri must not be empty");
+        Assert.notNull(headersFactory, "the headersFactory must not be null");
+
+        return payload -> producerTemplate.requestBodyAndHeaders(uri, payload, headersFactory.apply(payload));
+    }
+
+    /**
+     * Creates factory of headers with new {@link TraceHeader} (with unique correlation ID) for each request,
+     * it's the same as trace header in SOAP header of asynchronous request.
+     *
+     * @param applicationId the source application ID
+     * @return factory of headers
+     */
+    public static Function<String, Map<String, Object>> traceHeaders(String applicationId) {
+        Assert.hasText(applicationId, "the applicationId must not be empty");
+
+        return payload -> {
+            TraceIdentifier traceId = new TraceIdentifier();
+            traceId.setApplicationID(applicationId);
+            traceId.setCorrelationID(UUID.randomUUID().toString());
+            traceId.setTimestamp(OffsetDateTime.now());
+
+            TraceHeader traceHeader = new TraceHeader();
+            traceHeader.setTraceIdentifier(traceId);
+
+            return Collections.singletonMap(ExchangeConstants.TRACE_HEADER, traceHeader);
+        };
+    }
+
+    /**
+     * Creates sender which sends payload as SOAP 1.1 request.
+     * Payload is wrapped into SOAP envelope if it doesn't contain it.
+     *
+     * @param restOperations the HTTP client
+     * @param url the web service URL
+     * @param soapAction the SOAP action (can be empty)
+     * @return sender
+     */
+    public static RequestSender soap(RestOperations restOperations, String url, String soapAction) {
+        Assert.notNull(restOperations, "the restOperations must not be null");
+        Assert.hasText(url, "the url must not be empty");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(TEXT_XML);
+        headers.set("SOAPAction", "\"" + (soapAction != null ? soapAction : "") + "\"");
+
+        return payload -> {
+            String request = payload.contains(":Envelope")
+                    ? payload
+                    : SOAP_ENVELOPE_START + payload + SOAP_ENVELOPE_END;
+
+            return restOperations.postForObject(url, new HttpEntity<>(request, headers), String.class);
+        };
+    }
+
+    /**
+     * Creates sender which sends payload as JSON REST request (POST).
+     *
+     * @param restOperations the HTTP client
+     * @param url the resource URL
+     * @return sender
+     */
+    public static RequestSender rest(RestOperations restOperations, String url) {
+        Assert.notNull(restOperations, "the restOperations must not be null");
+        Assert.hasText(url, "the url must not be empty");
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON_UTF8);
+        headers.setAccept(Collections.singletonList(MediaType.APPLICATION_JSON));
+
+        return payload -> restOperations.postForObject(url, new HttpEntity<>(payload, headers), String.class);
+    }
+}
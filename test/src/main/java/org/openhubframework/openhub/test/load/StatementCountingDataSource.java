@@ -0,0 +1,137 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.test.load;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.Assert;
+
+
+/**
+ * {@link DataSource} wrapper which counts executed statements (calls of {@code execute*} methods)
+ * of all connections obtained from this data source.
+ *
+ * @since 2.2
+ * @see DbStatementCounter
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private final DbStatementCounter counter;
+
+    /**
+     * Creates new data source.
+     *
+     * @param targetDataSource the target data source
+     * @param counter the counter of executed statements
+     */
+    public StatementCountingDataSource(DataSource targetDataSource, DbStatementCounter counter) {
+        super(targetDataSource);
+
+        Assert.notNull(counter, "the counter must not be null");
+
+        this.counter = counter;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection(), new ConnectionHandler());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password), new ConnectionHandler());
+    }
+
+    private static <T> T proxy(Class<T> type, T target, DelegatingHandler handler) {
+        handler.target = target;
+        return type.cast(Proxy.newProxyInstance(StatementCountingDataSource.class.getClassLoader(),
+                new Class<?>[] {type}, handler));
+    }
+
+    /**
+     * Invocation handler which delegates to the target object.
+     */
+    private abstract static class DelegatingHandler implements InvocationHandler {
+
+        Object target;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    // continue
+            }
+
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getTargetException();
+            }
+
+            return afterInvoke(method, result);
+        }
+
+        abstract Object afterInvoke(Method method, Object result);
+    }
+
+    /**
+     * Wraps created statements.
+     */
+    private class ConnectionHandler extends DelegatingHandler {
+
+        @Override
+        Object afterInvoke(Method method, Object result) {
+            if (result instanceof CallableStatement) {
+                return proxy(CallableStatement.class, (CallableStatement) result, new StatementHandler());
+            } else if (result instanceof PreparedStatement) {
+                return proxy(PreparedStatement.class, (PreparedStatement) result, new StatementHandler());
+            } else if (result instanceof Statement) {
+                return proxy(Statement.class, (Statement) result, new StatementHandler());
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Counts executions of the statement.
+     */
+    private class StatementHandler extends DelegatingHandler {
+
+        @Override
+        Object afterInvoke(Method method, Object result) {
+            if (method.getName().startsWith("execute")) {
+                counter.increment();
+            }
+            return result;
+        }
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Locale;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
@@ -55,13 +56,19 @@ public class WebAdminConfigurer {
 
     /**
      * Registers {@link RequestResponseLoggingFilter}.
+     *
+     * @param sampleRate only one of {@code sampleRate} requests is logged
+     * @param asyncLogging {@code true} if messages should be written to the log by separate thread
      */
     @Bean
-    public FilterRegistrationBean loggingRest() {
+    public FilterRegistrationBean loggingRest(@Value("${ohf.web.reqResLogging.sampleRate:1}") int sampleRate,
+            @Value("${ohf.web.reqResLogging.async:false}") boolean asyncLogging) {
         LOG.info("REQ/RES logging initialization");
 
         RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter();
         filter.setLogUnsupportedContentType(false);
+        filter.setSampleRate(sampleRate);
+        filter.setAsyncLogging(asyncLogging);
         final FilterRegistrationBean bean = new FilterRegistrationBean(filter);
         // we use logging filter only for administration endpoints to avoid duplication log events
         bean.addUrlPatterns(WEB_URI_PREFIX_MAPPING);
@@ -17,12 +17,17 @@
 package org.openhubframework.openhub.admin.web.message.rest;
 
 import java.text.MessageFormat;
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import javax.annotation.Nullable;
 import javax.validation.Valid;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.openhubframework.openhub.admin.web.common.AbstractOhfController;
 import org.openhubframework.openhub.admin.web.message.rpc.ActionRequestRpc;
 import org.openhubframework.openhub.admin.web.message.rpc.ActionResultRpc;
@@ -34,6 +39,7 @@ import org.openhubframework.openhub.api.common.Constraints;
 import org.openhubframework.openhub.api.configuration.ConfigurableValue;
 import org.openhubframework.openhub.api.configuration.ConfigurationItem;
 import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MessageCursor;
 import org.openhubframework.openhub.api.entity.MessageFilter;
 import org.openhubframework.openhub.core.common.asynch.msg.MessageOperationService;
 import org.openhubframework.openhub.spi.msg.MessageService;
@@ -42,15 +48,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * Controller for managing operations with messages.
@@ -70,6 +79,11 @@ public class MessageController extends AbstractOhfController {
 
     private static final String MESSAGE_ACTION_ERROR = "ERROR";
 
+    /**
+     * Count of messages fetched from DB at once when messages are streamed.
+     */
+    static final int STREAM_PAGE_SIZE = 500;
+
     @ConfigurableValue(key = WebProps.MESSAGES_LIMIT)
     private ConfigurationItem<Long> messagesLimit;
 
@@ -79,6 +93,9 @@ public class MessageController extends AbstractOhfController {
     @Autowired
     private MessageOperationService messageOperationService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * List messages, by given filter.
      *
@@ -107,6 +124,75 @@ public class MessageController extends AbstractOhfController {
         );
     }
 
+    /**
+     * Streams messages by given filter as chunked JSON, messages are fetched from DB page by page
+     * (keyset pagination), so memory consumption doesn't depend on count of messages.
+     * <p>
+     * Response contains (besides messages) the cursor of the last message, it's possible to continue
+     * with next messages by next request with parameters {@code afterTimestamp} and {@code afterId}.
+     *
+     * @param messageFilter the filter to filter messages.
+     * @param afterTimestamp the received timestamp of the last message from previous request
+     * @param afterId the ID of the last message from previous request
+     * @param limit the maximum count of messages, default (and maximum) is configured messages limit
+     * @return streamed JSON with message list elements
+     */
+    @GetMapping(path = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public StreamingResponseBody stream(final MessageFilterRpc messageFilter,
+            @RequestParam(required = false) @Nullable final OffsetDateTime afterTimestamp,
+            @RequestParam(required = false) @Nullable final Long afterId,
+            @RequestParam(required = false) @Nullable final Long limit) {
+        Constraints.notNull(messageFilter.getReceivedFrom(), "The receivedFrom is mandatory.");
+        Constraints.isTrue((afterTimestamp == null) == (afterId == null),
+                "The afterTimestamp and afterId must be set together.");
+        Constraints.notNull(messagesLimit.getValue(), "the messagesLimit must be configured.");
+        Constraints.isTrue(limit == null || limit > 0, "The limit must be positive.");
+
+        final long maxCount = limit != null ? Math.min(limit, messagesLimit.getValue()) : messagesLimit.getValue();
+        final MessageFilter filter = MessageFilterRpc.toMessageFilter().convert(messageFilter);
+        final MessageCursor startCursor = afterTimestamp != null
+                ? new MessageCursor(afterTimestamp.toInstant(), afterId) : null;
+        LOG.trace("Stream messages by filter [{}] after [{}].", filter, startCursor);
+
+        return outputStream -> {
+            try (JsonGenerator json = objectMapper.getFactory().createGenerator(outputStream, JsonEncoding.UTF8)) {
+                json.writeStartObject();
+                json.writeArrayFieldStart("data");
+
+                MessageCursor cursor = startCursor;
+                long count = 0;
+                while (count < maxCount) {
+                    int pageSize = (int) Math.min(STREAM_PAGE_SIZE, maxCount - count);
+                    List<Message> page = messageService.findMessagesByFilter(filter, cursor, pageSize);
+
+                    for (Message msg : page) {
+                        json.writeObject(MessageListItemRpc.fromMessage().convert(msg));
+                    }
+                    json.flush();
+
+                    count += page.size();
+                    if (!page.isEmpty()) {
+                        cursor = MessageCursor.of(page.get(page.size() - 1));
+                    }
+                    if (page.size() < pageSize) {
+                        break;
+                    }
+                }
+
+                json.writeEndArray();
+                json.writeNumberField("limit", maxCount);
+                json.writeNumberField("totalElements", count);
+                if (cursor != null) {
+                    json.writeObjectFieldStart("nextCursor");
+                    json.writeStringField("afterTimestamp", cursor.getReceiveTimestamp().toString());
+                    json.writeNumberField("afterId", cursor.getMsgId());
+                    json.writeEndObject();
+                }
+                json.writeEndObject();
+            }
+        };
+    }
+
     /**
      * Get detail of message identified by its id.
      *
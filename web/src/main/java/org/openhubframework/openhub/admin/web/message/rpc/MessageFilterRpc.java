@@ -44,6 +44,7 @@ public class MessageFilterRpc {
     private String serviceName;
     private String operationName;
     private String fulltext;
+    private boolean fulltextRanked;
 
     public OffsetDateTime getReceivedFrom() {
         return receivedFrom;
@@ -141,6 +142,14 @@ public class MessageFilterRpc {
         this.fulltext = fulltext;
     }
 
+    public boolean isFulltextRanked() {
+        return fulltextRanked;
+    }
+
+    public void setFulltextRanked(boolean fulltextRanked) {
+        this.fulltextRanked = fulltextRanked;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
@@ -156,6 +165,7 @@ public class MessageFilterRpc {
                 .append("serviceName", serviceName)
                 .append("operationName", operationName)
                 .append("fulltext", fulltext)
+                .append("fulltextRanked", fulltextRanked)
                 .toString();
     }
 
@@ -182,6 +192,7 @@ public class MessageFilterRpc {
             ret.setServiceName(source.getServiceName());
             ret.setOperationName(source.getOperationName());
             ret.setFulltext(source.getFulltext());
+            ret.setFulltextRanked(source.isFulltextRanked());
             return ret;
         };
     }
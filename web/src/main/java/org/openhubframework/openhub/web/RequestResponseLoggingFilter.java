@@ -19,9 +19,17 @@ package org.openhubframework.openhub.web;
 import static org.springframework.util.StringUtils.hasText;
 
 import java.io.*;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.servlet.*;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -30,6 +38,7 @@ import javax.servlet.http.HttpSession;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 import org.springframework.web.util.ContentCachingRequestWrapper;
@@ -40,6 +49,12 @@ import org.springframework.web.util.ContentCachingRequestWrapper;
  * (and optionally the query string) including request content <strong>and also response content</strong> to the LogContext.
  * <p/>
  * This filter is very useful to log REST layer.
+ * <p/>
+ * Only the first {@link #setMaxRequestPayloadLength(int) N bytes of request} and
+ * {@link #setMaxResponsePayloadLength(int) M bytes of response} are captured (response capture buffers are reused
+ * by each thread), the rest of the content is passed through untouched.
+ * Messages can be written {@link #setAsyncLogging(boolean) asynchronously} and only
+ * {@link #setSampleRate(int) one of K requests} can be logged so the filter can be enabled in production.
  *
  * @author Tomas Hanus
  * @since 2.0
@@ -57,6 +72,7 @@ public class RequestResponseLoggingFilter implements Filter {
     private static final int DEFAULT_MAX_REQUEST_PAYLOAD_LENGTH = 1000;
     private static final int DEFAULT_MAX_RESPONSE_PAYLOAD_LENGTH = 10000;
     private static final List<String> SUPPORTED_CONTENT_TYPES = Arrays.asList("application/json", "application/xml");
+    private static final int ASYNC_LOG_QUEUE_CAPACITY = 1000;
 
     private String requestMessagePrefix = DEFAULT_REQUEST_MESSAGE_PREFIX;
     private String requestMessageSuffix = DEFAULT_REQUEST_MESSAGE_SUFFIX;
@@ -65,8 +81,15 @@ public class RequestResponseLoggingFilter implements Filter {
     private boolean includeClientInfo = false;
     private int maxRequestPayloadLength = DEFAULT_MAX_REQUEST_PAYLOAD_LENGTH;
     private int maxResponsePayloadLength = DEFAULT_MAX_RESPONSE_PAYLOAD_LENGTH;
-    private final List<String> supportedContentTypes = SUPPORTED_CONTENT_TYPES;
+    private final List<String> supportedContentTypes = new ArrayList<>(SUPPORTED_CONTENT_TYPES);
     private boolean logUnsupportedContentType = false;
+    private int sampleRate = 1;
+    private boolean asyncLogging = false;
+
+    private final AtomicLong requestCounter = new AtomicLong();
+    private final AtomicLong droppedMessagesCount = new AtomicLong();
+    private final ThreadLocal<byte[]> captureBuffers = new ThreadLocal<>();
+    private ExecutorService logExecutor;
 
     @Override
     public void init(FilterConfig filterConf) throws ServletException {
@@ -74,8 +97,16 @@ public class RequestResponseLoggingFilter implements Filter {
     }
 
     @Override
-    public void destroy() {
-        // nothing
+    public synchronized void destroy() {
+        if (logExecutor != null) {
+            logExecutor.shutdown();
+            try {
+                logExecutor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            logExecutor = null;
+        }
     }
 
     @Override
@@ -90,33 +121,44 @@ public class RequestResponseLoggingFilter implements Filter {
             return;
         }
 
+        // sampling
+        if (sampleRate > 1 && requestCounter.getAndIncrement() % sampleRate != 0) {
+            chain.doFilter(request, response);
+            return;
+        }
+
         boolean chainDone = false;
         boolean errorInChainCall = false;
 
-        try (OutputStream ignored = response.getOutputStream()) {
+        HttpServletResponseCopier responseCopier = null;
+        final OutputStream outputStream = response.getOutputStream();
+        // response of asynchronous request is written by other thread later, it's completed by the container then
+        try (Closeable ignored = () -> {
+                if (!request.isAsyncStarted()) {
+                    outputStream.close();
+                }
+            }) {
 
-            HttpServletResponseCopier responseCopier = new HttpServletResponseCopier((HttpServletResponse) response);
+            responseCopier = new HttpServletResponseCopier((HttpServletResponse) response,
+                    acquireCaptureBuffer());
             HttpServletRequest requestToUse = (HttpServletRequest) request;
-            requestToUse = new ContentCachingRequestWrapper(requestToUse);
+            requestToUse = new ContentCachingRequestWrapper(requestToUse, getRequestMaxPayloadLength());
 
             errorInChainCall = true;
             chain.doFilter(requestToUse, responseCopier);
             errorInChainCall = false;
 
             chainDone = true;
-            responseCopier.flushBuffer();
 
-            // enable only logging for supported content types
-            if (!isLogUnsupportedContentType() && !isSupportedContentType(response.getContentType())) {
-                logger.trace("Logging is skipped due support for logging unsupported type is disabled");
-                // do nothing more
+            if (requestToUse.isAsyncStarted()) {
+                // capture buffer is used by other thread, it's not returned to the buffers of this thread
+                requestToUse.getAsyncContext().addListener(
+                        new AsyncLoggingListener(requestToUse, (HttpServletResponse) response, responseCopier));
+                responseCopier = null;
                 return;
             }
 
-            byte[] copy = responseCopier.getCopy();
-
-            logger.debug(getRequestMessage(requestToUse));
-            logger.debug(getResponseMessage(response, copy));
+            logExchange(requestToUse, (HttpServletResponse) response, responseCopier);
 
         } catch (Exception e) {
             if (!errorInChainCall) {
@@ -130,10 +172,92 @@ public class RequestResponseLoggingFilter implements Filter {
             if (!chainDone) {
                 chain.doFilter(request, response);
             }
+        } finally {
+            if (responseCopier != null) {
+                releaseCaptureBuffer(responseCopier.getCaptureBuffer());
+            }
         }
 
     }
 
+    /**
+     * Logs request and response after the response was written.
+     */
+    private void logExchange(HttpServletRequest request, HttpServletResponse response,
+            HttpServletResponseCopier responseCopier) throws IOException {
+        responseCopier.flushBuffer();
+
+        // enable only logging for supported content types
+        if (!isLogUnsupportedContentType() && !isSupportedContentType(response.getContentType())) {
+            logger.trace("Logging is skipped due support for logging unsupported type is disabled");
+            // do nothing more
+            return;
+        }
+
+        // messages must be created in this thread, request and response are not valid later
+        log(getRequestMessage(request),
+                getResponseMessage(response, responseCopier.getCopy(), responseCopier.getSize()));
+    }
+
+    /**
+     * Writes messages to the log - in the current thread or asynchronously.
+     */
+    private void log(String requestMessage, String responseMessage) {
+        if (!asyncLogging) {
+            logger.debug(requestMessage);
+            logger.debug(responseMessage);
+            return;
+        }
+
+        final Map<String, String> context = MDC.getCopyOfContextMap();
+        try {
+            getLogExecutor().execute(() -> {
+                if (context != null) {
+                    MDC.setContextMap(context);
+                }
+                try {
+                    logger.debug(requestMessage);
+                    logger.debug(responseMessage);
+                } finally {
+                    MDC.clear();
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            // queue is full (or filter is destroyed) => log messages are dropped
+            droppedMessagesCount.incrementAndGet();
+        }
+    }
+
+    private synchronized ExecutorService getLogExecutor() {
+        if (logExecutor == null) {
+            logExecutor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(ASYNC_LOG_QUEUE_CAPACITY), runnable -> {
+                        Thread thread = new Thread(runnable, "ohf-req-res-logging");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+        return logExecutor;
+    }
+
+    /**
+     * Gets buffer for capturing response, the buffer is reused by the thread.
+     */
+    private byte[] acquireCaptureBuffer() {
+        byte[] buffer = captureBuffers.get();
+        if (buffer != null && buffer.length == getMaxResponsePayloadLength()) {
+            // buffer is used by this request now
+            captureBuffers.set(null);
+            return buffer;
+        }
+
+        return new byte[getMaxResponsePayloadLength()];
+    }
+
+    private void releaseCaptureBuffer(byte[] buffer) {
+        captureBuffers.set(buffer);
+    }
+
     /**
      * Set the value that should be prepended to the log message written
      * <i>before</i> a request is processed.
@@ -216,6 +340,31 @@ public class RequestResponseLoggingFilter implements Filter {
         return this.maxResponsePayloadLength;
     }
 
+    /**
+     * Sets sample rate - only one of {@code sampleRate} requests is logged.
+     * Default is 1 (all requests are logged).
+     */
+    public void setSampleRate(int sampleRate) {
+        Assert.isTrue(sampleRate >= 1, "'sampleRate' should be larger than or equal to 1");
+        this.sampleRate = sampleRate;
+    }
+
+    /**
+     * Sets whether the messages should be written to the log asynchronously (by separate thread).
+     * If there are too many messages waiting for logging then new messages are dropped.
+     * Default is {@code false}.
+     */
+    public void setAsyncLogging(boolean asyncLogging) {
+        this.asyncLogging = asyncLogging;
+    }
+
+    /**
+     * Returns count of messages dropped because of full queue of asynchronous logging.
+     */
+    public long getDroppedMessagesCount() {
+        return droppedMessagesCount.get();
+    }
+
     /**
      * Returns the actually supported content types of request which should be logged.
      */
@@ -262,12 +411,22 @@ public class RequestResponseLoggingFilter implements Filter {
      * Get the message to write to the log the response.
      */
     protected String getResponseMessage(ServletResponse response, byte[] copy) {
+        return getResponseMessage(response, copy, copy.length);
+    }
+
+    /**
+     * Get the message to write to the log the response.
+     *
+     * @param response the response
+     * @param copy the captured beginning of the response content
+     * @param responseSize the total size of the response content
+     */
+    protected String getResponseMessage(ServletResponse response, byte[] copy, long responseSize) {
         try {
             StringBuilder msg = new StringBuilder();
             msg.append(responseMessagePrefix);
 
             String contentType = hasText(response.getContentType()) ? response.getContentType() : "unknown";
-            int responseSize = copy.length;
             String copyString;
 
             String croppedMessage = "";
@@ -275,12 +434,12 @@ public class RequestResponseLoggingFilter implements Filter {
             if (!isSupportedContentType(contentType)) {
                 copyString = "";
                 croppedMessage = " cropped (" + contentType + ")";
-            } else if (responseSize > getMaxResponsePayloadLength()) {
-                croppedMessage = "(cropped to " + getMaxResponsePayloadLength() + " characters)";
-                copyString = new String(copy, response.getCharacterEncoding());
             } else {
-                copyString = new String(copy, 0, Math.min(responseSize, getMaxResponsePayloadLength()),
-                    response.getCharacterEncoding());
+                int length = Math.min(copy.length, getMaxResponsePayloadLength());
+                if (responseSize > length) {
+                    croppedMessage = "(cropped to " + getMaxResponsePayloadLength() + " characters)";
+                }
+                copyString = new String(copy, 0, length, response.getCharacterEncoding());
             }
 
             // type
@@ -378,25 +537,55 @@ public class RequestResponseLoggingFilter implements Filter {
     }
 
 
-    private class ServletOutputStreamCopier extends ServletOutputStream {
+    /**
+     * Output stream that writes everything to the target stream and captures the beginning of the content only.
+     */
+    private static class ServletOutputStreamCopier extends ServletOutputStream {
+
+        private final OutputStream outputStream;
+
+        private final byte[] captureBuffer;
 
-        private OutputStream outputStream;
+        private int captured;
 
-        private ByteArrayOutputStream copy;
+        private long size;
 
-        public ServletOutputStreamCopier(OutputStream outputStream) {
+        public ServletOutputStreamCopier(OutputStream outputStream, byte[] captureBuffer) {
             this.outputStream = outputStream;
-            this.copy = new ByteArrayOutputStream(1024);
+            this.captureBuffer = captureBuffer;
         }
 
         @Override
         public void write(int b) throws IOException {
             outputStream.write(b);
-            copy.write(b);
+            if (captured < captureBuffer.length) {
+                captureBuffer[captured++] = (byte) b;
+            }
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            outputStream.write(b, off, len);
+            int toCapture = Math.min(len, captureBuffer.length - captured);
+            if (toCapture > 0) {
+                System.arraycopy(b, off, captureBuffer, captured, toCapture);
+                captured += toCapture;
+            }
+            size += len;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            outputStream.flush();
         }
 
         public byte[] getCopy() {
-            return copy.toByteArray();
+            return Arrays.copyOf(captureBuffer, captured);
+        }
+
+        public long getSize() {
+            return size;
         }
 
         @Override
@@ -410,7 +599,53 @@ public class RequestResponseLoggingFilter implements Filter {
         }
     }
 
-    private class HttpServletResponseCopier extends HttpServletResponseWrapper {
+    /**
+     * Listener that logs request and response when asynchronous processing of the request is completed.
+     */
+    private class AsyncLoggingListener implements AsyncListener {
+
+        private final HttpServletRequest request;
+
+        private final HttpServletResponse response;
+
+        private final HttpServletResponseCopier responseCopier;
+
+        private AsyncLoggingListener(HttpServletRequest request, HttpServletResponse response,
+                HttpServletResponseCopier responseCopier) {
+            this.request = request;
+            this.response = response;
+            this.responseCopier = responseCopier;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) throws IOException {
+            try {
+                logExchange(request, response, responseCopier);
+            } catch (Exception ex) {
+                logger.error("Error in req/res logging.", ex);
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // response is logged on complete
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // response is logged on complete
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // listener must be registered again for next asynchronous cycle
+            event.getAsyncContext().addListener(this);
+        }
+    }
+
+    private static class HttpServletResponseCopier extends HttpServletResponseWrapper {
+
+        private final byte[] captureBuffer;
 
         private ServletOutputStream outputStream;
 
@@ -419,8 +654,10 @@ public class RequestResponseLoggingFilter implements Filter {
         private ServletOutputStreamCopier copier;
 
 
-        public HttpServletResponseCopier(HttpServletResponse response) throws IOException {
+        public HttpServletResponseCopier(HttpServletResponse response, byte[] captureBuffer) throws IOException {
             super(response);
+
+            this.captureBuffer = captureBuffer;
         }
 
 
@@ -432,7 +669,7 @@ public class RequestResponseLoggingFilter implements Filter {
 
             if (outputStream == null) {
                 outputStream = getResponse().getOutputStream();
-                copier = new ServletOutputStreamCopier(outputStream);
+                copier = new ServletOutputStreamCopier(outputStream, captureBuffer);
             }
 
             return copier;
@@ -445,7 +682,7 @@ public class RequestResponseLoggingFilter implements Filter {
             }
 
             if (writer == null) {
-                copier = new ServletOutputStreamCopier(getResponse().getOutputStream());
+                copier = new ServletOutputStreamCopier(getResponse().getOutputStream(), captureBuffer);
                 writer = new PrintWriter(new OutputStreamWriter(copier, getResponse().getCharacterEncoding()), true);
             }
 
@@ -468,5 +705,13 @@ public class RequestResponseLoggingFilter implements Filter {
                 return new byte[0];
             }
         }
+
+        public long getSize() {
+            return copier != null ? copier.getSize() : 0;
+        }
+
+        public byte[] getCaptureBuffer() {
+            return captureBuffer;
+        }
     }
 }
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.web;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.AbstractEndpoint;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import org.openhubframework.openhub.core.common.startup.StartupTimeline;
+
+
+/**
+ * Actuator endpoint which exposes {@link StartupTimeline timeline of application startup}
+ * - phases and the slowest beans.
+ *
+ * @since 2.2
+ */
+@Component
+@ConfigurationProperties(prefix = "endpoints.startup")
+public class StartupTimelineEndpoint extends AbstractEndpoint<Map<String, Object>> {
+
+    private static final int BEANS_LIMIT = 50;
+
+    @Autowired(required = false)
+    private StartupTimeline timeline;
+
+    public StartupTimelineEndpoint() {
+        super("startup", true);
+    }
+
+    @Override
+    public Map<String, Object> invoke() {
+        if (timeline == null) {
+            return Collections.singletonMap("enabled", false);
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("startTime", timeline.getStartMillis());
+        result.put("totalMillis", timeline.getTotalMillis());
+        result.put("phases", timeline.getPhases());
+        result.put("beanCount", timeline.getBeanCount());
+        result.put("slowestBeans", timeline.getSlowestBeans(BEANS_LIMIT));
+        return result;
+    }
+}
@@ -20,6 +20,7 @@ import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.isEmptyString;
 import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.times;
 import static org.openhubframework.openhub.test.rest.TestRestUtils.createGetUrl;
@@ -29,6 +30,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import java.lang.reflect.Field;
@@ -50,12 +52,14 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.util.ReflectionUtils;
 
 import org.openhubframework.openhub.admin.AbstractAdminModuleRestTest;
 import org.openhubframework.openhub.api.entity.ExternalCall;
 import org.openhubframework.openhub.api.entity.ExternalCallStateEnum;
 import org.openhubframework.openhub.api.entity.Message;
+import org.openhubframework.openhub.api.entity.MessageCursor;
 import org.openhubframework.openhub.api.entity.MessageFilter;
 import org.openhubframework.openhub.api.entity.MsgStateEnum;
 import org.openhubframework.openhub.api.entity.Request;
@@ -206,6 +210,73 @@ public class MessageControllerTest extends AbstractAdminModuleRestTest {
         assertThat(filter.getFulltext(), is("fulltext-message"));
     }
 
+    @Test
+    public void stream_Ok() throws Exception {
+        final URIBuilder uriBuilder = createGetUrl(ROOT_URI + "/stream")
+                .addParameter("receivedFrom", "2017-05-28T11:47:28+02:00")
+                .addParameter("afterTimestamp", "2017-05-29T11:47:28+02:00")
+                .addParameter("afterId", "100")
+                .addParameter("limit", "1")
+                ;
+
+        final Message msg = new Message();
+        msg.setId(84L);
+        msg.setCorrelationId("20301-2332-1321");
+        msg.setState(MsgStateEnum.OK);
+        msg.setSourceSystem(() -> "CRM");
+        msg.setReceiveTimestamp(Instant.parse("2017-05-28T10:00:00Z"));
+        msg.setService(() -> "CUSTOMER");
+        msg.setOperationName("setCustomer");
+
+        final ArgumentCaptor<MessageCursor> cursorCaptor = ArgumentCaptor.forClass(MessageCursor.class);
+        Mockito.when(messageService.findMessagesByFilter(any(MessageFilter.class), cursorCaptor.capture(), eq(1)))
+                .thenReturn(Collections.singletonList(msg));
+
+        // GET /api/messages/stream
+        final MvcResult result = mockMvc.perform(get(toUrl(uriBuilder))
+                .accept(MediaType.APPLICATION_JSON)
+                .with(SecurityMockMvcRequestPostProcessors.authentication(mockAuthentication("ADMIN"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        // wait for streaming of the response (body is written into the response of the first dispatch)
+        result.getAsyncResult();
+
+        status().isOk().match(result);
+        jsonPath("$.data", hasSize(1)).match(result);
+        jsonPath("$.data[0].id", is(84)).match(result);
+        jsonPath("$.data[0].correlationId", is("20301-2332-1321")).match(result);
+        jsonPath("$.limit", is(1)).match(result);
+        jsonPath("$.totalElements", is(1)).match(result);
+        jsonPath("$.nextCursor.afterTimestamp", is("2017-05-28T10:00:00Z")).match(result);
+        jsonPath("$.nextCursor.afterId", is(84)).match(result);
+
+        assertThat(cursorCaptor.getValue(), is(new MessageCursor(Instant.parse("2017-05-29T09:47:28Z"), 100L)));
+    }
+
+    @Test
+    public void stream_limitIsClamped() throws Exception {
+        final URIBuilder uriBuilder = createGetUrl(ROOT_URI + "/stream")
+                .addParameter("receivedFrom", "2017-05-28T11:47:28+02:00")
+                .addParameter("limit", "100000")
+                ;
+
+        Mockito.when(messageService.findMessagesByFilter(any(MessageFilter.class), any(), eq(42)))
+                .thenReturn(Collections.emptyList());
+
+        // GET /api/messages/stream
+        final MvcResult result = mockMvc.perform(get(toUrl(uriBuilder))
+                .accept(MediaType.APPLICATION_JSON)
+                .with(SecurityMockMvcRequestPostProcessors.authentication(mockAuthentication("ADMIN"))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        result.getAsyncResult();
+
+        status().isOk().match(result);
+        jsonPath("$.data", hasSize(0)).match(result);
+        jsonPath("$.limit", is(42)).match(result);
+        jsonPath("$.totalElements", is(0)).match(result);
+    }
+
     @Test
     public void list_badRequest_receivedFrom() throws Exception {
         final URIBuilder uriBuilder = createGetUrl(ROOT_URI)
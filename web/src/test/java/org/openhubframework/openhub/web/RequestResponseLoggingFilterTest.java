@@ -0,0 +1,158 @@
+/*
+ * Copyright 2018 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.openhubframework.openhub.web;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.junit.Assert.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.servlet.ServletResponse;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+
+/**
+ * Test suite for {@link RequestResponseLoggingFilter}.
+ *
+ * @since 2.2
+ */
+public class RequestResponseLoggingFilterTest {
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(RequestResponseLoggingFilter.class);
+
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    private Level originalLevel;
+
+    @Before
+    public void prepareLogger() {
+        originalLevel = logger.getLevel();
+        logger.setLevel(Level.DEBUG);
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @After
+    public void resetLogger() {
+        logger.detachAppender(appender);
+        logger.setLevel(originalLevel);
+    }
+
+    @Test
+    public void testBoundedCapture() throws Exception {
+        RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter();
+        filter.setMaxResponsePayloadLength(10);
+
+        byte[] content = new byte[100_000];
+        Arrays.fill(content, (byte) 'a');
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/web/admin/test"), response,
+                (req, res) -> {
+                    res.setContentType("application/json");
+                    res.getOutputStream().write(content);
+                });
+
+        // response content is untouched
+        assertThat(response.getContentAsByteArray(), is(content));
+
+        assertThat(appender.list.size(), is(2));
+        String responseMessage = appender.list.get(1).getFormattedMessage();
+        assertThat(responseMessage, containsString("size=100000"));
+        assertThat(responseMessage, containsString("(cropped to 10 characters)=aaaaaaaaaa"));
+        assertThat(responseMessage, not(containsString("aaaaaaaaaaa")));
+    }
+
+    @Test
+    public void testSampling() throws Exception {
+        RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter();
+        filter.setSampleRate(3);
+
+        for (int i = 0; i < 6; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/web/admin/test"), response,
+                    (req, res) -> {
+                        res.setContentType("application/json");
+                        res.getWriter().write("{}");
+                    });
+
+            assertThat(response.getContentAsString(), is("{}"));
+        }
+
+        // 2 requests x (request + response message)
+        assertThat(appender.list.size(), is(4));
+    }
+
+    @Test
+    public void testAsyncLogging() throws Exception {
+        RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter();
+        filter.setAsyncLogging(true);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/web/admin/test");
+        request.setContent("{\"a\":1}".getBytes(StandardCharsets.UTF_8));
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.getInputStream().read(new byte[100]);
+            res.setContentType("application/json");
+            res.getWriter().write("{}");
+        });
+
+        // waits for logging thread
+        filter.destroy();
+
+        assertThat(appender.list.size(), is(2));
+        assertThat(appender.list.get(0).getFormattedMessage(), containsString("payload={\"a\":1}"));
+    }
+
+    @Test
+    public void testAsyncRequest() throws Exception {
+        RequestResponseLoggingFilter filter = new RequestResponseLoggingFilter();
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/web/admin/test");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<ServletResponse> responseToUse = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> {
+            req.startAsync();
+            res.setContentType("application/json");
+            responseToUse.set(res);
+        });
+
+        // response is written after the filter by other thread
+        assertThat(appender.list.size(), is(0));
+        responseToUse.get().getOutputStream().write("{}".getBytes(StandardCharsets.UTF_8));
+        request.getAsyncContext().complete();
+
+        assertThat(response.getContentAsString(), is("{}"));
+        assertThat(appender.list.size(), is(2));
+        assertThat(appender.list.get(1).getFormattedMessage(), containsString("{}"));
+    }
+}